@@ -0,0 +1,73 @@
+package io.github.wjvanhoek.jsolar.benchmark;
+
+import io.github.wjvanhoek.jsolar.GlobalRadiationCalculator;
+import io.github.wjvanhoek.jsolar.position.SolarPositionBatch;
+import io.github.wjvanhoek.jsolar.position.SolarPositionEngine;
+import io.github.wjvanhoek.jsolar.position.SolarPositionEngines;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batch evaluation of random timestamps and locations on each solar position engine. Scores are
+ * per sample.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@OperationsPerInvocation(BatchBenchmark.SAMPLES)
+public class BatchBenchmark {
+
+    static final int SAMPLES = 65_536;
+
+    @Param({"scalar", "vector"})
+    public String engine;
+
+    private GlobalRadiationCalculator calculator;
+    private SolarPositionEngine positions;
+    private final double[] epochSeconds = new double[SAMPLES];
+    private final double[] latitudes = new double[SAMPLES];
+    private final double[] longitudes = new double[SAMPLES];
+    private final double[] out = new double[SAMPLES];
+    private final SolarPositionBatch batch = new SolarPositionBatch(SAMPLES);
+
+    @Setup
+    public void setUp() {
+        positions = SolarPositionEngines.select(engine);
+        calculator = new GlobalRadiationCalculator(positions);
+        Samples.fill(new SplittableRandom(2), epochSeconds, latitudes, longitudes);
+    }
+
+    @Benchmark
+    public double[] globalRadiation() {
+        calculator.globalRadiation(epochSeconds, latitudes, longitudes, out);
+        return out;
+    }
+
+    @Benchmark
+    public double[] cosZenith() {
+        positions.cosZenith(epochSeconds, latitudes, longitudes, out, 0, SAMPLES);
+        return out;
+    }
+
+    @Benchmark
+    public SolarPositionBatch solarPosition() {
+        positions.compute(epochSeconds, latitudes, longitudes, batch, 0, SAMPLES);
+        return batch;
+    }
+}
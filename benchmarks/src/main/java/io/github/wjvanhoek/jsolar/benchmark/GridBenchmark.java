@@ -0,0 +1,52 @@
+package io.github.wjvanhoek.jsolar.benchmark;
+
+import io.github.wjvanhoek.jsolar.GlobalRadiationCalculator;
+import io.github.wjvanhoek.jsolar.grid.Grid;
+import io.github.wjvanhoek.jsolar.grid.GridRadiationEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One timestep over a spatial grid covering Europe. Scores are per grid; divide by the number of
+ * cells for the cost per cell.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GridBenchmark {
+
+    /** Number of cells, a square grid of about this size is used. */
+    @Param({"1000000", "10000000"})
+    public int cells;
+
+    private final GridRadiationEngine engine = new GridRadiationEngine(new GlobalRadiationCalculator());
+    private Grid grid;
+    private double[] out;
+
+    @Setup
+    public void setUp() {
+        int side = (int) Math.sqrt(cells);
+        grid = new Grid(72.0, -25.0, -37.0 / side, 70.0 / side, side, side);
+        out = new double[(int) grid.cells()];
+    }
+
+    @Benchmark
+    public double[] evaluate() {
+        engine.evaluate(grid, Samples.START + 12 * 3600.0, out);
+        return out;
+    }
+}
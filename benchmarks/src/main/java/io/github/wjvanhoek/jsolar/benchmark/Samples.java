@@ -0,0 +1,25 @@
+package io.github.wjvanhoek.jsolar.benchmark;
+
+import java.util.SplittableRandom;
+
+/**
+ * Random inputs shared by the benchmarks: timestamps in 2000-2030 and locations anywhere.
+ */
+final class Samples {
+
+    /** 2000-01-01T00:00:00Z. */
+    static final double START = 946_684_800.0;
+
+    private static final double END = 1_893_456_000.0;
+
+    private Samples() {
+    }
+
+    static void fill(SplittableRandom random, double[] epochSeconds, double[] latitudes, double[] longitudes) {
+        for (int i = 0; i < epochSeconds.length; i++) {
+            epochSeconds[i] = random.nextDouble(START, END);
+            latitudes[i] = random.nextDouble(-90.0, 90.0);
+            longitudes[i] = random.nextDouble(-180.0, 180.0);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.wjvanhoek.jsolar.benchmark;
+
+import io.github.wjvanhoek.jsolar.GlobalRadiationCalculator;
+import io.github.wjvanhoek.jsolar.position.SolarPosition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-point evaluation: one call per timestamp and location.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SinglePointBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    private final GlobalRadiationCalculator calculator = new GlobalRadiationCalculator();
+    private final SolarPosition position = new SolarPosition();
+    private final double[] epochSeconds = new double[SAMPLES];
+    private final double[] latitudes = new double[SAMPLES];
+    private final double[] longitudes = new double[SAMPLES];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Samples.fill(new SplittableRandom(1), epochSeconds, latitudes, longitudes);
+    }
+
+    @Benchmark
+    public double globalRadiation() {
+        int i = next++ & (SAMPLES - 1);
+        return calculator.globalRadiation(epochSeconds[i], latitudes[i], longitudes[i]);
+    }
+
+    @Benchmark
+    public SolarPosition solarPosition() {
+        int i = next++ & (SAMPLES - 1);
+        return calculator.solarPosition(epochSeconds[i], latitudes[i], longitudes[i], position);
+    }
+}
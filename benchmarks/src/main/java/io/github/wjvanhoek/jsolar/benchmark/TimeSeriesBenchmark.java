@@ -0,0 +1,73 @@
+package io.github.wjvanhoek.jsolar.benchmark;
+
+import io.github.wjvanhoek.jsolar.GlobalRadiationCalculator;
+import io.github.wjvanhoek.jsolar.SiteCalculator;
+import io.github.wjvanhoek.jsolar.position.SolarPositionEngines;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A year of 1-minute samples at one site, through the generic batch API and through the
+ * site calculator with its ephemeris cache, on the Spencer series and on the SPA. Scores are per
+ * sample.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(TimeSeriesBenchmark.MINUTES_PER_YEAR)
+public class TimeSeriesBenchmark {
+
+    static final int MINUTES_PER_YEAR = 525_600;
+
+    private static final double LATITUDE = 52.1;
+    private static final double LONGITUDE = 5.18;
+
+    @Param({"scalar", "spa"})
+    public String engine;
+
+    private GlobalRadiationCalculator calculator;
+    private final double[] epochSeconds = new double[MINUTES_PER_YEAR];
+    private final double[] latitudes = new double[MINUTES_PER_YEAR];
+    private final double[] longitudes = new double[MINUTES_PER_YEAR];
+    private final double[] out = new double[MINUTES_PER_YEAR];
+    private SiteCalculator site;
+
+    @Setup
+    public void setUp() {
+        calculator = new GlobalRadiationCalculator(SolarPositionEngines.select(engine));
+        for (int i = 0; i < MINUTES_PER_YEAR; i++) {
+            epochSeconds[i] = Samples.START + 60.0 * i;
+        }
+        Arrays.fill(latitudes, LATITUDE);
+        Arrays.fill(longitudes, LONGITUDE);
+        site = calculator.forSite(LATITUDE, LONGITUDE);
+    }
+
+    @Benchmark
+    public double[] batch() {
+        calculator.globalRadiation(epochSeconds, latitudes, longitudes, out);
+        return out;
+    }
+
+    @Benchmark
+    public double[] site() {
+        site.globalRadiation(epochSeconds, out, 0, MINUTES_PER_YEAR);
+        return out;
+    }
+}
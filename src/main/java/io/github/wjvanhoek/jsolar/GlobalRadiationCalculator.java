@@ -0,0 +1,259 @@
+package io.github.wjvanhoek.jsolar;
+
+import io.github.wjvanhoek.jsolar.clearsky.ClearSkyIrradiance;
+import io.github.wjvanhoek.jsolar.clearsky.ClearSkyModel;
+import io.github.wjvanhoek.jsolar.clearsky.Haurwitz;
+import io.github.wjvanhoek.jsolar.metrics.Metrics;
+import io.github.wjvanhoek.jsolar.metrics.Stage;
+import io.github.wjvanhoek.jsolar.position.EphemerisCache;
+import io.github.wjvanhoek.jsolar.position.SolarGeometry;
+import io.github.wjvanhoek.jsolar.position.SolarPosition;
+import io.github.wjvanhoek.jsolar.position.SolarPositionEngine;
+import io.github.wjvanhoek.jsolar.position.SolarPositionEngines;
+import io.github.wjvanhoek.jsolar.position.SpaDay;
+import io.github.wjvanhoek.jsolar.position.SpaSolarPositionEngine;
+import io.github.wjvanhoek.jsolar.time.EpochTime;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Calculates the clear-sky global horizontal radiation at any time and location.
+ * <p>
+ * The Sun's position is computed by a {@link SolarPositionEngine}; the irradiance follows a
+ * {@link ClearSkyModel}, by default the model of Haurwitz (1945). The eccentricity correction of
+ * the Earth's orbit is the one the engine reports, see
+ * {@link SolarPositionEngine#eccentricityCorrection(double)}. Instances are immutable and
+ * thread-safe.
+ */
+public class GlobalRadiationCalculator {
+
+    private final SolarPositionEngine engine;
+    private final ClearSkyModel clearSky;
+    // The batch methods take the eccentricity correction per day for these engines
+    private final boolean spencer;
+    private final SpaSolarPositionEngine spa;
+
+    /**
+     * Creates a calculator on the {@linkplain SolarPositionEngines#defaultEngine() default} solar
+     * position engine and the Haurwitz clear-sky model.
+     */
+    public GlobalRadiationCalculator() {
+        this(SolarPositionEngines.defaultEngine());
+    }
+
+    /**
+     * Creates a calculator with the Haurwitz clear-sky model.
+     *
+     * @param engine engine that computes the position of the Sun
+     */
+    public GlobalRadiationCalculator(SolarPositionEngine engine) {
+        this(engine, Haurwitz.INSTANCE);
+    }
+
+    /**
+     * Creates a calculator.
+     *
+     * @param engine   engine that computes the position of the Sun
+     * @param clearSky model that computes the irradiance from the position of the Sun
+     */
+    public GlobalRadiationCalculator(SolarPositionEngine engine, ClearSkyModel clearSky) {
+        this.engine = Objects.requireNonNull(engine, "engine");
+        this.clearSky = Objects.requireNonNull(clearSky, "clearSky");
+        this.spencer = SolarPositionEngines.isSpencer(engine);
+        this.spa = engine instanceof SpaSolarPositionEngine ? (SpaSolarPositionEngine) engine : null;
+    }
+
+    /** @return the engine that computes the position of the Sun */
+    public SolarPositionEngine engine() {
+        return engine;
+    }
+
+    /** @return the model that computes the irradiance from the position of the Sun */
+    public ClearSkyModel clearSkyModel() {
+        return clearSky;
+    }
+
+    /**
+     * Creates a calculator for time series at one location, which caches the daily solar
+     * quantities: the daily ephemeris when the engine follows the Spencer series and the
+     * interpolated series of the day for {@link SpaSolarPositionEngine}. Other engines are evaluated
+     * per sample. The site gives the values of this calculator; for the SPA those of the batch
+     * methods, which interpolate within the day. The returned calculator is not thread-safe.
+     *
+     * @param latitude  latitude in degrees, positive north
+     * @param longitude longitude in degrees, positive east
+     * @return the site calculator
+     */
+    public SiteCalculator forSite(double latitude, double longitude) {
+        return new SiteCalculator(latitude, longitude, new EphemerisCache(), engine, clearSky);
+    }
+
+    /**
+     * Creates an integrator of the irradiation at one location, with the
+     * {@linkplain IrradiationIntegrator#DEFAULT_TOLERANCE default tolerance}. The returned
+     * integrator is not thread-safe.
+     *
+     * @param latitude  latitude in degrees, positive north
+     * @param longitude longitude in degrees, positive east
+     * @return the integrator
+     */
+    public IrradiationIntegrator integrator(double latitude, double longitude) {
+        return integrator(latitude, longitude, IrradiationIntegrator.DEFAULT_TOLERANCE);
+    }
+
+    /**
+     * Creates an integrator of the irradiation at one location. The returned integrator is not
+     * thread-safe.
+     *
+     * @param latitude  latitude in degrees, positive north
+     * @param longitude longitude in degrees, positive east
+     * @param tolerance absolute tolerance of the quadrature per daylight interval, in Wh/m²
+     * @return the integrator
+     */
+    public IrradiationIntegrator integrator(double latitude, double longitude, double tolerance) {
+        return new IrradiationIntegrator(forSite(latitude, longitude), tolerance);
+    }
+
+    /**
+     * Creates a lazily evaluated time series at one location.
+     *
+     * @param latitude         latitude in degrees, positive north
+     * @param longitude        longitude in degrees, positive east
+     * @param startEpochSecond moment of the first sample, in seconds since the Unix epoch
+     * @param endEpochSecond   end of the series (exclusive), in seconds since the Unix epoch
+     * @param stepSeconds      interval between samples in seconds
+     * @return the series
+     */
+    public RadiationSeries series(double latitude, double longitude, double startEpochSecond,
+                                  double endEpochSecond, double stepSeconds) {
+        return new RadiationSeries(this, latitude, longitude, startEpochSecond, endEpochSecond, stepSeconds);
+    }
+
+    /**
+     * Computes the position of the Sun.
+     *
+     * @param epochSecond seconds since the Unix epoch (UTC)
+     * @param latitude    latitude in degrees, positive north
+     * @param longitude   longitude in degrees, positive east
+     * @param out         holder that receives the result
+     * @return {@code out}
+     */
+    public SolarPosition solarPosition(double epochSecond, double latitude, double longitude, SolarPosition out) {
+        engine.compute(epochSecond, latitude, longitude, out);
+        return out;
+    }
+
+    /**
+     * Calculates the global, direct normal and diffuse horizontal irradiance.
+     *
+     * @param epochSecond seconds since the Unix epoch (UTC)
+     * @param latitude    latitude in degrees, positive north
+     * @param longitude   longitude in degrees, positive east
+     * @param out         holder that receives the result
+     * @return {@code out}
+     */
+    public ClearSkyIrradiance irradiance(double epochSecond, double latitude, double longitude,
+                                        ClearSkyIrradiance out) {
+        clearSky.evaluate(engine.cosZenith(epochSecond, latitude, longitude),
+                engine.eccentricityCorrection(epochSecond), latitude, longitude, epochSecond, out);
+        return out;
+    }
+
+    /**
+     * Calculates the global horizontal radiation. This is a convenience for single evaluations;
+     * series should pass primitive epoch seconds, converting with {@link EpochTime} and
+     * {@link io.github.wjvanhoek.jsolar.time.ZoneOffsetTable} rather than through {@code java.time}.
+     *
+     * @param time      the moment of evaluation
+     * @param latitude  latitude in degrees, positive north
+     * @param longitude longitude in degrees, positive east
+     * @return the global horizontal radiation in W/m²
+     */
+    public double globalRadiation(Instant time, double latitude, double longitude) {
+        return globalRadiation(EpochTime.epochSecond(time), latitude, longitude);
+    }
+
+    /**
+     * Calculates the global horizontal radiation.
+     *
+     * @param epochSecond seconds since the Unix epoch (UTC)
+     * @param latitude    latitude in degrees, positive north
+     * @param longitude   longitude in degrees, positive east
+     * @return the global horizontal radiation in W/m²
+     */
+    public double globalRadiation(double epochSecond, double latitude, double longitude) {
+        double cosZenith = engine.cosZenith(epochSecond, latitude, longitude);
+        if (cosZenith <= 0.0) {
+            return 0.0;
+        }
+        return clearSky.globalHorizontal(cosZenith, engine.eccentricityCorrection(epochSecond),
+                latitude, longitude, epochSecond);
+    }
+
+    /**
+     * Calculates the global horizontal radiation for every sample of the input arrays.
+     *
+     * @param epochSeconds seconds since the Unix epoch (UTC), per sample
+     * @param latitudes    latitudes in degrees, per sample
+     * @param longitudes   longitudes in degrees, per sample
+     * @param out          receives the global horizontal radiation in W/m², per sample
+     * @see #globalRadiation(double[], double[], double[], double[], int, int)
+     */
+    public void globalRadiation(double[] epochSeconds, double[] latitudes, double[] longitudes, double[] out) {
+        if (latitudes.length != epochSeconds.length || longitudes.length != epochSeconds.length
+                || out.length != epochSeconds.length) {
+            throw new IllegalArgumentException("Input and output arrays must have the same length");
+        }
+        globalRadiation(epochSeconds, latitudes, longitudes, out, 0, epochSeconds.length);
+    }
+
+    /**
+     * Calculates the global horizontal radiation for a range of samples of the input arrays. The
+     * result for sample {@code i} is written to {@code out[i]}; no objects are allocated per sample.
+     *
+     * @param epochSeconds seconds since the Unix epoch (UTC), per sample
+     * @param latitudes    latitudes in degrees, per sample
+     * @param longitudes   longitudes in degrees, per sample
+     * @param out          receives the global horizontal radiation in W/m², per sample
+     * @param offset       index of the first sample to evaluate
+     * @param length       number of samples to evaluate
+     */
+    public void globalRadiation(double[] epochSeconds, double[] latitudes, double[] longitudes, double[] out,
+                                int offset, int length) {
+        long start = Metrics.start();
+        engine.cosZenith(epochSeconds, latitudes, longitudes, out, offset, length);
+        Metrics.record(Stage.SOLAR_POSITION, start, length);
+        start = Metrics.start();
+        long currentDay = Long.MIN_VALUE;
+        double eccentricity = 0.0;
+        SpaDay spaDay = null;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            double cosZenith = out[i];
+            if (cosZenith <= 0.0) {
+                out[i] = 0.0;
+                continue;
+            }
+            double t = epochSeconds[i];
+            if (spencer || spa != null) {
+                long epochDay = EpochTime.epochDay(t);
+                if (epochDay != currentDay) {
+                    if (spa != null) {
+                        spaDay = spa.day(epochDay);
+                    } else {
+                        eccentricity = SolarGeometry.eccentricityCorrection(
+                                SolarGeometry.dayAngle(EpochTime.dayOfYear(epochDay)));
+                    }
+                    currentDay = epochDay;
+                }
+                if (spaDay != null) {
+                    eccentricity = spaDay.eccentricityCorrection(t);
+                }
+            } else {
+                eccentricity = engine.eccentricityCorrection(t);
+            }
+            out[i] = clearSky.globalHorizontal(cosZenith, eccentricity, latitudes[i], longitudes[i], t);
+        }
+        Metrics.record(Stage.CLEAR_SKY, start, length);
+    }
+}
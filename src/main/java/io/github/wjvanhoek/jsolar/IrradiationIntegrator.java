@@ -0,0 +1,246 @@
+package io.github.wjvanhoek.jsolar;
+
+import io.github.wjvanhoek.jsolar.position.DailyEphemeris;
+import io.github.wjvanhoek.jsolar.position.DaylightWindow;
+import io.github.wjvanhoek.jsolar.position.SolarGeometry;
+import io.github.wjvanhoek.jsolar.time.EpochTime;
+
+import java.util.Objects;
+
+/**
+ * Irradiation (energy per area, in Wh/m²) on a horizontal surface at one site, integrated over
+ * days, months, years or any time range.
+ * <p>
+ * Two modes are offered. The extraterrestrial irradiation has a closed form per day, exact for the
+ * daily constant declination of {@link SolarGeometry}. The clear-sky irradiation is integrated with
+ * adaptive Simpson quadrature over the part of each UTC day between sunrise and sunset, where the
+ * model is smooth; the night contributes nothing and is not sampled. A year takes a few tens of
+ * thousands of model evaluations instead of one per minute.
+ * <p>
+ * Instances are not thread-safe; create one per thread with
+ * {@link GlobalRadiationCalculator#integrator(double, double)}.
+ */
+public final class IrradiationIntegrator {
+
+    /** Default absolute tolerance of the quadrature per daylight interval, in Wh/m². */
+    public static final double DEFAULT_TOLERANCE = 0.01;
+
+    private static final double SECONDS_PER_HOUR = 3600.0;
+    private static final int INITIAL_PANELS = 8;
+    private static final int MAX_DEPTH = 24;
+
+    private final SiteCalculator site;
+    private final double sinLatitude;
+    private final double cosLatitude;
+    private final double tolerance;
+
+    IrradiationIntegrator(SiteCalculator site, double tolerance) {
+        if (!(tolerance > 0.0)) {
+            throw new IllegalArgumentException("Tolerance must be positive: " + tolerance);
+        }
+        this.site = Objects.requireNonNull(site, "site");
+        double phi = Math.toRadians(site.latitude());
+        this.sinLatitude = Math.sin(phi);
+        this.cosLatitude = Math.cos(phi);
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Returns the extraterrestrial irradiation on a horizontal surface during one day.
+     *
+     * @param day         ephemeris of the day
+     * @param sinLatitude sine of the latitude
+     * @param cosLatitude cosine of the latitude
+     * @return the irradiation in Wh/m²
+     */
+    public static double extraterrestrialDaily(DailyEphemeris day, double sinLatitude, double cosLatitude) {
+        double a = sinLatitude * day.sinDeclination();
+        double b = cosLatitude * day.cosDeclination();
+        double sunsetHourAngle;
+        if (-a >= b) {
+            return 0.0;
+        } else if (-a <= -b) {
+            sunsetHourAngle = Math.PI;
+        } else {
+            sunsetHourAngle = Math.acos(-a / b);
+        }
+        double hours = EpochTime.SECONDS_PER_DAY / SECONDS_PER_HOUR;
+        return hours / Math.PI * SolarGeometry.SOLAR_CONSTANT * day.eccentricityCorrection()
+                * (a * sunsetHourAngle + b * Math.sin(sunsetHourAngle));
+    }
+
+    /** @return the site calculator whose model is integrated */
+    public SiteCalculator site() {
+        return site;
+    }
+
+    /**
+     * Returns the extraterrestrial irradiation on a horizontal surface during one UTC day.
+     *
+     * @param epochDay days since 1970-01-01
+     * @return the irradiation in Wh/m²
+     */
+    public double extraterrestrialDaily(long epochDay) {
+        return extraterrestrialDaily(site.ephemeris(epochDay), sinLatitude, cosLatitude);
+    }
+
+    /**
+     * Returns the extraterrestrial irradiation on a horizontal surface during a range of UTC days.
+     *
+     * @param firstDay first day, as days since 1970-01-01
+     * @param endDay   day after the last day
+     * @return the irradiation in Wh/m²
+     */
+    public double extraterrestrial(long firstDay, long endDay) {
+        checkDays(firstDay, endDay);
+        double sum = 0.0;
+        for (long day = firstDay; day < endDay; day++) {
+            sum += extraterrestrialDaily(day);
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the clear-sky irradiation during one UTC day.
+     *
+     * @param epochDay days since 1970-01-01
+     * @return the irradiation in Wh/m²
+     */
+    public double daily(long epochDay) {
+        double dayStart = epochDay * EpochTime.SECONDS_PER_DAY;
+        return integrateDay(epochDay, dayStart, dayStart + EpochTime.SECONDS_PER_DAY);
+    }
+
+    /**
+     * Returns the clear-sky irradiation during a range of UTC days.
+     *
+     * @param firstDay first day, as days since 1970-01-01
+     * @param endDay   day after the last day
+     * @return the irradiation in Wh/m²
+     */
+    public double total(long firstDay, long endDay) {
+        checkDays(firstDay, endDay);
+        double sum = 0.0;
+        for (long day = firstDay; day < endDay; day++) {
+            sum += daily(day);
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the clear-sky irradiation during a calendar month (UTC).
+     *
+     * @param year  the year
+     * @param month the month, 1 to 12
+     * @return the irradiation in Wh/m²
+     */
+    public double monthly(int year, int month) {
+        if (month < 1 || month > 12) {
+            throw new IllegalArgumentException("Month must be in [1, 12]: " + month);
+        }
+        long endDay = month == 12 ? EpochTime.epochDay(year + 1, 1, 1) : EpochTime.epochDay(year, month + 1, 1);
+        return total(EpochTime.epochDay(year, month, 1), endDay);
+    }
+
+    /**
+     * Returns the clear-sky irradiation during a calendar year (UTC).
+     *
+     * @param year the year
+     * @return the irradiation in Wh/m²
+     */
+    public double annual(int year) {
+        return total(EpochTime.epochDay(year, 1, 1), EpochTime.epochDay(year + 1, 1, 1));
+    }
+
+    /**
+     * Returns the clear-sky irradiation during an arbitrary time range.
+     *
+     * @param startEpochSecond start of the range, in seconds since the Unix epoch
+     * @param endEpochSecond   end of the range, in seconds since the Unix epoch
+     * @return the irradiation in Wh/m²
+     */
+    public double integrate(double startEpochSecond, double endEpochSecond) {
+        if (endEpochSecond < startEpochSecond) {
+            throw new IllegalArgumentException("End " + endEpochSecond + " is before start " + startEpochSecond);
+        }
+        double sum = 0.0;
+        long lastDay = EpochTime.epochDay(endEpochSecond);
+        for (long day = EpochTime.epochDay(startEpochSecond); day <= lastDay; day++) {
+            double dayStart = day * EpochTime.SECONDS_PER_DAY;
+            double from = Math.max(startEpochSecond, dayStart);
+            double to = Math.min(endEpochSecond, dayStart + EpochTime.SECONDS_PER_DAY);
+            if (to > from) {
+                sum += integrateDay(day, from, to);
+            }
+        }
+        return sum;
+    }
+
+    /** Integrates over {@code [from, to]} within one UTC day, over its daylight intervals only. */
+    private double integrateDay(long epochDay, double from, double to) {
+        DaylightWindow window = site.daylight(epochDay);
+        if (window.isPolarNight()) {
+            return 0.0;
+        }
+        if (window.isPolarDay()) {
+            return quadrature(from, to);
+        }
+        // the window of the day repeats with a period of one day, so the daylight within the UTC
+        // day may be split in two at either end of the day
+        double sum = 0.0;
+        for (int k = -1; k <= 1; k++) {
+            double a = Math.max(from, window.sunrise() + k * EpochTime.SECONDS_PER_DAY);
+            double b = Math.min(to, window.sunset() + k * EpochTime.SECONDS_PER_DAY);
+            if (b > a) {
+                sum += quadrature(a, b);
+            }
+        }
+        return sum;
+    }
+
+    private double quadrature(double a, double b) {
+        double panel = (b - a) / INITIAL_PANELS;
+        double panelTolerance = tolerance * SECONDS_PER_HOUR / INITIAL_PANELS;
+        double sum = 0.0;
+        double x0 = a;
+        double f0 = site.globalRadiation(x0);
+        for (int i = 1; i <= INITIAL_PANELS; i++) {
+            double x2 = i == INITIAL_PANELS ? b : a + i * panel;
+            double x1 = 0.5 * (x0 + x2);
+            double f1 = site.globalRadiation(x1);
+            double f2 = site.globalRadiation(x2);
+            sum += simpson(x0, x2, f0, f1, f2, simpson(x0, x2, f0, f1, f2), panelTolerance, MAX_DEPTH);
+            x0 = x2;
+            f0 = f2;
+        }
+        return sum / SECONDS_PER_HOUR;
+    }
+
+    private static double simpson(double a, double b, double fa, double fm, double fb) {
+        return (b - a) / 6.0 * (fa + 4.0 * fm + fb);
+    }
+
+    /** Adaptive Simpson rule with Richardson extrapolation; {@code whole} is the estimate over {@code [a, b]}. */
+    private double simpson(double a, double b, double fa, double fm, double fb, double whole,
+                           double tolerance, int depth) {
+        double m = 0.5 * (a + b);
+        double lm = 0.5 * (a + m);
+        double rm = 0.5 * (m + b);
+        double flm = site.globalRadiation(lm);
+        double frm = site.globalRadiation(rm);
+        double left = simpson(a, m, fa, flm, fm);
+        double right = simpson(m, b, fm, frm, fb);
+        double delta = left + right - whole;
+        if (depth <= 0 || Math.abs(delta) <= 15.0 * tolerance) {
+            return left + right + delta / 15.0;
+        }
+        return simpson(a, m, fa, flm, fm, left, 0.5 * tolerance, depth - 1)
+                + simpson(m, b, fm, frm, fb, right, 0.5 * tolerance, depth - 1);
+    }
+
+    private static void checkDays(long firstDay, long endDay) {
+        if (endDay < firstDay) {
+            throw new IllegalArgumentException("End day " + endDay + " is before first day " + firstDay);
+        }
+    }
+}
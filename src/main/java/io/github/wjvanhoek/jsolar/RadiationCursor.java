@@ -0,0 +1,79 @@
+package io.github.wjvanhoek.jsolar;
+
+import io.github.wjvanhoek.jsolar.position.DaylightWindow;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Pull-based iteration over a {@link RadiationSeries}. Each call to {@link #next()} computes one
+ * sample; the moment and value of the current sample are then available without allocation.
+ * Samples at night are set to zero without evaluating the model. Instances are not thread-safe.
+ */
+public final class RadiationCursor {
+
+    private final SiteCalculator site;
+    private final double start;
+    private final double step;
+    private final long size;
+    private long index = -1;
+    private double epochSecond = Double.NaN;
+    private double value = Double.NaN;
+    private double nightEnd = Double.NEGATIVE_INFINITY;
+
+    RadiationCursor(SiteCalculator site, double start, double step, long size) {
+        this.site = site;
+        this.start = start;
+        this.step = step;
+        this.size = size;
+    }
+
+    /**
+     * Advances to the next sample.
+     *
+     * @return {@code false} when the series is exhausted
+     */
+    public boolean next() {
+        if (index + 1 >= size) {
+            index = size;
+            return false;
+        }
+        index++;
+        epochSecond = start + index * step;
+        if (epochSecond < nightEnd) {
+            value = 0.0;
+            return true;
+        }
+        DaylightWindow window = site.daylightAt(epochSecond);
+        if (window.isDaylight(epochSecond)) {
+            value = site.globalRadiation(epochSecond);
+        } else {
+            nightEnd = window.nextChange(epochSecond);
+            value = 0.0;
+        }
+        return true;
+    }
+
+    /** @return the index of the current sample */
+    public long index() {
+        checkPositioned();
+        return index;
+    }
+
+    /** @return the moment of the current sample, in seconds since the Unix epoch */
+    public double epochSecond() {
+        checkPositioned();
+        return epochSecond;
+    }
+
+    /** @return the global horizontal radiation of the current sample in W/m² */
+    public double value() {
+        checkPositioned();
+        return value;
+    }
+
+    private void checkPositioned() {
+        if (index < 0 || index >= size) {
+            throw new NoSuchElementException("Cursor is not positioned on a sample");
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package io.github.wjvanhoek.jsolar;
+
+import io.github.wjvanhoek.jsolar.position.DaylightWindow;
+
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.DoubleConsumer;
+import java.util.stream.DoubleStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A regular time series of global radiation at one site, produced lazily.
+ * <p>
+ * Sample {@code i} is taken at {@code start + i * step}, for all such moments before the end of
+ * the range. Nothing is materialized: samples are computed as they are consumed, so memory stays
+ * constant regardless of the length of the series. A series can be consumed any number of times,
+ * either as a {@link DoubleStream} (which may run in parallel) or through a {@link RadiationCursor}.
+ * <p>
+ * Night-time runs of samples are found from the {@link DaylightWindow} of each day and emitted as
+ * zeros without evaluating the geometry or the clear-sky model.
+ *
+ * @see GlobalRadiationCalculator#series(double, double, double, double, double)
+ */
+public final class RadiationSeries {
+
+    private final GlobalRadiationCalculator calculator;
+    private final double latitude;
+    private final double longitude;
+    private final double start;
+    private final double step;
+    private final long size;
+
+    RadiationSeries(GlobalRadiationCalculator calculator, double latitude, double longitude,
+                    double start, double end, double step) {
+        if (!(step > 0.0)) {
+            throw new IllegalArgumentException("Step must be positive: " + step);
+        }
+        if (end < start) {
+            throw new IllegalArgumentException("End " + end + " is before start " + start);
+        }
+        this.calculator = Objects.requireNonNull(calculator, "calculator");
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.start = start;
+        this.step = step;
+        this.size = (long) Math.ceil((end - start) / step);
+    }
+
+    /** @return the number of samples */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @param index sample index
+     * @return the moment of the sample, in seconds since the Unix epoch
+     */
+    public double epochSecond(long index) {
+        return start + index * step;
+    }
+
+    /** @return the global horizontal radiation in W/m² per sample, in time order */
+    public DoubleStream stream() {
+        return StreamSupport.doubleStream(new Samples(0, size), false);
+    }
+
+    /** @return a new cursor positioned before the first sample */
+    public RadiationCursor cursor() {
+        return new RadiationCursor(calculator.forSite(latitude, longitude), start, step, size);
+    }
+
+    /** Spliterator over a range of sample indices, with its own site calculator. */
+    private final class Samples implements Spliterator.OfDouble {
+
+        private static final long MIN_SPLIT = 4096;
+
+        private final SiteCalculator site = calculator.forSite(latitude, longitude);
+        private long index;
+        private final long end;
+
+        Samples(long index, long end) {
+            this.index = index;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(DoubleConsumer action) {
+            if (index >= end) {
+                return false;
+            }
+            action.accept(site.globalRadiation(epochSecond(index++)));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(DoubleConsumer action) {
+            long i = index;
+            while (i < end) {
+                double t = epochSecond(i);
+                DaylightWindow window = site.daylightAt(t);
+                boolean daylight = window.isDaylight(t);
+                long stop = firstIndexAtOrAfter(window.nextChange(t), i + 1);
+                if (daylight) {
+                    for (; i < stop; i++) {
+                        action.accept(site.globalRadiation(epochSecond(i)));
+                    }
+                } else {
+                    for (; i < stop; i++) {
+                        action.accept(0.0);
+                    }
+                }
+            }
+            index = end;
+        }
+
+        /** Returns the first index at which the sample is at or after {@code moment}, within {@code [min, end]}. */
+        private long firstIndexAtOrAfter(double moment, long min) {
+            double position = Math.ceil((moment - start) / step);
+            long i = position >= end ? end : Math.max(min, (long) position);
+            while (i > min && epochSecond(i - 1) >= moment) {
+                i--;
+            }
+            while (i < end && epochSecond(i) < moment) {
+                i++;
+            }
+            return i;
+        }
+
+        @Override
+        public Spliterator.OfDouble trySplit() {
+            long remaining = end - index;
+            if (remaining < 2 * MIN_SPLIT) {
+                return null;
+            }
+            long middle = index + remaining / 2;
+            Samples prefix = new Samples(index, middle);
+            index = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+        }
+    }
+}
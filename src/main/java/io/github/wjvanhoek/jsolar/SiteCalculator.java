@@ -0,0 +1,197 @@
+package io.github.wjvanhoek.jsolar;
+
+import io.github.wjvanhoek.jsolar.clearsky.ClearSkyIrradiance;
+import io.github.wjvanhoek.jsolar.clearsky.ClearSkyModel;
+import io.github.wjvanhoek.jsolar.position.DailyEphemeris;
+import io.github.wjvanhoek.jsolar.position.DaylightWindow;
+import io.github.wjvanhoek.jsolar.position.EphemerisCache;
+import io.github.wjvanhoek.jsolar.position.SolarGeometry;
+import io.github.wjvanhoek.jsolar.position.SolarPositionEngine;
+import io.github.wjvanhoek.jsolar.position.SolarPositionEngines;
+import io.github.wjvanhoek.jsolar.position.SpaDay;
+import io.github.wjvanhoek.jsolar.position.SpaSolarPositionEngine;
+import io.github.wjvanhoek.jsolar.time.EpochTime;
+
+import java.util.Objects;
+
+/**
+ * Global radiation at one fixed location, for time series.
+ * <p>
+ * For the engines that follow the Spencer series (see {@link SolarPositionEngines#isSpencer}) the
+ * daily solar quantities come from an {@link EphemerisCache} and the trigonometry of the latitude
+ * is done once, so each sample only costs the hour angle and the zenith. For a
+ * {@link SpaSolarPositionEngine} the {@link SpaDay} of the current day is kept, so each sample
+ * costs the observer-dependent part of the algorithm, as in the batch methods of the engine. Other
+ * engines are evaluated per sample. Either way the zenith and the eccentricity correction are
+ * those of the engine, so a site gives the same values as its {@link GlobalRadiationCalculator}
+ * (for the SPA, as its batch methods). Instances are not thread-safe; create one per thread with
+ * {@link GlobalRadiationCalculator#forSite(double, double)}.
+ * <p>
+ * The {@link DaylightWindow} of the most recent day is kept, so batch evaluation can emit zeros for
+ * night-time samples without evaluating the geometry or the clear-sky model. The windows always
+ * come from the daily ephemeris; for engines that do not follow the Spencer series they are
+ * computed for an elevation of {@value #PER_SAMPLE_WINDOW_ELEVATION}°, which covers the difference
+ * between the Spencer series and any accurate ephemeris.
+ */
+public final class SiteCalculator {
+
+    /** Elevation of the daylight windows of engines other than the Spencer series, in degrees. */
+    static final double PER_SAMPLE_WINDOW_ELEVATION = -1.0;
+
+    private final double latitude;
+    private final double longitude;
+    private final double sinLatitude;
+    private final double cosLatitude;
+    private final EphemerisCache ephemeris;
+    private final ClearSkyModel clearSky;
+    private final boolean spencer;
+    // Engine evaluated per sample, or null when the daily ephemeris or an SPA day stands in for it
+    private final SolarPositionEngine engine;
+    private final SpaSolarPositionEngine spa;
+    private DaylightWindow window;
+    private SpaDay spaDay;
+
+    SiteCalculator(double latitude, double longitude, EphemerisCache ephemeris, SolarPositionEngine engine,
+                   ClearSkyModel clearSky) {
+        this.latitude = latitude;
+        this.longitude = longitude;
+        double phi = Math.toRadians(latitude);
+        this.sinLatitude = Math.sin(phi);
+        this.cosLatitude = Math.cos(phi);
+        this.ephemeris = Objects.requireNonNull(ephemeris, "ephemeris");
+        this.clearSky = Objects.requireNonNull(clearSky, "clearSky");
+        this.spa = engine instanceof SpaSolarPositionEngine ? (SpaSolarPositionEngine) engine : null;
+        this.spencer = SolarPositionEngines.isSpencer(engine);
+        this.engine = spencer || spa != null ? null : engine;
+    }
+
+    /** @return the latitude in degrees */
+    public double latitude() {
+        return latitude;
+    }
+
+    /** @return the longitude in degrees */
+    public double longitude() {
+        return longitude;
+    }
+
+    DailyEphemeris ephemeris(long epochDay) {
+        return ephemeris.day(epochDay);
+    }
+
+    /**
+     * Returns sunrise, sunset and solar noon at this site.
+     *
+     * @param epochDay days since 1970-01-01
+     * @return the daylight window of the day
+     */
+    public DaylightWindow daylight(long epochDay) {
+        DaylightWindow last = window;
+        if (last != null && last.epochDay() == epochDay) {
+            return last;
+        }
+        last = spencer
+                ? DaylightWindow.of(ephemeris.day(epochDay), sinLatitude, cosLatitude, longitude)
+                : DaylightWindow.of(ephemeris.day(epochDay), sinLatitude, cosLatitude, longitude,
+                        PER_SAMPLE_WINDOW_ELEVATION);
+        window = last;
+        return last;
+    }
+
+    /**
+     * Returns the daylight window of the day containing the given moment.
+     *
+     * @param epochSecond seconds since the Unix epoch (UTC)
+     * @return the daylight window
+     */
+    public DaylightWindow daylightAt(double epochSecond) {
+        return daylight(EpochTime.epochDay(epochSecond));
+    }
+
+    /**
+     * Computes the cosine of the solar zenith angle.
+     *
+     * @param epochSecond seconds since the Unix epoch (UTC)
+     * @return the cosine of the zenith angle
+     */
+    public double cosZenith(double epochSecond) {
+        return cosZenith(ephemeris.at(epochSecond), epochSecond);
+    }
+
+    /**
+     * Calculates the global horizontal radiation.
+     *
+     * @param epochSecond seconds since the Unix epoch (UTC)
+     * @return the global horizontal radiation in W/m²
+     */
+    public double globalRadiation(double epochSecond) {
+        DailyEphemeris day = ephemeris.at(epochSecond);
+        double cosZenith = cosZenith(day, epochSecond);
+        if (cosZenith <= 0.0) {
+            return 0.0;
+        }
+        return clearSky.globalHorizontal(cosZenith, eccentricityCorrection(day, epochSecond), latitude, longitude,
+                epochSecond);
+    }
+
+    /**
+     * Calculates the global, direct normal and diffuse horizontal irradiance.
+     *
+     * @param epochSecond seconds since the Unix epoch (UTC)
+     * @param out         holder that receives the result
+     * @return {@code out}
+     */
+    public ClearSkyIrradiance irradiance(double epochSecond, ClearSkyIrradiance out) {
+        DailyEphemeris day = ephemeris.at(epochSecond);
+        double cosZenith = cosZenith(day, epochSecond);
+        clearSky.evaluate(cosZenith, eccentricityCorrection(day, epochSecond), latitude, longitude, epochSecond, out);
+        return out;
+    }
+
+    /**
+     * Calculates the global horizontal radiation for a range of timestamps.
+     *
+     * @param epochSeconds seconds since the Unix epoch (UTC), per sample
+     * @param out          receives the global horizontal radiation in W/m², per sample
+     * @param offset       index of the first sample to evaluate
+     * @param length       number of samples to evaluate
+     */
+    public void globalRadiation(double[] epochSeconds, double[] out, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, epochSeconds.length);
+        Objects.checkFromIndexSize(offset, length, out.length);
+        for (int i = offset, end = offset + length; i < end; i++) {
+            double t = epochSeconds[i];
+            out[i] = daylightAt(t).isDaylight(t) ? globalRadiation(t) : 0.0;
+        }
+    }
+
+    private double cosZenith(DailyEphemeris day, double epochSecond) {
+        if (spa != null) {
+            return spa.cosZenith(spaDay(day), epochSecond, latitude, longitude);
+        }
+        if (engine != null) {
+            return engine.cosZenith(epochSecond, latitude, longitude);
+        }
+        return SolarGeometry.cosZenith(sinLatitude, cosLatitude, day.sinDeclination(), day.cosDeclination(),
+                day.hourAngle(epochSecond, longitude));
+    }
+
+    private double eccentricityCorrection(DailyEphemeris day, double epochSecond) {
+        if (spa != null) {
+            return spaDay(day).eccentricityCorrection(epochSecond);
+        }
+        if (engine != null) {
+            return engine.eccentricityCorrection(epochSecond);
+        }
+        return day.eccentricityCorrection();
+    }
+
+    private SpaDay spaDay(DailyEphemeris day) {
+        SpaDay last = spaDay;
+        if (last == null || last.epochDay() != day.epochDay()) {
+            last = spa.day(day.epochDay());
+            spaDay = last;
+        }
+        return last;
+    }
+}
@@ -0,0 +1,48 @@
+package io.github.wjvanhoek.jsolar.atmosphere;
+
+/**
+ * Standard-atmosphere relations used by the sky models.
+ */
+public final class Atmosphere {
+
+    /** Standard sea-level pressure in Pa. */
+    public static final double STANDARD_PRESSURE = 101_325.0;
+
+    private Atmosphere() {
+    }
+
+    /**
+     * Returns the relative optical air mass after Kasten and Young (1989).
+     *
+     * @param cosZenith cosine of the solar zenith angle
+     * @return the relative air mass, or {@code NaN} when the Sun is below the horizon
+     */
+    public static double relativeAirmass(double cosZenith) {
+        if (cosZenith <= 0.0) {
+            return Double.NaN;
+        }
+        double zenithDegrees = Math.toDegrees(Math.acos(Math.min(1.0, cosZenith)));
+        return 1.0 / (cosZenith + 0.50572 * Math.pow(96.07995 - zenithDegrees, -1.6364));
+    }
+
+    /**
+     * Returns the absolute (pressure-corrected) optical air mass.
+     *
+     * @param relativeAirmass relative air mass
+     * @param pressure        station pressure in Pa
+     * @return the absolute air mass
+     */
+    public static double absoluteAirmass(double relativeAirmass, double pressure) {
+        return relativeAirmass * pressure / STANDARD_PRESSURE;
+    }
+
+    /**
+     * Returns the pressure of the standard atmosphere at an altitude.
+     *
+     * @param altitude altitude above sea level in m
+     * @return the pressure in Pa
+     */
+    public static double pressure(double altitude) {
+        return STANDARD_PRESSURE * Math.pow(1.0 - 2.25577e-5 * altitude, 5.25588);
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.wjvanhoek.jsolar.cache;
+
+/**
+ * Snapshot of the counters of a {@link RadiationCache}. Immutable.
+ */
+public final class CacheStats {
+
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long size;
+
+    CacheStats(long hits, long misses, long evictions, long size) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.size = size;
+    }
+
+    /** @return the number of lookups that found their key */
+    public long hits() {
+        return hits;
+    }
+
+    /** @return the number of lookups that did not find their key */
+    public long misses() {
+        return misses;
+    }
+
+    /** @return the number of entries removed to make room for others */
+    public long evictions() {
+        return evictions;
+    }
+
+    /** @return the number of entries at the time of the snapshot */
+    public long size() {
+        return size;
+    }
+
+    /** @return the number of lookups */
+    public long requests() {
+        return hits + misses;
+    }
+
+    /** @return the share of lookups that found their key, or NaN before the first lookup */
+    public double hitRate() {
+        long requests = requests();
+        return requests == 0 ? Double.NaN : (double) hits / requests;
+    }
+
+    /**
+     * Returns the counters accumulated since an earlier snapshot; the size is that of this snapshot.
+     *
+     * @param earlier an earlier snapshot of the same cache
+     * @return the difference
+     */
+    public CacheStats minus(CacheStats earlier) {
+        return new CacheStats(hits - earlier.hits, misses - earlier.misses, evictions - earlier.evictions, size);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CacheStats[hits=%d, misses=%d, hitRate=%.4f, evictions=%d, size=%d]",
+                hits, misses, hitRate(), evictions, size);
+    }
+}
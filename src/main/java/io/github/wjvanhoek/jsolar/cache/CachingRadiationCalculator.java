@@ -0,0 +1,157 @@
+package io.github.wjvanhoek.jsolar.cache;
+
+import io.github.wjvanhoek.jsolar.GlobalRadiationCalculator;
+
+import java.util.Objects;
+
+/**
+ * Global radiation served through a {@link RadiationCache}, for request workloads that ask for the
+ * same sites and moments over and over.
+ * <p>
+ * The moment is rounded to a multiple of the time quantum and the coordinates to multiples of the
+ * degree quantum, and the radiation is computed at the rounded point, so a cached value never
+ * depends on which request loaded it. The key holds the rounded moment, both rounded coordinates
+ * and the solar position engine and clear-sky model of the calculator, as registered with
+ * {@link RadiationCache#modelId(Object)}. Engines and models are told apart by {@code equals},
+ * so calculators sharing a cache only share values when both agree. Instances are thread-safe.
+ */
+public final class CachingRadiationCalculator {
+
+    /** Default quantization of time, in seconds. */
+    public static final double DEFAULT_TIME_QUANTUM = 60.0;
+
+    /** Default quantization of latitude and longitude, in degrees (about 100 m). */
+    public static final double DEFAULT_DEGREE_QUANTUM = 1e-3;
+
+    private static final int COORDINATE_BITS = 24;
+
+    /** Finest supported quantization of latitude and longitude, in degrees. */
+    public static final double MIN_DEGREE_QUANTUM = 360.0 / (1 << COORDINATE_BITS);
+
+    private static final long COORDINATE_MASK = (1L << COORDINATE_BITS) - 1;
+    private static final long COORDINATE_BIAS = 1L << (COORDINATE_BITS - 1);
+
+    private final GlobalRadiationCalculator calculator;
+    private final RadiationCache cache;
+    private final double timeQuantum;
+    private final double degreeQuantum;
+    private final long modelKey;
+    private final RadiationCache.Loader loader = this::load;
+
+    /**
+     * Creates a calculator with the default quantization.
+     *
+     * @param calculator calculator that computes the values on a miss
+     * @param cache      the cache, which may be shared with other calculators
+     */
+    public CachingRadiationCalculator(GlobalRadiationCalculator calculator, RadiationCache cache) {
+        this(calculator, cache, DEFAULT_TIME_QUANTUM, DEFAULT_DEGREE_QUANTUM);
+    }
+
+    /**
+     * Creates a calculator.
+     *
+     * @param calculator    calculator that computes the values on a miss
+     * @param cache         the cache, which may be shared with other calculators
+     * @param timeQuantum   quantization of time in seconds
+     * @param degreeQuantum quantization of latitude and longitude in degrees, at least
+     *                      {@link #MIN_DEGREE_QUANTUM}
+     */
+    public CachingRadiationCalculator(GlobalRadiationCalculator calculator, RadiationCache cache,
+                                      double timeQuantum, double degreeQuantum) {
+        if (!(timeQuantum > 0.0) || Double.isInfinite(timeQuantum)) {
+            throw new IllegalArgumentException("Time quantum must be positive: " + timeQuantum);
+        }
+        if (!(degreeQuantum >= MIN_DEGREE_QUANTUM) || degreeQuantum > 360.0) {
+            throw new IllegalArgumentException("Degree quantum must be in [" + MIN_DEGREE_QUANTUM + ", 360]: "
+                    + degreeQuantum);
+        }
+        this.calculator = Objects.requireNonNull(calculator, "calculator");
+        this.cache = Objects.requireNonNull(cache, "cache");
+        this.timeQuantum = timeQuantum;
+        this.degreeQuantum = degreeQuantum;
+        // the quanta are part of the model key: other quanta give other values for the same indices
+        long model = cache.modelId(new ModelKey(calculator.engine(), calculator.clearSkyModel(),
+                timeQuantum, degreeQuantum));
+        this.modelKey = model << (2 * COORDINATE_BITS);
+    }
+
+    /** @return the cache */
+    public RadiationCache cache() {
+        return cache;
+    }
+
+    /**
+     * Returns the global horizontal radiation at the nearest quantized moment and location.
+     *
+     * @param epochSecond seconds since the Unix epoch (UTC)
+     * @param latitude    latitude in degrees, positive north
+     * @param longitude   longitude in degrees, positive east
+     * @return the global horizontal radiation in W/m²
+     */
+    public double globalRadiation(double epochSecond, double latitude, double longitude) {
+        return cache.get(timeKey(epochSecond), siteKey(latitude, longitude), loader);
+    }
+
+    /**
+     * Returns the first part of the cache key of a moment: the index of its time quantum.
+     *
+     * @param epochSecond seconds since the Unix epoch (UTC)
+     * @return the key
+     */
+    public long timeKey(double epochSecond) {
+        return (long) Math.rint(epochSecond / timeQuantum);
+    }
+
+    /**
+     * Returns the second part of the cache key of a location: the model and the indices of both
+     * coordinate quanta, 24 bits each. Longitudes are wrapped to {@code [-180, 180)}.
+     *
+     * @param latitude  latitude in degrees
+     * @param longitude longitude in degrees
+     * @return the key
+     */
+    public long siteKey(double latitude, double longitude) {
+        double wrapped = longitude - 360.0 * Math.floor((longitude + 180.0) / 360.0);
+        long row = (long) Math.rint(Math.max(-90.0, Math.min(90.0, latitude)) / degreeQuantum) + COORDINATE_BIAS;
+        long column = (long) Math.rint(wrapped / degreeQuantum) + COORDINATE_BIAS;
+        return modelKey | (row & COORDINATE_MASK) << COORDINATE_BITS | (column & COORDINATE_MASK);
+    }
+
+    private double load(long timeKey, long siteKey) {
+        double latitude = ((siteKey >>> COORDINATE_BITS & COORDINATE_MASK) - COORDINATE_BIAS) * degreeQuantum;
+        double longitude = ((siteKey & COORDINATE_MASK) - COORDINATE_BIAS) * degreeQuantum;
+        return calculator.globalRadiation(timeKey * timeQuantum, latitude, longitude);
+    }
+
+    /** Identity of the values produced by an engine and model under a quantization. */
+    private static final class ModelKey {
+
+        private final Object engine;
+        private final Object model;
+        private final double timeQuantum;
+        private final double degreeQuantum;
+
+        ModelKey(Object engine, Object model, double timeQuantum, double degreeQuantum) {
+            this.engine = engine;
+            this.model = model;
+            this.timeQuantum = timeQuantum;
+            this.degreeQuantum = degreeQuantum;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof ModelKey)) {
+                return false;
+            }
+            ModelKey key = (ModelKey) other;
+            return engine.equals(key.engine) && model.equals(key.model)
+                    && timeQuantum == key.timeQuantum && degreeQuantum == key.degreeQuantum;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(engine, model, timeQuantum, degreeQuantum);
+        }
+    }
+}
@@ -0,0 +1,362 @@
+package io.github.wjvanhoek.jsolar.cache;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, thread-safe cache of {@code double} results keyed by two {@code long}s, with
+ * segmented-LRU eviction.
+ * <p>
+ * Entries are kept in primitive arrays: no key or value is boxed and no object is created per
+ * entry or per lookup. The cache is split into independently locked shards by key hash. Within a
+ * shard, new entries enter a probationary segment and move to a protected segment, which holds
+ * {@value #PROTECTED_PERCENT}% of the shard, when they are hit again. Eviction takes the least
+ * recently used probationary entry, so a burst of one-off keys cannot flush the entries that
+ * are requested repeatedly.
+ *
+ * @see CachingRadiationCalculator
+ */
+public final class RadiationCache {
+
+    /** Largest number of models that can be registered with {@link #modelId(Object)}. */
+    public static final int MAX_MODELS = 1 << 16;
+
+    /** Share of every shard reserved for entries that were hit at least once, in percent. */
+    public static final int PROTECTED_PERCENT = 80;
+
+    /** Loads the value of a key that is not cached. */
+    @FunctionalInterface
+    public interface Loader {
+
+        /**
+         * @param key1 first part of the key
+         * @param key2 second part of the key
+         * @return the value
+         */
+        double load(long key1, long key2);
+    }
+
+    private final Shard[] shards;
+    private final int shardShift;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final Map<Object, Integer> models = new HashMap<>();
+
+    /**
+     * Creates a cache with one shard per available processor, rounded up to a power of two.
+     *
+     * @param maximumSize maximum number of entries
+     */
+    public RadiationCache(int maximumSize) {
+        this(maximumSize, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param maximumSize maximum number of entries, divided evenly over the shards
+     * @param shards      number of shards, rounded up to a power of two
+     */
+    public RadiationCache(int maximumSize, int shards) {
+        if (maximumSize < 1 || shards < 1) {
+            throw new IllegalArgumentException("Size and shards must be positive: " + maximumSize + ", " + shards);
+        }
+        int count = shards == 1 ? 1 : Integer.highestOneBit(shards - 1) << 1;
+        count = Math.min(count, Integer.highestOneBit(maximumSize));
+        this.shards = new Shard[count];
+        this.shardShift = 64 - Integer.numberOfTrailingZeros(count);
+        for (int s = 0; s < count; s++) {
+            this.shards[s] = new Shard(maximumSize / count + (s < maximumSize % count ? 1 : 0));
+        }
+    }
+
+    /**
+     * Returns a cached value.
+     *
+     * @param key1 first part of the key
+     * @param key2 second part of the key
+     * @return the value, or NaN when the key is not cached
+     */
+    public double get(long key1, long key2) {
+        long hash = hash(key1, key2);
+        Shard shard = shard(hash);
+        double value;
+        boolean hit;
+        synchronized (shard) {
+            int slot = shard.find(key1, key2, (int) hash);
+            hit = slot >= 0;
+            value = hit ? shard.touch(slot) : Double.NaN;
+        }
+        (hit ? hits : misses).increment();
+        return value;
+    }
+
+    /**
+     * Returns the cached value of a key, loading and caching it when it is absent. The loader runs
+     * outside the lock of the shard, so concurrent misses on the same key may each load it.
+     *
+     * @param key1   first part of the key
+     * @param key2   second part of the key
+     * @param loader computes the value on a miss
+     * @return the value
+     */
+    public double get(long key1, long key2, Loader loader) {
+        long hash = hash(key1, key2);
+        Shard shard = shard(hash);
+        synchronized (shard) {
+            int slot = shard.find(key1, key2, (int) hash);
+            if (slot >= 0) {
+                double value = shard.touch(slot);
+                hits.increment();
+                return value;
+            }
+        }
+        misses.increment();
+        double value = loader.load(key1, key2);
+        put(key1, key2, hash, shard, value);
+        return value;
+    }
+
+    /**
+     * Stores a value, replacing any value cached for the key.
+     *
+     * @param key1  first part of the key
+     * @param key2  second part of the key
+     * @param value the value
+     */
+    public void put(long key1, long key2, double value) {
+        long hash = hash(key1, key2);
+        put(key1, key2, hash, shard(hash), value);
+    }
+
+    /**
+     * Returns a small number that identifies a model configuration within this cache, for use in
+     * keys. Configurations are told apart by {@link Object#equals(Object)}; the built-in clear-sky
+     * models use identity, so calculators share entries when they share a model instance.
+     *
+     * @param configuration the model configuration
+     * @return the identifier, in {@code [0, MAX_MODELS)}
+     * @throws IllegalStateException when {@value #MAX_MODELS} configurations are registered already
+     */
+    public synchronized int modelId(Object configuration) {
+        Integer id = models.get(configuration);
+        if (id == null) {
+            if (models.size() == MAX_MODELS) {
+                throw new IllegalStateException("More than " + MAX_MODELS + " model configurations");
+            }
+            id = models.size();
+            models.put(configuration, id);
+        }
+        return id;
+    }
+
+    /** @return the number of cached entries */
+    public long size() {
+        long size = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                size += shard.size;
+            }
+        }
+        return size;
+    }
+
+    /** @return the maximum number of entries */
+    public long maximumSize() {
+        long size = 0;
+        for (Shard shard : shards) {
+            size += shard.capacity;
+        }
+        return size;
+    }
+
+    /** Removes every entry. The statistics are kept. */
+    public void clear() {
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                shard.clear();
+            }
+        }
+    }
+
+    /** @return a snapshot of the hit, miss and eviction counters */
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), size());
+    }
+
+    private void put(long key1, long key2, long hash, Shard shard, double value) {
+        boolean evicted;
+        synchronized (shard) {
+            evicted = shard.put(key1, key2, (int) hash, value);
+        }
+        if (evicted) {
+            evictions.increment();
+        }
+    }
+
+    private Shard shard(long hash) {
+        return shards.length == 1 ? shards[0] : shards[(int) (hash >>> shardShift)];
+    }
+
+    /** Mixes both parts of the key with the finalizer of MurmurHash3. */
+    private static long hash(long key1, long key2) {
+        long h = key1 * 0x9E3779B97F4A7C15L ^ key2;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        return h ^ h >>> 33;
+    }
+
+    /**
+     * One independently locked part of the cache. Entries live in slots of parallel arrays; the
+     * hash index chains slots per bucket and each segment is a doubly linked list of slots with
+     * its most recently used entry at the head.
+     */
+    private static final class Shard {
+
+        private static final int NONE = -1;
+        private static final byte FREE = 0;
+        private static final byte PROBATION = 1;
+        private static final byte PROTECTED = 2;
+
+        final int capacity;
+        private final int protectedCapacity;
+        private final long[] keys1;
+        private final long[] keys2;
+        private final double[] values;
+        private final int[] chain;
+        private final int[] previous;
+        private final int[] next;
+        private final byte[] segment;
+        private final int[] buckets;
+        private final int[] heads = new int[3];
+        private final int[] tails = new int[3];
+        private final int[] counts = new int[3];
+        private int free;
+        int size;
+
+        Shard(int capacity) {
+            this.capacity = Math.max(1, capacity);
+            this.protectedCapacity = this.capacity * PROTECTED_PERCENT / 100;
+            this.keys1 = new long[this.capacity];
+            this.keys2 = new long[this.capacity];
+            this.values = new double[this.capacity];
+            this.chain = new int[this.capacity];
+            this.previous = new int[this.capacity];
+            this.next = new int[this.capacity];
+            this.segment = new byte[this.capacity];
+            this.buckets = new int[Integer.highestOneBit(this.capacity * 2 - 1) << 1];
+            clear();
+        }
+
+        void clear() {
+            Arrays.fill(buckets, NONE);
+            Arrays.fill(segment, FREE);
+            Arrays.fill(heads, NONE);
+            Arrays.fill(tails, NONE);
+            Arrays.fill(counts, 0);
+            for (int slot = 0; slot < capacity; slot++) {
+                next[slot] = slot + 1 < capacity ? slot + 1 : NONE;
+            }
+            free = 0;
+            size = 0;
+        }
+
+        int find(long key1, long key2, int hash) {
+            for (int slot = buckets[hash & (buckets.length - 1)]; slot != NONE; slot = chain[slot]) {
+                if (keys1[slot] == key1 && keys2[slot] == key2) {
+                    return slot;
+                }
+            }
+            return NONE;
+        }
+
+        /** Records a hit: promotes a probationary entry, or refreshes a protected one. */
+        double touch(int slot) {
+            unlink(slot);
+            pushHead(PROTECTED, slot);
+            if (counts[PROTECTED] > protectedCapacity) {
+                int demoted = tails[PROTECTED];
+                unlink(demoted);
+                pushHead(PROBATION, demoted);
+            }
+            return values[slot];
+        }
+
+        /** Inserts or replaces an entry and returns whether another entry was evicted for it. */
+        boolean put(long key1, long key2, int hash, double value) {
+            int slot = find(key1, key2, hash);
+            if (slot != NONE) {
+                values[slot] = value;
+                return false;
+            }
+            boolean evicted = false;
+            if (free == NONE) {
+                int victim = tails[PROBATION] != NONE ? tails[PROBATION] : tails[PROTECTED];
+                remove(victim);
+                evicted = true;
+            }
+            slot = free;
+            free = next[slot];
+            keys1[slot] = key1;
+            keys2[slot] = key2;
+            values[slot] = value;
+            int bucket = hash & (buckets.length - 1);
+            chain[slot] = buckets[bucket];
+            buckets[bucket] = slot;
+            pushHead(PROBATION, slot);
+            size++;
+            return evicted;
+        }
+
+        private void remove(int slot) {
+            unlink(slot);
+            int bucket = (int) hash(keys1[slot], keys2[slot]) & (buckets.length - 1);
+            if (buckets[bucket] == slot) {
+                buckets[bucket] = chain[slot];
+            } else {
+                int before = buckets[bucket];
+                while (chain[before] != slot) {
+                    before = chain[before];
+                }
+                chain[before] = chain[slot];
+            }
+            segment[slot] = FREE;
+            next[slot] = free;
+            free = slot;
+            size--;
+        }
+
+        private void pushHead(byte list, int slot) {
+            segment[slot] = list;
+            previous[slot] = NONE;
+            next[slot] = heads[list];
+            if (heads[list] != NONE) {
+                previous[heads[list]] = slot;
+            } else {
+                tails[list] = slot;
+            }
+            heads[list] = slot;
+            counts[list]++;
+        }
+
+        private void unlink(int slot) {
+            byte list = segment[slot];
+            if (previous[slot] != NONE) {
+                next[previous[slot]] = next[slot];
+            } else {
+                heads[list] = next[slot];
+            }
+            if (next[slot] != NONE) {
+                previous[next[slot]] = previous[slot];
+            } else {
+                tails[list] = previous[slot];
+            }
+            counts[list]--;
+        }
+    }
+}
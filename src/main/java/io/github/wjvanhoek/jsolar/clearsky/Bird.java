@@ -0,0 +1,98 @@
+package io.github.wjvanhoek.jsolar.clearsky;
+
+import io.github.wjvanhoek.jsolar.atmosphere.Atmosphere;
+import io.github.wjvanhoek.jsolar.position.SolarGeometry;
+
+/**
+ * The broadband clear-sky model of Bird and Hulstrom (1981), which treats Rayleigh scattering,
+ * ozone, uniformly mixed gases, water vapour and aerosols as separate transmittances.
+ * <p>
+ * Air mass follows {@link Atmosphere#relativeAirmass(double)}.
+ */
+public final class Bird implements ClearSkyModel {
+
+    /** Forward scattering ratio of the aerosols. */
+    private static final double ASYMMETRY = 0.85;
+
+    private final double pressure;
+    private final double ozone;
+    private final double precipitableWater;
+    private final double aod500;
+    private final double aod380;
+    private final double albedo;
+    private final double broadbandAod;
+
+    /**
+     * Creates the model.
+     *
+     * @param pressure          station pressure in Pa
+     * @param ozone             total column ozone in atm-cm
+     * @param precipitableWater precipitable water in cm
+     * @param aod500            aerosol optical depth at 500 nm
+     * @param aod380            aerosol optical depth at 380 nm
+     * @param albedo            ground albedo
+     */
+    public Bird(double pressure, double ozone, double precipitableWater, double aod500, double aod380,
+                double albedo) {
+        this.pressure = pressure;
+        this.ozone = ozone;
+        this.precipitableWater = precipitableWater;
+        this.aod500 = aod500;
+        this.aod380 = aod380;
+        this.albedo = albedo;
+        this.broadbandAod = 0.2758 * aod380 + 0.35 * aod500;
+    }
+
+    @Override
+    public double globalHorizontal(double cosZenith, double eccentricityCorrection,
+                                   double latitude, double longitude, double epochSecond) {
+        return compute(cosZenith, eccentricityCorrection, null);
+    }
+
+    @Override
+    public void evaluate(double cosZenith, double eccentricityCorrection,
+                         double latitude, double longitude, double epochSecond, ClearSkyIrradiance out) {
+        compute(cosZenith, eccentricityCorrection, out);
+    }
+
+    private double compute(double cosZenith, double eccentricityCorrection, ClearSkyIrradiance out) {
+        if (cosZenith <= 0.0) {
+            if (out != null) {
+                out.set(0.0, 0.0, 0.0);
+            }
+            return 0.0;
+        }
+        double extraterrestrial = SolarGeometry.SOLAR_CONSTANT * eccentricityCorrection;
+        double am = Atmosphere.relativeAirmass(cosZenith);
+        double amp = Atmosphere.absoluteAirmass(am, pressure);
+
+        double rayleigh = Math.exp(-0.0903 * Math.pow(amp, 0.84) * (1.0 + amp - Math.pow(amp, 1.01)));
+        double amOzone = ozone * am;
+        double ozoneT = 1.0 - 0.1611 * amOzone * Math.pow(1.0 + 139.48 * amOzone, -0.3034)
+                - 0.002715 * amOzone / (1.0 + 0.044 * amOzone + 0.0003 * amOzone * amOzone);
+        double gases = Math.exp(-0.0127 * Math.pow(amp, 0.26));
+        double amWater = am * precipitableWater;
+        double water = 1.0 - 2.4959 * amWater / (Math.pow(1.0 + 79.034 * amWater, 0.6828) + 6.385 * amWater);
+        double aerosol = Math.exp(-Math.pow(broadbandAod, 0.873)
+                * (1.0 + broadbandAod - Math.pow(broadbandAod, 0.7088)) * Math.pow(am, 0.9108));
+        double aerosolAbsorption = 1.0 - 0.1 * (1.0 - am + Math.pow(am, 1.06)) * (1.0 - aerosol);
+        double skyReflectance = 0.0685 + (1.0 - ASYMMETRY) * (1.0 - aerosol / aerosolAbsorption);
+
+        double dni = 0.9662 * extraterrestrial * aerosol * water * gases * ozoneT * rayleigh;
+        double beamHorizontal = dni * cosZenith;
+        double scattered = extraterrestrial * cosZenith * 0.79 * ozoneT * gases * water * aerosolAbsorption
+                * (0.5 * (1.0 - rayleigh) + ASYMMETRY * (1.0 - aerosol / aerosolAbsorption))
+                / (1.0 - am + Math.pow(am, 1.02));
+        double ghi = (beamHorizontal + scattered) / (1.0 - albedo * skyReflectance);
+        if (out != null) {
+            out.set(ghi, dni, ghi - beamHorizontal);
+        }
+        return ghi;
+    }
+
+    @Override
+    public String toString() {
+        return "Bird[pressure=" + pressure + ", ozone=" + ozone + ", precipitableWater=" + precipitableWater
+                + ", aod500=" + aod500 + ", aod380=" + aod380 + ", albedo=" + albedo + "]";
+    }
+}
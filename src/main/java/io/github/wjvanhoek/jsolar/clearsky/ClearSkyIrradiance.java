@@ -0,0 +1,47 @@
+package io.github.wjvanhoek.jsolar.clearsky;
+
+/**
+ * Mutable holder for the components of clear-sky irradiance, reused across evaluations.
+ */
+public final class ClearSkyIrradiance {
+
+    private double globalHorizontal;
+    private double directNormal;
+    private double diffuseHorizontal;
+
+    /**
+     * Fills this holder.
+     *
+     * @param globalHorizontal  global horizontal irradiance (GHI) in W/m²
+     * @param directNormal      direct normal irradiance (DNI) in W/m²
+     * @param diffuseHorizontal diffuse horizontal irradiance (DHI) in W/m²
+     * @return this holder
+     */
+    public ClearSkyIrradiance set(double globalHorizontal, double directNormal, double diffuseHorizontal) {
+        this.globalHorizontal = globalHorizontal;
+        this.directNormal = directNormal;
+        this.diffuseHorizontal = diffuseHorizontal;
+        return this;
+    }
+
+    /** @return the global horizontal irradiance (GHI) in W/m² */
+    public double globalHorizontal() {
+        return globalHorizontal;
+    }
+
+    /** @return the direct normal irradiance (DNI) in W/m² */
+    public double directNormal() {
+        return directNormal;
+    }
+
+    /** @return the diffuse horizontal irradiance (DHI) in W/m² */
+    public double diffuseHorizontal() {
+        return diffuseHorizontal;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ClearSkyIrradiance[ghi=%.2f, dni=%.2f, dhi=%.2f]",
+                globalHorizontal, directNormal, diffuseHorizontal);
+    }
+}
@@ -0,0 +1,38 @@
+package io.github.wjvanhoek.jsolar.clearsky;
+
+/**
+ * Clear-sky irradiance model. Implementations are immutable, thread-safe and do not allocate.
+ * <p>
+ * Every method receives the position of the Sun as the cosine of the zenith angle and the
+ * eccentricity correction of the Earth's orbit, plus the location and moment so that models can
+ * look up site- or season-dependent atmospheric parameters. All methods return zero irradiance
+ * when the Sun is below the horizon.
+ */
+public interface ClearSkyModel {
+
+    /**
+     * Computes the global horizontal irradiance only, which is cheaper for some models.
+     *
+     * @param cosZenith              cosine of the solar zenith angle
+     * @param eccentricityCorrection eccentricity correction of the Earth's orbit
+     * @param latitude               latitude in degrees
+     * @param longitude              longitude in degrees
+     * @param epochSecond            seconds since the Unix epoch (UTC)
+     * @return the global horizontal irradiance in W/m²
+     */
+    double globalHorizontal(double cosZenith, double eccentricityCorrection,
+                            double latitude, double longitude, double epochSecond);
+
+    /**
+     * Computes the global, direct normal and diffuse horizontal irradiance.
+     *
+     * @param cosZenith              cosine of the solar zenith angle
+     * @param eccentricityCorrection eccentricity correction of the Earth's orbit
+     * @param latitude               latitude in degrees
+     * @param longitude              longitude in degrees
+     * @param epochSecond            seconds since the Unix epoch (UTC)
+     * @param out                    holder that receives the result
+     */
+    void evaluate(double cosZenith, double eccentricityCorrection,
+                  double latitude, double longitude, double epochSecond, ClearSkyIrradiance out);
+}
@@ -0,0 +1,53 @@
+package io.github.wjvanhoek.jsolar.clearsky;
+
+import io.github.wjvanhoek.jsolar.decomposition.Erbs;
+import io.github.wjvanhoek.jsolar.position.SolarGeometry;
+
+/**
+ * The empirical clear-sky model of Haurwitz (1945), which only depends on the zenith angle.
+ * <p>
+ * Haurwitz only defines the global irradiance; the direct and diffuse components are split with
+ * the {@link Erbs} diffuse fraction correlation.
+ */
+public final class Haurwitz implements ClearSkyModel {
+
+    /** The model has no parameters, so one instance suffices. */
+    public static final Haurwitz INSTANCE = new Haurwitz();
+
+    private Haurwitz() {
+    }
+
+    /**
+     * Computes the global horizontal irradiance.
+     *
+     * @param cosZenith cosine of the solar zenith angle
+     * @return the global horizontal irradiance in W/m²
+     */
+    public static double globalHorizontal(double cosZenith) {
+        return cosZenith > 0.0 ? 1098.0 * cosZenith * Math.exp(-0.057 / cosZenith) : 0.0;
+    }
+
+    @Override
+    public double globalHorizontal(double cosZenith, double eccentricityCorrection,
+                                   double latitude, double longitude, double epochSecond) {
+        return globalHorizontal(cosZenith);
+    }
+
+    @Override
+    public void evaluate(double cosZenith, double eccentricityCorrection,
+                         double latitude, double longitude, double epochSecond, ClearSkyIrradiance out) {
+        double ghi = globalHorizontal(cosZenith);
+        if (ghi <= 0.0) {
+            out.set(0.0, 0.0, 0.0);
+            return;
+        }
+        double kt = ghi / (SolarGeometry.SOLAR_CONSTANT * eccentricityCorrection * cosZenith);
+        double dhi = ghi * Erbs.diffuseFraction(kt);
+        out.set(ghi, (ghi - dhi) / cosZenith, dhi);
+    }
+
+    @Override
+    public String toString() {
+        return "Haurwitz";
+    }
+}
@@ -0,0 +1,110 @@
+package io.github.wjvanhoek.jsolar.clearsky;
+
+import io.github.wjvanhoek.jsolar.atmosphere.Atmosphere;
+import io.github.wjvanhoek.jsolar.position.SolarGeometry;
+
+import java.util.Objects;
+
+/**
+ * The clear-sky model of Ineichen and Perez (2002), parameterised by the Linke turbidity and
+ * the altitude of the site. The turbidity is either fixed or looked up per location and moment
+ * from a {@link LinkeTurbidity} source such as a {@link LinkeTurbidityClimatology}.
+ */
+public final class IneichenPerez implements ClearSkyModel {
+
+    private final double altitude;
+    private final LinkeTurbidity turbidity;
+    private final double fixedTurbidity;
+    private final double pressure;
+    private final double fh1;
+    private final double fh2;
+    private final double cg1;
+    private final double cg2;
+    private final double b;
+
+    /**
+     * Creates the model for one altitude and a fixed Linke turbidity.
+     *
+     * @param altitude       altitude above sea level in m
+     * @param linkeTurbidity Linke turbidity factor at air mass 2
+     */
+    public IneichenPerez(double altitude, double linkeTurbidity) {
+        this(altitude, LinkeTurbidity.constant(linkeTurbidity), linkeTurbidity);
+    }
+
+    /**
+     * Creates the model for one altitude and a varying Linke turbidity.
+     *
+     * @param altitude  altitude above sea level in m
+     * @param turbidity source of the Linke turbidity factor at air mass 2
+     */
+    public IneichenPerez(double altitude, LinkeTurbidity turbidity) {
+        this(altitude, turbidity, Double.NaN);
+    }
+
+    private IneichenPerez(double altitude, LinkeTurbidity turbidity, double fixedTurbidity) {
+        this.altitude = altitude;
+        this.turbidity = Objects.requireNonNull(turbidity, "turbidity");
+        this.fixedTurbidity = fixedTurbidity;
+        this.pressure = Atmosphere.pressure(altitude);
+        this.fh1 = Math.exp(-altitude / 8000.0);
+        this.fh2 = Math.exp(-altitude / 1250.0);
+        this.cg1 = 5.09e-5 * altitude + 0.868;
+        this.cg2 = 3.92e-5 * altitude + 0.0387;
+        this.b = 0.664 + 0.163 / fh1;
+    }
+
+    /** @return the altitude above sea level in m */
+    public double altitude() {
+        return altitude;
+    }
+
+    /** @return the source of the Linke turbidity factor */
+    public LinkeTurbidity linkeTurbidity() {
+        return turbidity;
+    }
+
+    @Override
+    public double globalHorizontal(double cosZenith, double eccentricityCorrection,
+                                   double latitude, double longitude, double epochSecond) {
+        if (cosZenith <= 0.0) {
+            return 0.0;
+        }
+        double airmass = Atmosphere.absoluteAirmass(Atmosphere.relativeAirmass(cosZenith), pressure);
+        return ghi(cosZenith, SolarGeometry.SOLAR_CONSTANT * eccentricityCorrection, airmass,
+                turbidity(latitude, longitude, epochSecond));
+    }
+
+    @Override
+    public void evaluate(double cosZenith, double eccentricityCorrection,
+                         double latitude, double longitude, double epochSecond, ClearSkyIrradiance out) {
+        if (cosZenith <= 0.0) {
+            out.set(0.0, 0.0, 0.0);
+            return;
+        }
+        double linkeTurbidity = turbidity(latitude, longitude, epochSecond);
+        double extraterrestrial = SolarGeometry.SOLAR_CONSTANT * eccentricityCorrection;
+        double airmass = Atmosphere.absoluteAirmass(Atmosphere.relativeAirmass(cosZenith), pressure);
+        double ghi = ghi(cosZenith, extraterrestrial, airmass, linkeTurbidity);
+        double beam = extraterrestrial * Math.max(0.0, b * Math.exp(-0.09 * airmass * (linkeTurbidity - 1.0)));
+        double beamFromGlobal = ghi * Math.max(0.0,
+                (1.0 - (0.1 - 0.2 * Math.exp(-linkeTurbidity)) / (0.1 + 0.882 / fh1)) / cosZenith);
+        double dni = Math.min(beam, beamFromGlobal);
+        out.set(ghi, dni, ghi - dni * cosZenith);
+    }
+
+    private double turbidity(double latitude, double longitude, double epochSecond) {
+        return Double.isNaN(fixedTurbidity) ? turbidity.at(latitude, longitude, epochSecond) : fixedTurbidity;
+    }
+
+    private double ghi(double cosZenith, double extraterrestrial, double airmass, double linkeTurbidity) {
+        return cg1 * extraterrestrial * cosZenith
+                * Math.exp(-cg2 * airmass * (fh1 + fh2 * (linkeTurbidity - 1.0)));
+    }
+
+    @Override
+    public String toString() {
+        return "IneichenPerez[altitude=" + altitude + ", linkeTurbidity="
+                + (Double.isNaN(fixedTurbidity) ? turbidity : fixedTurbidity) + "]";
+    }
+}
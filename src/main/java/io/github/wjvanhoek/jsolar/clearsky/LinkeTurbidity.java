@@ -0,0 +1,34 @@
+package io.github.wjvanhoek.jsolar.clearsky;
+
+/**
+ * Source of the Linke turbidity factor at air mass 2. Implementations are thread-safe and do not
+ * allocate.
+ *
+ * @see LinkeTurbidityClimatology
+ */
+@FunctionalInterface
+public interface LinkeTurbidity {
+
+    /**
+     * Returns the Linke turbidity at a location and moment.
+     *
+     * @param latitude    latitude in degrees
+     * @param longitude   longitude in degrees
+     * @param epochSecond seconds since the Unix epoch (UTC)
+     * @return the Linke turbidity factor
+     */
+    double at(double latitude, double longitude, double epochSecond);
+
+    /**
+     * Returns a source with the same turbidity everywhere and always.
+     *
+     * @param linkeTurbidity the Linke turbidity factor
+     * @return the source
+     */
+    static LinkeTurbidity constant(double linkeTurbidity) {
+        if (!(linkeTurbidity > 0.0)) {
+            throw new IllegalArgumentException("Linke turbidity must be positive: " + linkeTurbidity);
+        }
+        return (latitude, longitude, epochSecond) -> linkeTurbidity;
+    }
+}
@@ -0,0 +1,209 @@
+package io.github.wjvanhoek.jsolar.clearsky;
+
+import io.github.wjvanhoek.jsolar.grid.Grid;
+import io.github.wjvanhoek.jsolar.time.EpochTime;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Monthly Linke turbidity climatology on a regular grid, memory-mapped from a compact file.
+ * <p>
+ * Values are quantized to one unsigned byte, {@code turbidity = offset + scale * byte}; with the
+ * customary scale of 1/20 a global 1/12° raster takes 112 MB for all twelve months. Lookups are
+ * bilinear between the four surrounding cell centres and linear in time between the two nearest
+ * mid-month values, and only read eight bytes. Longitudes wrap around when the grid spans the
+ * globe; otherwise, like latitudes, they are clamped to the outermost cells.
+ * <p>
+ * The file is little-endian:
+ * <pre>
+ * offset size field
+ *      0    8 magic "JSLINKE\0"
+ *      8    4 int    format version (1)
+ *     12    4 int    header size ({@value #HEADER_SIZE})
+ *     16    4 int    rows
+ *     20    4 int    columns
+ *     24    8 double latitude of the centre of row 0 (degrees)
+ *     32    8 double longitude of the centre of column 0 (degrees)
+ *     40    8 double latitude step per row (degrees)
+ *     48    8 double longitude step per column (degrees)
+ *     56    4 float  scale
+ *     60    4 float  offset
+ *     64      uint8  values [month 0..11][row][column]
+ * </pre>
+ */
+public final class LinkeTurbidityClimatology implements LinkeTurbidity {
+
+    /** Size of the header in bytes. */
+    public static final int HEADER_SIZE = 64;
+
+    /** Customary quantization step, as used by the SoDa/Meteotest rasters. */
+    public static final float DEFAULT_SCALE = 0.05f;
+
+    private static final byte[] MAGIC = {'J', 'S', 'L', 'I', 'N', 'K', 'E', 0};
+    private static final int VERSION = 1;
+    private static final int MONTHS = 12;
+    private static final double DAYS_PER_MONTH = 365.2425 / MONTHS;
+
+    private final ByteBuffer values;
+    private final Grid grid;
+    private final double scale;
+    private final double offset;
+    private final int monthStride;
+    private final boolean wrapsLongitude;
+
+    private LinkeTurbidityClimatology(ByteBuffer file) {
+        ByteBuffer in = file.order(ByteOrder.LITTLE_ENDIAN);
+        byte[] magic = new byte[MAGIC.length];
+        in.get(0, magic);
+        if (!Arrays.equals(magic, MAGIC) || in.getInt(8) != VERSION) {
+            throw new IllegalArgumentException("Not a version " + VERSION + " Linke turbidity file");
+        }
+        this.grid = new Grid(in.getDouble(24), in.getDouble(32), in.getDouble(40), in.getDouble(48),
+                in.getInt(16), in.getInt(20));
+        this.scale = in.getFloat(56);
+        this.offset = in.getFloat(60);
+        long cells = grid.cells();
+        if (MONTHS * cells > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Linke turbidity grid too large: " + grid);
+        }
+        if (HEADER_SIZE + MONTHS * cells > in.capacity()) {
+            throw new IllegalArgumentException("Linke turbidity file is truncated");
+        }
+        this.monthStride = (int) cells;
+        this.values = in.slice(HEADER_SIZE, MONTHS * monthStride);
+        this.wrapsLongitude = Math.abs(grid.columns() * grid.longitudeStep()) >= 360.0 - 1e-9;
+    }
+
+    /**
+     * Maps a climatology file. The file stays mapped until the instance is garbage collected.
+     *
+     * @param path the file
+     * @return the climatology
+     * @throws IOException when the file cannot be mapped
+     */
+    public static LinkeTurbidityClimatology open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new LinkeTurbidityClimatology(buffer);
+        }
+    }
+
+    /**
+     * Quantizes monthly turbidity rasters and writes them in the format read by {@link #open(Path)}.
+     *
+     * @param path    the file to create or replace
+     * @param grid    geometry of the rasters
+     * @param monthly twelve row-major rasters of Linke turbidity, January first
+     * @param scale   quantization step
+     * @param offset  turbidity represented by byte value 0
+     * @throws IOException when the file cannot be written
+     */
+    public static void write(Path path, Grid grid, float[][] monthly, float scale, float offset) throws IOException {
+        if (monthly.length != MONTHS) {
+            throw new IllegalArgumentException("Expected " + MONTHS + " monthly rasters, got " + monthly.length);
+        }
+        if (grid.cells() * MONTHS > Integer.MAX_VALUE - HEADER_SIZE) {
+            throw new IllegalArgumentException("Grid too large: " + grid);
+        }
+        ByteBuffer out = ByteBuffer.allocate(HEADER_SIZE + MONTHS * (int) grid.cells()).order(ByteOrder.LITTLE_ENDIAN);
+        out.put(0, MAGIC);
+        out.putInt(8, VERSION);
+        out.putInt(12, HEADER_SIZE);
+        out.putInt(16, grid.rows());
+        out.putInt(20, grid.columns());
+        out.putDouble(24, grid.firstLatitude());
+        out.putDouble(32, grid.firstLongitude());
+        out.putDouble(40, grid.latitudeStep());
+        out.putDouble(48, grid.longitudeStep());
+        out.putFloat(56, scale);
+        out.putFloat(60, offset);
+        int index = HEADER_SIZE;
+        for (float[] raster : monthly) {
+            if (raster.length != grid.cells()) {
+                throw new IllegalArgumentException("Raster holds " + raster.length + " values, grid has " + grid.cells());
+            }
+            for (float value : raster) {
+                out.put(index++, (byte) Math.max(0, Math.min(255, Math.round((value - offset) / scale))));
+            }
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+        }
+    }
+
+    /** @return the geometry of the rasters */
+    public Grid grid() {
+        return grid;
+    }
+
+    @Override
+    public double at(double latitude, double longitude, double epochSecond) {
+        long epochDay = EpochTime.epochDay(epochSecond);
+        double day = EpochTime.dayOfYear(epochDay) - 1 + (epochSecond / EpochTime.SECONDS_PER_DAY - epochDay);
+        // Monthly values hold at mid-month
+        double monthPosition = day / DAYS_PER_MONTH - 0.5;
+        int month = (int) Math.floor(monthPosition);
+        double monthWeight = monthPosition - month;
+        int first = Math.floorMod(month, MONTHS) * monthStride;
+        int second = Math.floorMod(month + 1, MONTHS) * monthStride;
+
+        double rowPosition = clamp((latitude - grid.firstLatitude()) / grid.latitudeStep(), grid.rows() - 1);
+        int row = Math.min((int) rowPosition, Math.max(0, grid.rows() - 2));
+        double rowWeight = rowPosition - row;
+        int nextRow = Math.min(row + 1, grid.rows() - 1);
+
+        double columnPosition = (longitude - grid.firstLongitude()) / grid.longitudeStep();
+        int column;
+        int nextColumn;
+        double columnWeight;
+        if (wrapsLongitude) {
+            double floor = Math.floor(columnPosition);
+            columnWeight = columnPosition - floor;
+            column = Math.floorMod((long) floor, grid.columns());
+            nextColumn = column + 1 == grid.columns() ? 0 : column + 1;
+        } else {
+            columnPosition = clamp(columnPosition, grid.columns() - 1);
+            column = Math.min((int) columnPosition, Math.max(0, grid.columns() - 2));
+            columnWeight = columnPosition - column;
+            nextColumn = Math.min(column + 1, grid.columns() - 1);
+        }
+
+        int columns = grid.columns();
+        int a = row * columns + column;
+        int b = row * columns + nextColumn;
+        int c = nextRow * columns + column;
+        int d = nextRow * columns + nextColumn;
+        double earlier = bilinear(first, a, b, c, d, rowWeight, columnWeight);
+        double later = bilinear(second, a, b, c, d, rowWeight, columnWeight);
+        return offset + scale * (earlier + monthWeight * (later - earlier));
+    }
+
+    private double bilinear(int month, int a, int b, int c, int d, double rowWeight, double columnWeight) {
+        double top = value(month + a) + columnWeight * (value(month + b) - value(month + a));
+        double bottom = value(month + c) + columnWeight * (value(month + d) - value(month + c));
+        return top + rowWeight * (bottom - top);
+    }
+
+    private int value(int index) {
+        return values.get(index) & 0xFF;
+    }
+
+    private static double clamp(double position, int max) {
+        return Math.max(0.0, Math.min(max, position));
+    }
+
+    @Override
+    public String toString() {
+        return "LinkeTurbidityClimatology[" + grid + "]";
+    }
+}
@@ -0,0 +1,51 @@
+package io.github.wjvanhoek.jsolar.decomposition;
+
+import io.github.wjvanhoek.jsolar.position.SolarGeometry;
+import io.github.wjvanhoek.jsolar.position.SolarPositionBatch;
+
+import java.util.Objects;
+
+/**
+ * Relations shared by the decomposition models.
+ */
+final class Decomposition {
+
+    /** Lower bound of the cosine of the zenith angle in the clearness index. */
+    static final double MIN_COS_ZENITH = 0.065;
+
+    static final double MAX_ZENITH_RADIANS = Math.toRadians(DecompositionModel.MAX_ZENITH);
+
+    private Decomposition() {
+    }
+
+    /**
+     * Returns the clearness index: the ratio of the global horizontal irradiance to the
+     * extraterrestrial irradiance on a horizontal surface, limited to {@code [0, 1]}.
+     */
+    static double clearnessIndex(double ghi, double cosZenith, double eccentricityCorrection) {
+        double extraterrestrial = SolarGeometry.SOLAR_CONSTANT * eccentricityCorrection
+                * Math.max(cosZenith, MIN_COS_ZENITH);
+        return Math.max(0.0, Math.min(1.0, ghi / extraterrestrial));
+    }
+
+    static void checkRange(double[] ghi, SolarPositionBatch positions, double[] directNormal,
+                           double[] diffuseHorizontal, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, ghi.length);
+        Objects.checkFromIndexSize(offset, length, positions.capacity());
+        Objects.checkFromIndexSize(offset, length, directNormal.length);
+        Objects.checkFromIndexSize(offset, length, diffuseHorizontal.length);
+    }
+
+    /**
+     * Stores a direct normal irradiance and the diffuse remainder of the global irradiance,
+     * attributing everything to diffuse when the result is not physical.
+     */
+    static void store(double ghi, double dni, double cosZenith, double zenith,
+                      double[] directNormal, double[] diffuseHorizontal, int i) {
+        if (zenith > MAX_ZENITH_RADIANS || ghi < 0.0 || !(dni >= 0.0)) {
+            dni = 0.0;
+        }
+        directNormal[i] = dni;
+        diffuseHorizontal[i] = ghi - dni * cosZenith;
+    }
+}
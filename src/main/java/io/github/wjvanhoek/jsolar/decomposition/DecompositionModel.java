@@ -0,0 +1,30 @@
+package io.github.wjvanhoek.jsolar.decomposition;
+
+import io.github.wjvanhoek.jsolar.position.SolarPositionBatch;
+
+/**
+ * Splits measured global horizontal irradiance into its direct normal and diffuse horizontal
+ * components. Implementations are thread-safe and do not allocate per sample.
+ * <p>
+ * The position of the Sun is taken from a {@link SolarPositionBatch} that was filled for the
+ * same samples, so nothing is recomputed: sample {@code i} of every array belongs to the same
+ * timestamp and location.
+ */
+public interface DecompositionModel {
+
+    /** Largest zenith angle at which a direct component is attributed, in degrees. */
+    double MAX_ZENITH = 87.0;
+
+    /**
+     * Decomposes a range of samples.
+     *
+     * @param ghi               global horizontal irradiance in W/m², per sample
+     * @param positions         position of the Sun, per sample
+     * @param directNormal      receives the direct normal irradiance in W/m², per sample
+     * @param diffuseHorizontal receives the diffuse horizontal irradiance in W/m², per sample
+     * @param offset            index of the first sample
+     * @param length            number of samples
+     */
+    void decompose(double[] ghi, SolarPositionBatch positions, double[] directNormal, double[] diffuseHorizontal,
+                   int offset, int length);
+}
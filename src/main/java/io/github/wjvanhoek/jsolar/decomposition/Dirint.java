@@ -0,0 +1,170 @@
+package io.github.wjvanhoek.jsolar.decomposition;
+
+import io.github.wjvanhoek.jsolar.metrics.Metrics;
+import io.github.wjvanhoek.jsolar.metrics.Stage;
+import io.github.wjvanhoek.jsolar.position.SolarGeometry;
+import io.github.wjvanhoek.jsolar.position.SolarPositionBatch;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Objects;
+import java.util.Scanner;
+import java.util.regex.Pattern;
+
+/**
+ * The DIRINT model of Perez et al. (1992), which corrects the {@link Disc} estimate with a
+ * four-dimensional look-up table indexed by the zenith-independent clearness index {@code kt'},
+ * the zenith angle, the variability of {@code kt'} between consecutive samples and the
+ * precipitable water.
+ * <p>
+ * The 6 x 6 x 7 x 5 correction coefficients are not bundled with the library; they are supplied
+ * by the caller, for instance read with {@link #readCoefficients(Reader)} from the published
+ * table. The samples of one {@link #decompose} call are treated as one consecutive time series
+ * when the variability is used.
+ */
+public final class Dirint implements DecompositionModel {
+
+    /** Number of correction coefficients. */
+    public static final int COEFFICIENTS = 6 * 6 * 7 * 5;
+
+    private static final Pattern SEPARATORS = Pattern.compile("[\\s,\\[\\]]+");
+
+    private final double[] coefficients;
+    private final double pressure;
+    private final boolean useVariability;
+
+    /**
+     * Creates the model.
+     *
+     * @param coefficients   correction coefficients, indexed
+     *                       {@code [kt' bin][zenith bin][Δkt' bin][water bin]} in row-major order
+     * @param pressure       station pressure in Pa
+     * @param useVariability whether to use the variability of {@code kt'} between consecutive
+     *                       samples, which requires the samples to form a time series
+     */
+    public Dirint(double[] coefficients, double pressure, boolean useVariability) {
+        if (coefficients.length != COEFFICIENTS) {
+            throw new IllegalArgumentException("Expected " + COEFFICIENTS + " coefficients, got " + coefficients.length);
+        }
+        this.coefficients = coefficients.clone();
+        this.pressure = pressure;
+        this.useVariability = useVariability;
+    }
+
+    /**
+     * Reads the correction coefficients from text: {@value #COEFFICIENTS} numbers separated by
+     * white space, commas or brackets, so nested array literals can be used as is.
+     *
+     * @param reader source of the text
+     * @return the coefficients
+     * @throws IOException when the text cannot be read or does not hold exactly
+     *                     {@value #COEFFICIENTS} numbers
+     */
+    public static double[] readCoefficients(Reader reader) throws IOException {
+        double[] coefficients = new double[COEFFICIENTS];
+        int count = 0;
+        try (Scanner scanner = new Scanner(reader).useDelimiter(SEPARATORS)) {
+            while (scanner.hasNext()) {
+                String token = scanner.next();
+                if (count == COEFFICIENTS) {
+                    throw new IOException("More than " + COEFFICIENTS + " DIRINT coefficients");
+                }
+                try {
+                    coefficients[count++] = Double.parseDouble(token);
+                } catch (NumberFormatException e) {
+                    throw new IOException("Invalid DIRINT coefficient: " + token, e);
+                }
+            }
+            if (scanner.ioException() != null) {
+                throw scanner.ioException();
+            }
+        }
+        if (count != COEFFICIENTS) {
+            throw new IOException("Expected " + COEFFICIENTS + " DIRINT coefficients, got " + count);
+        }
+        return coefficients;
+    }
+
+    @Override
+    public void decompose(double[] ghi, SolarPositionBatch positions, double[] directNormal,
+                          double[] diffuseHorizontal, int offset, int length) {
+        decompose(ghi, positions, null, directNormal, diffuseHorizontal, offset, length);
+    }
+
+    /**
+     * Decomposes a range of samples, taking the precipitable water from the dew point.
+     *
+     * @param ghi               global horizontal irradiance in W/m², per sample
+     * @param positions         position of the Sun, per sample
+     * @param dewPoint          dew point temperature in °C per sample, or {@code null} when unknown
+     * @param directNormal      receives the direct normal irradiance in W/m², per sample
+     * @param diffuseHorizontal receives the diffuse horizontal irradiance in W/m², per sample
+     * @param offset            index of the first sample
+     * @param length            number of samples
+     */
+    public void decompose(double[] ghi, SolarPositionBatch positions, double[] dewPoint, double[] directNormal,
+                          double[] diffuseHorizontal, int offset, int length) {
+        Decomposition.checkRange(ghi, positions, directNormal, diffuseHorizontal, offset, length);
+        if (dewPoint != null) {
+            Objects.checkFromIndexSize(offset, length, dewPoint.length);
+        }
+        long start = Metrics.start();
+        double[] cosZenith = positions.cosZenith();
+        double[] zenith = positions.zenith();
+        double[] eccentricity = positions.eccentricityCorrection();
+        int end = offset + length;
+        double previous = Double.NaN;
+        double current = length > 0 ? ktPrime(ghi, cosZenith, eccentricity, offset) : Double.NaN;
+        for (int i = offset; i < end; i++) {
+            double next = i + 1 < end ? ktPrime(ghi, cosZenith, eccentricity, i + 1) : Double.NaN;
+            double kt = Decomposition.clearnessIndex(ghi[i], cosZenith[i], eccentricity[i]);
+            double airmass = Disc.airmass(cosZenith[i], pressure);
+            double disc = Disc.directTransmittance(kt, airmass) * SolarGeometry.SOLAR_CONSTANT * eccentricity[i];
+
+            int variabilityBin = 6;
+            if (useVariability && length > 1) {
+                double before = Double.isNaN(previous) ? next : previous;
+                double after = Double.isNaN(next) ? previous : next;
+                variabilityBin = variabilityBin(0.5 * (Math.abs(current - before) + Math.abs(current - after)));
+            }
+            int waterBin = dewPoint == null || Double.isNaN(dewPoint[i])
+                    ? 4 : waterBin(Math.exp(0.07 * dewPoint[i] - 0.075));
+            double dni = disc * coefficients[(((ktPrimeBin(current) * 6) + zenithBin(Math.toDegrees(zenith[i]))) * 7
+                    + variabilityBin) * 5 + waterBin];
+            Decomposition.store(ghi[i], dni, cosZenith[i], zenith[i], directNormal, diffuseHorizontal, i);
+
+            previous = current;
+            current = next;
+        }
+        Metrics.record(Stage.DECOMPOSITION, start, length);
+    }
+
+    private double ktPrime(double[] ghi, double[] cosZenith, double[] eccentricity, int i) {
+        double kt = Decomposition.clearnessIndex(ghi[i], cosZenith[i], eccentricity[i]);
+        double airmass = Disc.airmass(cosZenith[i], pressure);
+        return Math.min(0.82, kt / (1.031 * Math.exp(-1.4 / (0.9 + 9.4 / airmass)) + 0.1));
+    }
+
+    private static int ktPrimeBin(double ktPrime) {
+        return ktPrime < 0.24 ? 0 : ktPrime < 0.4 ? 1 : ktPrime < 0.56 ? 2 : ktPrime < 0.7 ? 3 : ktPrime < 0.8 ? 4 : 5;
+    }
+
+    private static int zenithBin(double zenithDegrees) {
+        return zenithDegrees < 25 ? 0 : zenithDegrees < 40 ? 1 : zenithDegrees < 55 ? 2
+                : zenithDegrees < 70 ? 3 : zenithDegrees < 80 ? 4 : 5;
+    }
+
+    private static int variabilityBin(double deltaKtPrime) {
+        return deltaKtPrime < 0.015 ? 0 : deltaKtPrime < 0.035 ? 1 : deltaKtPrime < 0.07 ? 2
+                : deltaKtPrime < 0.15 ? 3 : deltaKtPrime < 0.3 ? 4 : 5;
+    }
+
+    private static int waterBin(double precipitableWater) {
+        return precipitableWater < 1 ? 0 : precipitableWater < 2 ? 1 : precipitableWater < 3 ? 2 : 3;
+    }
+
+    @Override
+    public String toString() {
+        return "Dirint[pressure=" + pressure + ", useVariability=" + useVariability + "]";
+    }
+}
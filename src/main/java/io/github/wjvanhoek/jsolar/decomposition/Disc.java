@@ -0,0 +1,93 @@
+package io.github.wjvanhoek.jsolar.decomposition;
+
+import io.github.wjvanhoek.jsolar.atmosphere.Atmosphere;
+import io.github.wjvanhoek.jsolar.metrics.Metrics;
+import io.github.wjvanhoek.jsolar.metrics.Stage;
+import io.github.wjvanhoek.jsolar.position.SolarGeometry;
+import io.github.wjvanhoek.jsolar.position.SolarPositionBatch;
+
+/**
+ * The Direct Insolation Simulation Code (DISC) of Maxwell (1987), which estimates the direct
+ * normal transmittance from the clearness index and the pressure-corrected air mass.
+ */
+public final class Disc implements DecompositionModel {
+
+    /** Air mass beyond which the correlation is not extrapolated. */
+    static final double MAX_AIRMASS = 12.0;
+
+    private final double pressure;
+
+    /** Creates the model at standard sea-level pressure. */
+    public Disc() {
+        this(Atmosphere.STANDARD_PRESSURE);
+    }
+
+    /**
+     * Creates the model.
+     *
+     * @param pressure station pressure in Pa
+     */
+    public Disc(double pressure) {
+        this.pressure = pressure;
+    }
+
+    /**
+     * Returns the pressure-corrected air mass used by DISC.
+     *
+     * @param cosZenith cosine of the zenith angle
+     * @param pressure  station pressure in Pa
+     * @return the absolute air mass, at most {@value #MAX_AIRMASS}
+     */
+    static double airmass(double cosZenith, double pressure) {
+        double airmass = Atmosphere.absoluteAirmass(Atmosphere.relativeAirmass(cosZenith), pressure);
+        return Double.isNaN(airmass) ? MAX_AIRMASS : Math.min(airmass, MAX_AIRMASS);
+    }
+
+    /**
+     * Returns the direct normal transmittance.
+     *
+     * @param kt      clearness index
+     * @param airmass absolute air mass
+     * @return the ratio of direct normal to extraterrestrial irradiance
+     */
+    static double directTransmittance(double kt, double airmass) {
+        double a;
+        double b;
+        double c;
+        if (kt <= 0.6) {
+            a = 0.512 - 1.56 * kt + 2.286 * kt * kt - 2.222 * kt * kt * kt;
+            b = 0.37 + 0.962 * kt;
+            c = -0.28 + 0.932 * kt - 2.048 * kt * kt;
+        } else {
+            a = -5.743 + 21.77 * kt - 27.49 * kt * kt + 11.56 * kt * kt * kt;
+            b = 41.4 - 118.5 * kt + 66.05 * kt * kt + 31.9 * kt * kt * kt;
+            c = -47.01 + 184.2 * kt - 222.0 * kt * kt + 73.81 * kt * kt * kt;
+        }
+        double am = airmass;
+        double clear = 0.866 - 0.122 * am + 0.0121 * am * am - 0.000653 * am * am * am
+                + 0.000014 * am * am * am * am;
+        return clear - (a + b * Math.exp(c * am));
+    }
+
+    @Override
+    public void decompose(double[] ghi, SolarPositionBatch positions, double[] directNormal,
+                          double[] diffuseHorizontal, int offset, int length) {
+        Decomposition.checkRange(ghi, positions, directNormal, diffuseHorizontal, offset, length);
+        long start = Metrics.start();
+        double[] cosZenith = positions.cosZenith();
+        double[] zenith = positions.zenith();
+        double[] eccentricity = positions.eccentricityCorrection();
+        for (int i = offset, end = offset + length; i < end; i++) {
+            double kt = Decomposition.clearnessIndex(ghi[i], cosZenith[i], eccentricity[i]);
+            double dni = directTransmittance(kt, airmass(cosZenith[i], pressure))
+                    * SolarGeometry.SOLAR_CONSTANT * eccentricity[i];
+            Decomposition.store(ghi[i], dni, cosZenith[i], zenith[i], directNormal, diffuseHorizontal, i);
+        }
+        Metrics.record(Stage.DECOMPOSITION, start, length);
+    }
+
+    @Override
+    public String toString() {
+        return "Disc[pressure=" + pressure + "]";
+    }
+}
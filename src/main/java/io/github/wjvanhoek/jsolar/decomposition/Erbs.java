@@ -0,0 +1,56 @@
+package io.github.wjvanhoek.jsolar.decomposition;
+
+import io.github.wjvanhoek.jsolar.metrics.Metrics;
+import io.github.wjvanhoek.jsolar.metrics.Stage;
+import io.github.wjvanhoek.jsolar.position.SolarPositionBatch;
+
+/**
+ * The diffuse fraction correlation of Erbs, Klein and Duffie (1982), a function of the clearness
+ * index only.
+ */
+public final class Erbs implements DecompositionModel {
+
+    /** The model has no parameters, so one instance suffices. */
+    public static final Erbs INSTANCE = new Erbs();
+
+    private Erbs() {
+    }
+
+    /**
+     * Returns the fraction of the global horizontal irradiance that is diffuse.
+     *
+     * @param clearnessIndex ratio of global to extraterrestrial horizontal irradiance
+     * @return the diffuse fraction
+     */
+    public static double diffuseFraction(double clearnessIndex) {
+        double kt = clearnessIndex;
+        if (kt <= 0.22) {
+            return 1.0 - 0.09 * kt;
+        }
+        if (kt <= 0.8) {
+            return 0.9511 - 0.1604 * kt + 4.388 * kt * kt - 16.638 * kt * kt * kt + 12.336 * kt * kt * kt * kt;
+        }
+        return 0.165;
+    }
+
+    @Override
+    public void decompose(double[] ghi, SolarPositionBatch positions, double[] directNormal,
+                          double[] diffuseHorizontal, int offset, int length) {
+        Decomposition.checkRange(ghi, positions, directNormal, diffuseHorizontal, offset, length);
+        long start = Metrics.start();
+        double[] cosZenith = positions.cosZenith();
+        double[] zenith = positions.zenith();
+        double[] eccentricity = positions.eccentricityCorrection();
+        for (int i = offset, end = offset + length; i < end; i++) {
+            double kt = Decomposition.clearnessIndex(ghi[i], cosZenith[i], eccentricity[i]);
+            double dni = ghi[i] * (1.0 - diffuseFraction(kt)) / cosZenith[i];
+            Decomposition.store(ghi[i], dni, cosZenith[i], zenith[i], directNormal, diffuseHorizontal, i);
+        }
+        Metrics.record(Stage.DECOMPOSITION, start, length);
+    }
+
+    @Override
+    public String toString() {
+        return "Erbs";
+    }
+}
@@ -0,0 +1,96 @@
+package io.github.wjvanhoek.jsolar.grid;
+
+/**
+ * Regular latitude/longitude grid. Cells are addressed by row and column, and stored row-major:
+ * cell {@code (row, column)} has index {@code row * columns + column}. Coordinates refer to the
+ * cell centres. Immutable.
+ */
+public final class Grid {
+
+    private final double firstLatitude;
+    private final double firstLongitude;
+    private final double latitudeStep;
+    private final double longitudeStep;
+    private final int rows;
+    private final int columns;
+
+    /**
+     * Creates a grid.
+     *
+     * @param firstLatitude  latitude of the centre of row 0 in degrees
+     * @param firstLongitude longitude of the centre of column 0 in degrees
+     * @param latitudeStep   latitude increment per row in degrees, may be negative
+     * @param longitudeStep  longitude increment per column in degrees
+     * @param rows           number of rows
+     * @param columns        number of columns
+     */
+    public Grid(double firstLatitude, double firstLongitude, double latitudeStep, double longitudeStep,
+                int rows, int columns) {
+        if (rows < 1 || columns < 1) {
+            throw new IllegalArgumentException("Grid must have at least one cell: " + rows + "x" + columns);
+        }
+        this.firstLatitude = firstLatitude;
+        this.firstLongitude = firstLongitude;
+        this.latitudeStep = latitudeStep;
+        this.longitudeStep = longitudeStep;
+        this.rows = rows;
+        this.columns = columns;
+    }
+
+    /** @return the latitude of the centre of row 0 in degrees */
+    public double firstLatitude() {
+        return firstLatitude;
+    }
+
+    /** @return the longitude of the centre of column 0 in degrees */
+    public double firstLongitude() {
+        return firstLongitude;
+    }
+
+    /** @return the latitude increment per row in degrees */
+    public double latitudeStep() {
+        return latitudeStep;
+    }
+
+    /** @return the longitude increment per column in degrees */
+    public double longitudeStep() {
+        return longitudeStep;
+    }
+
+    /** @return the number of rows */
+    public int rows() {
+        return rows;
+    }
+
+    /** @return the number of columns */
+    public int columns() {
+        return columns;
+    }
+
+    /** @return the number of cells */
+    public long cells() {
+        return (long) rows * columns;
+    }
+
+    /**
+     * @param row row index
+     * @return the latitude of the centres of the row in degrees
+     */
+    public double latitude(int row) {
+        return firstLatitude + row * latitudeStep;
+    }
+
+    /**
+     * @param column column index
+     * @return the longitude of the centres of the column in degrees
+     */
+    public double longitude(int column) {
+        return firstLongitude + column * longitudeStep;
+    }
+
+    @Override
+    public String toString() {
+        return "Grid[" + rows + "x" + columns + " from (" + firstLatitude + ", " + firstLongitude
+                + ") step (" + latitudeStep + ", " + longitudeStep + ")]";
+    }
+}
@@ -0,0 +1,240 @@
+package io.github.wjvanhoek.jsolar.grid;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Header of a gridded radiation file, as written by {@link MappedGridWriter}.
+ * <p>
+ * The file is little-endian and consists of a {@value #SIZE}-byte header followed by the samples
+ * of every timestep, each timestep being one row-major {@link Grid}. The sample of cell
+ * {@code (row, column)} at timestep {@code t} is at byte offset
+ * {@code SIZE + ((t * rows + row) * columns + column) * sampleType.bytes()}, so readers can map
+ * the file and address samples directly.
+ * <pre>
+ * offset size field
+ *      0    8 magic "JSGRID\0\0"
+ *      8    4 int    format version (1)
+ *     12    4 int    header size ({@value #SIZE})
+ *     16    4 int    rows
+ *     20    4 int    columns
+ *     24    8 double latitude of the centre of row 0 (degrees)
+ *     32    8 double longitude of the centre of column 0 (degrees)
+ *     40    8 double latitude step per row (degrees)
+ *     48    8 double longitude step per column (degrees)
+ *     56    8 long   number of timesteps
+ *     64    8 double first timestep (seconds since the Unix epoch, UTC)
+ *     72    8 double interval between timesteps (seconds)
+ *     80    4 int    sample type (0 = float32, 1 = float64)
+ *     84    4        reserved
+ *     88   16 ASCII  units, NUL padded ("W/m2")
+ *    104   24        reserved
+ * </pre>
+ */
+public final class GridFileHeader {
+
+    /** Size of the header in bytes; samples start at this offset. */
+    public static final int SIZE = 128;
+
+    /** Current format version. */
+    public static final int VERSION = 1;
+
+    /** Units of radiation samples. */
+    public static final String IRRADIANCE_UNITS = "W/m2";
+
+    private static final byte[] MAGIC = {'J', 'S', 'G', 'R', 'I', 'D', 0, 0};
+    private static final int UNITS_OFFSET = 88;
+    private static final int UNITS_LENGTH = 16;
+
+    /** Encoding of the samples. */
+    public enum SampleType {
+        /** IEEE 754 single precision. */
+        FLOAT32(4),
+        /** IEEE 754 double precision. */
+        FLOAT64(8);
+
+        private final int bytes;
+
+        SampleType(int bytes) {
+            this.bytes = bytes;
+        }
+
+        /** @return the size of one sample in bytes */
+        public int bytes() {
+            return bytes;
+        }
+    }
+
+    private final Grid grid;
+    private final long timesteps;
+    private final double startEpochSecond;
+    private final double stepSeconds;
+    private final SampleType sampleType;
+    private final String units;
+
+    /**
+     * Creates a header.
+     *
+     * @param grid             geometry of every timestep
+     * @param timesteps        number of timesteps
+     * @param startEpochSecond moment of the first timestep, in seconds since the Unix epoch
+     * @param stepSeconds      interval between timesteps in seconds
+     * @param sampleType       encoding of the samples
+     * @param units            units of the samples, at most {@value #UNITS_LENGTH} ASCII characters
+     */
+    public GridFileHeader(Grid grid, long timesteps, double startEpochSecond, double stepSeconds,
+                          SampleType sampleType, String units) {
+        if (timesteps < 1) {
+            throw new IllegalArgumentException("At least one timestep is required: " + timesteps);
+        }
+        if (units.length() > UNITS_LENGTH || !StandardCharsets.US_ASCII.newEncoder().canEncode(units)) {
+            throw new IllegalArgumentException("Units must be at most " + UNITS_LENGTH + " ASCII characters: " + units);
+        }
+        this.grid = Objects.requireNonNull(grid, "grid");
+        this.timesteps = timesteps;
+        this.startEpochSecond = startEpochSecond;
+        this.stepSeconds = stepSeconds;
+        this.sampleType = Objects.requireNonNull(sampleType, "sampleType");
+        this.units = units;
+    }
+
+    /** @return the geometry of every timestep */
+    public Grid grid() {
+        return grid;
+    }
+
+    /** @return the number of timesteps */
+    public long timesteps() {
+        return timesteps;
+    }
+
+    /** @return the moment of the first timestep, in seconds since the Unix epoch */
+    public double startEpochSecond() {
+        return startEpochSecond;
+    }
+
+    /** @return the interval between timesteps in seconds */
+    public double stepSeconds() {
+        return stepSeconds;
+    }
+
+    /**
+     * @param timestep timestep index
+     * @return the moment of the timestep, in seconds since the Unix epoch
+     */
+    public double epochSecond(long timestep) {
+        return startEpochSecond + timestep * stepSeconds;
+    }
+
+    /** @return the encoding of the samples */
+    public SampleType sampleType() {
+        return sampleType;
+    }
+
+    /** @return the units of the samples */
+    public String units() {
+        return units;
+    }
+
+    /** @return the number of bytes of one timestep */
+    public long timestepBytes() {
+        return grid.cells() * sampleType.bytes();
+    }
+
+    /**
+     * @param timestep timestep index
+     * @return the byte offset of the first sample of the timestep
+     */
+    public long offset(long timestep) {
+        return SIZE + timestep * timestepBytes();
+    }
+
+    /** @return the size of the complete file in bytes */
+    public long fileSize() {
+        return offset(timesteps);
+    }
+
+    /**
+     * Encodes this header into the first {@value #SIZE} bytes of a buffer.
+     *
+     * @param buffer buffer of at least {@value #SIZE} bytes; its position is not changed
+     */
+    public void write(ByteBuffer buffer) {
+        ByteBuffer out = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        out.put(0, new byte[SIZE]);
+        out.put(0, MAGIC);
+        out.putInt(8, VERSION);
+        out.putInt(12, SIZE);
+        out.putInt(16, grid.rows());
+        out.putInt(20, grid.columns());
+        out.putDouble(24, grid.firstLatitude());
+        out.putDouble(32, grid.firstLongitude());
+        out.putDouble(40, grid.latitudeStep());
+        out.putDouble(48, grid.longitudeStep());
+        out.putLong(56, timesteps);
+        out.putDouble(64, startEpochSecond);
+        out.putDouble(72, stepSeconds);
+        out.putInt(80, sampleType.ordinal());
+        out.put(UNITS_OFFSET, units.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Decodes a header from the first {@value #SIZE} bytes of a buffer.
+     *
+     * @param buffer buffer holding the header; its position is not changed
+     * @return the header
+     * @throws IllegalArgumentException when the buffer does not hold a supported header
+     */
+    public static GridFileHeader read(ByteBuffer buffer) {
+        ByteBuffer in = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        byte[] magic = new byte[MAGIC.length];
+        in.get(0, magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IllegalArgumentException("Not a gridded radiation file");
+        }
+        int version = in.getInt(8);
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported gridded radiation file version: " + version);
+        }
+        int sampleType = in.getInt(80);
+        if (sampleType < 0 || sampleType >= SampleType.values().length) {
+            throw new IllegalArgumentException("Unknown sample type: " + sampleType);
+        }
+        byte[] units = new byte[UNITS_LENGTH];
+        in.get(UNITS_OFFSET, units);
+        int unitsLength = 0;
+        while (unitsLength < UNITS_LENGTH && units[unitsLength] != 0) {
+            unitsLength++;
+        }
+        Grid grid = new Grid(in.getDouble(24), in.getDouble(32), in.getDouble(40), in.getDouble(48),
+                in.getInt(16), in.getInt(20));
+        return new GridFileHeader(grid, in.getLong(56), in.getDouble(64), in.getDouble(72),
+                SampleType.values()[sampleType], new String(units, 0, unitsLength, StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Reads the header of a file.
+     *
+     * @param path the file
+     * @return the header
+     * @throws IOException when the file cannot be read
+     */
+    public static GridFileHeader read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(SIZE);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new IOException("File too short for a gridded radiation header: " + path);
+                }
+            }
+            return read(buffer.flip());
+        }
+    }
+}
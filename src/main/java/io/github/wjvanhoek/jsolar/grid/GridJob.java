@@ -0,0 +1,275 @@
+package io.github.wjvanhoek.jsolar.grid;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.Objects;
+
+/**
+ * A long-running, resumable evaluation of a {@link GridRadiationEngine} over many timesteps.
+ * <p>
+ * The space-time domain described by a {@link GridFileHeader} is split into chunks of
+ * {@code chunkRows} rows by {@code chunkTimesteps} timesteps. Every chunk is written to its own
+ * gridded radiation file in the job directory: first under a temporary name, then forced to
+ * storage and atomically renamed, so a chunk file is either complete or absent. Completed chunks
+ * are appended to a checkpoint log in the same directory. {@link #run()} skips chunks that are
+ * logged and present, so a job interrupted by a crash resumes with the missing work only.
+ * {@link #assemble(Path)} joins the chunks into one file once the job is complete.
+ * <p>
+ * The checkpoint log is little-endian:
+ * <pre>
+ * offset size field
+ *      0    8 magic "JSCKPT\0\0"
+ *      8    4 int    format version (1)
+ *     12    4 int    rows per chunk
+ *     16    8 long   timesteps per chunk
+ *     24    8        reserved
+ *     32  128        header of the assembled output, see {@link GridFileHeader}
+ *    160      record per completed chunk: int chunk index, int bitwise complement of the index
+ * </pre>
+ * A log written for a different domain or chunking is rejected; a torn last record is ignored.
+ * Instances are not thread-safe and a job directory must not be shared by concurrent runs.
+ */
+public final class GridJob {
+
+    /** Name of the checkpoint log in the job directory. */
+    public static final String CHECKPOINT_FILE = "checkpoint.log";
+
+    private static final byte[] MAGIC = {'J', 'S', 'C', 'K', 'P', 'T', 0, 0};
+    private static final int VERSION = 1;
+    private static final int LOG_HEADER_SIZE = 32 + GridFileHeader.SIZE;
+    private static final int RECORD_SIZE = 8;
+
+    private final GridRadiationEngine engine;
+    private final GridFileHeader layout;
+    private final Path directory;
+    private final int chunkRows;
+    private final long chunkTimesteps;
+    private final int rowBands;
+    private final int chunks;
+
+    /**
+     * Creates a job. Nothing is written until {@link #run()}.
+     *
+     * @param engine         engine that evaluates each timestep
+     * @param layout         grid, timesteps and sample type of the complete output
+     * @param directory      directory that receives the chunk files and the checkpoint log
+     * @param chunkRows      number of rows per chunk
+     * @param chunkTimesteps number of timesteps per chunk
+     */
+    public GridJob(GridRadiationEngine engine, GridFileHeader layout, Path directory, int chunkRows,
+                   long chunkTimesteps) {
+        if (chunkRows < 1 || chunkTimesteps < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkRows + " rows x "
+                    + chunkTimesteps + " timesteps");
+        }
+        this.engine = Objects.requireNonNull(engine, "engine");
+        this.layout = Objects.requireNonNull(layout, "layout");
+        this.directory = Objects.requireNonNull(directory, "directory");
+        this.chunkRows = Math.min(chunkRows, layout.grid().rows());
+        this.chunkTimesteps = Math.min(chunkTimesteps, layout.timesteps());
+        this.rowBands = (layout.grid().rows() + this.chunkRows - 1) / this.chunkRows;
+        long timeBlocks = (layout.timesteps() + this.chunkTimesteps - 1) / this.chunkTimesteps;
+        if (timeBlocks * rowBands > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many chunks: " + timeBlocks * rowBands);
+        }
+        this.chunks = (int) (timeBlocks * rowBands);
+    }
+
+    /** @return the grid, timesteps and sample type of the complete output */
+    public GridFileHeader layout() {
+        return layout;
+    }
+
+    /** @return the number of chunks */
+    public int chunks() {
+        return chunks;
+    }
+
+    /**
+     * @param chunk chunk index
+     * @return the file holding the chunk
+     */
+    public Path chunkPath(int chunk) {
+        Objects.checkIndex(chunk, chunks);
+        return directory.resolve(String.format("chunk-%08d.jsgrid", chunk));
+    }
+
+    /**
+     * Returns the layout of one chunk: its rows of the grid and its timesteps.
+     *
+     * @param chunk chunk index
+     * @return the header of the chunk file
+     */
+    public GridFileHeader chunkLayout(int chunk) {
+        Objects.checkIndex(chunk, chunks);
+        Grid grid = layout.grid();
+        int firstRow = (chunk % rowBands) * chunkRows;
+        long firstTimestep = (chunk / rowBands) * chunkTimesteps;
+        Grid rows = new Grid(grid.latitude(firstRow), grid.firstLongitude(), grid.latitudeStep(),
+                grid.longitudeStep(), Math.min(chunkRows, grid.rows() - firstRow), grid.columns());
+        return new GridFileHeader(rows, Math.min(chunkTimesteps, layout.timesteps() - firstTimestep),
+                layout.epochSecond(firstTimestep), layout.stepSeconds(), layout.sampleType(), layout.units());
+    }
+
+    /**
+     * Reads the checkpoint log and returns the chunks that are complete.
+     *
+     * @return the indices of the completed chunks
+     * @throws IOException when the log cannot be read or belongs to another job
+     */
+    public BitSet completed() throws IOException {
+        BitSet done = new BitSet(chunks);
+        Path log = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(log)) {
+            return done;
+        }
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(channel.size(), Integer.MAX_VALUE))
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // keep reading
+            }
+            buffer.flip();
+            if (buffer.limit() < LOG_HEADER_SIZE || !logHeader().equals(buffer.slice(0, LOG_HEADER_SIZE))) {
+                throw new IOException("Checkpoint log belongs to another job: " + log);
+            }
+            for (int position = LOG_HEADER_SIZE; position + RECORD_SIZE <= buffer.limit(); position += RECORD_SIZE) {
+                int chunk = buffer.getInt(position);
+                if (chunk >= 0 && chunk < chunks && buffer.getInt(position + 4) == ~chunk) {
+                    done.set(chunk);
+                }
+            }
+        }
+        for (int chunk = done.nextSetBit(0); chunk >= 0; chunk = done.nextSetBit(chunk + 1)) {
+            Path path = chunkPath(chunk);
+            if (!Files.exists(path) || Files.size(path) != chunkLayout(chunk).fileSize()) {
+                done.clear(chunk);
+            }
+        }
+        return done;
+    }
+
+    /**
+     * @return {@code true} when every chunk is complete
+     * @throws IOException when the checkpoint log cannot be read or belongs to another job
+     */
+    public boolean isComplete() throws IOException {
+        return completed().cardinality() == chunks;
+    }
+
+    /**
+     * Computes every chunk that is not complete yet.
+     *
+     * @return the number of chunks computed by this call
+     * @throws IOException when a chunk or the checkpoint log cannot be written
+     */
+    public int run() throws IOException {
+        Files.createDirectories(directory);
+        BitSet done = completed();
+        int computed = 0;
+        try (FileChannel log = openLog()) {
+            for (int chunk = done.nextClearBit(0); chunk < chunks; chunk = done.nextClearBit(chunk + 1)) {
+                writeChunk(chunk);
+                ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN)
+                        .putInt(chunk).putInt(~chunk).flip();
+                while (record.hasRemaining()) {
+                    log.write(record);
+                }
+                log.force(false);
+                computed++;
+            }
+        }
+        return computed;
+    }
+
+    /**
+     * Joins the chunks of a complete job into one gridded radiation file with the layout of the job.
+     *
+     * @param target the file to create or replace
+     * @throws IOException when the job is not complete or a file cannot be read or written
+     */
+    public void assemble(Path target) throws IOException {
+        if (!isComplete()) {
+            throw new IOException("Job in " + directory + " is not complete");
+        }
+        int bytes = layout.sampleType().bytes();
+        long rowBytes = (long) layout.grid().columns() * bytes;
+        MappedGridWriter.create(target, layout).close();
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE)) {
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                GridFileHeader part = chunkLayout(chunk);
+                int firstRow = (chunk % rowBands) * chunkRows;
+                long firstTimestep = (chunk / rowBands) * chunkTimesteps;
+                try (FileChannel in = FileChannel.open(chunkPath(chunk), StandardOpenOption.READ)) {
+                    for (long t = 0; t < part.timesteps(); t++) {
+                        long position = layout.offset(firstTimestep + t) + firstRow * rowBytes;
+                        long count = part.timestepBytes();
+                        long source = part.offset(t);
+                        while (count > 0) {
+                            long moved = in.transferTo(source, count, out.position(position));
+                            source += moved;
+                            position += moved;
+                            count -= moved;
+                        }
+                    }
+                }
+            }
+            out.force(true);
+        }
+    }
+
+    private void writeChunk(int chunk) throws IOException {
+        GridFileHeader part = chunkLayout(chunk);
+        Path path = chunkPath(chunk);
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (MappedGridWriter writer = MappedGridWriter.create(temporary, part)) {
+            for (long t = 0; t < part.timesteps(); t++) {
+                MappedGridWriter.TimestepSink sink = writer.timestep(t);
+                engine.evaluate(part.grid(), part.epochSecond(t), sink);
+                sink.force();
+            }
+        }
+        Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private FileChannel openLog() throws IOException {
+        FileChannel channel = FileChannel.open(directory.resolve(CHECKPOINT_FILE), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long size = channel.size();
+            if (size < LOG_HEADER_SIZE) {
+                ByteBuffer header = logHeader();
+                channel.truncate(0);
+                while (header.hasRemaining()) {
+                    channel.write(header, header.position());
+                }
+                channel.force(true);
+                size = LOG_HEADER_SIZE;
+            }
+            // drop a torn last record so that new records stay aligned
+            channel.truncate(size - (size - LOG_HEADER_SIZE) % RECORD_SIZE);
+            channel.position(channel.size());
+            return channel;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private ByteBuffer logHeader() {
+        ByteBuffer header = ByteBuffer.allocate(LOG_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(0, MAGIC);
+        header.putInt(8, VERSION);
+        header.putInt(12, chunkRows);
+        header.putLong(16, chunkTimesteps);
+        layout.write(header.slice(32, GridFileHeader.SIZE));
+        return header;
+    }
+}
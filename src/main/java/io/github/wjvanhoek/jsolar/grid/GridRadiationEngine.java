@@ -0,0 +1,239 @@
+package io.github.wjvanhoek.jsolar.grid;
+
+import io.github.wjvanhoek.jsolar.GlobalRadiationCalculator;
+import io.github.wjvanhoek.jsolar.clearsky.ClearSkyModel;
+import io.github.wjvanhoek.jsolar.metrics.Metrics;
+import io.github.wjvanhoek.jsolar.metrics.Stage;
+import io.github.wjvanhoek.jsolar.position.DailyEphemeris;
+import io.github.wjvanhoek.jsolar.position.SolarPositionEngine;
+import io.github.wjvanhoek.jsolar.position.SolarPositionEngines;
+import io.github.wjvanhoek.jsolar.time.EpochTime;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Evaluates the global radiation on every cell of a {@link Grid} at one moment, in parallel.
+ * <p>
+ * All cells share the moment, so for the engines that follow the Spencer series (see
+ * {@link SolarPositionEngines#isSpencer}) the daily ephemeris is computed once and the hour angle
+ * once per column; each cell then costs one multiply-add and, in daylight, the clear-sky model.
+ * Other engines of the calculator compute the zenith of every cell with one batch call per tile,
+ * and take the eccentricity correction from the engine, so a grid agrees with the batch methods of
+ * {@link GlobalRadiationCalculator}. The grid is split into tiles of {@code tileRows x tileColumns}
+ * cells that are evaluated independently on a {@link ForkJoinPool} or any other {@link Executor}.
+ * Every cell is computed by the same arithmetic regardless of tiling and scheduling, so the output
+ * is deterministic.
+ * <p>
+ * Instances are thread-safe.
+ */
+public final class GridRadiationEngine {
+
+    /** Default number of rows per tile. */
+    public static final int DEFAULT_TILE_ROWS = 16;
+
+    /** Default number of columns per tile; 1024 doubles of input and output fit in L1 cache. */
+    public static final int DEFAULT_TILE_COLUMNS = 1024;
+
+    private final GlobalRadiationCalculator calculator;
+    private final Executor executor;
+    private final int tileRows;
+    private final int tileColumns;
+
+    /**
+     * Creates an engine on the common fork/join pool with the default tile size.
+     *
+     * @param calculator calculator that supplies the solar position engine and the clear-sky model
+     */
+    public GridRadiationEngine(GlobalRadiationCalculator calculator) {
+        this(calculator, ForkJoinPool.commonPool(), DEFAULT_TILE_ROWS, DEFAULT_TILE_COLUMNS);
+    }
+
+    /**
+     * Creates an engine.
+     *
+     * @param calculator  calculator that supplies the solar position engine and the clear-sky model
+     * @param executor    executor that runs the tiles; a {@link ForkJoinPool} is used with
+     *                    recursive splitting, other executors receive one task per tile
+     * @param tileRows    number of rows per tile
+     * @param tileColumns number of columns per tile
+     */
+    public GridRadiationEngine(GlobalRadiationCalculator calculator, Executor executor, int tileRows, int tileColumns) {
+        if (tileRows < 1 || tileColumns < 1) {
+            throw new IllegalArgumentException("Tile size must be positive: " + tileRows + "x" + tileColumns);
+        }
+        this.calculator = Objects.requireNonNull(calculator, "calculator");
+        this.executor = Objects.requireNonNull(executor, "executor");
+        this.tileRows = tileRows;
+        this.tileColumns = tileColumns;
+    }
+
+    /**
+     * Evaluates the global horizontal radiation on every cell.
+     *
+     * @param grid        the grid
+     * @param epochSecond seconds since the Unix epoch (UTC)
+     * @param out         receives the global horizontal radiation in W/m², row-major
+     */
+    public void evaluate(Grid grid, double epochSecond, double[] out) {
+        if (out.length < grid.cells()) {
+            throw new IllegalArgumentException("Output holds " + out.length + " values, grid has " + grid.cells());
+        }
+        long start = Metrics.start();
+        run(new Timestep(grid, epochSecond, out, null));
+        Metrics.record(Stage.CLEAR_SKY, start, grid.cells());
+    }
+
+    /**
+     * Evaluates the global horizontal radiation on every cell and hands the values to a sink, one
+     * run of tile columns at a time. Use this with {@link MappedGridWriter} to write grids larger
+     * than the heap.
+     *
+     * @param grid        the grid
+     * @param epochSecond seconds since the Unix epoch (UTC)
+     * @param sink        receives the global horizontal radiation in W/m²
+     */
+    public void evaluate(Grid grid, double epochSecond, GridSink sink) {
+        long start = Metrics.start();
+        run(new Timestep(grid, epochSecond, null, Objects.requireNonNull(sink, "sink")));
+        Metrics.record(Stage.CLEAR_SKY, start, grid.cells());
+    }
+
+    private void run(Timestep step) {
+        Grid grid = step.grid;
+        int tilesPerRow = (grid.columns() + tileColumns - 1) / tileColumns;
+        int tiles = ((grid.rows() + tileRows - 1) / tileRows) * tilesPerRow;
+        if (executor instanceof ForkJoinPool) {
+            ((ForkJoinPool) executor).invoke(new TileRange(step, tilesPerRow, 0, tiles));
+        } else {
+            CompletableFuture<?>[] futures = new CompletableFuture<?>[tiles];
+            for (int tile = 0; tile < tiles; tile++) {
+                int t = tile;
+                futures[tile] = CompletableFuture.runAsync(() -> step.tile(t, tilesPerRow), executor);
+            }
+            CompletableFuture.allOf(futures).join();
+        }
+    }
+
+    /** The state shared by all tiles of one evaluation. */
+    private final class Timestep {
+
+        private final Grid grid;
+        private final double[] out;
+        private final GridSink sink;
+        private final double epochSecond;
+        // Engine evaluated per cell, or null when the daily ephemeris stands in for it
+        private final SolarPositionEngine engine;
+        private final double eccentricityCorrection;
+        private final double sinDeclination;
+        private final double cosDeclination;
+        private final double[] cosHourAngle;
+
+        Timestep(Grid grid, double epochSecond, double[] out, GridSink sink) {
+            this.grid = grid;
+            this.out = out;
+            this.sink = sink;
+            DailyEphemeris day = DailyEphemeris.of(EpochTime.epochDay(epochSecond));
+            this.epochSecond = epochSecond;
+            this.engine = SolarPositionEngines.isSpencer(calculator.engine()) ? null : calculator.engine();
+            this.eccentricityCorrection = engine == null
+                    ? day.eccentricityCorrection()
+                    : calculator.engine().eccentricityCorrection(epochSecond);
+            this.sinDeclination = day.sinDeclination();
+            this.cosDeclination = day.cosDeclination();
+            if (engine == null) {
+                this.cosHourAngle = new double[grid.columns()];
+                for (int column = 0; column < cosHourAngle.length; column++) {
+                    cosHourAngle[column] = Math.cos(day.hourAngle(epochSecond, grid.longitude(column)));
+                }
+            } else {
+                this.cosHourAngle = null;
+            }
+        }
+
+        void tile(int tile, int tilesPerRow) {
+            int firstRow = (tile / tilesPerRow) * tileRows;
+            int firstColumn = (tile % tilesPerRow) * tileColumns;
+            int lastRow = Math.min(firstRow + tileRows, grid.rows());
+            int lastColumn = Math.min(firstColumn + tileColumns, grid.columns());
+            int columns = grid.columns();
+            double[] target = out;
+            int width = lastColumn - firstColumn;
+            if (sink != null) {
+                target = new double[width];
+            }
+            ClearSkyModel clearSky = calculator.clearSkyModel();
+            double[] cosZeniths = engine != null ? cosZeniths(firstRow, lastRow, firstColumn, lastColumn) : null;
+            for (int row = firstRow; row < lastRow; row++) {
+                double latitude = grid.latitude(row);
+                double phi = Math.toRadians(latitude);
+                double a = Math.sin(phi) * sinDeclination;
+                double b = Math.cos(phi) * cosDeclination;
+                int base = sink != null ? -firstColumn : row * columns;
+                int cell = (row - firstRow) * width - firstColumn;
+                for (int column = firstColumn; column < lastColumn; column++) {
+                    double cosZenith = cosZeniths != null ? cosZeniths[cell + column] : a + b * cosHourAngle[column];
+                    target[base + column] = cosZenith > 0.0
+                            ? clearSky.globalHorizontal(cosZenith, eccentricityCorrection,
+                                    latitude, grid.longitude(column), epochSecond)
+                            : 0.0;
+                }
+                if (sink != null) {
+                    sink.write(row, firstColumn, target, 0, width);
+                }
+            }
+        }
+
+        /** Computes the cosine of the zenith angle of every cell of a tile with the engine, row-major. */
+        private double[] cosZeniths(int firstRow, int lastRow, int firstColumn, int lastColumn) {
+            int width = lastColumn - firstColumn;
+            int n = (lastRow - firstRow) * width;
+            double[] epochSeconds = new double[n];
+            double[] latitudes = new double[n];
+            double[] longitudes = new double[n];
+            double[] cosZeniths = new double[n];
+            Arrays.fill(epochSeconds, epochSecond);
+            for (int row = firstRow, i = 0; row < lastRow; row++) {
+                double latitude = grid.latitude(row);
+                for (int column = firstColumn; column < lastColumn; column++, i++) {
+                    latitudes[i] = latitude;
+                    longitudes[i] = grid.longitude(column);
+                }
+            }
+            engine.cosZenith(epochSeconds, latitudes, longitudes, cosZeniths, 0, n);
+            return cosZeniths;
+        }
+    }
+
+    /** Recursively halves a range of tiles until a single tile remains. */
+    private static final class TileRange extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient Timestep step;
+        private final int tilesPerRow;
+        private final int from;
+        private final int to;
+
+        TileRange(Timestep step, int tilesPerRow, int from, int to) {
+            this.step = step;
+            this.tilesPerRow = tilesPerRow;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                step.tile(from, tilesPerRow);
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new TileRange(step, tilesPerRow, from, middle), new TileRange(step, tilesPerRow, middle, to));
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package io.github.wjvanhoek.jsolar.grid;
+
+/**
+ * Destination of the values of one timestep of a grid evaluation. The engine writes runs of
+ * consecutive cells of one row; different threads may write disjoint runs concurrently, so
+ * implementations must be safe for that.
+ */
+@FunctionalInterface
+public interface GridSink {
+
+    /**
+     * Stores a run of consecutive cells of one row.
+     *
+     * @param row         row index
+     * @param firstColumn column index of {@code values[offset]}
+     * @param values      the values, in W/m²
+     * @param offset      index of the first value to store
+     * @param length      number of values to store
+     */
+    void write(int row, int firstColumn, double[] values, int offset, int length);
+}
@@ -0,0 +1,151 @@
+package io.github.wjvanhoek.jsolar.grid;
+
+import io.github.wjvanhoek.jsolar.metrics.Metrics;
+import io.github.wjvanhoek.jsolar.metrics.Stage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Writes gridded results straight into a memory-mapped file laid out as described by
+ * {@link GridFileHeader}, so that multi-gigabyte outputs never pass through the Java heap.
+ * <p>
+ * Each timestep is mapped in bands of whole rows of at most {@value #MAX_BAND_BYTES} bytes. The
+ * sinks returned by {@link #timestep(long)} write with absolute puts and can be shared by the
+ * threads of a {@link GridRadiationEngine}; mappings are released when the sink is no longer
+ * referenced.
+ */
+public final class MappedGridWriter implements Closeable {
+
+    /** Largest number of bytes mapped at once. */
+    public static final int MAX_BAND_BYTES = 1 << 30;
+
+    private final FileChannel channel;
+    private final GridFileHeader header;
+    private final int rowsPerBand;
+
+    private MappedGridWriter(FileChannel channel, GridFileHeader header, int maxBandBytes) {
+        this.channel = channel;
+        this.header = header;
+        long rowBytes = (long) header.grid().columns() * header.sampleType().bytes();
+        if (rowBytes > maxBandBytes) {
+            throw new IllegalArgumentException("A single grid row exceeds " + maxBandBytes + " bytes");
+        }
+        this.rowsPerBand = (int) Math.min(header.grid().rows(), maxBandBytes / rowBytes);
+    }
+
+    /**
+     * Creates (or truncates) a file, sized for all timesteps, and writes its header.
+     *
+     * @param path   the file
+     * @param header description of the contents
+     * @return the writer
+     * @throws IOException when the file cannot be created
+     */
+    public static MappedGridWriter create(Path path, GridFileHeader header) throws IOException {
+        return create(path, header, MAX_BAND_BYTES);
+    }
+
+    static MappedGridWriter create(Path path, GridFileHeader header, int maxBandBytes) throws IOException {
+        Objects.requireNonNull(header, "header");
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            MappedGridWriter writer = new MappedGridWriter(channel, header, maxBandBytes);
+            MappedByteBuffer headerBuffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, GridFileHeader.SIZE);
+            header.write(headerBuffer);
+            headerBuffer.force();
+            // Extend the file to its final size; the samples are sparse until written
+            channel.write(ByteBuffer.allocate(1), header.fileSize() - 1);
+            return writer;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /** @return the description of the contents */
+    public GridFileHeader header() {
+        return header;
+    }
+
+    /**
+     * Maps one timestep for writing.
+     *
+     * @param timestep timestep index
+     * @return a sink writing into the timestep
+     * @throws IOException when the timestep cannot be mapped
+     */
+    public TimestepSink timestep(long timestep) throws IOException {
+        Objects.checkIndex(timestep, header.timesteps());
+        int rows = header.grid().rows();
+        int bands = (rows + rowsPerBand - 1) / rowsPerBand;
+        long rowBytes = (long) header.grid().columns() * header.sampleType().bytes();
+        MappedByteBuffer[] buffers = new MappedByteBuffer[bands];
+        for (int band = 0; band < bands; band++) {
+            int bandRows = Math.min(rowsPerBand, rows - band * rowsPerBand);
+            buffers[band] = channel.map(FileChannel.MapMode.READ_WRITE,
+                    header.offset(timestep) + band * rowsPerBand * rowBytes, bandRows * rowBytes);
+        }
+        return new TimestepSink(buffers);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /** Sink writing into the mapped bands of one timestep. */
+    public final class TimestepSink implements GridSink {
+
+        private final MappedByteBuffer[] buffers;
+        private final FloatBuffer[] floats;
+        private final DoubleBuffer[] doubles;
+
+        TimestepSink(MappedByteBuffer[] buffers) {
+            this.buffers = buffers;
+            this.floats = new FloatBuffer[buffers.length];
+            this.doubles = new DoubleBuffer[buffers.length];
+            for (int band = 0; band < buffers.length; band++) {
+                if (header.sampleType() == GridFileHeader.SampleType.FLOAT32) {
+                    floats[band] = buffers[band].order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+                } else {
+                    doubles[band] = buffers[band].order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+                }
+            }
+        }
+
+        @Override
+        public void write(int row, int firstColumn, double[] values, int offset, int length) {
+            Objects.checkFromIndexSize(firstColumn, length, header.grid().columns());
+            int band = row / rowsPerBand;
+            int index = (row - band * rowsPerBand) * header.grid().columns() + firstColumn;
+            if (floats[band] != null) {
+                FloatBuffer target = floats[band];
+                for (int i = 0; i < length; i++) {
+                    target.put(index + i, (float) values[offset + i]);
+                }
+            } else {
+                doubles[band].put(index, values, offset, length);
+            }
+        }
+
+        /** Writes the mapped contents through to the storage device. */
+        public void force() {
+            long start = Metrics.start();
+            for (MappedByteBuffer buffer : buffers) {
+                buffer.force();
+            }
+            Metrics.record(Stage.IO, start, header.grid().cells());
+        }
+    }
+}
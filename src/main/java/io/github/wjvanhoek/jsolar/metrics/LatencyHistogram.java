@@ -0,0 +1,83 @@
+package io.github.wjvanhoek.jsolar.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of durations in nanoseconds with log-linear buckets, in the style of
+ * HdrHistogram: every power of two is split into {@value #SUB_BUCKETS} linear buckets, so a
+ * recorded value is known to within 1/{@value #SUB_BUCKETS} (1.6%) of itself. Values up to
+ * 2<sup>40</sup> ns (about 18 minutes) are resolved; larger values count in the last bucket. The
+ * buckets take about 18 KiB.
+ */
+public final class LatencyHistogram {
+
+    /** Number of linear buckets per power of two. */
+    public static final int SUB_BUCKETS = 64;
+
+    /** Largest value resolved, in nanoseconds. */
+    public static final long MAX_VALUE = (1L << 40) - 1;
+
+    private static final int SUB_BUCKET_BITS = Integer.numberOfTrailingZeros(SUB_BUCKETS);
+
+    private final AtomicLongArray counts = new AtomicLongArray(index(MAX_VALUE) + 1);
+
+    /**
+     * Records one duration.
+     *
+     * @param nanos the duration in nanoseconds; negative values count as zero
+     */
+    public void record(long nanos) {
+        counts.incrementAndGet(index(Math.max(0, Math.min(MAX_VALUE, nanos))));
+    }
+
+    /** Removes every recorded value. Values recorded concurrently may or may not be kept. */
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+    }
+
+    /** @return a copy of the bucket counts, consistent per bucket */
+    long[] counts() {
+        long[] copy = new long[counts.length()];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = counts.get(i);
+        }
+        return copy;
+    }
+
+    static int index(long value) {
+        int shift = Math.max(0, 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+        return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+
+    /** Returns the largest value that falls into a bucket. */
+    static long highestValue(int index) {
+        int shift = Math.max(0, (index >>> SUB_BUCKET_BITS) - 1);
+        long lowest = (long) (index - (shift << SUB_BUCKET_BITS)) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    /**
+     * Returns the value at a percentile of a copy of the counts.
+     *
+     * @param counts     bucket counts
+     * @param total      sum of the counts
+     * @param percentile percentile in {@code [0, 100]}
+     * @return the highest value of the bucket holding the percentile, or zero without values
+     */
+    static long valueAt(long[] counts, long total, double percentile) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return highestValue(i);
+            }
+        }
+        return MAX_VALUE;
+    }
+}
@@ -0,0 +1,190 @@
+package io.github.wjvanhoek.jsolar.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Optional per-stage instrumentation of the calculation pipeline: call and sample counters, total
+ * time and a {@link LatencyHistogram} of the duration of every call.
+ * <p>
+ * Instrumentation is enabled with the system property {@value #ENABLED_PROPERTY}{@code =true} and
+ * fixed at startup. Call sites are written as
+ * <pre>{@code
+ * long start = Metrics.start();
+ * ... work on n samples ...
+ * Metrics.record(Stage.CLEAR_SKY, start, n);
+ * }</pre>
+ * Both methods test the {@code static final} {@link #ENABLED} flag, which the JIT compiler treats
+ * as a constant: when disabled the calls are inlined to nothing. Stages are measured per batch
+ * call rather than per sample, so enabled instrumentation costs two {@link System#nanoTime()}
+ * calls and a few atomic increments per batch.
+ * <p>
+ * Results are read with {@link #snapshot()} or over JMX after {@link #registerMBean()}.
+ */
+public final class Metrics {
+
+    /** System property that enables instrumentation. */
+    public static final String ENABLED_PROPERTY = "jsolar.metrics";
+
+    /** Whether instrumentation is enabled, read once from {@value #ENABLED_PROPERTY}. */
+    public static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY);
+
+    /** Name under which {@link #registerMBean()} registers the {@link MetricsMXBean}. */
+    public static final String OBJECT_NAME = "io.github.wjvanhoek.jsolar:type=Metrics";
+
+    private static final Stage[] STAGES = Stage.values();
+    private static final LongAdder[] CALLS = adders();
+    private static final LongAdder[] SAMPLES = adders();
+    private static final LongAdder[] NANOS = adders();
+    private static final LatencyHistogram[] HISTOGRAMS = new LatencyHistogram[STAGES.length];
+
+    static {
+        for (int s = 0; s < STAGES.length; s++) {
+            HISTOGRAMS[s] = new LatencyHistogram();
+        }
+    }
+
+    private Metrics() {
+    }
+
+    /**
+     * Marks the start of a measured call.
+     *
+     * @return the current {@link System#nanoTime()}, or zero when instrumentation is disabled
+     */
+    public static long start() {
+        return ENABLED ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Records a call that started at {@code start}. Does nothing when instrumentation is disabled.
+     *
+     * @param stage   the stage of the call
+     * @param start   the value returned by {@link #start()}
+     * @param samples number of samples processed by the call
+     */
+    public static void record(Stage stage, long start, long samples) {
+        if (ENABLED) {
+            long nanos = System.nanoTime() - start;
+            int s = stage.ordinal();
+            CALLS[s].increment();
+            SAMPLES[s].add(samples);
+            NANOS[s].add(nanos);
+            HISTOGRAMS[s].record(nanos);
+        }
+    }
+
+    /** @return the current counters and latency distributions of every stage */
+    public static MetricsSnapshot snapshot() {
+        EnumMap<Stage, StageSnapshot> stages = new EnumMap<>(Stage.class);
+        for (Stage stage : STAGES) {
+            int s = stage.ordinal();
+            stages.put(stage, new StageSnapshot(stage, CALLS[s].sum(), SAMPLES[s].sum(), NANOS[s].sum(),
+                    HISTOGRAMS[s].counts()));
+        }
+        return new MetricsSnapshot(System.currentTimeMillis(), stages);
+    }
+
+    /** Resets all counters and histograms. Calls recorded concurrently may be partly kept. */
+    public static void reset() {
+        for (int s = 0; s < STAGES.length; s++) {
+            CALLS[s].reset();
+            SAMPLES[s].reset();
+            NANOS[s].reset();
+            HISTOGRAMS[s].reset();
+        }
+    }
+
+    /**
+     * Registers the {@link MetricsMXBean} with the platform MBean server, unless it is registered
+     * already.
+     *
+     * @throws IllegalStateException when the bean cannot be registered
+     */
+    public static void registerMBean() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(new Bean(), new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            // registered by an earlier call
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register " + OBJECT_NAME, e);
+        }
+    }
+
+    private static LongAdder[] adders() {
+        LongAdder[] adders = new LongAdder[STAGES.length];
+        for (int s = 0; s < adders.length; s++) {
+            adders[s] = new LongAdder();
+        }
+        return adders;
+    }
+
+    /** MXBean that takes a fresh snapshot for every attribute read. */
+    private static final class Bean implements MetricsMXBean {
+
+        @Override
+        public boolean isEnabled() {
+            return ENABLED;
+        }
+
+        @Override
+        public String[] getStages() {
+            String[] names = new String[STAGES.length];
+            for (int s = 0; s < names.length; s++) {
+                names[s] = STAGES[s].name();
+            }
+            return names;
+        }
+
+        @Override
+        public long[] getCalls() {
+            return perStage(StageSnapshot::calls);
+        }
+
+        @Override
+        public long[] getSamples() {
+            return perStage(StageSnapshot::samples);
+        }
+
+        @Override
+        public long[] getTotalNanos() {
+            return perStage(StageSnapshot::totalNanos);
+        }
+
+        @Override
+        public long[] getP50Nanos() {
+            return perStage(stage -> stage.percentileNanos(50.0));
+        }
+
+        @Override
+        public long[] getP99Nanos() {
+            return perStage(stage -> stage.percentileNanos(99.0));
+        }
+
+        @Override
+        public long[] getMaxNanos() {
+            return perStage(StageSnapshot::maxNanos);
+        }
+
+        @Override
+        public void reset() {
+            Metrics.reset();
+        }
+
+        private static long[] perStage(ToLongFunction<StageSnapshot> attribute) {
+            MetricsSnapshot snapshot = snapshot();
+            long[] values = new long[STAGES.length];
+            for (int s = 0; s < values.length; s++) {
+                values[s] = attribute.applyAsLong(snapshot.stage(STAGES[s]));
+            }
+            return values;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package io.github.wjvanhoek.jsolar.metrics;
+
+/**
+ * JMX view of {@link Metrics}, registered as {@value Metrics#OBJECT_NAME}. Array attributes are
+ * indexed like {@link #getStages()}.
+ */
+public interface MetricsMXBean {
+
+    /** @return {@code true} when instrumentation was enabled at startup */
+    boolean isEnabled();
+
+    /** @return the names of the stages */
+    String[] getStages();
+
+    /** @return the number of calls per stage */
+    long[] getCalls();
+
+    /** @return the number of samples per stage */
+    long[] getSamples();
+
+    /** @return the time spent per stage, in nanoseconds */
+    long[] getTotalNanos();
+
+    /** @return the median duration of a call per stage, in nanoseconds */
+    long[] getP50Nanos();
+
+    /** @return the 99th percentile of the duration of a call per stage, in nanoseconds */
+    long[] getP99Nanos();
+
+    /** @return the longest call per stage, in nanoseconds */
+    long[] getMaxNanos();
+
+    /** Resets all counters and histograms. */
+    void reset();
+}
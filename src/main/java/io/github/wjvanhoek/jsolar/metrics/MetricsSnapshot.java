@@ -0,0 +1,42 @@
+package io.github.wjvanhoek.jsolar.metrics;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The {@link StageSnapshot} of every stage at one moment. Immutable.
+ */
+public final class MetricsSnapshot {
+
+    private final long epochMilli;
+    private final Map<Stage, StageSnapshot> stages;
+
+    MetricsSnapshot(long epochMilli, EnumMap<Stage, StageSnapshot> stages) {
+        this.epochMilli = epochMilli;
+        this.stages = Collections.unmodifiableMap(stages);
+    }
+
+    /** @return the moment of the snapshot, in milliseconds since the Unix epoch */
+    public long epochMilli() {
+        return epochMilli;
+    }
+
+    /**
+     * @param stage the stage
+     * @return the snapshot of the stage
+     */
+    public StageSnapshot stage(Stage stage) {
+        return stages.get(stage);
+    }
+
+    /** @return the snapshots of all stages, in stage order */
+    public Map<Stage, StageSnapshot> stages() {
+        return stages;
+    }
+
+    @Override
+    public String toString() {
+        return "MetricsSnapshot" + stages.values();
+    }
+}
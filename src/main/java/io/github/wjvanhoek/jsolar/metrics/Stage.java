@@ -0,0 +1,19 @@
+package io.github.wjvanhoek.jsolar.metrics;
+
+/**
+ * Pipeline stages measured by {@link Metrics}.
+ */
+public enum Stage {
+    /** Position of the Sun, batch engines. */
+    SOLAR_POSITION,
+    /** Clear-sky irradiance, batch and grid evaluation. */
+    CLEAR_SKY,
+    /** Separation of global into direct and diffuse irradiance. */
+    DECOMPOSITION,
+    /** Irradiance on tilted planes. */
+    TRANSPOSITION,
+    /** Conversion of plane-of-array irradiance to PV power. */
+    PV_POWER,
+    /** Reading and writing of weather, time-series and grid files. */
+    IO
+}
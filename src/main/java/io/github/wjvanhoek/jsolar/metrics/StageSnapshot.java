@@ -0,0 +1,83 @@
+package io.github.wjvanhoek.jsolar.metrics;
+
+/**
+ * Counters and latency distribution of one {@link Stage} at the moment of a snapshot. Immutable.
+ * Latencies are per call, which usually covers a batch of samples.
+ */
+public final class StageSnapshot {
+
+    private final Stage stage;
+    private final long calls;
+    private final long samples;
+    private final long totalNanos;
+    private final long[] counts;
+    private final long recorded;
+
+    StageSnapshot(Stage stage, long calls, long samples, long totalNanos, long[] counts) {
+        this.stage = stage;
+        this.calls = calls;
+        this.samples = samples;
+        this.totalNanos = totalNanos;
+        this.counts = counts;
+        long sum = 0;
+        for (long count : counts) {
+            sum += count;
+        }
+        this.recorded = sum;
+    }
+
+    /** @return the stage */
+    public Stage stage() {
+        return stage;
+    }
+
+    /** @return the number of calls */
+    public long calls() {
+        return calls;
+    }
+
+    /** @return the number of samples processed by all calls */
+    public long samples() {
+        return samples;
+    }
+
+    /** @return the time spent in all calls, in nanoseconds */
+    public long totalNanos() {
+        return totalNanos;
+    }
+
+    /** @return the mean duration of a call in nanoseconds, or NaN without calls */
+    public double meanNanos() {
+        return calls == 0 ? Double.NaN : (double) totalNanos / calls;
+    }
+
+    /** @return the mean time per sample in nanoseconds, or NaN without samples */
+    public double nanosPerSample() {
+        return samples == 0 ? Double.NaN : (double) totalNanos / samples;
+    }
+
+    /**
+     * Returns a percentile of the duration of a call, to within the precision of
+     * {@link LatencyHistogram}.
+     *
+     * @param percentile percentile in {@code [0, 100]}
+     * @return the duration in nanoseconds, or zero without calls
+     */
+    public long percentileNanos(double percentile) {
+        if (!(percentile >= 0.0 && percentile <= 100.0)) {
+            throw new IllegalArgumentException("Percentile must be in [0, 100]: " + percentile);
+        }
+        return LatencyHistogram.valueAt(counts, recorded, percentile);
+    }
+
+    /** @return the longest call in nanoseconds, to within the precision of the histogram */
+    public long maxNanos() {
+        return LatencyHistogram.valueAt(counts, recorded, 100.0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[calls=%d, samples=%d, mean=%.0f ns, p50=%d ns, p99=%d ns, max=%d ns]",
+                stage, calls, samples, meanNanos(), percentileNanos(50.0), percentileNanos(99.0), maxNanos());
+    }
+}
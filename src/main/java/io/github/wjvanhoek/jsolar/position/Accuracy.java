@@ -0,0 +1,23 @@
+package io.github.wjvanhoek.jsolar.position;
+
+/**
+ * Accuracy tier of a {@link SolarPositionEngine}, trading precision for throughput.
+ *
+ * @see SolarPositionEngines#scalar(Accuracy)
+ */
+public enum Accuracy {
+
+    /** Trigonometry by {@link Math}; results are as exact as the solar geometry model itself. */
+    REFERENCE,
+
+    /**
+     * Trigonometry by the polynomial kernels of {@link FastTrig}. Measured against
+     * {@link #REFERENCE} over the globe and the years 1900 to 2100, the cosine of the zenith angle
+     * deviates by at most 5e-12, the zenith by 2e-8 degrees (only near the zenith, where the arc
+     * cosine is ill-conditioned), the azimuth by 1e-9 degrees of horizontal displacement and the
+     * clear-sky global horizontal radiation by 1e-8 W/m². This is far below the error of the
+     * Spencer series, so the tier suits grid maps and bulk series; full positions are computed
+     * about three times faster.
+     */
+    FAST
+}
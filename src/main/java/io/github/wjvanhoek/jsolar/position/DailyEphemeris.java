@@ -0,0 +1,80 @@
+package io.github.wjvanhoek.jsolar.position;
+
+import io.github.wjvanhoek.jsolar.time.EpochTime;
+
+/**
+ * The quantities of {@link SolarGeometry} that only depend on the (UTC) calendar day: declination,
+ * equation of time and eccentricity correction. Immutable.
+ *
+ * @see EphemerisCache
+ */
+public final class DailyEphemeris {
+
+    private final long epochDay;
+    private final double declination;
+    private final double sinDeclination;
+    private final double cosDeclination;
+    private final double equationOfTime;
+    private final double eccentricityCorrection;
+
+    private DailyEphemeris(long epochDay) {
+        double dayAngle = SolarGeometry.dayAngle(EpochTime.dayOfYear(epochDay));
+        this.epochDay = epochDay;
+        this.declination = SolarGeometry.declination(dayAngle);
+        this.sinDeclination = Math.sin(declination);
+        this.cosDeclination = Math.cos(declination);
+        this.equationOfTime = SolarGeometry.equationOfTime(dayAngle);
+        this.eccentricityCorrection = SolarGeometry.eccentricityCorrection(dayAngle);
+    }
+
+    /**
+     * Computes the ephemeris of a day.
+     *
+     * @param epochDay days since 1970-01-01
+     * @return the ephemeris
+     */
+    public static DailyEphemeris of(long epochDay) {
+        return new DailyEphemeris(epochDay);
+    }
+
+    /**
+     * Returns the hour angle at a moment of this day.
+     *
+     * @param epochSecond seconds since the Unix epoch, within this day
+     * @param longitude   longitude in degrees
+     * @return the hour angle in radians
+     */
+    public double hourAngle(double epochSecond, double longitude) {
+        return SolarGeometry.hourAngle(epochSecond - epochDay * EpochTime.SECONDS_PER_DAY, longitude, equationOfTime);
+    }
+
+    /** @return the day, as days since 1970-01-01 */
+    public long epochDay() {
+        return epochDay;
+    }
+
+    /** @return the declination in radians */
+    public double declination() {
+        return declination;
+    }
+
+    /** @return the sine of the declination */
+    public double sinDeclination() {
+        return sinDeclination;
+    }
+
+    /** @return the cosine of the declination */
+    public double cosDeclination() {
+        return cosDeclination;
+    }
+
+    /** @return the equation of time in minutes */
+    public double equationOfTime() {
+        return equationOfTime;
+    }
+
+    /** @return the eccentricity correction factor */
+    public double eccentricityCorrection() {
+        return eccentricityCorrection;
+    }
+}
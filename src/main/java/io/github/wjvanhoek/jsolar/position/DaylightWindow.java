@@ -0,0 +1,177 @@
+package io.github.wjvanhoek.jsolar.position;
+
+import io.github.wjvanhoek.jsolar.time.EpochTime;
+
+/**
+ * Sunrise, sunset and solar noon at one location on one (UTC) calendar day. Immutable.
+ * <p>
+ * Times are geometric: they are the moments at which the centre of the Sun crosses the
+ * astronomical horizon according to the {@link DailyEphemeris} of the day, without refraction,
+ * unless a lower elevation is given to account for it.
+ * The window of day {@code d} is the one around the solar noon nearest to 12:00 UTC of that day,
+ * so sunrise or sunset may fall on the previous or next calendar day at large longitudes.
+ * <p>
+ * {@link #isDaylight(double)} and {@link #nextChange(double)} are meant for skipping night-time
+ * samples. They widen the window by {@value #MARGIN_SECONDS} s on both sides, so a moment they
+ * classify as night is guaranteed to have a negative cosine of the zenith angle for the same
+ * ephemeris, provided the window was computed for an elevation of at most zero.
+ */
+public final class DaylightWindow {
+
+    /** Widening applied on both sides of the window by the classification methods, in seconds. */
+    public static final double MARGIN_SECONDS = 60.0;
+
+    private static final double HALF_DAY = 0.5 * EpochTime.SECONDS_PER_DAY;
+
+    private final long epochDay;
+    private final double solarNoon;
+    private final double halfLength;
+    private final double widenedHalfLength;
+
+    private DaylightWindow(long epochDay, double solarNoon, double halfLength) {
+        this.epochDay = epochDay;
+        this.solarNoon = solarNoon;
+        this.halfLength = halfLength;
+        this.widenedHalfLength = halfLength + MARGIN_SECONDS;
+    }
+
+    /**
+     * Computes the window of a day.
+     *
+     * @param day         ephemeris of the day
+     * @param sinLatitude sine of the latitude
+     * @param cosLatitude cosine of the latitude
+     * @param longitude   longitude in degrees
+     * @return the window
+     */
+    public static DaylightWindow of(DailyEphemeris day, double sinLatitude, double cosLatitude, double longitude) {
+        return of(day, sinLatitude, cosLatitude, longitude, 0.0);
+    }
+
+    /**
+     * Computes the window of a day in which the centre of the Sun is above a given elevation. Pass
+     * {@link Refraction#HORIZON_LIMIT} for the apparent sunrise and sunset, when the upper limb of
+     * the refracted Sun crosses the horizon.
+     *
+     * @param day         ephemeris of the day
+     * @param sinLatitude sine of the latitude
+     * @param cosLatitude cosine of the latitude
+     * @param longitude   longitude in degrees
+     * @param elevation   true elevation of the Sun at sunrise and sunset, in degrees
+     * @return the window
+     */
+    public static DaylightWindow of(DailyEphemeris day, double sinLatitude, double cosLatitude, double longitude,
+                                    double elevation) {
+        double dayStart = day.epochDay() * EpochTime.SECONDS_PER_DAY;
+        double solarNoon = dayStart + HALF_DAY - 240.0 * longitude - 60.0 * day.equationOfTime();
+        // cos(sunset hour angle) = (sin(elevation) - sin(latitude) sin(declination)) / (cos(latitude) cos(declination))
+        double numerator = Math.sin(Math.toRadians(elevation)) - sinLatitude * day.sinDeclination();
+        double denominator = cosLatitude * day.cosDeclination();
+        double halfLength;
+        if (numerator >= denominator) {
+            halfLength = 0.0;
+        } else if (numerator <= -denominator) {
+            halfLength = HALF_DAY;
+        } else {
+            halfLength = Math.acos(numerator / denominator) / Math.PI * HALF_DAY;
+        }
+        return new DaylightWindow(day.epochDay(), solarNoon, halfLength);
+    }
+
+    /**
+     * Computes the window of a day.
+     *
+     * @param day       ephemeris of the day
+     * @param latitude  latitude in degrees
+     * @param longitude longitude in degrees
+     * @return the window
+     */
+    public static DaylightWindow of(DailyEphemeris day, double latitude, double longitude) {
+        double phi = Math.toRadians(latitude);
+        return of(day, Math.sin(phi), Math.cos(phi), longitude);
+    }
+
+    /** @return the day, as days since 1970-01-01 */
+    public long epochDay() {
+        return epochDay;
+    }
+
+    /** @return the moment of solar noon, in seconds since the Unix epoch */
+    public double solarNoon() {
+        return solarNoon;
+    }
+
+    /** @return the moment of sunrise in seconds since the Unix epoch, or NaN during polar day or night */
+    public double sunrise() {
+        return isPolarDay() || isPolarNight() ? Double.NaN : solarNoon - halfLength;
+    }
+
+    /** @return the moment of sunset in seconds since the Unix epoch, or NaN during polar day or night */
+    public double sunset() {
+        return isPolarDay() || isPolarNight() ? Double.NaN : solarNoon + halfLength;
+    }
+
+    /** @return the time between sunrise and sunset in seconds */
+    public double dayLength() {
+        return 2.0 * halfLength;
+    }
+
+    /** @return {@code true} when the Sun stays above the horizon all day */
+    public boolean isPolarDay() {
+        return halfLength >= HALF_DAY;
+    }
+
+    /** @return {@code true} when the Sun stays below the horizon all day */
+    public boolean isPolarNight() {
+        return halfLength <= 0.0;
+    }
+
+    /**
+     * Tells whether the Sun may be above the horizon at a moment of this day.
+     *
+     * @param epochSecond seconds since the Unix epoch, within this day
+     * @return {@code false} only when the Sun is certainly below the horizon
+     */
+    public boolean isDaylight(double epochSecond) {
+        if (isPolarDay() || isPolarNight()) {
+            return isPolarDay();
+        }
+        double r = fromNoon(epochSecond);
+        return r >= -widenedHalfLength && r < widenedHalfLength;
+    }
+
+    /**
+     * Returns the first moment after {@code epochSecond} at which {@link #isDaylight(double)} may
+     * change, capped at the end of this day.
+     *
+     * @param epochSecond seconds since the Unix epoch, within this day
+     * @return the moment in seconds since the Unix epoch
+     */
+    public double nextChange(double epochSecond) {
+        double dayEnd = (epochDay + 1) * EpochTime.SECONDS_PER_DAY;
+        if (isPolarDay() || isPolarNight() || widenedHalfLength >= HALF_DAY) {
+            return dayEnd;
+        }
+        double r = fromNoon(epochSecond);
+        double delta;
+        if (r < -widenedHalfLength) {
+            delta = -widenedHalfLength - r;
+        } else if (r < widenedHalfLength) {
+            delta = widenedHalfLength - r;
+        } else {
+            delta = EpochTime.SECONDS_PER_DAY - widenedHalfLength - r;
+        }
+        return Math.min(epochSecond + delta, dayEnd);
+    }
+
+    /** Offset from the nearest solar noon, in {@code [-12 h, 12 h)}. */
+    private double fromNoon(double epochSecond) {
+        double offset = epochSecond - solarNoon;
+        return offset - EpochTime.SECONDS_PER_DAY * Math.floor((offset + HALF_DAY) / EpochTime.SECONDS_PER_DAY);
+    }
+
+    @Override
+    public String toString() {
+        return "DaylightWindow[day " + epochDay + ", noon " + solarNoon + ", length " + dayLength() + " s]";
+    }
+}
@@ -0,0 +1,75 @@
+package io.github.wjvanhoek.jsolar.position;
+
+import io.github.wjvanhoek.jsolar.time.EpochTime;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded least-recently-used cache of {@link DailyEphemeris} keyed by epoch day.
+ * <p>
+ * Consecutive lookups of the same day, which is the common case for time series, are answered
+ * from the last entry without touching the map. Instances are not thread-safe; use one per thread
+ * or per series.
+ */
+public final class EphemerisCache {
+
+    /** Default number of days kept, a little over a year. */
+    public static final int DEFAULT_CAPACITY = 400;
+
+    private final Map<Long, DailyEphemeris> days;
+    private DailyEphemeris last;
+
+    /** Creates a cache holding {@value #DEFAULT_CAPACITY} days. */
+    public EphemerisCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param capacity maximum number of days kept
+     */
+    public EphemerisCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.days = new LinkedHashMap<>(Math.min(capacity, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, DailyEphemeris> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the ephemeris of a day, computing it when it is not cached.
+     *
+     * @param epochDay days since 1970-01-01
+     * @return the ephemeris
+     */
+    public DailyEphemeris day(long epochDay) {
+        DailyEphemeris ephemeris = last;
+        if (ephemeris != null && ephemeris.epochDay() == epochDay) {
+            return ephemeris;
+        }
+        ephemeris = days.computeIfAbsent(epochDay, DailyEphemeris::of);
+        last = ephemeris;
+        return ephemeris;
+    }
+
+    /**
+     * Returns the ephemeris of the day containing the given moment.
+     *
+     * @param epochSecond seconds since the Unix epoch
+     * @return the ephemeris
+     */
+    public DailyEphemeris at(double epochSecond) {
+        return day(EpochTime.epochDay(epochSecond));
+    }
+
+    /** @return the number of cached days */
+    public int size() {
+        return days.size();
+    }
+}
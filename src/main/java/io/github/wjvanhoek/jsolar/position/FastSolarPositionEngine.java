@@ -0,0 +1,135 @@
+package io.github.wjvanhoek.jsolar.position;
+
+import io.github.wjvanhoek.jsolar.time.EpochTime;
+
+/**
+ * {@link Accuracy#FAST} implementation of {@link SolarPositionEngine}: the same geometry as
+ * {@link ScalarSolarPositionEngine}, with the per-sample sine, cosine, arc cosine and arc tangent
+ * taken from {@link FastTrig}. The daily quantities are computed exactly, and the sine and cosine
+ * of the hour angle are shared by the zenith and the azimuth.
+ */
+public final class FastSolarPositionEngine implements SolarPositionEngine {
+
+    static final FastSolarPositionEngine INSTANCE = new FastSolarPositionEngine();
+
+    private static final double DEGREES_TO_RADIANS = Math.PI / 180.0;
+
+    private FastSolarPositionEngine() {
+    }
+
+    @Override
+    public String name() {
+        return "fast";
+    }
+
+    @Override
+    public void compute(double epochSecond, double latitude, double longitude, SolarPosition out) {
+        long epochDay = EpochTime.epochDay(epochSecond);
+        double dayAngle = SolarGeometry.dayAngle(EpochTime.dayOfYear(epochDay));
+        double declination = SolarGeometry.declination(dayAngle);
+        double equationOfTime = SolarGeometry.equationOfTime(dayAngle);
+        double hourAngle = SolarGeometry.hourAngle(
+                epochSecond - epochDay * EpochTime.SECONDS_PER_DAY, longitude, equationOfTime);
+        double phi = latitude * DEGREES_TO_RADIANS;
+        double sinPhi = FastTrig.sin(phi);
+        double cosPhi = FastTrig.cos(phi);
+        double sinDecl = Math.sin(declination);
+        double cosDecl = Math.cos(declination);
+        double sinHour = FastTrig.sin(hourAngle);
+        double cosHour = FastTrig.cos(hourAngle);
+        out.set(declination, equationOfTime, SolarGeometry.eccentricityCorrection(dayAngle), hourAngle,
+                sinPhi * sinDecl + cosPhi * cosDecl * cosHour,
+                Math.PI + FastTrig.atan2(sinHour, cosHour * sinPhi - Math.tan(declination) * cosPhi));
+    }
+
+    @Override
+    public double cosZenith(double epochSecond, double latitude, double longitude) {
+        long epochDay = EpochTime.epochDay(epochSecond);
+        double dayAngle = SolarGeometry.dayAngle(EpochTime.dayOfYear(epochDay));
+        double declination = SolarGeometry.declination(dayAngle);
+        double hourAngle = SolarGeometry.hourAngle(epochSecond - epochDay * EpochTime.SECONDS_PER_DAY,
+                longitude, SolarGeometry.equationOfTime(dayAngle));
+        double phi = latitude * DEGREES_TO_RADIANS;
+        return FastTrig.sin(phi) * Math.sin(declination)
+                + FastTrig.cos(phi) * Math.cos(declination) * FastTrig.cos(hourAngle);
+    }
+
+    @Override
+    public void compute(double[] epochSeconds, double[] latitudes, double[] longitudes, SolarPositionBatch out,
+                        int offset, int length) {
+        SolarPositionEngines.checkRange(epochSeconds, latitudes, longitudes, out.capacity(), offset, length);
+        double[] declinationOut = out.declination();
+        double[] equationOfTimeOut = out.equationOfTime();
+        double[] eccentricityOut = out.eccentricityCorrection();
+        double[] hourAngleOut = out.hourAngle();
+        double[] cosZenithOut = out.cosZenith();
+        double[] zenithOut = out.zenith();
+        double[] apparentZenithOut = out.apparentZenith();
+        double[] azimuthOut = out.azimuth();
+
+        long currentDay = Long.MIN_VALUE;
+        double declination = 0.0;
+        double sinDecl = 0.0;
+        double cosDecl = 0.0;
+        double tanDecl = 0.0;
+        double equationOfTime = 0.0;
+        double eccentricity = 0.0;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            double t = epochSeconds[i];
+            long epochDay = EpochTime.epochDay(t);
+            if (epochDay != currentDay) {
+                double dayAngle = SolarGeometry.dayAngle(EpochTime.dayOfYear(epochDay));
+                declination = SolarGeometry.declination(dayAngle);
+                sinDecl = Math.sin(declination);
+                cosDecl = Math.cos(declination);
+                tanDecl = Math.tan(declination);
+                equationOfTime = SolarGeometry.equationOfTime(dayAngle);
+                eccentricity = SolarGeometry.eccentricityCorrection(dayAngle);
+                currentDay = epochDay;
+            }
+            double hourAngle = SolarGeometry.hourAngle(
+                    t - epochDay * EpochTime.SECONDS_PER_DAY, longitudes[i], equationOfTime);
+            double phi = latitudes[i] * DEGREES_TO_RADIANS;
+            double sinPhi = FastTrig.sin(phi);
+            double cosPhi = FastTrig.cos(phi);
+            double sinHour = FastTrig.sin(hourAngle);
+            double cosHour = FastTrig.cos(hourAngle);
+            double cosZenith = sinPhi * sinDecl + cosPhi * cosDecl * cosHour;
+            declinationOut[i] = declination;
+            equationOfTimeOut[i] = equationOfTime;
+            eccentricityOut[i] = eccentricity;
+            hourAngleOut[i] = hourAngle;
+            cosZenithOut[i] = cosZenith;
+            double zenith = FastTrig.acos(cosZenith);
+            zenithOut[i] = zenith;
+            apparentZenithOut[i] = zenith;
+            azimuthOut[i] = Math.PI + FastTrig.atan2(sinHour, cosHour * sinPhi - tanDecl * cosPhi);
+        }
+    }
+
+    @Override
+    public void cosZenith(double[] epochSeconds, double[] latitudes, double[] longitudes, double[] out,
+                          int offset, int length) {
+        SolarPositionEngines.checkRange(epochSeconds, latitudes, longitudes, out.length, offset, length);
+        long currentDay = Long.MIN_VALUE;
+        double sinDecl = 0.0;
+        double cosDecl = 0.0;
+        double equationOfTime = 0.0;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            double t = epochSeconds[i];
+            long epochDay = EpochTime.epochDay(t);
+            if (epochDay != currentDay) {
+                double dayAngle = SolarGeometry.dayAngle(EpochTime.dayOfYear(epochDay));
+                double declination = SolarGeometry.declination(dayAngle);
+                sinDecl = Math.sin(declination);
+                cosDecl = Math.cos(declination);
+                equationOfTime = SolarGeometry.equationOfTime(dayAngle);
+                currentDay = epochDay;
+            }
+            double hourAngle = SolarGeometry.hourAngle(
+                    t - epochDay * EpochTime.SECONDS_PER_DAY, longitudes[i], equationOfTime);
+            double phi = latitudes[i] * DEGREES_TO_RADIANS;
+            out[i] = FastTrig.sin(phi) * sinDecl + FastTrig.cos(phi) * cosDecl * FastTrig.cos(hourAngle);
+        }
+    }
+}
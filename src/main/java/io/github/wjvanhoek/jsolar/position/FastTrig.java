@@ -0,0 +1,156 @@
+package io.github.wjvanhoek.jsolar.position;
+
+/**
+ * Polynomial trigonometric kernels for the {@link Accuracy#FAST} tier.
+ * <p>
+ * Each function reduces its argument to a short interval and evaluates a minimax polynomial
+ * fitted to that interval, avoiding the table lookups and extra argument handling of
+ * {@link Math}. The maximum absolute errors, measured against {@link Math} on dense grids, are:
+ * <pre>
+ * function  reduced interval        error (radians)
+ * sin, cos  [-π/4, π/4]             2.5e-12 for |x| ≤ 10⁴
+ * acos      asin on [0, 1/2]        1.1e-11
+ * atan2     atan on [0, tan(π/8)]   5.2e-12
+ * </pre>
+ * Special values are not handled exactly: infinite arguments of {@link #sin} and {@link #cos}
+ * give {@code NaN}, as does {@code NaN}, but the signs of zero results are not preserved.
+ */
+public final class FastTrig {
+
+    private static final double HALF_PI = Math.PI / 2.0;
+    private static final double TWO_OVER_PI = 2.0 / Math.PI;
+    // π/2 split into a 33-bit head and a tail, so that k·PIO2_HI is exact for moderate k
+    private static final double PIO2_HI = 1.57079632673412561417e+00;
+    private static final double PIO2_LO = 6.07710050650619224932e-11;
+    private static final double TAN_PI_8 = 0.41421356237309503;
+
+    // sin(r) = r + r³·S(r²) on [-π/4, π/4]
+    private static final double S1 = -0.16666666627997961;
+    private static final double S2 = 0.0083333282386304000;
+    private static final double S3 = -0.00019839043750110173;
+    private static final double S4 = 2.7160138633113260e-06;
+
+    // cos(r) = 1 - r²/2 + r⁴·C(r²) on [-π/4, π/4]
+    private static final double C1 = 0.041666666622827864;
+    private static final double C2 = -0.0013888883753410844;
+    private static final double C3 = 2.4799520012518230e-05;
+    private static final double C4 = -2.7210238242240800e-07;
+
+    // asin(y) = y + y³·A(y²) on [0, 1/2]
+    private static final double A1 = 0.16666667805983443;
+    private static final double A2 = 0.074999100179908920;
+    private static final double A3 = 0.044668640434723770;
+    private static final double A4 = 0.030019913523003210;
+    private static final double A5 = 0.025118034962469057;
+    private static final double A6 = 0.0060854253980013600;
+    private static final double A7 = 0.036210048151818320;
+
+    // atan(z) = z + z³·T(z²) on [0, tan(π/8)]
+    private static final double T1 = -0.33333331792188020;
+    private static final double T2 = 0.19999856197233107;
+    private static final double T3 = -0.14280885958570805;
+    private static final double T4 = 0.11032732544492052;
+    private static final double T5 = -0.084170276993374620;
+    private static final double T6 = 0.046331771774333536;
+
+    private FastTrig() {
+    }
+
+    /**
+     * @param x angle in radians
+     * @return the sine of the angle
+     */
+    public static double sin(double x) {
+        double k = Math.rint(x * TWO_OVER_PI);
+        double r = (x - k * PIO2_HI) - k * PIO2_LO;
+        switch ((int) (long) k & 3) {
+            case 0:
+                return sinKernel(r);
+            case 1:
+                return cosKernel(r);
+            case 2:
+                return -sinKernel(r);
+            default:
+                return -cosKernel(r);
+        }
+    }
+
+    /**
+     * @param x angle in radians
+     * @return the cosine of the angle
+     */
+    public static double cos(double x) {
+        double k = Math.rint(x * TWO_OVER_PI);
+        double r = (x - k * PIO2_HI) - k * PIO2_LO;
+        switch ((int) (long) k & 3) {
+            case 0:
+                return cosKernel(r);
+            case 1:
+                return -sinKernel(r);
+            case 2:
+                return -cosKernel(r);
+            default:
+                return sinKernel(r);
+        }
+    }
+
+    /**
+     * @param x cosine, clamped to {@code [-1, 1]}
+     * @return the arc cosine in radians, in {@code [0, π]}
+     */
+    public static double acos(double x) {
+        double c = Math.max(-1.0, Math.min(1.0, x));
+        if (c > 0.5) {
+            return 2.0 * asinKernel(Math.sqrt(0.5 - 0.5 * c));
+        }
+        if (c < -0.5) {
+            return Math.PI - 2.0 * asinKernel(Math.sqrt(0.5 + 0.5 * c));
+        }
+        return HALF_PI - asinKernel(c);
+    }
+
+    /**
+     * @param y ordinate
+     * @param x abscissa
+     * @return the angle of the point {@code (x, y)} in radians, in {@code [-π, π]}
+     */
+    public static double atan2(double y, double x) {
+        double ax = Math.abs(x);
+        double ay = Math.abs(y);
+        double max = Math.max(ax, ay);
+        if (max == 0.0) {
+            return x < 0.0 || 1.0 / x < 0.0 ? Math.copySign(Math.PI, y) : y;
+        }
+        double z = Math.min(ax, ay) / max;
+        double angle = z > TAN_PI_8
+                ? 0.25 * Math.PI + atanKernel((z - 1.0) / (z + 1.0))
+                : atanKernel(z);
+        if (ay > ax) {
+            angle = HALF_PI - angle;
+        }
+        if (x < 0.0) {
+            angle = Math.PI - angle;
+        }
+        return Math.copySign(angle, y);
+    }
+
+    private static double sinKernel(double r) {
+        double t = r * r;
+        return r + r * t * (S1 + t * (S2 + t * (S3 + t * S4)));
+    }
+
+    private static double cosKernel(double r) {
+        double t = r * r;
+        return 1.0 - 0.5 * t + t * t * (C1 + t * (C2 + t * (C3 + t * C4)));
+    }
+
+    private static double asinKernel(double y) {
+        double t = y * y;
+        return y + y * t * (A1 + t * (A2 + t * (A3 + t * (A4 + t * (A5 + t * (A6 + t * A7))))));
+    }
+
+    private static double atanKernel(double z) {
+        double t = z * z;
+        return z + z * t * (T1 + t * (T2 + t * (T3 + t * (T4 + t * (T5 + t * T6)))));
+    }
+}
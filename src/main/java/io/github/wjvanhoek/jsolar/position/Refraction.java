@@ -0,0 +1,92 @@
+package io.github.wjvanhoek.jsolar.position;
+
+import java.util.Objects;
+
+/**
+ * Atmospheric refraction of the Sun, after equation 42 of the NREL Solar Position Algorithm
+ * (Reda and Andreas, 2004), a form of Bennett's formula scaled by the local pressure and
+ * temperature:
+ * <pre>
+ * Δe = P/101000 · 283/(273 + T) · 1.02 / (60 · tan(e + 10.3/(e + 5.11)))
+ * </pre>
+ * with the true elevation {@code e} and {@code Δe} in degrees and the pressure {@code P} in Pa,
+ * as everywhere else in the library. In the reference atmosphere of 101 kPa and 10 °C
+ * refraction lifts the Sun by about 0.48° at the horizon and by less than 0.02° above 45°. It
+ * is applied down to {@value #HORIZON_LIMIT}°, where the upper limb of the refracted Sun sets,
+ * and is zero below.
+ * <p>
+ * The batch method selects rather than branches on that limit, so the loop has no
+ * data-dependent control flow.
+ */
+public final class Refraction {
+
+    /** Lowest true elevation, in degrees, at which refraction is applied. */
+    public static final double HORIZON_LIMIT = -(0.26667 + 0.5667);
+
+    private static final double DEGREES_TO_RADIANS = Math.PI / 180.0;
+    private static final double RADIANS_TO_DEGREES = 180.0 / Math.PI;
+
+    private Refraction() {
+    }
+
+    /**
+     * Returns the refraction of the Sun.
+     *
+     * @param trueElevation elevation without refraction, in degrees
+     * @param pressure      air pressure in Pa
+     * @param temperature   air temperature in °C
+     * @return the apparent minus the true elevation, in degrees
+     */
+    public static double correction(double trueElevation, double pressure, double temperature) {
+        double refraction = pressure / 101_000.0 * 283.0 / (273.0 + temperature)
+                * 1.02 / (60.0 * Math.tan((trueElevation + 10.3 / (trueElevation + 5.11)) * DEGREES_TO_RADIANS));
+        return trueElevation >= HORIZON_LIMIT ? refraction : 0.0;
+    }
+
+    /**
+     * Returns the apparent zenith angle.
+     *
+     * @param zenith      true zenith angle in radians
+     * @param pressure    air pressure in Pa
+     * @param temperature air temperature in °C
+     * @return the refracted zenith angle in radians
+     */
+    public static double apparentZenith(double zenith, double pressure, double temperature) {
+        return zenith - correction(90.0 - zenith * RADIANS_TO_DEGREES, pressure, temperature) * DEGREES_TO_RADIANS;
+    }
+
+    /**
+     * Computes the apparent zenith angles of a range of samples.
+     *
+     * @param zenith      true zenith angles in radians
+     * @param pressure    air pressure per sample in Pa
+     * @param temperature air temperature per sample in °C
+     * @param out         receives the refracted zenith angles in radians; may be {@code zenith}
+     * @param offset      index of the first sample
+     * @param length      number of samples
+     */
+    public static void apparentZenith(double[] zenith, double[] pressure, double[] temperature, double[] out,
+                                      int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, zenith.length);
+        Objects.checkFromIndexSize(offset, length, pressure.length);
+        Objects.checkFromIndexSize(offset, length, temperature.length);
+        Objects.checkFromIndexSize(offset, length, out.length);
+        for (int i = offset, end = offset + length; i < end; i++) {
+            out[i] = apparentZenith(zenith[i], pressure[i], temperature[i]);
+        }
+    }
+
+    /**
+     * Refracts the zenith angles of a batch into its {@link SolarPositionBatch#apparentZenith()}.
+     *
+     * @param batch       batch whose zenith angles are set
+     * @param pressure    air pressure per sample in Pa
+     * @param temperature air temperature per sample in °C
+     * @param offset      index of the first sample
+     * @param length      number of samples
+     */
+    public static void apply(SolarPositionBatch batch, double[] pressure, double[] temperature,
+                             int offset, int length) {
+        apparentZenith(batch.zenith(), pressure, temperature, batch.apparentZenith(), offset, length);
+    }
+}
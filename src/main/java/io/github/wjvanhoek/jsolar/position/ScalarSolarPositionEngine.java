@@ -0,0 +1,124 @@
+package io.github.wjvanhoek.jsolar.position;
+
+import io.github.wjvanhoek.jsolar.time.EpochTime;
+
+/**
+ * Reference implementation of {@link SolarPositionEngine}, evaluating {@link SolarGeometry} one
+ * sample at a time. The daily quantities are only recomputed when the UTC day changes between
+ * consecutive samples.
+ */
+public final class ScalarSolarPositionEngine implements SolarPositionEngine {
+
+    static final ScalarSolarPositionEngine INSTANCE = new ScalarSolarPositionEngine();
+
+    private ScalarSolarPositionEngine() {
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+
+    @Override
+    public void compute(double epochSecond, double latitude, double longitude, SolarPosition out) {
+        long epochDay = EpochTime.epochDay(epochSecond);
+        double dayAngle = SolarGeometry.dayAngle(EpochTime.dayOfYear(epochDay));
+        double declination = SolarGeometry.declination(dayAngle);
+        double equationOfTime = SolarGeometry.equationOfTime(dayAngle);
+        double hourAngle = SolarGeometry.hourAngle(
+                epochSecond - epochDay * EpochTime.SECONDS_PER_DAY, longitude, equationOfTime);
+        double phi = Math.toRadians(latitude);
+        double sinPhi = Math.sin(phi);
+        double cosPhi = Math.cos(phi);
+        out.set(declination, equationOfTime, SolarGeometry.eccentricityCorrection(dayAngle), hourAngle,
+                SolarGeometry.cosZenith(sinPhi, cosPhi, Math.sin(declination), Math.cos(declination), hourAngle),
+                SolarGeometry.azimuth(sinPhi, cosPhi, declination, hourAngle));
+    }
+
+    @Override
+    public double cosZenith(double epochSecond, double latitude, double longitude) {
+        long epochDay = EpochTime.epochDay(epochSecond);
+        double dayAngle = SolarGeometry.dayAngle(EpochTime.dayOfYear(epochDay));
+        double declination = SolarGeometry.declination(dayAngle);
+        double hourAngle = SolarGeometry.hourAngle(epochSecond - epochDay * EpochTime.SECONDS_PER_DAY,
+                longitude, SolarGeometry.equationOfTime(dayAngle));
+        double phi = Math.toRadians(latitude);
+        return SolarGeometry.cosZenith(Math.sin(phi), Math.cos(phi),
+                Math.sin(declination), Math.cos(declination), hourAngle);
+    }
+
+    @Override
+    public void compute(double[] epochSeconds, double[] latitudes, double[] longitudes, SolarPositionBatch out,
+                        int offset, int length) {
+        SolarPositionEngines.checkRange(epochSeconds, latitudes, longitudes, out.capacity(), offset, length);
+        double[] declinationOut = out.declination();
+        double[] equationOfTimeOut = out.equationOfTime();
+        double[] eccentricityOut = out.eccentricityCorrection();
+        double[] hourAngleOut = out.hourAngle();
+        double[] cosZenithOut = out.cosZenith();
+        double[] zenithOut = out.zenith();
+        double[] apparentZenithOut = out.apparentZenith();
+        double[] azimuthOut = out.azimuth();
+
+        long currentDay = Long.MIN_VALUE;
+        double declination = 0.0;
+        double sinDecl = 0.0;
+        double cosDecl = 0.0;
+        double equationOfTime = 0.0;
+        double eccentricity = 0.0;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            double t = epochSeconds[i];
+            long epochDay = EpochTime.epochDay(t);
+            if (epochDay != currentDay) {
+                double dayAngle = SolarGeometry.dayAngle(EpochTime.dayOfYear(epochDay));
+                declination = SolarGeometry.declination(dayAngle);
+                sinDecl = Math.sin(declination);
+                cosDecl = Math.cos(declination);
+                equationOfTime = SolarGeometry.equationOfTime(dayAngle);
+                eccentricity = SolarGeometry.eccentricityCorrection(dayAngle);
+                currentDay = epochDay;
+            }
+            double hourAngle = SolarGeometry.hourAngle(
+                    t - epochDay * EpochTime.SECONDS_PER_DAY, longitudes[i], equationOfTime);
+            double phi = Math.toRadians(latitudes[i]);
+            double sinPhi = Math.sin(phi);
+            double cosPhi = Math.cos(phi);
+            double cosZenith = SolarGeometry.cosZenith(sinPhi, cosPhi, sinDecl, cosDecl, hourAngle);
+            declinationOut[i] = declination;
+            equationOfTimeOut[i] = equationOfTime;
+            eccentricityOut[i] = eccentricity;
+            hourAngleOut[i] = hourAngle;
+            cosZenithOut[i] = cosZenith;
+            double zenith = Math.acos(Math.max(-1.0, Math.min(1.0, cosZenith)));
+            zenithOut[i] = zenith;
+            apparentZenithOut[i] = zenith;
+            azimuthOut[i] = SolarGeometry.azimuth(sinPhi, cosPhi, declination, hourAngle);
+        }
+    }
+
+    @Override
+    public void cosZenith(double[] epochSeconds, double[] latitudes, double[] longitudes, double[] out,
+                          int offset, int length) {
+        SolarPositionEngines.checkRange(epochSeconds, latitudes, longitudes, out.length, offset, length);
+        long currentDay = Long.MIN_VALUE;
+        double sinDecl = 0.0;
+        double cosDecl = 0.0;
+        double equationOfTime = 0.0;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            double t = epochSeconds[i];
+            long epochDay = EpochTime.epochDay(t);
+            if (epochDay != currentDay) {
+                double dayAngle = SolarGeometry.dayAngle(EpochTime.dayOfYear(epochDay));
+                double declination = SolarGeometry.declination(dayAngle);
+                sinDecl = Math.sin(declination);
+                cosDecl = Math.cos(declination);
+                equationOfTime = SolarGeometry.equationOfTime(dayAngle);
+                currentDay = epochDay;
+            }
+            double hourAngle = SolarGeometry.hourAngle(
+                    t - epochDay * EpochTime.SECONDS_PER_DAY, longitudes[i], equationOfTime);
+            double phi = Math.toRadians(latitudes[i]);
+            out[i] = SolarGeometry.cosZenith(Math.sin(phi), Math.cos(phi), sinDecl, cosDecl, hourAngle);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package io.github.wjvanhoek.jsolar.position;
+
+/**
+ * Scalar solar geometry after Spencer (1971) and the usual spherical-astronomy relations.
+ * <p>
+ * The daily quantities (declination, equation of time and eccentricity correction) are Fourier
+ * series in the day angle, which only depends on the day of the year. All angles are in radians
+ * unless stated otherwise.
+ */
+public final class SolarGeometry {
+
+    /** Solar constant in W/m². */
+    public static final double SOLAR_CONSTANT = 1361.0;
+
+    private static final double TWO_PI = 2.0 * Math.PI;
+
+    private SolarGeometry() {
+    }
+
+    /**
+     * Returns the day angle of the given day of the year.
+     *
+     * @param dayOfYear day of the year, 1 for January 1st
+     * @return the day angle in radians
+     */
+    public static double dayAngle(int dayOfYear) {
+        return TWO_PI * (dayOfYear - 1) / 365.0;
+    }
+
+    /**
+     * Returns the solar declination.
+     *
+     * @param dayAngle day angle in radians
+     * @return the declination in radians
+     */
+    public static double declination(double dayAngle) {
+        return 0.006918
+                - 0.399912 * Math.cos(dayAngle) + 0.070257 * Math.sin(dayAngle)
+                - 0.006758 * Math.cos(2 * dayAngle) + 0.000907 * Math.sin(2 * dayAngle)
+                - 0.002697 * Math.cos(3 * dayAngle) + 0.001480 * Math.sin(3 * dayAngle);
+    }
+
+    /**
+     * Returns the equation of time.
+     *
+     * @param dayAngle day angle in radians
+     * @return the equation of time in minutes
+     */
+    public static double equationOfTime(double dayAngle) {
+        return 229.18 * (0.000075
+                + 0.001868 * Math.cos(dayAngle) - 0.032077 * Math.sin(dayAngle)
+                - 0.014615 * Math.cos(2 * dayAngle) - 0.040849 * Math.sin(2 * dayAngle));
+    }
+
+    /**
+     * Returns the correction factor for the eccentricity of the Earth's orbit, i.e. the squared
+     * ratio of the mean to the actual Sun-Earth distance.
+     *
+     * @param dayAngle day angle in radians
+     * @return the dimensionless eccentricity correction
+     */
+    public static double eccentricityCorrection(double dayAngle) {
+        return 1.000110
+                + 0.034221 * Math.cos(dayAngle) + 0.001280 * Math.sin(dayAngle)
+                + 0.000719 * Math.cos(2 * dayAngle) + 0.000077 * Math.sin(2 * dayAngle);
+    }
+
+    /**
+     * Returns the apparent solar time: the clock time at which the Sun is due south (north in the
+     * southern hemisphere) at 12:00.
+     *
+     * @param secondOfDay    seconds since midnight UTC
+     * @param longitude      longitude in degrees, positive east
+     * @param equationOfTime equation of time in minutes
+     * @return the apparent solar time in seconds since solar midnight, in {@code [0, 86400)}
+     */
+    public static double solarTime(double secondOfDay, double longitude, double equationOfTime) {
+        double solarSecond = (secondOfDay + 240.0 * longitude + 60.0 * equationOfTime) % 86_400.0;
+        return solarSecond < 0.0 ? solarSecond + 86_400.0 : solarSecond;
+    }
+
+    /**
+     * Returns the hour angle, negative in the morning and positive in the afternoon.
+     *
+     * @param secondOfDay    seconds since midnight UTC
+     * @param longitude      longitude in degrees, positive east
+     * @param equationOfTime equation of time in minutes
+     * @return the hour angle in radians
+     */
+    public static double hourAngle(double secondOfDay, double longitude, double equationOfTime) {
+        double solarMinutes = secondOfDay / 60.0 + 4.0 * longitude + equationOfTime;
+        return Math.toRadians(solarMinutes / 4.0 - 180.0);
+    }
+
+    /**
+     * Returns the cosine of the solar zenith angle.
+     *
+     * @param sinLatitude        sine of the latitude
+     * @param cosLatitude        cosine of the latitude
+     * @param sinDeclination     sine of the declination
+     * @param cosDeclination     cosine of the declination
+     * @param hourAngle          hour angle in radians
+     * @return the cosine of the zenith angle, negative when the Sun is below the horizon
+     */
+    public static double cosZenith(double sinLatitude, double cosLatitude,
+                                   double sinDeclination, double cosDeclination, double hourAngle) {
+        return sinLatitude * sinDeclination + cosLatitude * cosDeclination * Math.cos(hourAngle);
+    }
+
+    /**
+     * Returns the solar azimuth, measured clockwise from north.
+     *
+     * @param sinLatitude sine of the latitude
+     * @param cosLatitude cosine of the latitude
+     * @param declination declination in radians
+     * @param hourAngle   hour angle in radians
+     * @return the azimuth in radians, in {@code [0, 2π)}
+     */
+    public static double azimuth(double sinLatitude, double cosLatitude, double declination, double hourAngle) {
+        return Math.PI + Math.atan2(Math.sin(hourAngle),
+                Math.cos(hourAngle) * sinLatitude - Math.tan(declination) * cosLatitude);
+    }
+}
@@ -0,0 +1,108 @@
+package io.github.wjvanhoek.jsolar.position;
+
+/**
+ * Mutable holder for the position of the Sun at one time and location. Instances are meant to be
+ * reused across evaluations so that the hot path does not allocate.
+ */
+public final class SolarPosition {
+
+    private double declination;
+    private double equationOfTime;
+    private double eccentricityCorrection;
+    private double hourAngle;
+    private double cosZenith;
+    private double zenith;
+    private double apparentZenith;
+    private double azimuth;
+
+    /**
+     * Fills this holder. The apparent zenith angle is set to the true one.
+     *
+     * @param declination            declination in radians
+     * @param equationOfTime         equation of time in minutes
+     * @param eccentricityCorrection eccentricity correction factor
+     * @param hourAngle              hour angle in radians
+     * @param cosZenith              cosine of the zenith angle
+     * @param azimuth                azimuth in radians, clockwise from north
+     * @return this holder
+     */
+    public SolarPosition set(double declination, double equationOfTime, double eccentricityCorrection,
+                             double hourAngle, double cosZenith, double azimuth) {
+        this.declination = declination;
+        this.equationOfTime = equationOfTime;
+        this.eccentricityCorrection = eccentricityCorrection;
+        this.hourAngle = hourAngle;
+        this.cosZenith = cosZenith;
+        this.zenith = Math.acos(Math.max(-1.0, Math.min(1.0, cosZenith)));
+        this.apparentZenith = zenith;
+        this.azimuth = azimuth;
+        return this;
+    }
+
+    /**
+     * Sets the apparent zenith angle to the refracted true zenith angle.
+     *
+     * @param pressure    air pressure in Pa
+     * @param temperature air temperature in °C
+     * @return this holder
+     * @see Refraction
+     */
+    public SolarPosition refract(double pressure, double temperature) {
+        this.apparentZenith = Refraction.apparentZenith(zenith, pressure, temperature);
+        return this;
+    }
+
+    SolarPosition apparentZenith(double apparentZenith) {
+        this.apparentZenith = apparentZenith;
+        return this;
+    }
+
+    /** @return the declination in radians */
+    public double declination() {
+        return declination;
+    }
+
+    /** @return the equation of time in minutes */
+    public double equationOfTime() {
+        return equationOfTime;
+    }
+
+    /** @return the eccentricity correction factor */
+    public double eccentricityCorrection() {
+        return eccentricityCorrection;
+    }
+
+    /** @return the hour angle in radians */
+    public double hourAngle() {
+        return hourAngle;
+    }
+
+    /** @return the cosine of the zenith angle */
+    public double cosZenith() {
+        return cosZenith;
+    }
+
+    /** @return the zenith angle in radians */
+    public double zenith() {
+        return zenith;
+    }
+
+    /**
+     * @return the apparent zenith angle in radians: the true zenith angle until
+     *         {@link #refract(double, double) refracted}
+     */
+    public double apparentZenith() {
+        return apparentZenith;
+    }
+
+    /** @return the azimuth in radians, clockwise from north */
+    public double azimuth() {
+        return azimuth;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SolarPosition[zenith=%.4f°, azimuth=%.4f°]",
+                Math.toDegrees(zenith), Math.toDegrees(azimuth));
+    }
+}
@@ -0,0 +1,102 @@
+package io.github.wjvanhoek.jsolar.position;
+
+/**
+ * Structure-of-arrays holder for the positions of the Sun for a batch of samples. The result for
+ * input sample {@code i} is stored at index {@code i} of every array, so a batch can be filled in
+ * several ranges and handed to later pipeline stages without copying.
+ * <p>
+ * The accessors return the backing arrays themselves.
+ */
+public final class SolarPositionBatch {
+
+    private final double[] declination;
+    private final double[] equationOfTime;
+    private final double[] eccentricityCorrection;
+    private final double[] hourAngle;
+    private final double[] cosZenith;
+    private final double[] zenith;
+    private final double[] apparentZenith;
+    private final double[] azimuth;
+
+    /**
+     * Creates a batch.
+     *
+     * @param capacity number of samples the batch can hold
+     */
+    public SolarPositionBatch(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative: " + capacity);
+        }
+        declination = new double[capacity];
+        equationOfTime = new double[capacity];
+        eccentricityCorrection = new double[capacity];
+        hourAngle = new double[capacity];
+        cosZenith = new double[capacity];
+        zenith = new double[capacity];
+        apparentZenith = new double[capacity];
+        azimuth = new double[capacity];
+    }
+
+    /** @return the number of samples the batch can hold */
+    public int capacity() {
+        return cosZenith.length;
+    }
+
+    /**
+     * Copies one sample into a scalar holder.
+     *
+     * @param index index of the sample
+     * @param out   holder that receives the sample
+     * @return {@code out}
+     */
+    public SolarPosition get(int index, SolarPosition out) {
+        return out.set(declination[index], equationOfTime[index], eccentricityCorrection[index],
+                hourAngle[index], cosZenith[index], azimuth[index]).apparentZenith(apparentZenith[index]);
+    }
+
+    /** @return the declinations in radians */
+    public double[] declination() {
+        return declination;
+    }
+
+    /** @return the equations of time in minutes */
+    public double[] equationOfTime() {
+        return equationOfTime;
+    }
+
+    /** @return the eccentricity correction factors */
+    public double[] eccentricityCorrection() {
+        return eccentricityCorrection;
+    }
+
+    /** @return the hour angles in radians */
+    public double[] hourAngle() {
+        return hourAngle;
+    }
+
+    /** @return the cosines of the zenith angles */
+    public double[] cosZenith() {
+        return cosZenith;
+    }
+
+    /** @return the zenith angles in radians */
+    public double[] zenith() {
+        return zenith;
+    }
+
+    /**
+     * Returns the apparent zenith angles. Engines fill them with the true zenith angles, as seen
+     * without an atmosphere; {@link SolarPositionEngine#refract} replaces them with the refracted
+     * angles.
+     *
+     * @return the apparent zenith angles in radians
+     */
+    public double[] apparentZenith() {
+        return apparentZenith;
+    }
+
+    /** @return the azimuths in radians, clockwise from north */
+    public double[] azimuth() {
+        return azimuth;
+    }
+}
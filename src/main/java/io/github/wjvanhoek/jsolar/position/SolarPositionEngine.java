@@ -0,0 +1,112 @@
+package io.github.wjvanhoek.jsolar.position;
+
+import io.github.wjvanhoek.jsolar.time.EpochTime;
+
+/**
+ * Computes the position of the Sun. Implementations must be thread-safe and must not allocate per
+ * sample.
+ * <p>
+ * Timestamps are seconds since the Unix epoch (UTC); latitudes and longitudes are in degrees,
+ * positive north and east. Batch methods evaluate the samples {@code [offset, offset + length)} of
+ * the input arrays and write sample {@code i} to index {@code i} of the output.
+ *
+ * @see SolarPositionEngines
+ */
+public interface SolarPositionEngine {
+
+    /** @return a short, stable name identifying the implementation */
+    String name();
+
+    /**
+     * Computes the position of the Sun for a single sample.
+     *
+     * @param epochSecond seconds since the Unix epoch
+     * @param latitude    latitude in degrees
+     * @param longitude   longitude in degrees
+     * @param out         holder that receives the result
+     */
+    void compute(double epochSecond, double latitude, double longitude, SolarPosition out);
+
+    /**
+     * Computes the cosine of the solar zenith angle for a single sample.
+     *
+     * @param epochSecond seconds since the Unix epoch
+     * @param latitude    latitude in degrees
+     * @param longitude   longitude in degrees
+     * @return the cosine of the zenith angle
+     */
+    double cosZenith(double epochSecond, double latitude, double longitude);
+
+    /**
+     * Returns the eccentricity correction {@code (R₀/R)²} of the Earth's orbit that this engine
+     * reports for a moment. The default evaluates the Spencer series of {@link SolarGeometry} for
+     * the UTC day, as the scalar, fast and vector engines do.
+     *
+     * @param epochSecond seconds since the Unix epoch
+     * @return the eccentricity correction
+     */
+    default double eccentricityCorrection(double epochSecond) {
+        return SolarGeometry.eccentricityCorrection(
+                SolarGeometry.dayAngle(EpochTime.dayOfYear(EpochTime.epochDay(epochSecond))));
+    }
+
+    /**
+     * Computes the full position of the Sun for a range of samples.
+     *
+     * @param epochSeconds timestamps per sample
+     * @param latitudes    latitudes per sample
+     * @param longitudes   longitudes per sample
+     * @param out          batch that receives the results
+     * @param offset       index of the first sample
+     * @param length       number of samples
+     */
+    void compute(double[] epochSeconds, double[] latitudes, double[] longitudes, SolarPositionBatch out,
+                 int offset, int length);
+
+    /**
+     * Computes only the cosine of the solar zenith angle for a range of samples, which is all the
+     * horizontal radiation needs.
+     *
+     * @param epochSeconds timestamps per sample
+     * @param latitudes    latitudes per sample
+     * @param longitudes   longitudes per sample
+     * @param out          receives the cosine of the zenith angle per sample
+     * @param offset       index of the first sample
+     * @param length       number of samples
+     */
+    void cosZenith(double[] epochSeconds, double[] latitudes, double[] longitudes, double[] out,
+                   int offset, int length);
+
+    /**
+     * Computes the full position of the Sun for a range of samples, with the apparent zenith
+     * angles refracted for the weather of each sample.
+     *
+     * @param epochSeconds timestamps per sample
+     * @param latitudes    latitudes per sample
+     * @param longitudes   longitudes per sample
+     * @param pressures    air pressure per sample in Pa
+     * @param temperatures air temperature per sample in °C
+     * @param out          batch that receives the results
+     * @param offset       index of the first sample
+     * @param length       number of samples
+     */
+    default void compute(double[] epochSeconds, double[] latitudes, double[] longitudes, double[] pressures,
+                         double[] temperatures, SolarPositionBatch out, int offset, int length) {
+        compute(epochSeconds, latitudes, longitudes, out, offset, length);
+        refract(out, pressures, temperatures, offset, length);
+    }
+
+    /**
+     * Replaces the apparent zenith angles of a range of computed samples by the true zenith angles
+     * refracted for the weather of each sample, see {@link Refraction}.
+     *
+     * @param batch        batch holding computed positions
+     * @param pressures    air pressure per sample in Pa
+     * @param temperatures air temperature per sample in °C
+     * @param offset       index of the first sample
+     * @param length       number of samples
+     */
+    default void refract(SolarPositionBatch batch, double[] pressures, double[] temperatures, int offset, int length) {
+        Refraction.apply(batch, pressures, temperatures, offset, length);
+    }
+}
@@ -0,0 +1,194 @@
+package io.github.wjvanhoek.jsolar.position;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+/**
+ * Factory and runtime selection of {@link SolarPositionEngine} implementations.
+ * <p>
+ * The default engine is chosen by the system property {@value #ENGINE_PROPERTY}:
+ * <ul>
+ *     <li>{@code scalar}: always the scalar reference engine;</li>
+ *     <li>{@code fast}: the scalar engine in the {@link Accuracy#FAST} tier;</li>
+ *     <li>{@code spa}: the NREL SPA engine at sea level in a standard atmosphere;</li>
+ *     <li>{@code vector}: the Vector API engine, failing when it is not available;</li>
+ *     <li>{@code auto} (default): the Vector API engine when the {@code jdk.incubator.vector} module
+ *     is present and the engine passes {@link #crossCheck(SolarPositionEngine, SolarPositionEngine, int)},
+ *     the scalar engine otherwise.</li>
+ * </ul>
+ */
+public final class SolarPositionEngines {
+
+    /** System property that selects the default engine. */
+    public static final String ENGINE_PROPERTY = "jsolar.solarPosition.engine";
+
+    /**
+     * Maximum deviation between an engine and the scalar reference that is accepted by
+     * {@code auto} selection. It bounds the absolute differences of the declination, hour angle
+     * and cosine of the zenith angle, and the horizontal displacement {@code |Δazimuth|·sin(zenith)}
+     * of the azimuth (the azimuth itself is undefined at the zenith).
+     */
+    public static final double TOLERANCE = 1e-12;
+
+    private static final String VECTOR_ENGINE = "io.github.wjvanhoek.jsolar.position.VectorSolarPositionEngine";
+
+    private static final int CROSS_CHECK_SAMPLES = 4096;
+
+    private static volatile SolarPositionEngine defaultEngine;
+
+    private SolarPositionEngines() {
+    }
+
+    /** @return the scalar reference engine */
+    public static SolarPositionEngine scalar() {
+        return ScalarSolarPositionEngine.INSTANCE;
+    }
+
+    /**
+     * Returns the scalar engine of an accuracy tier.
+     *
+     * @param accuracy the accuracy tier
+     * @return the scalar engine of the tier
+     */
+    public static SolarPositionEngine scalar(Accuracy accuracy) {
+        switch (accuracy) {
+            case REFERENCE:
+                return ScalarSolarPositionEngine.INSTANCE;
+            case FAST:
+                return FastSolarPositionEngine.INSTANCE;
+            default:
+                throw new IllegalArgumentException("Unknown accuracy: " + accuracy);
+        }
+    }
+
+    /**
+     * Returns the Vector API engine.
+     *
+     * @return a new vector engine
+     * @throws UnsupportedOperationException when the {@code jdk.incubator.vector} module is not
+     *                                       available at runtime
+     */
+    public static SolarPositionEngine vector() {
+        try {
+            return (SolarPositionEngine) Class.forName(VECTOR_ENGINE).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            throw new UnsupportedOperationException(
+                    "Vector API not available, run with --add-modules jdk.incubator.vector", e);
+        }
+    }
+
+    /**
+     * Returns the engine with the given name.
+     *
+     * @param name {@code scalar}, {@code fast}, {@code spa}, {@code vector} or {@code auto}
+     * @return the engine
+     * @throws IllegalArgumentException      when the name is unknown
+     * @throws UnsupportedOperationException when {@code vector} is requested but not available
+     */
+    public static SolarPositionEngine select(String name) {
+        switch (name.trim().toLowerCase(Locale.ROOT)) {
+            case "scalar":
+                return scalar();
+            case "fast":
+                return scalar(Accuracy.FAST);
+            case "spa":
+                return new SpaSolarPositionEngine();
+            case "vector":
+                return vector();
+            case "auto":
+                return auto();
+            default:
+                throw new IllegalArgumentException("Unknown solar position engine: " + name);
+        }
+    }
+
+    /**
+     * Returns the engine selected by {@value #ENGINE_PROPERTY}. The selection is made once.
+     *
+     * @return the default engine
+     */
+    public static SolarPositionEngine defaultEngine() {
+        SolarPositionEngine engine = defaultEngine;
+        if (engine == null) {
+            synchronized (SolarPositionEngines.class) {
+                engine = defaultEngine;
+                if (engine == null) {
+                    engine = select(System.getProperty(ENGINE_PROPERTY, "auto"));
+                    defaultEngine = engine;
+                }
+            }
+        }
+        return engine;
+    }
+
+    /**
+     * Tells whether an engine computes the Spencer series of {@link SolarGeometry}, so that the
+     * {@link DailyEphemeris} of a day can stand in for it: the scalar and vector engines agree with
+     * it to within {@link #TOLERANCE} and the fast tier to within its own accuracy. Other engines
+     * must be evaluated per sample.
+     *
+     * @param engine the engine
+     * @return {@code true} for the scalar, fast and vector engines
+     */
+    public static boolean isSpencer(SolarPositionEngine engine) {
+        return engine == ScalarSolarPositionEngine.INSTANCE || engine == FastSolarPositionEngine.INSTANCE
+                || engine.getClass().getName().equals(VECTOR_ENGINE);
+    }
+
+    /**
+     * Compares two engines on a fixed pseudo-random set of samples spread over the globe and the
+     * years 1900 to 2100, using the batch methods.
+     *
+     * @param candidate engine under test
+     * @param reference engine to compare with, normally {@link #scalar()}
+     * @param samples   number of samples
+     * @return the largest deviation, in the sense of {@link #TOLERANCE}
+     */
+    public static double crossCheck(SolarPositionEngine candidate, SolarPositionEngine reference, int samples) {
+        double[] epochSeconds = new double[samples];
+        double[] latitudes = new double[samples];
+        double[] longitudes = new double[samples];
+        SplittableRandom random = new SplittableRandom(0x5eedL);
+        for (int i = 0; i < samples; i++) {
+            epochSeconds[i] = random.nextDouble(-2_208_988_800.0, 4_102_444_800.0);
+            latitudes[i] = random.nextDouble(-90.0, 90.0);
+            longitudes[i] = random.nextDouble(-180.0, 180.0);
+        }
+        SolarPositionBatch expected = new SolarPositionBatch(samples);
+        SolarPositionBatch actual = new SolarPositionBatch(samples);
+        double[] cosZenith = new double[samples];
+        reference.compute(epochSeconds, latitudes, longitudes, expected, 0, samples);
+        candidate.compute(epochSeconds, latitudes, longitudes, actual, 0, samples);
+        candidate.cosZenith(epochSeconds, latitudes, longitudes, cosZenith, 0, samples);
+
+        double max = 0.0;
+        for (int i = 0; i < samples; i++) {
+            max = Math.max(max, Math.abs(actual.declination()[i] - expected.declination()[i]));
+            max = Math.max(max, Math.abs(actual.hourAngle()[i] - expected.hourAngle()[i]));
+            max = Math.max(max, Math.abs(actual.cosZenith()[i] - expected.cosZenith()[i]));
+            max = Math.max(max, Math.abs(cosZenith[i] - expected.cosZenith()[i]));
+            double azimuth = Math.abs(actual.azimuth()[i] - expected.azimuth()[i]);
+            max = Math.max(max, Math.min(azimuth, 2.0 * Math.PI - azimuth) * Math.sin(expected.zenith()[i]));
+        }
+        return max;
+    }
+
+    private static SolarPositionEngine auto() {
+        SolarPositionEngine vector;
+        try {
+            vector = vector();
+        } catch (UnsupportedOperationException e) {
+            return scalar();
+        }
+        return crossCheck(vector, scalar(), CROSS_CHECK_SAMPLES) <= TOLERANCE ? vector : scalar();
+    }
+
+    static void checkRange(double[] epochSeconds, double[] latitudes, double[] longitudes, int outLength,
+                           int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, epochSeconds.length);
+        Objects.checkFromIndexSize(offset, length, latitudes.length);
+        Objects.checkFromIndexSize(offset, length, longitudes.length);
+        Objects.checkFromIndexSize(offset, length, outLength);
+    }
+}
@@ -0,0 +1,47 @@
+package io.github.wjvanhoek.jsolar.position;
+
+import io.github.wjvanhoek.jsolar.time.EpochTime;
+
+/**
+ * The observer-independent part of the {@link SpaSolarPositionEngine} over one UTC day: the
+ * quadratics through the geocentric position and the Earth-Sun distance at the start, middle and
+ * end of the day that the batch methods of the engine interpolate. Immutable.
+ * <p>
+ * Callers that evaluate the samples of a day one at a time, such as a site calculator, keep the
+ * day and pass it to {@link SpaSolarPositionEngine#cosZenith(SpaDay, double, double, double)}, so
+ * that a sample costs the same as in a batch instead of the full series.
+ */
+public final class SpaDay {
+
+    private final long epochDay;
+    private final double[] coefficients;
+
+    SpaDay(long epochDay, double[] coefficients) {
+        this.epochDay = epochDay;
+        this.coefficients = coefficients;
+    }
+
+    /** @return the day, as days since 1970-01-01 */
+    public long epochDay() {
+        return epochDay;
+    }
+
+    /**
+     * Returns the eccentricity correction {@code 1/R²} for the interpolated Earth-Sun distance
+     * {@code R}, as reported by the batch methods of the engine.
+     *
+     * @param epochSecond seconds since the Unix epoch, within this day
+     * @return the eccentricity correction
+     */
+    public double eccentricityCorrection(double epochSecond) {
+        return SpaSolarPositionEngine.eccentricityCorrection(coefficients, dayFraction(epochSecond));
+    }
+
+    double[] coefficients() {
+        return coefficients;
+    }
+
+    double dayFraction(double epochSecond) {
+        return (epochSecond - epochDay * EpochTime.SECONDS_PER_DAY) / EpochTime.SECONDS_PER_DAY;
+    }
+}
@@ -0,0 +1,137 @@
+package io.github.wjvanhoek.jsolar.position;
+
+import io.github.wjvanhoek.jsolar.time.EpochTime;
+
+/**
+ * Geocentric apparent position of the Sun at one moment, after steps 3.1 to 3.10 of the NREL
+ * Solar Position Algorithm (Reda and Andreas, 2004): the heliocentric series, nutation,
+ * aberration and the conversion to right ascension and declination. These are the expensive and
+ * observer-independent part of the algorithm; see {@link SpaSolarPositionEngine} for the rest.
+ * The quantities are written into a caller-supplied array at the offsets below, so evaluating
+ * them does not allocate. Angles are in degrees.
+ */
+final class SpaEphemeris {
+
+    /** Epoch second of J2000.0, 2000-01-01T12:00:00 UT. */
+    static final double J2000_EPOCH_SECOND = 946_728_000.0;
+
+    /** Offset of the geocentric right ascension, in {@code [0, 360)}. */
+    static final int RIGHT_ASCENSION = 0;
+    /** Offset of the geocentric declination. */
+    static final int DECLINATION = 1;
+    /** Offset of the nutation in right ascension (equation of the equinoxes). */
+    static final int NUTATION_IN_RIGHT_ASCENSION = 2;
+    /** Offset of the Earth-Sun distance in astronomical units. */
+    static final int RADIUS = 3;
+    /** Offset of the equation of time in minutes. */
+    static final int EQUATION_OF_TIME = 4;
+    /** Number of quantities. */
+    static final int SIZE = 5;
+
+    private static final double DAYS_PER_CENTURY = 36_525.0;
+
+    private SpaEphemeris() {
+    }
+
+    /**
+     * Evaluates the position.
+     *
+     * @param epochSecond seconds since the Unix epoch (UT)
+     * @param deltaT      TT − UT in seconds
+     * @param out         receives the {@value #SIZE} quantities
+     * @param offset      index in {@code out} of the first quantity
+     */
+    static void at(double epochSecond, double deltaT, double[] out, int offset) {
+        double jce = (epochSecond + deltaT - J2000_EPOCH_SECOND) / EpochTime.SECONDS_PER_DAY / DAYS_PER_CENTURY;
+        double jme = jce / 10.0;
+
+        double longitude = normalize(Math.toDegrees(series(SpaTerms.L, jme)));
+        double latitude = Math.toDegrees(series(SpaTerms.B, jme));
+        double radius = series(SpaTerms.R, jme);
+
+        // Nutation in longitude and obliquity, in degrees
+        double d = 297.85036 + jce * (445267.111480 + jce * (-0.0019142 + jce / 189474.0));
+        double m = 357.52772 + jce * (35999.050340 + jce * (-0.0001603 - jce / 300000.0));
+        double mPrime = 134.96298 + jce * (477198.867398 + jce * (0.0086972 + jce / 56250.0));
+        double f = 93.27191 + jce * (483202.017538 + jce * (-0.0036825 + jce / 327270.0));
+        double omega = 125.04452 + jce * (-1934.136261 + jce * (0.0020708 + jce / 450000.0));
+        double nutationLongitude = 0.0;
+        double nutationObliquity = 0.0;
+        for (double[] term : SpaTerms.NUTATION) {
+            double argument = Math.toRadians(d * term[0] + m * term[1] + mPrime * term[2] + f * term[3] + omega * term[4]);
+            nutationLongitude += (term[5] + term[6] * jce) * Math.sin(argument);
+            nutationObliquity += (term[7] + term[8] * jce) * Math.cos(argument);
+        }
+        nutationLongitude /= 36_000_000.0;
+        nutationObliquity /= 36_000_000.0;
+
+        double u = jme / 10.0;
+        double meanObliquity = 84381.448 + u * (-4680.93 + u * (-1.55 + u * (1999.25 + u * (-51.38 + u * (-249.67
+                + u * (-39.05 + u * (7.12 + u * (27.87 + u * (5.79 + u * 2.45)))))))));
+        double epsilon = Math.toRadians(meanObliquity / 3600.0 + nutationObliquity);
+
+        double aberration = -20.4898 / (3600.0 * radius);
+        double lambda = Math.toRadians(longitude + 180.0 + nutationLongitude + aberration);
+        double beta = Math.toRadians(-latitude);
+        double sinLambda = Math.sin(lambda);
+        double sinEpsilon = Math.sin(epsilon);
+        double cosEpsilon = Math.cos(epsilon);
+        double rightAscension = normalize(Math.toDegrees(
+                Math.atan2(sinLambda * cosEpsilon - Math.tan(beta) * sinEpsilon, Math.cos(lambda))));
+        double declination = Math.toDegrees(
+                Math.asin(Math.sin(beta) * cosEpsilon + Math.cos(beta) * sinEpsilon * sinLambda));
+
+        double nutationInRightAscension = nutationLongitude * cosEpsilon;
+        double meanLongitude = 280.4664567 + jme * (360007.6982779 + jme * (0.03032028
+                + jme * (1.0 / 49931.0 + jme * (-1.0 / 15300.0 - jme / 2_000_000.0))));
+        double equationOfTime = normalize(meanLongitude - 0.0057183 - rightAscension + nutationInRightAscension);
+        if (equationOfTime > 180.0) {
+            equationOfTime -= 360.0;
+        }
+        out[offset + RIGHT_ASCENSION] = rightAscension;
+        out[offset + DECLINATION] = declination;
+        out[offset + NUTATION_IN_RIGHT_ASCENSION] = nutationInRightAscension;
+        out[offset + RADIUS] = radius;
+        out[offset + EQUATION_OF_TIME] = 4.0 * equationOfTime;
+    }
+
+    /**
+     * Evaluates only the Earth-Sun distance, which is a fraction of the cost of {@link #at}.
+     *
+     * @param epochSecond seconds since the Unix epoch (UT)
+     * @param deltaT      TT − UT in seconds
+     * @return the Earth-Sun distance in astronomical units
+     */
+    static double radius(double epochSecond, double deltaT) {
+        double jce = (epochSecond + deltaT - J2000_EPOCH_SECOND) / EpochTime.SECONDS_PER_DAY / DAYS_PER_CENTURY;
+        return series(SpaTerms.R, jce / 10.0);
+    }
+
+    /**
+     * Returns the mean sidereal time at Greenwich.
+     *
+     * @param daysSinceJ2000 UT days since J2000.0
+     * @return the mean sidereal time in degrees, not reduced to {@code [0, 360)}
+     */
+    static double meanSiderealTime(double daysSinceJ2000) {
+        double jc = daysSinceJ2000 / DAYS_PER_CENTURY;
+        return 280.46061837 + 360.98564736629 * daysSinceJ2000 + jc * jc * (0.000387933 - jc / 38_710_000.0);
+    }
+
+    private static double series(double[][][] terms, double jme) {
+        double sum = 0.0;
+        for (int power = terms.length - 1; power >= 0; power--) {
+            double partial = 0.0;
+            for (double[] term : terms[power]) {
+                partial += term[0] * Math.cos(term[1] + term[2] * jme);
+            }
+            sum = sum * jme + partial;
+        }
+        return sum / 1e8;
+    }
+
+    private static double normalize(double degrees) {
+        double reduced = degrees % 360.0;
+        return reduced < 0.0 ? reduced + 360.0 : reduced;
+    }
+}
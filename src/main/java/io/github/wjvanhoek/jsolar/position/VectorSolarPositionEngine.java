@@ -0,0 +1,217 @@
+package io.github.wjvanhoek.jsolar.position;
+
+import io.github.wjvanhoek.jsolar.time.EpochTime;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Objects;
+
+/**
+ * SIMD implementation of {@link SolarPositionEngine} on the JDK Vector API.
+ * <p>
+ * The calendar step (day of the year and the daily Fourier series) is integer arithmetic that
+ * changes at most once per lane per day, so it is done per lane and cached across consecutive
+ * samples. The trigonometry of the hour angle, zenith and azimuth is evaluated
+ * {@link #lanes() lanes} samples at a time. Tails shorter than a vector use the scalar engine.
+ * <p>
+ * The vectorized transcendental functions are not required to be correctly rounded, so results
+ * may differ from {@link ScalarSolarPositionEngine} in the last bits; see
+ * {@link SolarPositionEngines#TOLERANCE}. Requires {@code --add-modules jdk.incubator.vector};
+ * obtain instances through {@link SolarPositionEngines} so a missing module degrades to the
+ * scalar engine.
+ */
+public final class VectorSolarPositionEngine implements SolarPositionEngine {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private static final double DEGREES_TO_RADIANS = Math.PI / 180.0;
+    private static final double RADIANS_TO_DEGREES = 180.0 / Math.PI;
+    // Constant factors of the refraction formula, see Refraction
+    private static final double REFRACTION_SCALE = 283.0 * 1.02 / (101_000.0 * 60.0);
+
+    @Override
+    public String name() {
+        return "vector";
+    }
+
+    /** @return the number of samples evaluated per vector operation */
+    public int lanes() {
+        return SPECIES.length();
+    }
+
+    @Override
+    public void compute(double epochSecond, double latitude, double longitude, SolarPosition out) {
+        ScalarSolarPositionEngine.INSTANCE.compute(epochSecond, latitude, longitude, out);
+    }
+
+    @Override
+    public double cosZenith(double epochSecond, double latitude, double longitude) {
+        return ScalarSolarPositionEngine.INSTANCE.cosZenith(epochSecond, latitude, longitude);
+    }
+
+    @Override
+    public void compute(double[] epochSeconds, double[] latitudes, double[] longitudes, SolarPositionBatch out,
+                        int offset, int length) {
+        SolarPositionEngines.checkRange(epochSeconds, latitudes, longitudes, out.capacity(), offset, length);
+        double[] declinationOut = out.declination();
+        double[] equationOfTimeOut = out.equationOfTime();
+        double[] eccentricityOut = out.eccentricityCorrection();
+        double[] hourAngleOut = out.hourAngle();
+        double[] cosZenithOut = out.cosZenith();
+        double[] zenithOut = out.zenith();
+        double[] apparentZenithOut = out.apparentZenith();
+        double[] azimuthOut = out.azimuth();
+
+        int lanes = SPECIES.length();
+        double[] secondOfDay = new double[lanes];
+        double[] sinDecl = new double[lanes];
+        double[] cosDecl = new double[lanes];
+        double[] tanDecl = new double[lanes];
+        DailyTerms day = new DailyTerms();
+
+        int upper = offset + SPECIES.loopBound(length);
+        int i = offset;
+        for (; i < upper; i += lanes) {
+            for (int lane = 0; lane < lanes; lane++) {
+                int k = i + lane;
+                double t = epochSeconds[k];
+                day.update(EpochTime.epochDay(t));
+                secondOfDay[lane] = t - day.epochDay * EpochTime.SECONDS_PER_DAY;
+                sinDecl[lane] = day.sinDeclination;
+                cosDecl[lane] = day.cosDeclination;
+                tanDecl[lane] = day.tanDeclination;
+                declinationOut[k] = day.declination;
+                equationOfTimeOut[k] = day.equationOfTime;
+                eccentricityOut[k] = day.eccentricity;
+            }
+            DoubleVector hourAngle = hourAngle(
+                    DoubleVector.fromArray(SPECIES, secondOfDay, 0),
+                    DoubleVector.fromArray(SPECIES, longitudes, i),
+                    DoubleVector.fromArray(SPECIES, equationOfTimeOut, i));
+            DoubleVector phi = DoubleVector.fromArray(SPECIES, latitudes, i).mul(DEGREES_TO_RADIANS);
+            DoubleVector sinPhi = phi.lanewise(VectorOperators.SIN);
+            DoubleVector cosPhi = phi.lanewise(VectorOperators.COS);
+            DoubleVector sinH = hourAngle.lanewise(VectorOperators.SIN);
+            DoubleVector cosH = hourAngle.lanewise(VectorOperators.COS);
+            DoubleVector cosZenith = sinPhi.mul(DoubleVector.fromArray(SPECIES, sinDecl, 0))
+                    .add(cosPhi.mul(DoubleVector.fromArray(SPECIES, cosDecl, 0)).mul(cosH));
+            DoubleVector azimuth = sinH.lanewise(VectorOperators.ATAN2,
+                            cosH.mul(sinPhi).sub(DoubleVector.fromArray(SPECIES, tanDecl, 0).mul(cosPhi)))
+                    .add(Math.PI);
+
+            hourAngle.intoArray(hourAngleOut, i);
+            cosZenith.intoArray(cosZenithOut, i);
+            DoubleVector zenith = cosZenith.max(-1.0).min(1.0).lanewise(VectorOperators.ACOS);
+            zenith.intoArray(zenithOut, i);
+            zenith.intoArray(apparentZenithOut, i);
+            azimuth.intoArray(azimuthOut, i);
+        }
+        if (i < offset + length) {
+            ScalarSolarPositionEngine.INSTANCE.compute(epochSeconds, latitudes, longitudes, out,
+                    i, offset + length - i);
+        }
+    }
+
+    @Override
+    public void cosZenith(double[] epochSeconds, double[] latitudes, double[] longitudes, double[] out,
+                          int offset, int length) {
+        SolarPositionEngines.checkRange(epochSeconds, latitudes, longitudes, out.length, offset, length);
+        int lanes = SPECIES.length();
+        double[] secondOfDay = new double[lanes];
+        double[] equationOfTime = new double[lanes];
+        double[] sinDecl = new double[lanes];
+        double[] cosDecl = new double[lanes];
+        DailyTerms day = new DailyTerms();
+
+        int upper = offset + SPECIES.loopBound(length);
+        int i = offset;
+        for (; i < upper; i += lanes) {
+            for (int lane = 0; lane < lanes; lane++) {
+                double t = epochSeconds[i + lane];
+                day.update(EpochTime.epochDay(t));
+                secondOfDay[lane] = t - day.epochDay * EpochTime.SECONDS_PER_DAY;
+                equationOfTime[lane] = day.equationOfTime;
+                sinDecl[lane] = day.sinDeclination;
+                cosDecl[lane] = day.cosDeclination;
+            }
+            DoubleVector cosH = hourAngle(
+                    DoubleVector.fromArray(SPECIES, secondOfDay, 0),
+                    DoubleVector.fromArray(SPECIES, longitudes, i),
+                    DoubleVector.fromArray(SPECIES, equationOfTime, 0))
+                    .lanewise(VectorOperators.COS);
+            DoubleVector phi = DoubleVector.fromArray(SPECIES, latitudes, i).mul(DEGREES_TO_RADIANS);
+            phi.lanewise(VectorOperators.SIN).mul(DoubleVector.fromArray(SPECIES, sinDecl, 0))
+                    .add(phi.lanewise(VectorOperators.COS).mul(DoubleVector.fromArray(SPECIES, cosDecl, 0))
+                            .mul(cosH))
+                    .intoArray(out, i);
+        }
+        if (i < offset + length) {
+            ScalarSolarPositionEngine.INSTANCE.cosZenith(epochSeconds, latitudes, longitudes, out,
+                    i, offset + length - i);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The refraction is evaluated for all lanes and masked to zero below the horizon limit, so the
+     * loop does not branch per sample.
+     */
+    @Override
+    public void refract(SolarPositionBatch batch, double[] pressures, double[] temperatures, int offset, int length) {
+        double[] zenith = batch.zenith();
+        double[] out = batch.apparentZenith();
+        Objects.checkFromIndexSize(offset, length, zenith.length);
+        Objects.checkFromIndexSize(offset, length, pressures.length);
+        Objects.checkFromIndexSize(offset, length, temperatures.length);
+        int upper = offset + SPECIES.loopBound(length);
+        int i = offset;
+        for (; i < upper; i += SPECIES.length()) {
+            DoubleVector trueZenith = DoubleVector.fromArray(SPECIES, zenith, i);
+            DoubleVector elevation = trueZenith.mul(-RADIANS_TO_DEGREES).add(90.0);
+            DoubleVector tan = DoubleVector.broadcast(SPECIES, 10.3).div(elevation.add(5.11)).add(elevation)
+                    .mul(DEGREES_TO_RADIANS).lanewise(VectorOperators.TAN);
+            DoubleVector refraction = DoubleVector.fromArray(SPECIES, pressures, i).mul(REFRACTION_SCALE)
+                    .div(DoubleVector.fromArray(SPECIES, temperatures, i).add(273.0).mul(tan))
+                    .blend(0.0, elevation.compare(VectorOperators.LT, Refraction.HORIZON_LIMIT));
+            trueZenith.sub(refraction.mul(DEGREES_TO_RADIANS)).intoArray(out, i);
+        }
+        if (i < offset + length) {
+            Refraction.apparentZenith(zenith, pressures, temperatures, out, i, offset + length - i);
+        }
+    }
+
+    /** Vector form of {@link SolarGeometry#hourAngle(double, double, double)}. */
+    private static DoubleVector hourAngle(DoubleVector secondOfDay, DoubleVector longitude,
+                                          DoubleVector equationOfTime) {
+        return secondOfDay.div(60.0).add(longitude.mul(4.0)).add(equationOfTime)
+                .div(4.0).sub(180.0).mul(DEGREES_TO_RADIANS);
+    }
+
+    /** Daily quantities of the most recently seen UTC day. */
+    private static final class DailyTerms {
+
+        long epochDay = Long.MIN_VALUE;
+        double declination;
+        double sinDeclination;
+        double cosDeclination;
+        double tanDeclination;
+        double equationOfTime;
+        double eccentricity;
+
+        void update(long day) {
+            if (day == epochDay) {
+                return;
+            }
+            double dayAngle = SolarGeometry.dayAngle(EpochTime.dayOfYear(day));
+            declination = SolarGeometry.declination(dayAngle);
+            sinDeclination = Math.sin(declination);
+            cosDeclination = Math.cos(declination);
+            tanDeclination = Math.tan(declination);
+            equationOfTime = SolarGeometry.equationOfTime(dayAngle);
+            eccentricity = SolarGeometry.eccentricityCorrection(dayAngle);
+            epochDay = day;
+        }
+    }
+}
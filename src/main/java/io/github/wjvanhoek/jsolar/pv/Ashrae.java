@@ -0,0 +1,48 @@
+package io.github.wjvanhoek.jsolar.pv;
+
+/**
+ * The ASHRAE incidence angle modifier of Souka and Safwat (1966),
+ * {@code 1 − b0·(1/cos θ − 1)}, clipped to {@code [0, 1]}. It reaches zero at
+ * {@code cos θ = b0/(1 + b0)}, about 87.3° for the default coefficient.
+ */
+public final class Ashrae implements IncidenceAngleModifier {
+
+    /** Coefficient used by PVWatts. */
+    public static final double DEFAULT_B0 = 0.05;
+
+    private final double b0;
+
+    /** Creates the modifier with the coefficient {@value #DEFAULT_B0}. */
+    public Ashrae() {
+        this(DEFAULT_B0);
+    }
+
+    /**
+     * Creates the modifier.
+     *
+     * @param b0 the coefficient, positive
+     */
+    public Ashrae(double b0) {
+        if (!(b0 > 0.0)) {
+            throw new IllegalArgumentException("Coefficient must be positive: " + b0);
+        }
+        this.b0 = b0;
+    }
+
+    @Override
+    public double modifier(double cosAngleOfIncidence) {
+        // Near-zero and negative cosines give a large negative value that the clipping removes
+        double modifier = 1.0 - b0 * (1.0 / Math.max(cosAngleOfIncidence, 1e-9) - 1.0);
+        return Math.max(0.0, Math.min(1.0, modifier));
+    }
+
+    /** @return the coefficient */
+    public double b0() {
+        return b0;
+    }
+
+    @Override
+    public String toString() {
+        return "Ashrae[b0=" + b0 + "]";
+    }
+}
@@ -0,0 +1,19 @@
+package io.github.wjvanhoek.jsolar.pv;
+
+/**
+ * Steady-state temperature of the cells of a module from the plane-of-array irradiance and the
+ * weather. Implementations are immutable and do not allocate, so they can be inlined into the
+ * per-sample loop of {@link PvWatts}.
+ */
+public interface CellTemperatureModel {
+
+    /**
+     * Returns the cell temperature.
+     *
+     * @param planeOfArray irradiance incident on the module in W/m²
+     * @param ambient      air temperature in °C
+     * @param windSpeed    wind speed in m/s, at the height the model's coefficients refer to
+     * @return the cell temperature in °C
+     */
+    double cellTemperature(double planeOfArray, double ambient, double windSpeed);
+}
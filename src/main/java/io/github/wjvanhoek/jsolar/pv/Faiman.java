@@ -0,0 +1,46 @@
+package io.github.wjvanhoek.jsolar.pv;
+
+/**
+ * The module temperature model of Faiman (2008), {@code Tc = Ta + E / (u0 + u1 · WS)}, with a
+ * constant and a wind-dependent heat loss factor. It is the model of IEC 61853-2.
+ */
+public final class Faiman implements CellTemperatureModel {
+
+    /** Constant heat loss factor of the PVsyst defaults, in W/(m²·K). */
+    public static final double DEFAULT_U0 = 25.0;
+
+    /** Wind-dependent heat loss factor of the PVsyst defaults, in W·s/(m³·K). */
+    public static final double DEFAULT_U1 = 6.84;
+
+    private final double u0;
+    private final double u1;
+
+    /** Creates the model with the coefficients {@value #DEFAULT_U0} and {@value #DEFAULT_U1}. */
+    public Faiman() {
+        this(DEFAULT_U0, DEFAULT_U1);
+    }
+
+    /**
+     * Creates the model.
+     *
+     * @param u0 constant heat loss factor in W/(m²·K), positive
+     * @param u1 wind-dependent heat loss factor in W·s/(m³·K), not negative
+     */
+    public Faiman(double u0, double u1) {
+        if (!(u0 > 0.0) || !(u1 >= 0.0)) {
+            throw new IllegalArgumentException("Invalid heat loss factors: " + u0 + ", " + u1);
+        }
+        this.u0 = u0;
+        this.u1 = u1;
+    }
+
+    @Override
+    public double cellTemperature(double planeOfArray, double ambient, double windSpeed) {
+        return ambient + planeOfArray / (u0 + u1 * Math.max(windSpeed, 0.0));
+    }
+
+    @Override
+    public String toString() {
+        return "Faiman[u0=" + u0 + ", u1=" + u1 + "]";
+    }
+}
@@ -0,0 +1,17 @@
+package io.github.wjvanhoek.jsolar.pv;
+
+/**
+ * Reduction of the beam irradiance that reaches the cells by reflection at the module cover, as a
+ * function of the angle of incidence. Implementations are immutable and branch-free, so they can
+ * be inlined into the per-sample loop of {@link PvWatts}.
+ */
+public interface IncidenceAngleModifier {
+
+    /**
+     * Returns the fraction of the beam irradiance that is transmitted.
+     *
+     * @param cosAngleOfIncidence cosine of the angle of incidence of the beam on the module
+     * @return the modifier, in {@code [0, 1]}; zero when the Sun is behind the module
+     */
+    double modifier(double cosAngleOfIncidence);
+}
@@ -0,0 +1,48 @@
+package io.github.wjvanhoek.jsolar.pv;
+
+/**
+ * The incidence angle modifier of Martin and Ruiz (2001),
+ * {@code (1 − exp(−cos θ / ar)) / (1 − exp(−1 / ar))}, which falls smoothly to zero at grazing
+ * incidence.
+ */
+public final class MartinRuiz implements IncidenceAngleModifier {
+
+    /** Angular losses coefficient of a typical glass-covered crystalline silicon module. */
+    public static final double DEFAULT_AR = 0.16;
+
+    private final double ar;
+    private final double normalization;
+
+    /** Creates the modifier with the coefficient {@value #DEFAULT_AR}. */
+    public MartinRuiz() {
+        this(DEFAULT_AR);
+    }
+
+    /**
+     * Creates the modifier.
+     *
+     * @param ar the angular losses coefficient, positive
+     */
+    public MartinRuiz(double ar) {
+        if (!(ar > 0.0)) {
+            throw new IllegalArgumentException("Coefficient must be positive: " + ar);
+        }
+        this.ar = ar;
+        this.normalization = 1.0 / -Math.expm1(-1.0 / ar);
+    }
+
+    @Override
+    public double modifier(double cosAngleOfIncidence) {
+        return -Math.expm1(-Math.max(cosAngleOfIncidence, 0.0) / ar) * normalization;
+    }
+
+    /** @return the angular losses coefficient */
+    public double ar() {
+        return ar;
+    }
+
+    @Override
+    public String toString() {
+        return "MartinRuiz[ar=" + ar + "]";
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.wjvanhoek.jsolar.pv;
+
+/**
+ * Structure-of-arrays holder for the output of {@link PvWatts}, one entry per system. Reused
+ * across timesteps; the accessors return the backing arrays.
+ */
+public final class PvPower {
+
+    private final double[] effectiveIrradiance;
+    private final double[] cellTemperature;
+    private final double[] dcPower;
+    private final double[] acPower;
+
+    /**
+     * Creates a holder.
+     *
+     * @param capacity number of systems it can hold
+     */
+    public PvPower(int capacity) {
+        effectiveIrradiance = new double[capacity];
+        cellTemperature = new double[capacity];
+        dcPower = new double[capacity];
+        acPower = new double[capacity];
+    }
+
+    /** @return the number of systems it can hold */
+    public int capacity() {
+        return acPower.length;
+    }
+
+    /** @return the plane-of-array irradiance reaching the cells after reflection losses, in W/m² */
+    public double[] effectiveIrradiance() {
+        return effectiveIrradiance;
+    }
+
+    /** @return the cell temperature in °C */
+    public double[] cellTemperature() {
+        return cellTemperature;
+    }
+
+    /** @return the DC power after system losses, in W */
+    public double[] dcPower() {
+        return dcPower;
+    }
+
+    /** @return the AC power out of the inverter, in W */
+    public double[] acPower() {
+        return acPower;
+    }
+}
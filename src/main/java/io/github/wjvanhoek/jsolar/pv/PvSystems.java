@@ -0,0 +1,114 @@
+package io.github.wjvanhoek.jsolar.pv;
+
+/**
+ * A fleet of PV systems described by their PVWatts parameters, stored as arrays of the terms
+ * {@link PvWatts} needs so that all systems can be evaluated in one pass. System {@code i} takes
+ * sample {@code i} of the plane-of-array and weather arrays, so a fleet pairs naturally with an
+ * {@link io.github.wjvanhoek.jsolar.transposition.Orientations} set. Immutable.
+ */
+public final class PvSystems {
+
+    /** System losses assumed by PVWatts: soiling, shading, wiring, mismatch and the like. */
+    public static final double DEFAULT_LOSSES = 0.14;
+
+    /** Nominal inverter efficiency assumed by PVWatts. */
+    public static final double DEFAULT_INVERTER_EFFICIENCY = 0.96;
+
+    private final double[] dcCapacity;
+    private final double[] acCapacity;
+    private final double losses;
+    final double inverterEfficiency;
+    final double[] temperatureCoefficient;
+    final double[] deratedDcPerIrradiance;
+    final double[] inverterDcCapacity;
+    final double[] inverterAcCapacity;
+
+    /**
+     * Creates a fleet with the PVWatts default losses and inverter efficiency.
+     *
+     * @param dcCapacity             DC rating at standard test conditions per system, in W
+     * @param temperatureCoefficient relative change of the DC power per °C per system, e.g. −0.0037
+     * @param acCapacity             inverter AC rating per system, in W
+     */
+    public PvSystems(double[] dcCapacity, double[] temperatureCoefficient, double[] acCapacity) {
+        this(dcCapacity, temperatureCoefficient, acCapacity, DEFAULT_LOSSES, DEFAULT_INVERTER_EFFICIENCY);
+    }
+
+    /**
+     * Creates a fleet.
+     *
+     * @param dcCapacity             DC rating at standard test conditions per system, in W
+     * @param temperatureCoefficient relative change of the DC power per °C per system, e.g. −0.0037
+     * @param acCapacity             inverter AC rating per system, in W
+     * @param losses                 fraction of the DC power lost before the inverter, in {@code [0, 1)}
+     * @param inverterEfficiency     nominal inverter efficiency, in {@code (0, 1]}
+     */
+    public PvSystems(double[] dcCapacity, double[] temperatureCoefficient, double[] acCapacity,
+                     double losses, double inverterEfficiency) {
+        int n = dcCapacity.length;
+        if (temperatureCoefficient.length != n || acCapacity.length != n) {
+            throw new IllegalArgumentException("Capacity and temperature coefficient arrays must have the same length");
+        }
+        if (!(losses >= 0.0 && losses < 1.0)) {
+            throw new IllegalArgumentException("Losses must be in [0, 1): " + losses);
+        }
+        if (!(inverterEfficiency > 0.0 && inverterEfficiency <= 1.0)) {
+            throw new IllegalArgumentException("Inverter efficiency must be in (0, 1]: " + inverterEfficiency);
+        }
+        this.dcCapacity = dcCapacity.clone();
+        this.temperatureCoefficient = temperatureCoefficient.clone();
+        this.acCapacity = acCapacity.clone();
+        this.losses = losses;
+        this.inverterEfficiency = inverterEfficiency;
+        deratedDcPerIrradiance = new double[n];
+        inverterDcCapacity = new double[n];
+        inverterAcCapacity = this.acCapacity;
+        for (int i = 0; i < n; i++) {
+            if (!(dcCapacity[i] > 0.0 && acCapacity[i] > 0.0)) {
+                throw new IllegalArgumentException("Capacities of system " + i + " must be positive: "
+                        + dcCapacity[i] + ", " + acCapacity[i]);
+            }
+            deratedDcPerIrradiance[i] = (1.0 - losses) * dcCapacity[i] / PvWatts.REFERENCE_IRRADIANCE;
+            inverterDcCapacity[i] = acCapacity[i] / inverterEfficiency;
+        }
+    }
+
+    /** @return the number of systems */
+    public int size() {
+        return dcCapacity.length;
+    }
+
+    /**
+     * @param index system index
+     * @return the DC rating at standard test conditions in W
+     */
+    public double dcCapacity(int index) {
+        return dcCapacity[index];
+    }
+
+    /**
+     * @param index system index
+     * @return the relative change of the DC power per °C
+     */
+    public double temperatureCoefficient(int index) {
+        return temperatureCoefficient[index];
+    }
+
+    /**
+     * @param index system index
+     * @return the inverter AC rating in W
+     */
+    public double acCapacity(int index) {
+        return acCapacity[index];
+    }
+
+    /** @return the fraction of the DC power lost before the inverter */
+    public double losses() {
+        return losses;
+    }
+
+    /** @return the nominal inverter efficiency */
+    public double inverterEfficiency() {
+        return inverterEfficiency;
+    }
+}
@@ -0,0 +1,143 @@
+package io.github.wjvanhoek.jsolar.pv;
+
+import io.github.wjvanhoek.jsolar.metrics.Metrics;
+import io.github.wjvanhoek.jsolar.metrics.Stage;
+import io.github.wjvanhoek.jsolar.transposition.PlaneOfArray;
+
+import java.util.Objects;
+
+/**
+ * Conversion of plane-of-array irradiance to DC and AC power after PVWatts version 5 (Dobos,
+ * 2014). The beam component is reduced by an {@link IncidenceAngleModifier}, the cell temperature
+ * follows a {@link CellTemperatureModel} and the DC power is
+ * <pre>
+ * Pdc = (1 − losses) · Pdc0 · E / 1000 · (1 + γ · (Tc − 25))
+ * </pre>
+ * The inverter converts it with the part-load efficiency curve of PVWatts and clips at its AC
+ * rating.
+ * <p>
+ * The batch method evaluates sample {@code i} with system {@code i} of a {@link PvSystems} fleet
+ * and writes into a reused {@link PvPower}; it does not allocate. Instances are immutable and
+ * thread-safe.
+ */
+public final class PvWatts {
+
+    /** Irradiance at standard test conditions, in W/m². */
+    public static final double REFERENCE_IRRADIANCE = 1000.0;
+
+    /** Cell temperature at standard test conditions, in °C. */
+    public static final double REFERENCE_TEMPERATURE = 25.0;
+
+    /** Efficiency of the reference inverter the PVWatts curve was fitted to. */
+    private static final double REFERENCE_INVERTER_EFFICIENCY = 0.9637;
+
+    private final IncidenceAngleModifier incidenceAngleModifier;
+    private final CellTemperatureModel cellTemperatureModel;
+
+    /** Creates the stage with the {@link Ashrae} modifier and the {@link Faiman} temperature model. */
+    public PvWatts() {
+        this(new Ashrae(), new Faiman());
+    }
+
+    /**
+     * Creates the stage.
+     *
+     * @param incidenceAngleModifier reflection losses of the beam component
+     * @param cellTemperatureModel   cell temperature from irradiance and weather
+     */
+    public PvWatts(IncidenceAngleModifier incidenceAngleModifier, CellTemperatureModel cellTemperatureModel) {
+        this.incidenceAngleModifier = Objects.requireNonNull(incidenceAngleModifier, "incidenceAngleModifier");
+        this.cellTemperatureModel = Objects.requireNonNull(cellTemperatureModel, "cellTemperatureModel");
+    }
+
+    /**
+     * Returns the AC output of an inverter.
+     *
+     * @param dcPower            DC input in W
+     * @param acCapacity         AC rating in W
+     * @param inverterEfficiency nominal efficiency
+     * @return the AC output in W, zero without input and at most {@code acCapacity}
+     */
+    public static double inverter(double dcPower, double acCapacity, double inverterEfficiency) {
+        return inverter(dcPower, acCapacity, acCapacity / inverterEfficiency, inverterEfficiency);
+    }
+
+    /**
+     * Converts the plane-of-array irradiance of a timestep to power. System {@code i} takes
+     * orientation {@code i} of the holder.
+     *
+     * @param planeOfArray irradiance from a transposition model
+     * @param systems      the systems
+     * @param ambient      air temperature per system in °C
+     * @param windSpeed    wind speed per system in m/s
+     * @param out          receives the power of every system
+     */
+    public void evaluate(PlaneOfArray planeOfArray, PvSystems systems, double[] ambient, double[] windSpeed,
+                         PvPower out) {
+        evaluate(systems, planeOfArray.cosAngleOfIncidence(), planeOfArray.beam(), planeOfArray.skyDiffuse(),
+                planeOfArray.groundReflected(), ambient, windSpeed, out, 0, systems.size());
+    }
+
+    /**
+     * Converts plane-of-array irradiance to power for a range of systems.
+     *
+     * @param systems             the systems; sample {@code i} uses system {@code i}
+     * @param cosAngleOfIncidence cosine of the angle of incidence of the beam per sample
+     * @param beam                beam irradiance in the plane of array per sample, in W/m²
+     * @param skyDiffuse          sky diffuse irradiance in the plane of array per sample, in W/m²
+     * @param groundReflected     ground-reflected irradiance in the plane of array per sample, in W/m²
+     * @param ambient             air temperature per sample in °C
+     * @param windSpeed           wind speed per sample in m/s
+     * @param out                 receives the results at the same indices
+     * @param offset              index of the first sample
+     * @param length              number of samples
+     */
+    public void evaluate(PvSystems systems, double[] cosAngleOfIncidence, double[] beam, double[] skyDiffuse,
+                         double[] groundReflected, double[] ambient, double[] windSpeed, PvPower out,
+                         int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, systems.size());
+        Objects.checkFromIndexSize(offset, length, cosAngleOfIncidence.length);
+        Objects.checkFromIndexSize(offset, length, beam.length);
+        Objects.checkFromIndexSize(offset, length, skyDiffuse.length);
+        Objects.checkFromIndexSize(offset, length, groundReflected.length);
+        Objects.checkFromIndexSize(offset, length, ambient.length);
+        Objects.checkFromIndexSize(offset, length, windSpeed.length);
+        Objects.checkFromIndexSize(offset, length, out.capacity());
+        long start = Metrics.start();
+        IncidenceAngleModifier iam = incidenceAngleModifier;
+        CellTemperatureModel thermal = cellTemperatureModel;
+        double efficiency = systems.inverterEfficiency;
+        double[] gamma = systems.temperatureCoefficient;
+        double[] dcPerIrradiance = systems.deratedDcPerIrradiance;
+        double[] inverterDc = systems.inverterDcCapacity;
+        double[] inverterAc = systems.inverterAcCapacity;
+        double[] effective = out.effectiveIrradiance();
+        double[] cell = out.cellTemperature();
+        double[] dc = out.dcPower();
+        double[] ac = out.acPower();
+        for (int i = offset, end = offset + length; i < end; i++) {
+            double diffuse = skyDiffuse[i] + groundReflected[i];
+            double e = iam.modifier(cosAngleOfIncidence[i]) * beam[i] + diffuse;
+            double tc = thermal.cellTemperature(beam[i] + diffuse, ambient[i], windSpeed[i]);
+            double pdc = Math.max(dcPerIrradiance[i] * e * (1.0 + gamma[i] * (tc - REFERENCE_TEMPERATURE)), 0.0);
+            effective[i] = e;
+            cell[i] = tc;
+            dc[i] = pdc;
+            ac[i] = inverter(pdc, inverterAc[i], inverterDc[i], efficiency);
+        }
+        Metrics.record(Stage.PV_POWER, start, length);
+    }
+
+    @Override
+    public String toString() {
+        return "PvWatts[" + incidenceAngleModifier + ", " + cellTemperatureModel + "]";
+    }
+
+    private static double inverter(double dcPower, double acCapacity, double dcCapacity, double efficiency) {
+        // The curve diverges at zero load; the select keeps the quotient finite without a branch
+        double load = Math.max(dcPower, Double.MIN_NORMAL) / dcCapacity;
+        double eta = efficiency / REFERENCE_INVERTER_EFFICIENCY * (-0.0162 * load - 0.0059 / load + 0.9858);
+        double ac = Math.min(Math.max(eta * dcPower, 0.0), acCapacity);
+        return dcPower > 0.0 ? ac : 0.0;
+    }
+}
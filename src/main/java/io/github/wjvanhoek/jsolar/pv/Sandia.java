@@ -0,0 +1,53 @@
+package io.github.wjvanhoek.jsolar.pv;
+
+/**
+ * The Sandia Array Performance Model cell temperature of King et al. (2004):
+ * <pre>
+ * Tm = E · exp(a + b · WS) + Ta
+ * Tc = Tm + E / 1000 · ΔT
+ * </pre>
+ * with the back-of-module temperature {@code Tm}, the wind speed {@code WS} at 10 m and the
+ * temperature difference {@code ΔT} between cell and back at 1000 W/m².
+ */
+public final class Sandia implements CellTemperatureModel {
+
+    /** Glass/cell/glass module on an open rack. */
+    public static final Sandia OPEN_RACK_GLASS_GLASS = new Sandia(-3.47, -0.0594, 3.0);
+
+    /** Glass/cell/glass module mounted close to a roof. */
+    public static final Sandia CLOSE_MOUNT_GLASS_GLASS = new Sandia(-2.98, -0.0471, 1.0);
+
+    /** Glass/cell/polymer sheet module on an open rack. */
+    public static final Sandia OPEN_RACK_GLASS_POLYMER = new Sandia(-3.56, -0.0750, 3.0);
+
+    /** Glass/cell/polymer sheet module with an insulated back. */
+    public static final Sandia INSULATED_BACK_GLASS_POLYMER = new Sandia(-2.81, -0.0455, 0.0);
+
+    private final double a;
+    private final double b;
+    private final double deltaT;
+
+    /**
+     * Creates the model.
+     *
+     * @param a      natural logarithm of the module temperature rise per W/m² without wind
+     * @param b      rate at which the rise drops with wind speed, in s/m
+     * @param deltaT cell minus back temperature at 1000 W/m², in °C
+     */
+    public Sandia(double a, double b, double deltaT) {
+        this.a = a;
+        this.b = b;
+        this.deltaT = deltaT;
+    }
+
+    @Override
+    public double cellTemperature(double planeOfArray, double ambient, double windSpeed) {
+        double module = planeOfArray * Math.exp(a + b * windSpeed) + ambient;
+        return module + planeOfArray * (deltaT / 1000.0);
+    }
+
+    @Override
+    public String toString() {
+        return "Sandia[a=" + a + ", b=" + b + ", deltaT=" + deltaT + "]";
+    }
+}
@@ -0,0 +1,218 @@
+package io.github.wjvanhoek.jsolar.serving;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs many small queries, each of which reads its input with blocking I/O (a weather file, say)
+ * and then evaluates it, with a bound on the number of queries in flight.
+ * <p>
+ * The two steps run on separate executors. Blocking reads run on virtual threads, one per query,
+ * when the runtime has them (Java 21 and later, found reflectively so that the library still runs
+ * on Java 17); otherwise on a pool of {@code maxConcurrentQueries} platform threads. Evaluation
+ * runs on a fixed pool with one platform thread per processor, so CPU-bound work never competes
+ * with more threads than there are cores, however many queries are blocked on I/O.
+ * <p>
+ * A query holds one of {@code maxConcurrentQueries} permits from the start of its read until its
+ * evaluation completes; further queries wait in line without occupying a platform thread. Instances
+ * are thread-safe.
+ */
+public final class QueryExecutor implements AutoCloseable {
+
+    private final ExecutorService io;
+    private final ExecutorService cpu;
+    private final boolean ownsExecutors;
+    private final boolean virtualThreads;
+    private final Semaphore permits;
+    private final int maxConcurrentQueries;
+
+    /**
+     * Creates an executor with its own I/O and evaluation threads.
+     *
+     * @param maxConcurrentQueries maximum number of queries in flight
+     */
+    public QueryExecutor(int maxConcurrentQueries) {
+        checkLimit(maxConcurrentQueries);
+        ExecutorService virtual = virtualThreadExecutor();
+        this.virtualThreads = virtual != null;
+        this.io = virtual != null ? virtual : platformPool("jsolar-io-", maxConcurrentQueries);
+        this.cpu = platformPool("jsolar-cpu-", Runtime.getRuntime().availableProcessors());
+        this.ownsExecutors = true;
+        this.permits = new Semaphore(maxConcurrentQueries, true);
+        this.maxConcurrentQueries = maxConcurrentQueries;
+    }
+
+    /**
+     * Creates an executor on caller-owned executors, which {@link #close()} leaves running.
+     *
+     * @param maxConcurrentQueries maximum number of queries in flight
+     * @param io                   executor for the blocking reads
+     * @param cpu                  executor for the evaluation
+     */
+    public QueryExecutor(int maxConcurrentQueries, ExecutorService io, ExecutorService cpu) {
+        checkLimit(maxConcurrentQueries);
+        this.io = Objects.requireNonNull(io, "io");
+        this.cpu = Objects.requireNonNull(cpu, "cpu");
+        this.ownsExecutors = false;
+        this.virtualThreads = false;
+        this.permits = new Semaphore(maxConcurrentQueries, true);
+        this.maxConcurrentQueries = maxConcurrentQueries;
+    }
+
+    /** @return {@code true} when blocking reads run on virtual threads */
+    public boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /** @return the maximum number of queries in flight */
+    public int maxConcurrentQueries() {
+        return maxConcurrentQueries;
+    }
+
+    /** @return the number of queries in flight */
+    public int activeQueries() {
+        return maxConcurrentQueries - permits.availablePermits();
+    }
+
+    /**
+     * Submits a query.
+     *
+     * @param read     reads the input, may block
+     * @param evaluate computes the result from the input, must not block
+     * @param <I>      type of the input
+     * @param <T>      type of the result
+     * @return the result, completed exceptionally when either step fails or the executor is closed
+     */
+    public <I, T> CompletableFuture<T> submit(Callable<? extends I> read, Function<? super I, ? extends T> evaluate) {
+        Objects.requireNonNull(read, "read");
+        Objects.requireNonNull(evaluate, "evaluate");
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            io.execute(() -> {
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    result.completeExceptionally(e);
+                    return;
+                }
+                I input;
+                try {
+                    input = read.call();
+                } catch (Throwable e) {
+                    permits.release();
+                    result.completeExceptionally(e);
+                    return;
+                }
+                evaluate(() -> evaluate.apply(input), result);
+            });
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    /**
+     * Submits a query without blocking input. It still counts against the concurrency limit.
+     *
+     * @param evaluate computes the result, must not block
+     * @param <T>      type of the result
+     * @return the result, completed exceptionally when evaluation fails or the executor is closed
+     */
+    public <T> CompletableFuture<T> submit(Supplier<? extends T> evaluate) {
+        return submit(() -> null, ignored -> evaluate.get());
+    }
+
+    /**
+     * Stops accepting queries and, when the executors are owned by this instance, waits for the
+     * queries in flight to finish.
+     */
+    @Override
+    public void close() {
+        if (!ownsExecutors) {
+            return;
+        }
+        io.shutdown();
+        awaitTermination(io);
+        cpu.shutdown();
+        awaitTermination(cpu);
+    }
+
+    private <T> void evaluate(Supplier<? extends T> step, CompletableFuture<T> result) {
+        try {
+            cpu.execute(() -> {
+                try {
+                    result.complete(step.get());
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            result.completeExceptionally(e);
+        }
+    }
+
+    private static void checkLimit(int maxConcurrentQueries) {
+        if (maxConcurrentQueries < 1) {
+            throw new IllegalArgumentException("Concurrency limit must be positive: " + maxConcurrentQueries);
+        }
+    }
+
+    private static void awaitTermination(ExecutorService executor) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+                executor.shutdownNow();
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Returns a virtual-thread-per-task executor, or {@code null} when the runtime has none. */
+    private static ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        } catch (InvocationTargetException e) {
+            // a preview feature that is not enabled throws UnsupportedOperationException
+            return null;
+        }
+    }
+
+    private static ExecutorService platformPool(String prefix, int threads) {
+        AtomicInteger count = new AtomicInteger();
+        ThreadFactory factory = task -> {
+            Thread thread = new Thread(task, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), factory);
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+}
@@ -0,0 +1,170 @@
+package io.github.wjvanhoek.jsolar.terrain;
+
+import io.github.wjvanhoek.jsolar.grid.Grid;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Elevations on a regular latitude/longitude {@link Grid}, row 0 being the northernmost row.
+ * Missing values are {@code NaN}. Immutable.
+ */
+public final class DigitalElevationModel {
+
+    private final Grid grid;
+    private final float[] elevations;
+
+    /**
+     * Creates a model.
+     *
+     * @param grid       geometry of the elevations
+     * @param elevations row-major elevations in m, {@code NaN} where unknown; not copied
+     */
+    public DigitalElevationModel(Grid grid, float[] elevations) {
+        if (elevations.length != grid.cells()) {
+            throw new IllegalArgumentException("Expected " + grid.cells() + " elevations, got " + elevations.length);
+        }
+        this.grid = grid;
+        this.elevations = elevations;
+    }
+
+    /**
+     * Reads an ESRI ASCII grid in geographic coordinates (cell size in degrees). Both corner and
+     * centre registration are supported; {@code NODATA_value} cells become {@code NaN} and blank
+     * lines are skipped.
+     *
+     * @param path the file
+     * @return the model
+     * @throws IOException when the file cannot be read or is malformed
+     */
+    public static DigitalElevationModel readAsciiGrid(Path path) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.US_ASCII)) {
+            int columns = -1;
+            int rows = -1;
+            double x = Double.NaN;
+            double y = Double.NaN;
+            boolean centre = false;
+            double cellSize = Double.NaN;
+            double noData = Double.NaN;
+            String line;
+            String[] fields;
+            while (true) {
+                line = reader.readLine();
+                if (line == null) {
+                    throw new IOException("Missing elevation data in " + path);
+                }
+                fields = line.trim().split("\\s+");
+                if (fields[0].isEmpty()) {
+                    continue;
+                }
+                if (!Character.isLetter(fields[0].charAt(0))) {
+                    break;
+                }
+                if (fields.length != 2) {
+                    throw new IOException("Malformed ASCII grid header line in " + path + ": " + line);
+                }
+                double value = Double.parseDouble(fields[1]);
+                switch (fields[0].toLowerCase(Locale.ROOT)) {
+                    case "ncols":
+                        columns = (int) value;
+                        break;
+                    case "nrows":
+                        rows = (int) value;
+                        break;
+                    case "xllcorner":
+                        x = value;
+                        break;
+                    case "yllcorner":
+                        y = value;
+                        break;
+                    case "xllcenter":
+                        x = value;
+                        centre = true;
+                        break;
+                    case "yllcenter":
+                        y = value;
+                        centre = true;
+                        break;
+                    case "cellsize":
+                        cellSize = value;
+                        break;
+                    case "nodata_value":
+                        noData = value;
+                        break;
+                    default:
+                        throw new IOException("Unknown ASCII grid header field: " + fields[0]);
+                }
+            }
+            if (columns < 1 || rows < 1 || Double.isNaN(x) || Double.isNaN(y) || Double.isNaN(cellSize)) {
+                throw new IOException("Incomplete ASCII grid header in " + path);
+            }
+            double offset = centre ? 0.0 : 0.5 * cellSize;
+            Grid grid = new Grid(y + offset + (rows - 1) * cellSize, x + offset, -cellSize, cellSize, rows, columns);
+            float[] elevations = new float[Math.toIntExact(grid.cells())];
+            int count = 0;
+            while (fields != null) {
+                for (String field : fields) {
+                    if (field.isEmpty()) {
+                        continue;
+                    }
+                    if (count == elevations.length) {
+                        throw new IOException("More elevations than " + rows + "x" + columns + " in " + path);
+                    }
+                    double value = Double.parseDouble(field);
+                    elevations[count++] = value == noData ? Float.NaN : (float) value;
+                }
+                line = reader.readLine();
+                fields = line == null ? null : line.trim().split("\\s+");
+            }
+            if (count != elevations.length) {
+                throw new IOException("Expected " + elevations.length + " elevations, got " + count + " in " + path);
+            }
+            return new DigitalElevationModel(grid, elevations);
+        } catch (NumberFormatException e) {
+            throw new IOException("Malformed number in " + path, e);
+        }
+    }
+
+    /** @return the geometry of the elevations */
+    public Grid grid() {
+        return grid;
+    }
+
+    /**
+     * @param row    row index
+     * @param column column index
+     * @return the elevation of the cell in m, {@code NaN} when unknown
+     */
+    public double elevation(int row, int column) {
+        return elevations[row * grid.columns() + column];
+    }
+
+    /**
+     * Returns the elevation at a location by bilinear interpolation between cell centres.
+     *
+     * @param latitude  latitude in degrees
+     * @param longitude longitude in degrees
+     * @return the elevation in m, {@code NaN} outside the model or next to unknown cells
+     */
+    public double elevationAt(double latitude, double longitude) {
+        double rowPosition = (latitude - grid.firstLatitude()) / grid.latitudeStep();
+        double columnPosition = (longitude - grid.firstLongitude()) / grid.longitudeStep();
+        if (!(rowPosition >= 0.0 && rowPosition <= grid.rows() - 1
+                && columnPosition >= 0.0 && columnPosition <= grid.columns() - 1)) {
+            return Double.NaN;
+        }
+        int row = Math.min((int) rowPosition, Math.max(0, grid.rows() - 2));
+        int column = Math.min((int) columnPosition, Math.max(0, grid.columns() - 2));
+        int nextRow = Math.min(row + 1, grid.rows() - 1);
+        int nextColumn = Math.min(column + 1, grid.columns() - 1);
+        double u = columnPosition - column;
+        double v = rowPosition - row;
+        double top = elevation(row, column) + u * (elevation(row, nextColumn) - elevation(row, column));
+        double bottom = elevation(nextRow, column) + u * (elevation(nextRow, nextColumn) - elevation(nextRow, column));
+        return top + v * (bottom - top);
+    }
+}
@@ -0,0 +1,243 @@
+package io.github.wjvanhoek.jsolar.terrain;
+
+import io.github.wjvanhoek.jsolar.grid.Grid;
+import io.github.wjvanhoek.jsolar.position.SolarPositionBatch;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * Precomputed terrain horizon per cell of a {@link DigitalElevationModel}: the elevation angle of
+ * the horizon in a fixed number of azimuth sectors, quantized to one byte (steps of 90°/255).
+ * <p>
+ * {@link #build} traces the horizon once from the elevation model, which is expensive; the result
+ * is written with {@link #write(Path)} and memory-mapped with {@link #open(Path)}. Runtime lookups
+ * take the nearest cell, interpolate linearly between the two nearest sectors and read two bytes,
+ * so beam radiation can be masked inside per-sample loops.
+ * <p>
+ * The file is little-endian:
+ * <pre>
+ * offset size field
+ *      0    8 magic "JSHORIZ\0"
+ *      8    4 int    format version (1)
+ *     12    4 int    header size ({@value #HEADER_SIZE})
+ *     16    4 int    rows
+ *     20    4 int    columns
+ *     24    8 double latitude of the centre of row 0 (degrees)
+ *     32    8 double longitude of the centre of column 0 (degrees)
+ *     40    8 double latitude step per row (degrees)
+ *     48    8 double longitude step per column (degrees)
+ *     56    4 int    sectors; sector k is centred on azimuth k * 360° / sectors, clockwise from north
+ *     60    4        reserved
+ *     64      uint8  horizon [row][column][sector], elevation = value * 90° / 255
+ * </pre>
+ */
+public final class HorizonMap {
+
+    /** Size of the header in bytes. */
+    public static final int HEADER_SIZE = 64;
+
+    private static final byte[] MAGIC = {'J', 'S', 'H', 'O', 'R', 'I', 'Z', 0};
+    private static final int VERSION = 1;
+    private static final double EARTH_RADIUS = 6_371_000.0;
+    private static final double RADIANS_PER_STEP = Math.toRadians(90.0) / 255.0;
+    private static final double TWO_PI = 2.0 * Math.PI;
+
+    private final Grid grid;
+    private final int sectors;
+    private final ByteBuffer horizon;
+
+    private HorizonMap(Grid grid, int sectors, ByteBuffer horizon) {
+        this.grid = grid;
+        this.sectors = sectors;
+        this.horizon = horizon;
+    }
+
+    /**
+     * Traces the horizon of every cell, in parallel over the rows.
+     *
+     * @param dem         the elevation model
+     * @param sectors     number of azimuth sectors
+     * @param maxDistance distance up to which terrain is taken into account, in m
+     * @return the horizon map
+     */
+    public static HorizonMap build(DigitalElevationModel dem, int sectors, double maxDistance) {
+        Grid grid = dem.grid();
+        if (sectors < 1 || sectors > 4096) {
+            throw new IllegalArgumentException("Sectors must be in [1, 4096]: " + sectors);
+        }
+        if (grid.cells() * sectors > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Horizon map too large: " + grid + " with " + sectors + " sectors");
+        }
+        byte[] horizon = new byte[(int) grid.cells() * sectors];
+        double[] cosAzimuth = new double[sectors];
+        double[] sinAzimuth = new double[sectors];
+        for (int k = 0; k < sectors; k++) {
+            cosAzimuth[k] = Math.cos(TWO_PI * k / sectors);
+            sinAzimuth[k] = Math.sin(TWO_PI * k / sectors);
+        }
+        double cellDegrees = Math.min(Math.abs(grid.latitudeStep()), Math.abs(grid.longitudeStep()));
+        IntStream.range(0, grid.rows()).parallel().forEach(row -> {
+            double latitude = grid.latitude(row);
+            double metresPerDegreeLatitude = Math.toRadians(EARTH_RADIUS);
+            double metresPerDegreeLongitude = metresPerDegreeLatitude * Math.cos(Math.toRadians(latitude));
+            double step = cellDegrees * Math.max(metresPerDegreeLongitude, 0.1 * metresPerDegreeLatitude);
+            for (int column = 0; column < grid.columns(); column++) {
+                double origin = dem.elevation(row, column);
+                if (Double.isNaN(origin)) {
+                    continue;
+                }
+                double longitude = grid.longitude(column);
+                int base = (row * grid.columns() + column) * sectors;
+                for (int k = 0; k < sectors; k++) {
+                    double max = 0.0;
+                    for (double d = step; d <= maxDistance; d += step) {
+                        double h = dem.elevationAt(latitude + d * cosAzimuth[k] / metresPerDegreeLatitude,
+                                longitude + d * sinAzimuth[k] / metresPerDegreeLongitude);
+                        if (Double.isNaN(h)) {
+                            break;
+                        }
+                        max = Math.max(max, Math.atan2(h - origin - d * d / (2.0 * EARTH_RADIUS), d));
+                    }
+                    horizon[base + k] = (byte) Math.min(255, Math.round(max / RADIANS_PER_STEP));
+                }
+            }
+        });
+        return new HorizonMap(grid, sectors, ByteBuffer.wrap(horizon));
+    }
+
+    /**
+     * Maps a horizon file. The file stays mapped until the instance is garbage collected.
+     *
+     * @param path the file
+     * @return the horizon map
+     * @throws IOException when the file cannot be mapped
+     */
+    public static HorizonMap open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            ByteBuffer in = buffer.order(ByteOrder.LITTLE_ENDIAN);
+            byte[] magic = new byte[MAGIC.length];
+            in.get(0, magic);
+            if (!Arrays.equals(magic, MAGIC) || in.getInt(8) != VERSION) {
+                throw new IOException("Not a version " + VERSION + " horizon file: " + path);
+            }
+            Grid grid = new Grid(in.getDouble(24), in.getDouble(32), in.getDouble(40), in.getDouble(48),
+                    in.getInt(16), in.getInt(20));
+            int sectors = in.getInt(56);
+            long size = grid.cells() * sectors;
+            if (sectors < 1 || HEADER_SIZE + size > in.capacity()) {
+                throw new IOException("Horizon file is truncated: " + path);
+            }
+            return new HorizonMap(grid, sectors, in.slice(HEADER_SIZE, (int) size));
+        }
+    }
+
+    /**
+     * Writes this map in the format read by {@link #open(Path)}.
+     *
+     * @param path the file to create or replace
+     * @throws IOException when the file cannot be written
+     */
+    public void write(Path path) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(0, MAGIC);
+        header.putInt(8, VERSION);
+        header.putInt(12, HEADER_SIZE);
+        header.putInt(16, grid.rows());
+        header.putInt(20, grid.columns());
+        header.putDouble(24, grid.firstLatitude());
+        header.putDouble(32, grid.firstLongitude());
+        header.putDouble(40, grid.latitudeStep());
+        header.putDouble(48, grid.longitudeStep());
+        header.putInt(56, sectors);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer[] buffers = {header, horizon.duplicate().clear()};
+            while (buffers[1].hasRemaining()) {
+                channel.write(buffers);
+            }
+        }
+    }
+
+    /** @return the geometry of the map */
+    public Grid grid() {
+        return grid;
+    }
+
+    /** @return the number of azimuth sectors */
+    public int sectors() {
+        return sectors;
+    }
+
+    /**
+     * Returns the elevation angle of the horizon at the cell nearest to a location.
+     *
+     * @param latitude  latitude in degrees
+     * @param longitude longitude in degrees
+     * @param azimuth   azimuth in radians, clockwise from north
+     * @return the elevation of the horizon in radians; zero outside the map
+     */
+    public double horizonElevation(double latitude, double longitude, double azimuth) {
+        long row = Math.round((latitude - grid.firstLatitude()) / grid.latitudeStep());
+        long column = Math.round((longitude - grid.firstLongitude()) / grid.longitudeStep());
+        if (row < 0 || row >= grid.rows() || column < 0 || column >= grid.columns()) {
+            return 0.0;
+        }
+        double position = azimuth / TWO_PI * sectors;
+        double floor = Math.floor(position);
+        int sector = Math.floorMod((int) floor, sectors);
+        int next = sector + 1 == sectors ? 0 : sector + 1;
+        int base = (int) (row * grid.columns() + column) * sectors;
+        int a = horizon.get(base + sector) & 0xFF;
+        int b = horizon.get(base + next) & 0xFF;
+        return (a + (position - floor) * (b - a)) * RADIANS_PER_STEP;
+    }
+
+    /**
+     * Tells whether the Sun is above the local horizon.
+     *
+     * @param latitude  latitude in degrees
+     * @param longitude longitude in degrees
+     * @param zenith    solar zenith angle in radians
+     * @param azimuth   solar azimuth in radians, clockwise from north
+     * @return {@code true} when terrain does not block the beam
+     */
+    public boolean isSunVisible(double latitude, double longitude, double zenith, double azimuth) {
+        return 0.5 * Math.PI - zenith > horizonElevation(latitude, longitude, azimuth);
+    }
+
+    /**
+     * Sets the direct normal irradiance to zero for every sample in which terrain hides the Sun.
+     * Diffuse irradiance is left as is.
+     *
+     * @param latitudes    latitudes in degrees per sample
+     * @param longitudes   longitudes in degrees per sample
+     * @param positions    position of the Sun per sample
+     * @param directNormal direct normal irradiance per sample, masked in place
+     * @param offset       index of the first sample
+     * @param length       number of samples
+     */
+    public void maskBeam(double[] latitudes, double[] longitudes, SolarPositionBatch positions,
+                         double[] directNormal, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, latitudes.length);
+        Objects.checkFromIndexSize(offset, length, longitudes.length);
+        Objects.checkFromIndexSize(offset, length, positions.capacity());
+        Objects.checkFromIndexSize(offset, length, directNormal.length);
+        double[] zenith = positions.zenith();
+        double[] azimuth = positions.azimuth();
+        for (int i = offset, end = offset + length; i < end; i++) {
+            if (directNormal[i] > 0.0 && !isSunVisible(latitudes[i], longitudes[i], zenith[i], azimuth[i])) {
+                directNormal[i] = 0.0;
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package io.github.wjvanhoek.jsolar.time;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Arithmetic conversions between epoch seconds (UTC) and the calendar quantities used by the solar
+ * geometry. None of the methods allocate, so they can be called from per-sample loops.
+ */
+public final class EpochTime {
+
+    /** Number of seconds in a (UTC) day. */
+    public static final double SECONDS_PER_DAY = 86_400.0;
+
+    /** Julian day number of the Unix epoch, 1970-01-01T00:00:00Z. */
+    public static final double JULIAN_DAY_EPOCH = 2_440_587.5;
+
+    private static final long WHOLE_SECONDS_PER_DAY = 86_400L;
+
+    private EpochTime() {
+    }
+
+    /**
+     * Converts an {@link Instant} to fractional epoch seconds.
+     *
+     * @param instant the instant to convert
+     * @return seconds since 1970-01-01T00:00:00Z, including the fraction of the second
+     */
+    public static double epochSecond(Instant instant) {
+        return instant.getEpochSecond() + instant.getNano() * 1e-9;
+    }
+
+    /**
+     * Converts epoch milliseconds to fractional epoch seconds.
+     *
+     * @param epochMilli milliseconds since the Unix epoch
+     * @return seconds since the Unix epoch, including the fraction of the second
+     */
+    public static double fromEpochMilli(long epochMilli) {
+        return epochMilli / 1000.0;
+    }
+
+    /**
+     * Converts a range of epoch milliseconds to fractional epoch seconds, so that series stored as
+     * {@code long} milliseconds can be fed to the batch methods.
+     *
+     * @param epochMillis milliseconds since the Unix epoch
+     * @param out         receives the seconds since the Unix epoch at the same indices
+     * @param offset      index of the first sample
+     * @param length      number of samples
+     */
+    public static void fromEpochMilli(long[] epochMillis, double[] out, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, epochMillis.length);
+        Objects.checkFromIndexSize(offset, length, out.length);
+        for (int i = offset, end = offset + length; i < end; i++) {
+            out[i] = epochMillis[i] / 1000.0;
+        }
+    }
+
+    /**
+     * Converts a local time at a fixed offset from UTC to epoch seconds.
+     *
+     * @param localEpochSecond local date-time expressed as seconds since 1970-01-01T00:00:00 local
+     * @param offsetSeconds    offset of the local time from UTC in seconds, positive east
+     * @return seconds since the Unix epoch (UTC)
+     * @see ZoneOffsetTable
+     */
+    public static double fromLocal(double localEpochSecond, int offsetSeconds) {
+        return localEpochSecond - offsetSeconds;
+    }
+
+    /**
+     * Returns the number of whole days since 1970-01-01 for the given epoch second.
+     *
+     * @param epochSecond whole seconds since the Unix epoch
+     * @return the epoch day, rounded towards negative infinity
+     */
+    public static long epochDay(long epochSecond) {
+        return Math.floorDiv(epochSecond, WHOLE_SECONDS_PER_DAY);
+    }
+
+    /**
+     * Returns the number of whole days since 1970-01-01 for the given epoch second.
+     *
+     * @param epochSecond seconds since the Unix epoch
+     * @return the epoch day, rounded towards negative infinity
+     */
+    public static long epochDay(double epochSecond) {
+        return (long) Math.floor(epochSecond / SECONDS_PER_DAY);
+    }
+
+    /**
+     * Returns the number of seconds elapsed since midnight UTC.
+     *
+     * @param epochSecond seconds since the Unix epoch
+     * @return the second of the UTC day, in {@code [0, 86400)}
+     */
+    public static double secondOfDay(double epochSecond) {
+        return epochSecond - epochDay(epochSecond) * SECONDS_PER_DAY;
+    }
+
+    /**
+     * Returns the number of seconds elapsed since midnight UTC.
+     *
+     * @param epochSecond whole seconds since the Unix epoch
+     * @return the second of the UTC day, in {@code [0, 86400)}
+     */
+    public static int secondOfDay(long epochSecond) {
+        return (int) Math.floorMod(epochSecond, WHOLE_SECONDS_PER_DAY);
+    }
+
+    /**
+     * Returns the epoch day of a date in the proleptic Gregorian calendar, without allocating.
+     *
+     * @param year       the year
+     * @param month      the month, 1 to 12
+     * @param dayOfMonth the day of the month, 1 to 31
+     * @return days since 1970-01-01
+     */
+    public static long epochDay(int year, int month, int dayOfMonth) {
+        // Days-from-civil, the inverse of the computation in dayOfYear
+        long y = month <= 2 ? year - 1L : year;
+        long era = Math.floorDiv(y, 400);
+        long yoe = y - era * 400;
+        long doy = (153L * (month > 2 ? month - 3 : month + 9) + 2) / 5 + dayOfMonth - 1;
+        long doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146_097 + doe - 719_468;
+    }
+
+    /**
+     * Returns the day of the year (1 for January 1st) of the given epoch day.
+     *
+     * @param epochDay days since 1970-01-01
+     * @return the day of the year, in {@code [1, 366]}
+     */
+    public static int dayOfYear(long epochDay) {
+        // Civil-from-days, counting years from March 1st so the leap day is the last day of the era year
+        long z = epochDay + 719_468;
+        long era = Math.floorDiv(z, 146_097);
+        long doe = z - era * 146_097;
+        long yoe = (doe - doe / 1460 + doe / 36_524 - doe / 146_096) / 365;
+        long doyFromMarch = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        long year = yoe + era * 400 + (doyFromMarch >= 306 ? 1 : 0);
+        boolean leap = (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+        int beforeMarch = leap ? 60 : 59;
+        return (int) (doyFromMarch >= 306 ? doyFromMarch - 305 : doyFromMarch + beforeMarch + 1);
+    }
+
+    /**
+     * Returns the Julian day of the given epoch second.
+     *
+     * @param epochSecond seconds since the Unix epoch
+     * @return the (fractional) Julian day
+     */
+    public static double julianDay(double epochSecond) {
+        return epochSecond / SECONDS_PER_DAY + JULIAN_DAY_EPOCH;
+    }
+}
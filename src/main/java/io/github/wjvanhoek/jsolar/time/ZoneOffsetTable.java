@@ -0,0 +1,200 @@
+package io.github.wjvanhoek.jsolar.time;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * The UTC offsets of a time zone over a range of years, precomputed from its {@link ZoneRules} so
+ * that local timestamps can be converted to epoch seconds without {@code java.time} on the hot
+ * path. Lookups are a binary search over the daylight-saving transitions; the batch conversion
+ * keeps a cursor and only searches when a sample crosses a transition.
+ * <p>
+ * Local times are expressed as seconds since 1970-01-01T00:00:00 on the local clock. Local times
+ * that fall in a gap (spring forward) or an overlap (fall back) are resolved as by
+ * {@link java.time.ZonedDateTime#ofLocal}: with the offset before the transition, so gaps are
+ * shifted forward by their length and overlaps take the earlier instant.
+ * <p>
+ * Instances are immutable and thread-safe.
+ */
+public final class ZoneOffsetTable {
+
+    private final String zone;
+    private final long validFrom;
+    private final long validUntil;
+    private final long[] transitions;
+    private final long[] localTransitions;
+    private final int[] offsets;
+
+    private ZoneOffsetTable(String zone, long validFrom, long validUntil, long[] transitions,
+                            long[] localTransitions, int[] offsets) {
+        this.zone = zone;
+        this.validFrom = validFrom;
+        this.validUntil = validUntil;
+        this.transitions = transitions;
+        this.localTransitions = localTransitions;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Creates a table without transitions.
+     *
+     * @param offsetSeconds offset of the local time from UTC in seconds, positive east
+     * @return the table, valid at all times
+     */
+    public static ZoneOffsetTable fixed(int offsetSeconds) {
+        String zone = ZoneOffset.ofTotalSeconds(offsetSeconds).getId();
+        return new ZoneOffsetTable(zone, Long.MIN_VALUE, Long.MAX_VALUE, new long[0], new long[0],
+                new int[] {offsetSeconds});
+    }
+
+    /**
+     * Precomputes the offsets of a time zone. Zones with a fixed offset are valid at all times.
+     *
+     * @param zone     the time zone
+     * @param fromYear first year covered
+     * @param toYear   last year covered
+     * @return the table, valid from the start of {@code fromYear} to the end of {@code toYear}
+     *         in UTC
+     */
+    public static ZoneOffsetTable of(ZoneId zone, int fromYear, int toYear) {
+        if (fromYear > toYear) {
+            throw new IllegalArgumentException("Empty range of years: " + fromYear + " to " + toYear);
+        }
+        ZoneRules rules = zone.getRules();
+        if (rules.isFixedOffset()) {
+            return new ZoneOffsetTable(zone.getId(), Long.MIN_VALUE, Long.MAX_VALUE, new long[0], new long[0],
+                    new int[] {rules.getOffset(Instant.EPOCH).getTotalSeconds()});
+        }
+        long validFrom = EpochTime.epochDay(fromYear, 1, 1) * 86_400L;
+        long validUntil = EpochTime.epochDay(toYear + 1, 1, 1) * 86_400L;
+        long[] transitions = new long[16];
+        int[] offsets = new int[17];
+        offsets[0] = rules.getOffset(Instant.ofEpochSecond(validFrom)).getTotalSeconds();
+        int count = 0;
+        ZoneOffsetTransition next = rules.nextTransition(Instant.ofEpochSecond(validFrom));
+        while (next != null && next.toEpochSecond() < validUntil) {
+            if (count == transitions.length) {
+                transitions = Arrays.copyOf(transitions, 2 * count);
+                offsets = Arrays.copyOf(offsets, 2 * count + 1);
+            }
+            transitions[count] = next.toEpochSecond();
+            offsets[count + 1] = next.getOffsetAfter().getTotalSeconds();
+            count++;
+            next = rules.nextTransition(next.getInstant());
+        }
+        transitions = Arrays.copyOf(transitions, count);
+        offsets = Arrays.copyOf(offsets, count + 1);
+        long[] localTransitions = new long[count];
+        for (int i = 0; i < count; i++) {
+            // Below this local time the offset before the transition applies, covering the gap or overlap
+            localTransitions[i] = transitions[i] + Math.max(offsets[i], offsets[i + 1]);
+        }
+        return new ZoneOffsetTable(zone.getId(), validFrom, validUntil, transitions, localTransitions, offsets);
+    }
+
+    /** @return the identifier of the time zone */
+    public String zone() {
+        return zone;
+    }
+
+    /** @return the number of transitions in the table */
+    public int transitions() {
+        return transitions.length;
+    }
+
+    /**
+     * Returns the offset in effect at a moment.
+     *
+     * @param epochSecond seconds since the Unix epoch (UTC)
+     * @return the offset from UTC in seconds
+     * @throws IllegalArgumentException when the moment is outside the years of the table
+     */
+    public int offsetAt(double epochSecond) {
+        checkValid(epochSecond);
+        return offsets[upperBound(transitions, epochSecond)];
+    }
+
+    /**
+     * Returns the offset that applies to a local time.
+     *
+     * @param localEpochSecond seconds since 1970-01-01T00:00:00 on the local clock
+     * @return the offset from UTC in seconds
+     * @throws IllegalArgumentException when the local time is outside the years of the table
+     */
+    public int offsetAtLocal(double localEpochSecond) {
+        int offset = offsets[upperBound(localTransitions, localEpochSecond)];
+        checkValid(localEpochSecond - offset);
+        return offset;
+    }
+
+    /**
+     * Converts a local time to epoch seconds.
+     *
+     * @param localEpochSecond seconds since 1970-01-01T00:00:00 on the local clock
+     * @return seconds since the Unix epoch (UTC)
+     * @throws IllegalArgumentException when the local time is outside the years of the table
+     */
+    public double toEpochSecond(double localEpochSecond) {
+        return localEpochSecond - offsetAtLocal(localEpochSecond);
+    }
+
+    /**
+     * Converts a range of local times to epoch seconds. Consecutive samples in the same interval
+     * between transitions cost one comparison each.
+     *
+     * @param localEpochSeconds seconds since 1970-01-01T00:00:00 on the local clock
+     * @param out               receives the seconds since the Unix epoch at the same indices
+     * @param offset            index of the first sample
+     * @param length            number of samples
+     * @throws IllegalArgumentException when a local time is outside the years of the table
+     */
+    public void toEpochSeconds(double[] localEpochSeconds, double[] out, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, localEpochSeconds.length);
+        Objects.checkFromIndexSize(offset, length, out.length);
+        int interval = 0;
+        double low = Double.POSITIVE_INFINITY;
+        double high = Double.NEGATIVE_INFINITY;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            double local = localEpochSeconds[i];
+            if (!(local >= low && local < high)) {
+                interval = upperBound(localTransitions, local);
+                low = interval == 0 ? Double.NEGATIVE_INFINITY : localTransitions[interval - 1];
+                high = interval == localTransitions.length ? Double.POSITIVE_INFINITY : localTransitions[interval];
+            }
+            double utc = local - offsets[interval];
+            checkValid(utc);
+            out[i] = utc;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ZoneOffsetTable[" + zone + ", " + transitions.length + " transitions]";
+    }
+
+    /** Returns the number of elements of a sorted array that are at most the key. */
+    private static int upperBound(long[] sorted, double key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sorted[middle] <= key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private void checkValid(double epochSecond) {
+        if (!(epochSecond >= validFrom && epochSecond < validUntil)) {
+            throw new IllegalArgumentException("Moment outside the years covered for " + zone + ": " + epochSecond);
+        }
+    }
+}
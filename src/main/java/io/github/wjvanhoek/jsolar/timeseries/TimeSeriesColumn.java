@@ -0,0 +1,129 @@
+package io.github.wjvanhoek.jsolar.timeseries;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Name and encoding of one value column of a {@link TimeSeriesFile}. Immutable.
+ */
+public final class TimeSeriesColumn {
+
+    /** Maximum length of a column name in ASCII characters. */
+    public static final int MAX_NAME_LENGTH = 16;
+
+    /** Encoding of the values of a column. */
+    public enum Type {
+        /** IEEE 754 double precision, 8 bytes. */
+        FLOAT64(8),
+        /** IEEE 754 single precision, 4 bytes. */
+        FLOAT32(4),
+        /**
+         * Unsigned 16-bit integer {@code q} standing for {@code offset + scale * q}, 2 bytes; values
+         * are rounded to the nearest step and clamped, and {@value TimeSeriesColumn#QUANTIZED_NAN} is NaN.
+         */
+        QUANTIZED16(2);
+
+        private final int bytes;
+
+        Type(int bytes) {
+            this.bytes = bytes;
+        }
+
+        /** @return the size of one value in bytes */
+        public int bytes() {
+            return bytes;
+        }
+    }
+
+    /** Quantized value reserved for NaN. */
+    public static final int QUANTIZED_NAN = 0xFFFF;
+
+    private final String name;
+    private final Type type;
+    private final double scale;
+    private final double offset;
+
+    private TimeSeriesColumn(String name, Type type, double scale, double offset) {
+        if (name.length() > MAX_NAME_LENGTH || !StandardCharsets.US_ASCII.newEncoder().canEncode(name)) {
+            throw new IllegalArgumentException("Name must be at most " + MAX_NAME_LENGTH + " ASCII characters: " + name);
+        }
+        if (type == Type.QUANTIZED16 && !(scale > 0.0 && Double.isFinite(scale) && Double.isFinite(offset))) {
+            throw new IllegalArgumentException("Quantization needs a positive scale and finite offset: " + scale
+                    + ", " + offset);
+        }
+        this.name = name;
+        this.type = Objects.requireNonNull(type, "type");
+        this.scale = scale;
+        this.offset = offset;
+    }
+
+    /**
+     * @param name name of the column
+     * @return a column of doubles
+     */
+    public static TimeSeriesColumn float64(String name) {
+        return new TimeSeriesColumn(name, Type.FLOAT64, 1.0, 0.0);
+    }
+
+    /**
+     * @param name name of the column
+     * @return a column of floats
+     */
+    public static TimeSeriesColumn float32(String name) {
+        return new TimeSeriesColumn(name, Type.FLOAT32, 1.0, 0.0);
+    }
+
+    /**
+     * Creates a quantized column, which covers {@code [offset, offset + 65534 * scale]}. Irradiance
+     * up to 1638 W/m² fits in steps of 0.025 W/m², for instance.
+     *
+     * @param name   name of the column
+     * @param scale  value of one step
+     * @param offset value of zero
+     * @return a column of 16-bit steps
+     */
+    public static TimeSeriesColumn quantized(String name, double scale, double offset) {
+        return new TimeSeriesColumn(name, Type.QUANTIZED16, scale, offset);
+    }
+
+    static TimeSeriesColumn of(String name, Type type, double scale, double offset) {
+        return new TimeSeriesColumn(name, type, scale, offset);
+    }
+
+    /** @return the name of the column */
+    public String name() {
+        return name;
+    }
+
+    /** @return the encoding of the values */
+    public Type type() {
+        return type;
+    }
+
+    /** @return the value of one quantization step */
+    public double scale() {
+        return scale;
+    }
+
+    /** @return the value of quantized zero */
+    public double offset() {
+        return offset;
+    }
+
+    int quantize(double value) {
+        if (Double.isNaN(value)) {
+            return QUANTIZED_NAN;
+        }
+        long q = Math.round((value - offset) / scale);
+        return (int) Math.max(0, Math.min(QUANTIZED_NAN - 1, q));
+    }
+
+    double dequantize(int q) {
+        return q == QUANTIZED_NAN ? Double.NaN : offset + scale * q;
+    }
+
+    @Override
+    public String toString() {
+        return type == Type.QUANTIZED16 ? name + "[" + type + " " + scale + "*q+" + offset + "]" : name + "[" + type + "]";
+    }
+}
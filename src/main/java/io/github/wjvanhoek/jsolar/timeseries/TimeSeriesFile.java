@@ -0,0 +1,443 @@
+package io.github.wjvanhoek.jsolar.timeseries;
+
+import io.github.wjvanhoek.jsolar.metrics.Metrics;
+import io.github.wjvanhoek.jsolar.metrics.Stage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Memory-mapped reader of a columnar time-series file, as written by {@link TimeSeriesWriter}.
+ * <p>
+ * Records are stored in blocks of a fixed number of records (the last block may be shorter).
+ * Within a block the timestamps are delta-encoded as LEB128 varints in units of the time
+ * resolution, and every column is a contiguous run of fixed-width values. A block index at the end
+ * of the file holds the offset, first and last timestamp and the minimum and maximum of every
+ * column per block, so range queries by time locate their blocks by binary search and aggregate
+ * queries skip whole blocks, without decoding the rest of the file.
+ * <p>
+ * The file is little-endian; sections start at multiples of 8 bytes:
+ * <pre>
+ * offset size field
+ *      0    8 magic "JSSERIES"
+ *      8    4 int    format version (1)
+ *     12    4 int    header size ({@value #HEADER_SIZE})
+ *     16    4 int    number of columns
+ *     20    4 int    records per block
+ *     24    8 long   number of records
+ *     32    8 long   offset of the block index, zero while the file is being written
+ *     40    8 double time resolution in seconds per timestamp unit
+ *     48    4 int    number of blocks
+ *     52   12        reserved
+ *     64      column table, {@value #COLUMN_ENTRY_SIZE} bytes per column:
+ *                 16 ASCII name NUL padded, 4 int type (0 = float64, 1 = float32, 2 = quantized16),
+ *                 4 reserved, 8 double scale, 8 double offset
+ *             blocks: varint deltas of the timestamps of records 1..n-1, then each column
+ *             block index, {@value #INDEX_ENTRY_SIZE} + 16 bytes per column per block:
+ *                 8 long block offset, 8 long first timestamp, 8 long last timestamp,
+ *                 4 int records, 4 int bytes of timestamp deltas, then per column
+ *                 8 double minimum, 8 double maximum (NaN when the block holds only NaN)
+ * </pre>
+ * The whole file is mapped at once, which limits it to 2 GiB. Instances are immutable and
+ * thread-safe.
+ */
+public final class TimeSeriesFile {
+
+    /** Size of the fixed header in bytes. */
+    public static final int HEADER_SIZE = 64;
+
+    /** Size of one entry of the column table in bytes. */
+    public static final int COLUMN_ENTRY_SIZE = 40;
+
+    /** Size of the fixed part of one entry of the block index in bytes. */
+    public static final int INDEX_ENTRY_SIZE = 32;
+
+    /** Largest number of records per block. */
+    public static final int MAX_BLOCK_SIZE = 1 << 20;
+
+    static final byte[] MAGIC = {'J', 'S', 'S', 'E', 'R', 'I', 'E', 'S'};
+    static final int VERSION = 1;
+    static final int MAX_VARINT_BYTES = 10;
+
+    private final ByteBuffer file;
+    private final List<TimeSeriesColumn> columns;
+    private final int blockSize;
+    private final long records;
+    private final int blocks;
+    private final double timeResolution;
+    private final long indexOffset;
+    private final int indexEntrySize;
+
+    private TimeSeriesFile(ByteBuffer file, List<TimeSeriesColumn> columns, int blockSize, long records,
+                           int blocks, double timeResolution, long indexOffset) {
+        this.file = file;
+        this.columns = columns;
+        this.blockSize = blockSize;
+        this.records = records;
+        this.blocks = blocks;
+        this.timeResolution = timeResolution;
+        this.indexOffset = indexOffset;
+        this.indexEntrySize = indexEntrySize(columns.size());
+    }
+
+    /**
+     * Maps a file. The file stays mapped until the instance is garbage collected.
+     *
+     * @param path the file
+     * @return the reader
+     * @throws IOException when the file cannot be mapped or is not a complete time-series file
+     */
+    public static TimeSeriesFile open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Time-series file larger than 2 GiB: " + path);
+            }
+            ByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            byte[] magic = new byte[MAGIC.length];
+            if (in.capacity() >= HEADER_SIZE) {
+                in.get(0, magic);
+            }
+            if (!Arrays.equals(magic, MAGIC) || in.getInt(8) != VERSION) {
+                throw new IOException("Not a version " + VERSION + " time-series file: " + path);
+            }
+            int columnCount = in.getInt(16);
+            int blockSize = in.getInt(20);
+            long records = in.getLong(24);
+            long indexOffset = in.getLong(32);
+            int blocks = in.getInt(48);
+            if (indexOffset == 0) {
+                throw new IOException("Time-series file was not closed by its writer: " + path);
+            }
+            if (columnCount < 1 || blockSize < 1 || blockSize > MAX_BLOCK_SIZE || blocks < 0
+                    || indexOffset + (long) blocks * indexEntrySize(columnCount) > in.capacity()
+                    || records > (long) blocks * blockSize) {
+                throw new IOException("Corrupt time-series header: " + path);
+            }
+            TimeSeriesColumn[] columns = new TimeSeriesColumn[columnCount];
+            for (int c = 0; c < columnCount; c++) {
+                int base = HEADER_SIZE + c * COLUMN_ENTRY_SIZE;
+                byte[] name = new byte[TimeSeriesColumn.MAX_NAME_LENGTH];
+                in.get(base, name);
+                int length = 0;
+                while (length < name.length && name[length] != 0) {
+                    length++;
+                }
+                int type = in.getInt(base + 16);
+                if (type < 0 || type >= TimeSeriesColumn.Type.values().length) {
+                    throw new IOException("Unknown column type " + type + ": " + path);
+                }
+                columns[c] = TimeSeriesColumn.of(new String(name, 0, length, StandardCharsets.US_ASCII),
+                        TimeSeriesColumn.Type.values()[type], in.getDouble(base + 24), in.getDouble(base + 32));
+            }
+            return new TimeSeriesFile(in, Collections.unmodifiableList(Arrays.asList(columns)), blockSize, records,
+                    blocks, in.getDouble(40), indexOffset);
+        }
+    }
+
+    static int align(int bytes) {
+        return (bytes + 7) & ~7;
+    }
+
+    static int dataOffset(int columns) {
+        return align(HEADER_SIZE + columns * COLUMN_ENTRY_SIZE);
+    }
+
+    static int indexEntrySize(int columns) {
+        return INDEX_ENTRY_SIZE + 16 * columns;
+    }
+
+    /** @return the value columns */
+    public List<TimeSeriesColumn> columns() {
+        return columns;
+    }
+
+    /**
+     * @param name name of a column
+     * @return the index of the column
+     * @throws IllegalArgumentException when there is no such column
+     */
+    public int column(String name) {
+        for (int c = 0; c < columns.size(); c++) {
+            if (columns.get(c).name().equals(name)) {
+                return c;
+            }
+        }
+        throw new IllegalArgumentException("No column named " + name);
+    }
+
+    /** @return the number of records */
+    public long records() {
+        return records;
+    }
+
+    /** @return the number of blocks */
+    public int blocks() {
+        return blocks;
+    }
+
+    /** @return the number of records per block */
+    public int blockSize() {
+        return blockSize;
+    }
+
+    /** @return the resolution of the timestamps in seconds */
+    public double timeResolution() {
+        return timeResolution;
+    }
+
+    /**
+     * @param block block index
+     * @return the moment of the first record of the block, in seconds since the Unix epoch
+     */
+    public double blockFirstEpochSecond(int block) {
+        return file.getLong(entry(block) + 8) * timeResolution;
+    }
+
+    /**
+     * @param block block index
+     * @return the moment of the last record of the block, in seconds since the Unix epoch
+     */
+    public double blockLastEpochSecond(int block) {
+        return file.getLong(entry(block) + 16) * timeResolution;
+    }
+
+    /**
+     * @param block  block index
+     * @param column column index
+     * @return the smallest value of the column in the block, NaN when all are NaN
+     */
+    public double blockMin(int block, int column) {
+        Objects.checkIndex(column, columns.size());
+        return file.getDouble(entry(block) + INDEX_ENTRY_SIZE + 16 * column);
+    }
+
+    /**
+     * @param block  block index
+     * @param column column index
+     * @return the largest value of the column in the block, NaN when all are NaN
+     */
+    public double blockMax(int block, int column) {
+        Objects.checkIndex(column, columns.size());
+        return file.getDouble(entry(block) + INDEX_ENTRY_SIZE + 16 * column + 8);
+    }
+
+    /**
+     * Finds the first record at or after a moment.
+     *
+     * @param epochSecond seconds since the Unix epoch
+     * @return the index of the record, or {@link #records()} when all records are earlier
+     */
+    public long indexOf(double epochSecond) {
+        int low = 0;
+        int high = blocks;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (blockLastEpochSecond(middle) < epochSecond) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        if (low == blocks) {
+            return records;
+        }
+        int entry = entry(low);
+        int count = file.getInt(entry + 24);
+        ByteBuffer deltas = file.duplicate().position((int) file.getLong(entry));
+        long tick = file.getLong(entry + 8);
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                tick += readVarint(deltas);
+            }
+            if (tick * timeResolution >= epochSecond) {
+                return (long) low * blockSize + i;
+            }
+        }
+        return (long) (low + 1) * blockSize;
+    }
+
+    /**
+     * Reads the timestamps of a range of records.
+     *
+     * @param first  index of the first record
+     * @param out    receives the moments in seconds since the Unix epoch
+     * @param offset index in {@code out} of the first moment
+     * @param length number of records
+     */
+    public void readEpochSeconds(long first, double[] out, int offset, int length) {
+        Objects.checkFromIndexSize(first, length, records);
+        Objects.checkFromIndexSize(offset, length, out.length);
+        long start = Metrics.start();
+        int written = 0;
+        while (written < length) {
+            long record = first + written;
+            int block = (int) (record / blockSize);
+            int skip = (int) (record - (long) block * blockSize);
+            int entry = entry(block);
+            int count = Math.min(file.getInt(entry + 24) - skip, length - written);
+            ByteBuffer deltas = file.duplicate().position((int) file.getLong(entry));
+            long tick = file.getLong(entry + 8);
+            for (int i = 0; i < skip + count; i++) {
+                if (i > 0) {
+                    tick += readVarint(deltas);
+                }
+                if (i >= skip) {
+                    out[offset + written++] = tick * timeResolution;
+                }
+            }
+        }
+        Metrics.record(Stage.IO, start, length);
+    }
+
+    /**
+     * Reads the values of one column for a range of records.
+     *
+     * @param column column index
+     * @param first  index of the first record
+     * @param out    receives the values
+     * @param offset index in {@code out} of the first value
+     * @param length number of records
+     */
+    public void read(int column, long first, double[] out, int offset, int length) {
+        Objects.checkIndex(column, columns.size());
+        Objects.checkFromIndexSize(first, length, records);
+        Objects.checkFromIndexSize(offset, length, out.length);
+        TimeSeriesColumn spec = columns.get(column);
+        long start = Metrics.start();
+        int written = 0;
+        while (written < length) {
+            long record = first + written;
+            int block = (int) (record / blockSize);
+            int skip = (int) (record - (long) block * blockSize);
+            int entry = entry(block);
+            int count = file.getInt(entry + 24);
+            int n = Math.min(count - skip, length - written);
+            int position = columnOffset(entry, count, column) + skip * spec.type().bytes();
+            switch (spec.type()) {
+                case FLOAT64:
+                    for (int i = 0; i < n; i++) {
+                        out[offset + written + i] = file.getDouble(position + 8 * i);
+                    }
+                    break;
+                case FLOAT32:
+                    for (int i = 0; i < n; i++) {
+                        out[offset + written + i] = file.getFloat(position + 4 * i);
+                    }
+                    break;
+                default:
+                    for (int i = 0; i < n; i++) {
+                        out[offset + written + i] = spec.dequantize(file.getShort(position + 2 * i) & 0xFFFF);
+                    }
+                    break;
+            }
+            written += n;
+        }
+        Metrics.record(Stage.IO, start, length);
+    }
+
+    /**
+     * Returns the smallest value of a column over a range of records, ignoring NaN. Blocks that lie
+     * entirely within the range are answered from the block index.
+     *
+     * @param column column index
+     * @param first  index of the first record
+     * @param end    index after the last record
+     * @return the minimum, or NaN when the range holds no number
+     */
+    public double min(int column, long first, long end) {
+        return extreme(column, first, end, false);
+    }
+
+    /**
+     * Returns the largest value of a column over a range of records, ignoring NaN. Blocks that lie
+     * entirely within the range are answered from the block index.
+     *
+     * @param column column index
+     * @param first  index of the first record
+     * @param end    index after the last record
+     * @return the maximum, or NaN when the range holds no number
+     */
+    public double max(int column, long first, long end) {
+        return extreme(column, first, end, true);
+    }
+
+    private double extreme(int column, long first, long end, boolean max) {
+        Objects.checkIndex(column, columns.size());
+        Objects.checkFromToIndex(first, end, records);
+        double result = Double.NaN;
+        double[] partial = null;
+        long record = first;
+        while (record < end) {
+            int block = (int) (record / blockSize);
+            long blockStart = (long) block * blockSize;
+            long blockEnd = Math.min(blockStart + blockSize, records);
+            double value;
+            if (record == blockStart && blockEnd <= end) {
+                value = max ? blockMax(block, column) : blockMin(block, column);
+            } else {
+                int n = (int) (Math.min(blockEnd, end) - record);
+                if (partial == null) {
+                    partial = new double[blockSize];
+                }
+                read(column, record, partial, 0, n);
+                value = Double.NaN;
+                for (int i = 0; i < n; i++) {
+                    value = pick(value, partial[i], max);
+                }
+            }
+            result = pick(result, value, max);
+            record = Math.min(blockEnd, end);
+        }
+        return result;
+    }
+
+    private static long readVarint(ByteBuffer in) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    private static double pick(double current, double candidate, boolean max) {
+        if (Double.isNaN(candidate)) {
+            return current;
+        }
+        if (Double.isNaN(current)) {
+            return candidate;
+        }
+        return max ? Math.max(current, candidate) : Math.min(current, candidate);
+    }
+
+    private int entry(int block) {
+        Objects.checkIndex(block, blocks);
+        return (int) (indexOffset + (long) block * indexEntrySize);
+    }
+
+    private int columnOffset(int entry, int count, int column) {
+        int position = (int) file.getLong(entry) + align(file.getInt(entry + 28));
+        for (int c = 0; c < column; c++) {
+            position += align(count * columns.get(c).type().bytes());
+        }
+        return position;
+    }
+
+    @Override
+    public String toString() {
+        return "TimeSeriesFile[" + records + " records in " + blocks + " blocks, columns " + columns + "]";
+    }
+}
@@ -0,0 +1,287 @@
+package io.github.wjvanhoek.jsolar.timeseries;
+
+import io.github.wjvanhoek.jsolar.metrics.Metrics;
+import io.github.wjvanhoek.jsolar.metrics.Stage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Writes a {@link TimeSeriesFile} sequentially. Records are buffered one block at a time and every
+ * full block is encoded and written, so memory stays constant regardless of the length of the
+ * series. The block index and the final header are written by {@link #close()}; a file that was
+ * not closed is rejected by readers. Instances are not thread-safe.
+ */
+public final class TimeSeriesWriter implements Closeable {
+
+    private final FileChannel channel;
+    private final TimeSeriesColumn[] columns;
+    private final double timeResolution;
+    private final int blockSize;
+    private final long[] ticks;
+    private final double[][] values;
+    private final ByteBuffer block;
+    private final List<ByteBuffer> index = new ArrayList<>();
+    private int buffered;
+    private long records;
+    private long lastTick = Long.MIN_VALUE;
+    private boolean closed;
+
+    private TimeSeriesWriter(FileChannel channel, double timeResolution, int blockSize, TimeSeriesColumn[] columns) {
+        this.channel = channel;
+        this.columns = columns;
+        this.timeResolution = timeResolution;
+        this.blockSize = blockSize;
+        this.ticks = new long[blockSize];
+        this.values = new double[columns.length][blockSize];
+        int bytes = TimeSeriesFile.align(TimeSeriesFile.MAX_VARINT_BYTES * blockSize);
+        for (TimeSeriesColumn column : columns) {
+            bytes += TimeSeriesFile.align(column.type().bytes() * blockSize);
+        }
+        this.block = ByteBuffer.allocate(bytes).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Creates (or truncates) a file.
+     *
+     * @param path           the file
+     * @param timeResolution resolution of the timestamps in seconds; timestamps are rounded to it
+     * @param blockSize      number of records per block
+     * @param columns        the value columns
+     * @return the writer
+     * @throws IOException when the file cannot be created
+     */
+    public static TimeSeriesWriter create(Path path, double timeResolution, int blockSize,
+                                          TimeSeriesColumn... columns) throws IOException {
+        if (!(timeResolution > 0.0) || Double.isInfinite(timeResolution)) {
+            throw new IllegalArgumentException("Time resolution must be positive: " + timeResolution);
+        }
+        if (blockSize < 1 || blockSize > TimeSeriesFile.MAX_BLOCK_SIZE) {
+            throw new IllegalArgumentException("Block size must be in [1, " + TimeSeriesFile.MAX_BLOCK_SIZE
+                    + "]: " + blockSize);
+        }
+        if (columns.length < 1) {
+            throw new IllegalArgumentException("At least one column is required");
+        }
+        TimeSeriesColumn[] copy = columns.clone();
+        for (TimeSeriesColumn column : copy) {
+            Objects.requireNonNull(column, "column");
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            TimeSeriesWriter writer = new TimeSeriesWriter(channel, timeResolution, blockSize, copy);
+            // header and column table, with the index offset left at zero until close
+            writer.writeFully(writer.header(0, 0), 0);
+            channel.position(TimeSeriesFile.dataOffset(copy.length));
+            return writer;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Appends one record.
+     *
+     * @param epochSecond moment of the record in seconds since the Unix epoch, not before the
+     *                    previous record
+     * @param record      one value per column
+     * @throws IOException when a full block cannot be written
+     */
+    public void append(double epochSecond, double[] record) throws IOException {
+        if (record.length != columns.length) {
+            throw new IllegalArgumentException("Expected " + columns.length + " values, got " + record.length);
+        }
+        long tick = tick(epochSecond);
+        ticks[buffered] = tick;
+        for (int c = 0; c < columns.length; c++) {
+            values[c][buffered] = record[c];
+        }
+        advance(tick);
+    }
+
+    /**
+     * Appends a range of records given as columns.
+     *
+     * @param epochSeconds moments of the records in seconds since the Unix epoch, non-decreasing
+     * @param data         one array per column, indexed like {@code epochSeconds}
+     * @param offset       index of the first record
+     * @param length       number of records
+     * @throws IOException when a full block cannot be written
+     */
+    public void append(double[] epochSeconds, double[][] data, int offset, int length) throws IOException {
+        if (data.length != columns.length) {
+            throw new IllegalArgumentException("Expected " + columns.length + " columns, got " + data.length);
+        }
+        Objects.checkFromIndexSize(offset, length, epochSeconds.length);
+        for (double[] column : data) {
+            Objects.checkFromIndexSize(offset, length, column.length);
+        }
+        for (int i = offset, end = offset + length; i < end; i++) {
+            long tick = tick(epochSeconds[i]);
+            ticks[buffered] = tick;
+            for (int c = 0; c < columns.length; c++) {
+                values[c][buffered] = data[c][i];
+            }
+            advance(tick);
+        }
+    }
+
+    /** @return the number of records appended so far */
+    public long records() {
+        return records;
+    }
+
+    /**
+     * Writes the last block, the block index and the header, and closes the file.
+     *
+     * @throws IOException when the file cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (buffered > 0) {
+                flush();
+            }
+            long indexOffset = channel.position();
+            for (ByteBuffer entry : index) {
+                writeFully(entry, channel.position());
+                channel.position(channel.position() + entry.capacity());
+            }
+            channel.force(false);
+            writeFully(header(records, indexOffset), 0);
+            channel.force(true);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private long tick(double epochSecond) {
+        if (closed) {
+            throw new IllegalStateException("Writer is closed");
+        }
+        double scaled = Math.rint(epochSecond / timeResolution);
+        if (!(Math.abs(scaled) < 0x1p62)) {
+            throw new IllegalArgumentException("Timestamp out of range: " + epochSecond);
+        }
+        long tick = (long) scaled;
+        if (tick < lastTick) {
+            throw new IllegalArgumentException("Timestamp " + epochSecond + " is before the previous record");
+        }
+        return tick;
+    }
+
+    private void advance(long tick) throws IOException {
+        lastTick = tick;
+        records++;
+        if (++buffered == blockSize) {
+            flush();
+        }
+    }
+
+    /** Encodes the buffered records as one block and its index entry. */
+    private void flush() throws IOException {
+        long start = Metrics.start();
+        ByteBuffer entry = ByteBuffer.allocate(TimeSeriesFile.indexEntrySize(columns.length))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        entry.putLong(0, channel.position());
+        entry.putLong(8, ticks[0]);
+        entry.putLong(16, ticks[buffered - 1]);
+        entry.putInt(24, buffered);
+        block.clear();
+        for (int i = 1; i < buffered; i++) {
+            long delta = ticks[i] - ticks[i - 1];
+            // deltas are never negative, so plain LEB128 is used without zigzag
+            while ((delta & ~0x7FL) != 0) {
+                block.put((byte) ((delta & 0x7F) | 0x80));
+                delta >>>= 7;
+            }
+            block.put((byte) delta);
+        }
+        entry.putInt(28, block.position());
+        block.position(TimeSeriesFile.align(block.position()));
+        for (int c = 0; c < columns.length; c++) {
+            TimeSeriesColumn column = columns[c];
+            double[] data = values[c];
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < buffered; i++) {
+                double stored;
+                switch (column.type()) {
+                    case FLOAT64:
+                        stored = data[i];
+                        block.putDouble(stored);
+                        break;
+                    case FLOAT32:
+                        float f = (float) data[i];
+                        stored = f;
+                        block.putFloat(f);
+                        break;
+                    default:
+                        int q = column.quantize(data[i]);
+                        stored = column.dequantize(q);
+                        block.putShort((short) q);
+                        break;
+                }
+                // statistics of the stored values, so that they agree with what readers decode
+                if (stored < min) {
+                    min = stored;
+                }
+                if (stored > max) {
+                    max = stored;
+                }
+            }
+            block.position(TimeSeriesFile.align(block.position()));
+            entry.putDouble(TimeSeriesFile.INDEX_ENTRY_SIZE + 16 * c, min > max ? Double.NaN : min);
+            entry.putDouble(TimeSeriesFile.INDEX_ENTRY_SIZE + 16 * c + 8, min > max ? Double.NaN : max);
+        }
+        block.flip();
+        long position = channel.position();
+        writeFully(block, position);
+        channel.position(position + block.limit());
+        index.add(entry);
+        Metrics.record(Stage.IO, start, buffered);
+        buffered = 0;
+    }
+
+    private ByteBuffer header(long records, long indexOffset) {
+        ByteBuffer header = ByteBuffer.allocate(TimeSeriesFile.dataOffset(columns.length)).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(0, TimeSeriesFile.MAGIC);
+        header.putInt(8, TimeSeriesFile.VERSION);
+        header.putInt(12, TimeSeriesFile.HEADER_SIZE);
+        header.putInt(16, columns.length);
+        header.putInt(20, blockSize);
+        header.putLong(24, records);
+        header.putLong(32, indexOffset);
+        header.putDouble(40, timeResolution);
+        header.putInt(48, index.size());
+        for (int c = 0; c < columns.length; c++) {
+            int base = TimeSeriesFile.HEADER_SIZE + c * TimeSeriesFile.COLUMN_ENTRY_SIZE;
+            header.put(base, columns[c].name().getBytes(StandardCharsets.US_ASCII));
+            header.putInt(base + 16, columns[c].type().ordinal());
+            header.putDouble(base + 24, columns[c].scale());
+            header.putDouble(base + 32, columns[c].offset());
+        }
+        return header;
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package io.github.wjvanhoek.jsolar.transposition;
+
+import io.github.wjvanhoek.jsolar.metrics.Metrics;
+import io.github.wjvanhoek.jsolar.metrics.Stage;
+import io.github.wjvanhoek.jsolar.position.SolarGeometry;
+
+/**
+ * The sky model of Hay and Davies (1980): a circumsolar part, proportional to the anisotropy
+ * index {@code DNI / extraterrestrial}, that behaves like beam irradiance, and an isotropic rest.
+ */
+public final class HayDavies implements TranspositionModel {
+
+    /** The model has no parameters, so one instance suffices. */
+    public static final HayDavies INSTANCE = new HayDavies();
+
+    /** Lower bound of the cosine of the zenith angle in the beam ratio, cos 89°. */
+    private static final double MIN_COS_ZENITH = Math.cos(Math.toRadians(89.0));
+
+    private HayDavies() {
+    }
+
+    @Override
+    public void transpose(SkyState sky, Orientations orientations, PlaneOfArray out) {
+        long start = Metrics.start();
+        Transposition.beamAndGround(sky, orientations, out);
+        int n = orientations.size();
+        double dhi = sky.diffuseHorizontal;
+        double anisotropy = sky.cosZenith > 0.0
+                ? sky.directNormal / (SolarGeometry.SOLAR_CONSTANT * sky.eccentricityCorrection) : 0.0;
+        double circumsolar = dhi * anisotropy / Math.max(sky.cosZenith, MIN_COS_ZENITH);
+        double isotropic = dhi * (1.0 - anisotropy);
+        double[] view = orientations.skyViewFactor;
+        double[] cosAoi = out.cosAngleOfIncidence();
+        double[] diffuse = out.skyDiffuse();
+        for (int i = 0; i < n; i++) {
+            diffuse[i] = circumsolar * Math.max(cosAoi[i], 0.0) + isotropic * view[i];
+        }
+        Transposition.sum(n, out);
+        Metrics.record(Stage.TRANSPOSITION, start, n);
+    }
+
+    @Override
+    public String toString() {
+        return "HayDavies";
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.wjvanhoek.jsolar.transposition;
+
+import io.github.wjvanhoek.jsolar.metrics.Metrics;
+import io.github.wjvanhoek.jsolar.metrics.Stage;
+
+/**
+ * The isotropic sky of Liu and Jordan (1963): diffuse irradiance comes uniformly from the sky
+ * dome, weighted by the view factor of the panel.
+ */
+public final class Isotropic implements TranspositionModel {
+
+    /** The model has no parameters, so one instance suffices. */
+    public static final Isotropic INSTANCE = new Isotropic();
+
+    private Isotropic() {
+    }
+
+    @Override
+    public void transpose(SkyState sky, Orientations orientations, PlaneOfArray out) {
+        long start = Metrics.start();
+        Transposition.beamAndGround(sky, orientations, out);
+        int n = orientations.size();
+        double dhi = sky.diffuseHorizontal;
+        double[] view = orientations.skyViewFactor;
+        double[] diffuse = out.skyDiffuse();
+        for (int i = 0; i < n; i++) {
+            diffuse[i] = dhi * view[i];
+        }
+        Transposition.sum(n, out);
+        Metrics.record(Stage.TRANSPOSITION, start, n);
+    }
+
+    @Override
+    public String toString() {
+        return "Isotropic";
+    }
+}
@@ -0,0 +1,91 @@
+package io.github.wjvanhoek.jsolar.transposition;
+
+import java.util.Objects;
+
+/**
+ * A set of panel orientations, stored as arrays of the trigonometric terms the transposition
+ * models need so that all orientations can be evaluated in one pass. Immutable.
+ */
+public final class Orientations {
+
+    private final double[] tilt;
+    private final double[] azimuth;
+    final double[] cosTilt;
+    final double[] sinTilt;
+    final double[] sinTiltCosAzimuth;
+    final double[] sinTiltSinAzimuth;
+    final double[] skyViewFactor;
+    final double[] groundViewFactor;
+
+    /**
+     * Creates a set of orientations.
+     *
+     * @param tilt    tilt from horizontal per orientation, in degrees
+     * @param azimuth azimuth of the surface normal per orientation, in degrees clockwise from north
+     */
+    public Orientations(double[] tilt, double[] azimuth) {
+        if (tilt.length != azimuth.length) {
+            throw new IllegalArgumentException("Tilt and azimuth arrays must have the same length");
+        }
+        int n = tilt.length;
+        this.tilt = tilt.clone();
+        this.azimuth = azimuth.clone();
+        cosTilt = new double[n];
+        sinTilt = new double[n];
+        sinTiltCosAzimuth = new double[n];
+        sinTiltSinAzimuth = new double[n];
+        skyViewFactor = new double[n];
+        groundViewFactor = new double[n];
+        for (int i = 0; i < n; i++) {
+            double beta = Math.toRadians(tilt[i]);
+            double gamma = Math.toRadians(azimuth[i]);
+            cosTilt[i] = Math.cos(beta);
+            sinTilt[i] = Math.sin(beta);
+            sinTiltCosAzimuth[i] = sinTilt[i] * Math.cos(gamma);
+            sinTiltSinAzimuth[i] = sinTilt[i] * Math.sin(gamma);
+            skyViewFactor[i] = 0.5 * (1.0 + cosTilt[i]);
+            groundViewFactor[i] = 0.5 * (1.0 - cosTilt[i]);
+        }
+    }
+
+    /**
+     * Creates every combination of the given tilts and azimuths, tilts varying slowest.
+     *
+     * @param tilts    tilts in degrees
+     * @param azimuths azimuths in degrees
+     * @return the orientations
+     */
+    public static Orientations grid(double[] tilts, double[] azimuths) {
+        Objects.requireNonNull(tilts, "tilts");
+        double[] tilt = new double[tilts.length * azimuths.length];
+        double[] azimuth = new double[tilt.length];
+        for (int i = 0; i < tilts.length; i++) {
+            for (int j = 0; j < azimuths.length; j++) {
+                tilt[i * azimuths.length + j] = tilts[i];
+                azimuth[i * azimuths.length + j] = azimuths[j];
+            }
+        }
+        return new Orientations(tilt, azimuth);
+    }
+
+    /** @return the number of orientations */
+    public int size() {
+        return tilt.length;
+    }
+
+    /**
+     * @param index orientation index
+     * @return the tilt in degrees
+     */
+    public double tilt(int index) {
+        return tilt[index];
+    }
+
+    /**
+     * @param index orientation index
+     * @return the azimuth in degrees clockwise from north
+     */
+    public double azimuth(int index) {
+        return azimuth[index];
+    }
+}
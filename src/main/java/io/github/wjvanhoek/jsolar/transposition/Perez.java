@@ -0,0 +1,86 @@
+package io.github.wjvanhoek.jsolar.transposition;
+
+import io.github.wjvanhoek.jsolar.atmosphere.Atmosphere;
+import io.github.wjvanhoek.jsolar.metrics.Metrics;
+import io.github.wjvanhoek.jsolar.metrics.Stage;
+import io.github.wjvanhoek.jsolar.position.SolarGeometry;
+
+/**
+ * The anisotropic sky model of Perez et al. (1990) with circumsolar and horizon brightening,
+ * using the 1988 "all sites composite" coefficient set.
+ */
+public final class Perez implements TranspositionModel {
+
+    /** The model has no parameters besides its coefficients, so one instance suffices. */
+    public static final Perez INSTANCE = new Perez();
+
+    /** Upper bounds of the sky clearness bins; the last bin is open. */
+    private static final double[] CLEARNESS_BINS = {1.065, 1.23, 1.5, 1.95, 2.8, 4.5, 6.2};
+
+    /** Coefficients f11, f12, f13, f21, f22, f23 per clearness bin. */
+    private static final double[][] COEFFICIENTS = {
+            {-0.0083117, 0.5877285, -0.0620636, -0.0596012, 0.0721249, -0.0220216},
+            {0.1299457, 0.6825954, -0.1513752, -0.0189325, 0.0659650, -0.0288748},
+            {0.3296958, 0.4868735, -0.2210958, 0.0554140, -0.0639588, -0.0260542},
+            {0.5682053, 0.1874525, -0.2951290, 0.1088631, -0.1519229, -0.0139754},
+            {0.8730280, -0.3920403, -0.3616149, 0.2255647, -0.4620442, 0.0012448},
+            {1.1326077, -1.2367284, -0.4118494, 0.2877813, -0.8230357, 0.0558651},
+            {1.0601591, -1.5999137, -0.3589221, 0.2642124, -1.1272340, 0.1310694},
+            {0.6777470, -0.3272588, -0.2504286, 0.1561313, -1.3765031, 0.2506212},
+    };
+
+    /** Lower bound of the cosine of the zenith angle in the circumsolar term, cos 85°. */
+    private static final double MIN_COS_ZENITH = Math.cos(Math.toRadians(85.0));
+
+    private static final double KAPPA = 1.041;
+
+    private Perez() {
+    }
+
+    @Override
+    public void transpose(SkyState sky, Orientations orientations, PlaneOfArray out) {
+        long start = Metrics.start();
+        Transposition.beamAndGround(sky, orientations, out);
+        int n = orientations.size();
+        double dhi = sky.diffuseHorizontal;
+        double circumsolar = 0.0;
+        double isotropic = dhi;
+        double horizon = 0.0;
+        if (dhi > 0.0 && sky.cosZenith > 0.0) {
+            double z = sky.zenith;
+            double z3 = KAPPA * z * z * z;
+            double clearness = ((dhi + sky.directNormal) / dhi + z3) / (1.0 + z3);
+            double brightness = dhi * Atmosphere.relativeAirmass(sky.cosZenith)
+                    / (SolarGeometry.SOLAR_CONSTANT * sky.eccentricityCorrection);
+            double[] f = COEFFICIENTS[bin(clearness)];
+            double f1 = Math.max(0.0, f[0] + f[1] * brightness + f[2] * z);
+            double f2 = f[3] + f[4] * brightness + f[5] * z;
+            circumsolar = dhi * f1 / Math.max(sky.cosZenith, MIN_COS_ZENITH);
+            isotropic = dhi * (1.0 - f1);
+            horizon = dhi * f2;
+        }
+        double[] view = orientations.skyViewFactor;
+        double[] sinTilt = orientations.sinTilt;
+        double[] cosAoi = out.cosAngleOfIncidence();
+        double[] diffuse = out.skyDiffuse();
+        for (int i = 0; i < n; i++) {
+            diffuse[i] = Math.max(0.0,
+                    circumsolar * Math.max(cosAoi[i], 0.0) + isotropic * view[i] + horizon * sinTilt[i]);
+        }
+        Transposition.sum(n, out);
+        Metrics.record(Stage.TRANSPOSITION, start, n);
+    }
+
+    private static int bin(double clearness) {
+        int bin = 0;
+        while (bin < CLEARNESS_BINS.length && clearness >= CLEARNESS_BINS[bin]) {
+            bin++;
+        }
+        return bin;
+    }
+
+    @Override
+    public String toString() {
+        return "Perez";
+    }
+}
@@ -0,0 +1,58 @@
+package io.github.wjvanhoek.jsolar.transposition;
+
+/**
+ * Structure-of-arrays holder for the plane-of-array irradiance of every orientation of an
+ * {@link Orientations} set at one timestep. Reused across timesteps; the accessors return the
+ * backing arrays.
+ */
+public final class PlaneOfArray {
+
+    private final double[] cosAngleOfIncidence;
+    private final double[] beam;
+    private final double[] skyDiffuse;
+    private final double[] groundReflected;
+    private final double[] global;
+
+    /**
+     * Creates a holder.
+     *
+     * @param capacity number of orientations it can hold
+     */
+    public PlaneOfArray(int capacity) {
+        cosAngleOfIncidence = new double[capacity];
+        beam = new double[capacity];
+        skyDiffuse = new double[capacity];
+        groundReflected = new double[capacity];
+        global = new double[capacity];
+    }
+
+    /** @return the number of orientations it can hold */
+    public int capacity() {
+        return global.length;
+    }
+
+    /** @return the cosine of the angle of incidence of the beam, negative when the Sun is behind the panel */
+    public double[] cosAngleOfIncidence() {
+        return cosAngleOfIncidence;
+    }
+
+    /** @return the beam irradiance in the plane of array in W/m² */
+    public double[] beam() {
+        return beam;
+    }
+
+    /** @return the sky diffuse irradiance in the plane of array in W/m² */
+    public double[] skyDiffuse() {
+        return skyDiffuse;
+    }
+
+    /** @return the ground-reflected irradiance in the plane of array in W/m² */
+    public double[] groundReflected() {
+        return groundReflected;
+    }
+
+    /** @return the total irradiance in the plane of array in W/m² */
+    public double[] global() {
+        return global;
+    }
+}
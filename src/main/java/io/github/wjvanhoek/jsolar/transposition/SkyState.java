@@ -0,0 +1,66 @@
+package io.github.wjvanhoek.jsolar.transposition;
+
+import io.github.wjvanhoek.jsolar.position.SolarPositionBatch;
+
+/**
+ * Mutable holder for everything the transposition models need that depends on the Sun and sky
+ * but not on the panel: position of the Sun, irradiance components and ground albedo. It is
+ * filled once per timestep and shared by all orientations.
+ */
+public final class SkyState {
+
+    double cosZenith;
+    double zenith;
+    double sunX;
+    double sunY;
+    double directNormal;
+    double diffuseHorizontal;
+    double globalHorizontal;
+    double eccentricityCorrection;
+    double albedo;
+
+    /**
+     * Fills this holder.
+     *
+     * @param cosZenith              cosine of the solar zenith angle
+     * @param azimuth                solar azimuth in radians, clockwise from north
+     * @param eccentricityCorrection eccentricity correction of the Earth's orbit
+     * @param directNormal           direct normal irradiance in W/m²
+     * @param diffuseHorizontal      diffuse horizontal irradiance in W/m²
+     * @param globalHorizontal       global horizontal irradiance in W/m²
+     * @param albedo                 ground albedo
+     * @return this holder
+     */
+    public SkyState set(double cosZenith, double azimuth, double eccentricityCorrection, double directNormal,
+                        double diffuseHorizontal, double globalHorizontal, double albedo) {
+        this.cosZenith = cosZenith;
+        this.zenith = Math.acos(Math.max(-1.0, Math.min(1.0, cosZenith)));
+        double sinZenith = Math.sin(zenith);
+        this.sunX = sinZenith * Math.cos(azimuth);
+        this.sunY = sinZenith * Math.sin(azimuth);
+        this.eccentricityCorrection = eccentricityCorrection;
+        this.directNormal = directNormal;
+        this.diffuseHorizontal = diffuseHorizontal;
+        this.globalHorizontal = globalHorizontal;
+        this.albedo = albedo;
+        return this;
+    }
+
+    /**
+     * Fills this holder from one sample of pipeline arrays.
+     *
+     * @param positions         position of the Sun per sample
+     * @param directNormal      direct normal irradiance in W/m² per sample
+     * @param diffuseHorizontal diffuse horizontal irradiance in W/m² per sample
+     * @param globalHorizontal  global horizontal irradiance in W/m² per sample
+     * @param albedo            ground albedo
+     * @param index             index of the sample
+     * @return this holder
+     */
+    public SkyState set(SolarPositionBatch positions, double[] directNormal, double[] diffuseHorizontal,
+                        double[] globalHorizontal, double albedo, int index) {
+        return set(positions.cosZenith()[index], positions.azimuth()[index],
+                positions.eccentricityCorrection()[index], directNormal[index], diffuseHorizontal[index],
+                globalHorizontal[index], albedo);
+    }
+}
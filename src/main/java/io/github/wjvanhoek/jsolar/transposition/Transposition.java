@@ -0,0 +1,49 @@
+package io.github.wjvanhoek.jsolar.transposition;
+
+/**
+ * The parts of transposition shared by all sky diffuse models.
+ */
+final class Transposition {
+
+    private Transposition() {
+    }
+
+    /**
+     * Fills the angle of incidence, beam and ground-reflected components of every orientation.
+     */
+    static void beamAndGround(SkyState sky, Orientations orientations, PlaneOfArray out) {
+        int n = orientations.size();
+        if (out.capacity() < n) {
+            throw new IllegalArgumentException("Output holds " + out.capacity() + " orientations, need " + n);
+        }
+        double cosZenith = sky.cosZenith;
+        double sunX = sky.sunX;
+        double sunY = sky.sunY;
+        double dni = sky.cosZenith > 0.0 ? sky.directNormal : 0.0;
+        double reflected = sky.globalHorizontal * sky.albedo;
+        double[] cosTilt = orientations.cosTilt;
+        double[] x = orientations.sinTiltCosAzimuth;
+        double[] y = orientations.sinTiltSinAzimuth;
+        double[] groundView = orientations.groundViewFactor;
+        double[] cosAoi = out.cosAngleOfIncidence();
+        double[] beam = out.beam();
+        double[] ground = out.groundReflected();
+        for (int i = 0; i < n; i++) {
+            double c = cosZenith * cosTilt[i] + sunX * x[i] + sunY * y[i];
+            cosAoi[i] = c;
+            beam[i] = dni * Math.max(c, 0.0);
+            ground[i] = reflected * groundView[i];
+        }
+    }
+
+    /** Sums the components into the global plane-of-array irradiance. */
+    static void sum(int n, PlaneOfArray out) {
+        double[] beam = out.beam();
+        double[] sky = out.skyDiffuse();
+        double[] ground = out.groundReflected();
+        double[] global = out.global();
+        for (int i = 0; i < n; i++) {
+            global[i] = beam[i] + sky[i] + ground[i];
+        }
+    }
+}
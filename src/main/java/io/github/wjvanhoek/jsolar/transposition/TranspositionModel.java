@@ -0,0 +1,20 @@
+package io.github.wjvanhoek.jsolar.transposition;
+
+/**
+ * Transposes horizontal irradiance to tilted planes. Implementations are thread-safe and do not
+ * allocate.
+ * <p>
+ * The terms that only depend on the Sun and sky are computed once per call; the loop over the
+ * orientations is branch-free arithmetic on arrays, which the JIT compiles to SIMD code.
+ */
+public interface TranspositionModel {
+
+    /**
+     * Computes the plane-of-array irradiance of every orientation at one timestep.
+     *
+     * @param sky          Sun position and horizontal irradiance components
+     * @param orientations the panel orientations
+     * @param out          receives the plane-of-array irradiance, per orientation
+     */
+    void transpose(SkyState sky, Orientations orientations, PlaneOfArray out);
+}
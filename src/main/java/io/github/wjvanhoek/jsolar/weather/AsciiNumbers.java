@@ -0,0 +1,118 @@
+package io.github.wjvanhoek.jsolar.weather;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parses decimal numbers straight from ASCII bytes, without creating strings.
+ */
+final class AsciiNumbers {
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final int MAX_DIGITS = 15;
+
+    private AsciiNumbers() {
+    }
+
+    /**
+     * Parses a decimal number such as {@code -12.5} or {@code 1.2e3}, ignoring surrounding blanks.
+     * Numbers of at most 15 significant digits and exponents up to 22 are computed with a single
+     * exactly rounded operation; anything else falls back to {@link Double#parseDouble(String)}.
+     *
+     * @param bytes the bytes
+     * @param from  index of the first byte
+     * @param to    index after the last byte
+     * @return the number, or NaN when the field is empty
+     * @throws NumberFormatException when the field is not a number
+     */
+    static double parseDouble(byte[] bytes, int from, int to) {
+        while (from < to && bytes[from] == ' ') {
+            from++;
+        }
+        while (to > from && (bytes[to - 1] == ' ' || bytes[to - 1] == '\r')) {
+            to--;
+        }
+        if (from == to) {
+            return Double.NaN;
+        }
+        int i = from;
+        boolean negative = false;
+        if (bytes[i] == '-' || bytes[i] == '+') {
+            negative = bytes[i] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean any = false;
+        for (; i < to && bytes[i] >= '0' && bytes[i] <= '9'; i++) {
+            mantissa = mantissa * 10 + (bytes[i] - '0');
+            digits += mantissa == 0 ? 0 : 1;
+            any = true;
+        }
+        if (i < to && bytes[i] == '.') {
+            for (i++; i < to && bytes[i] >= '0' && bytes[i] <= '9'; i++) {
+                mantissa = mantissa * 10 + (bytes[i] - '0');
+                digits += mantissa == 0 ? 0 : 1;
+                scale--;
+                any = true;
+            }
+        }
+        if (any && i < to && (bytes[i] == 'e' || bytes[i] == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < to && (bytes[i] == '-' || bytes[i] == '+')) {
+                negativeExponent = bytes[i] == '-';
+                i++;
+            }
+            int exponent = 0;
+            int start = i;
+            for (; i < to && bytes[i] >= '0' && bytes[i] <= '9' && exponent < 10_000; i++) {
+                exponent = exponent * 10 + (bytes[i] - '0');
+            }
+            if (i == start) {
+                any = false;
+            }
+            scale += negativeExponent ? -exponent : exponent;
+        }
+        if (!any || i != to || digits > MAX_DIGITS || scale < -22 || scale > 22) {
+            return Double.parseDouble(new String(bytes, from, to - from, StandardCharsets.US_ASCII));
+        }
+        double value = scale < 0 ? mantissa / POWERS_OF_TEN[-scale] : mantissa * POWERS_OF_TEN[scale];
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parses a non-negative integer of at most nine digits.
+     *
+     * @param bytes the bytes
+     * @param from  index of the first byte
+     * @param to    index after the last byte
+     * @return the integer
+     * @throws NumberFormatException when the field is not such an integer
+     */
+    static int parseInt(byte[] bytes, int from, int to) {
+        while (from < to && bytes[from] == ' ') {
+            from++;
+        }
+        while (to > from && bytes[to - 1] == ' ') {
+            to--;
+        }
+        if (from == to || to - from > 9) {
+            throw new NumberFormatException("Not an integer: " + new String(bytes, from, to - from,
+                    StandardCharsets.US_ASCII));
+        }
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("Not an integer: " + new String(bytes, from, to - from,
+                        StandardCharsets.US_ASCII));
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
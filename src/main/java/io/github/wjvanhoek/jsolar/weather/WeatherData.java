@@ -0,0 +1,166 @@
+package io.github.wjvanhoek.jsolar.weather;
+
+import io.github.wjvanhoek.jsolar.position.SolarPositionBatch;
+import io.github.wjvanhoek.jsolar.position.SolarPositionEngine;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Columnar weather records of one site, as read by {@link WeatherFileReader}.
+ * <p>
+ * Record {@code i} is stored at index {@code i} of every array, for {@code i < size()}, so the
+ * irradiance columns can be handed to the decomposition and transposition stages together with a
+ * {@link SolarPositionBatch} from {@link #solarPositions(SolarPositionEngine)}. Each record
+ * describes an interval of {@link #intervalSeconds()}; its moment is the centre of the interval.
+ * Missing values are NaN. The accessors return the backing arrays themselves, which may be longer
+ * than {@link #size()}.
+ */
+public final class WeatherData {
+
+    private final String name;
+    private final double latitude;
+    private final double longitude;
+    private final double timeZone;
+    private final double elevation;
+    private final double intervalSeconds;
+    private int size;
+    private double[] epochSecond;
+    private double[] ghi;
+    private double[] dni;
+    private double[] dhi;
+    private double[] temperature;
+    private double[] dewPoint;
+    private double[] pressure;
+    private double[] windSpeed;
+
+    WeatherData(String name, double latitude, double longitude, double timeZone, double elevation,
+                double intervalSeconds, int capacity) {
+        this.name = Objects.requireNonNull(name, "name");
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.timeZone = timeZone;
+        this.elevation = elevation;
+        this.intervalSeconds = intervalSeconds;
+        this.epochSecond = new double[capacity];
+        this.ghi = new double[capacity];
+        this.dni = new double[capacity];
+        this.dhi = new double[capacity];
+        this.temperature = new double[capacity];
+        this.dewPoint = new double[capacity];
+        this.pressure = new double[capacity];
+        this.windSpeed = new double[capacity];
+    }
+
+    /** Appends a record, growing the arrays when needed, and returns its index. */
+    int add() {
+        if (size == epochSecond.length) {
+            int capacity = Math.max(16, 2 * size);
+            epochSecond = Arrays.copyOf(epochSecond, capacity);
+            ghi = Arrays.copyOf(ghi, capacity);
+            dni = Arrays.copyOf(dni, capacity);
+            dhi = Arrays.copyOf(dhi, capacity);
+            temperature = Arrays.copyOf(temperature, capacity);
+            dewPoint = Arrays.copyOf(dewPoint, capacity);
+            pressure = Arrays.copyOf(pressure, capacity);
+            windSpeed = Arrays.copyOf(windSpeed, capacity);
+        }
+        return size++;
+    }
+
+    /**
+     * Computes the position of the Sun at the moment of every record.
+     *
+     * @param engine the solar position engine
+     * @return the positions, indexed like the records
+     */
+    public SolarPositionBatch solarPositions(SolarPositionEngine engine) {
+        double[] latitudes = new double[size];
+        double[] longitudes = new double[size];
+        Arrays.fill(latitudes, latitude);
+        Arrays.fill(longitudes, longitude);
+        SolarPositionBatch positions = new SolarPositionBatch(size);
+        engine.compute(epochSecond, latitudes, longitudes, positions, 0, size);
+        return positions;
+    }
+
+    /** @return the name of the site */
+    public String name() {
+        return name;
+    }
+
+    /** @return the latitude of the site in degrees */
+    public double latitude() {
+        return latitude;
+    }
+
+    /** @return the longitude of the site in degrees */
+    public double longitude() {
+        return longitude;
+    }
+
+    /** @return the offset of local standard time from UTC in hours */
+    public double timeZone() {
+        return timeZone;
+    }
+
+    /** @return the elevation of the site in m */
+    public double elevation() {
+        return elevation;
+    }
+
+    /** @return the length of the interval described by each record, in seconds */
+    public double intervalSeconds() {
+        return intervalSeconds;
+    }
+
+    /** @return the number of records */
+    public int size() {
+        return size;
+    }
+
+    /** @return the centre of the interval of each record, in seconds since the Unix epoch (UTC) */
+    public double[] epochSecond() {
+        return epochSecond;
+    }
+
+    /** @return the global horizontal irradiance in W/m² (mean over the interval) */
+    public double[] ghi() {
+        return ghi;
+    }
+
+    /** @return the direct normal irradiance in W/m² (mean over the interval) */
+    public double[] dni() {
+        return dni;
+    }
+
+    /** @return the diffuse horizontal irradiance in W/m² (mean over the interval) */
+    public double[] dhi() {
+        return dhi;
+    }
+
+    /** @return the dry-bulb air temperature in °C */
+    public double[] temperature() {
+        return temperature;
+    }
+
+    /** @return the dew-point temperature in °C */
+    public double[] dewPoint() {
+        return dewPoint;
+    }
+
+    /** @return the station pressure in Pa */
+    public double[] pressure() {
+        return pressure;
+    }
+
+    /** @return the wind speed in m/s */
+    public double[] windSpeed() {
+        return windSpeed;
+    }
+
+    @Override
+    public String toString() {
+        return "WeatherData[" + name + " (" + latitude + ", " + longitude + "), " + size + " records]";
+    }
+}
@@ -0,0 +1,276 @@
+package io.github.wjvanhoek.jsolar.weather;
+
+import io.github.wjvanhoek.jsolar.metrics.Metrics;
+import io.github.wjvanhoek.jsolar.metrics.Stage;
+import io.github.wjvanhoek.jsolar.time.EpochTime;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Streaming reader of EnergyPlus weather (EPW) and TMY3 files into {@link WeatherData}.
+ * <p>
+ * Files are read through a {@link FileChannel} in blocks of {@value #BUFFER_SIZE} bytes. Lines are
+ * split on commas into field offsets and the numeric fields are parsed directly from the bytes, so
+ * the only objects created per file are the result arrays and the strings of the header. A reader
+ * reuses its buffers from file to file; instances are not thread-safe, so use one per thread when
+ * reading many sites.
+ * <p>
+ * Times in both formats are local standard time at the end of each interval; they are converted
+ * to UTC with the time zone of the header and shifted to the centre of the interval.
+ */
+public final class WeatherFileReader {
+
+    /** Size of the read buffer in bytes. */
+    public static final int BUFFER_SIZE = 1 << 16;
+
+    /** Records per file assumed for the initial capacity: one leap year of hours. */
+    private static final int INITIAL_CAPACITY = 8784;
+    private static final int EPW_FIELDS = 22;
+    private static final int TMY3_FIELDS = 47;
+    private static final double SECONDS_PER_HOUR = 3600.0;
+
+    private final byte[] block = new byte[BUFFER_SIZE];
+    private final ByteBuffer blockBuffer = ByteBuffer.wrap(block);
+    private int blockPosition;
+    private int blockLimit;
+    private FileChannel channel;
+    private Path path;
+    private long lineNumber;
+
+    private byte[] line = new byte[512];
+    private int lineLength;
+    private int[] starts = new int[64];
+    private int[] ends = new int[64];
+    private int fields;
+
+    /**
+     * Reads an EPW file.
+     *
+     * @param path the file
+     * @return the records of the file
+     * @throws IOException when the file cannot be read or is malformed
+     */
+    public WeatherData readEpw(Path path) throws IOException {
+        long start = Metrics.start();
+        open(path);
+        try {
+            if (!nextLine() || !field(0).equals("LOCATION") || fields < 10) {
+                throw malformed("expected a LOCATION header", null);
+            }
+            String name = field(1);
+            double latitude = number(6);
+            double longitude = number(7);
+            double timeZone = number(8);
+            double elevation = number(9);
+            double interval = SECONDS_PER_HOUR;
+            do {
+                if (!nextLine()) {
+                    throw malformed("expected a DATA PERIODS header", null);
+                }
+            } while (!field(0).equals("DATA PERIODS"));
+            if (fields > 2) {
+                interval = SECONDS_PER_HOUR / integer(2);
+            }
+            WeatherData data = new WeatherData(name, latitude, longitude, timeZone, elevation, interval,
+                    (int) (INITIAL_CAPACITY * SECONDS_PER_HOUR / interval));
+            double zoneOffset = timeZone * SECONDS_PER_HOUR + 0.5 * interval;
+            while (nextLine()) {
+                if (lineLength == 0) {
+                    continue;
+                }
+                if (fields < EPW_FIELDS) {
+                    throw malformed("expected " + EPW_FIELDS + " fields, found " + fields, null);
+                }
+                int minute = integer(4);
+                double end = EpochTime.epochDay(integer(0), integer(1), integer(2)) * EpochTime.SECONDS_PER_DAY
+                        + (integer(3) - 1) * SECONDS_PER_HOUR + (minute == 0 ? 60 : minute) * 60.0;
+                int i = data.add();
+                data.epochSecond()[i] = end - zoneOffset;
+                data.temperature()[i] = missingFrom(number(6), 99.9);
+                data.dewPoint()[i] = missingFrom(number(7), 99.9);
+                data.pressure()[i] = missingFrom(number(9), 999_999.0);
+                data.ghi()[i] = missingFrom(number(13), 9999.0);
+                data.dni()[i] = missingFrom(number(14), 9999.0);
+                data.dhi()[i] = missingFrom(number(15), 9999.0);
+                data.windSpeed()[i] = missingFrom(number(21), 999.0);
+            }
+            Metrics.record(Stage.IO, start, data.size());
+            return data;
+        } catch (NumberFormatException e) {
+            throw malformed(e.getMessage(), e);
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * Reads a TMY3 file (the CSV format of the NSRDB, with a site line and a column header line).
+     *
+     * @param path the file
+     * @return the records of the file
+     * @throws IOException when the file cannot be read or is malformed
+     */
+    public WeatherData readTmy3(Path path) throws IOException {
+        long start = Metrics.start();
+        open(path);
+        try {
+            if (!nextLine() || fields < 7) {
+                throw malformed("expected a site header", null);
+            }
+            WeatherData data = new WeatherData(unquote(field(1)), number(4), number(5), number(3), number(6),
+                    SECONDS_PER_HOUR, INITIAL_CAPACITY);
+            if (!nextLine()) {
+                throw malformed("expected a column header", null);
+            }
+            double zoneOffset = data.timeZone() * SECONDS_PER_HOUR + 0.5 * SECONDS_PER_HOUR;
+            while (nextLine()) {
+                if (lineLength == 0) {
+                    continue;
+                }
+                if (fields < TMY3_FIELDS) {
+                    throw malformed("expected " + TMY3_FIELDS + " fields, found " + fields, null);
+                }
+                // MM/DD/YYYY and HH:MM, the latter running from 01:00 to 24:00
+                int date = starts[0];
+                int time = starts[1];
+                if (ends[0] - date != 10 || ends[1] - time != 5) {
+                    throw malformed("expected MM/DD/YYYY,HH:MM", null);
+                }
+                double end = EpochTime.epochDay(parseInt(date + 6, date + 10), parseInt(date, date + 2),
+                        parseInt(date + 3, date + 5)) * EpochTime.SECONDS_PER_DAY
+                        + parseInt(time, time + 2) * SECONDS_PER_HOUR + parseInt(time + 3, time + 5) * 60.0;
+                int i = data.add();
+                data.epochSecond()[i] = end - zoneOffset;
+                data.ghi()[i] = missingBelow(number(4));
+                data.dni()[i] = missingBelow(number(7));
+                data.dhi()[i] = missingBelow(number(10));
+                data.temperature()[i] = missingBelow(number(31));
+                data.dewPoint()[i] = missingBelow(number(34));
+                data.pressure()[i] = missingBelow(number(40)) * 100.0;
+                data.windSpeed()[i] = missingBelow(number(46));
+            }
+            Metrics.record(Stage.IO, start, data.size());
+            return data;
+        } catch (NumberFormatException e) {
+            throw malformed(e.getMessage(), e);
+        } finally {
+            close();
+        }
+    }
+
+    /** EPW marks missing values with 9s at or above a per-field threshold. */
+    private static double missingFrom(double value, double threshold) {
+        return value >= threshold ? Double.NaN : value;
+    }
+
+    /** TMY3 marks missing values with -9900. */
+    private static double missingBelow(double value) {
+        return value <= -9900.0 ? Double.NaN : value;
+    }
+
+    private static String unquote(String value) {
+        return value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")
+                ? value.substring(1, value.length() - 1) : value;
+    }
+
+    private void open(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.path = path;
+        this.lineNumber = 0;
+        this.blockPosition = 0;
+        this.blockLimit = 0;
+    }
+
+    private void close() throws IOException {
+        FileChannel open = channel;
+        channel = null;
+        open.close();
+    }
+
+    /** Reads the next line into {@link #line} and splits it; returns {@code false} at the end of the file. */
+    private boolean nextLine() throws IOException {
+        lineLength = 0;
+        while (true) {
+            if (blockPosition == blockLimit) {
+                blockBuffer.clear();
+                int read = channel.read(blockBuffer);
+                if (read < 0) {
+                    if (lineLength == 0) {
+                        return false;
+                    }
+                    break;
+                }
+                blockPosition = 0;
+                blockLimit = read;
+            }
+            int newline = blockPosition;
+            while (newline < blockLimit && block[newline] != '\n') {
+                newline++;
+            }
+            append(blockPosition, newline);
+            blockPosition = newline;
+            if (newline < blockLimit) {
+                blockPosition++;
+                break;
+            }
+        }
+        lineNumber++;
+        if (lineLength > 0 && line[lineLength - 1] == '\r') {
+            lineLength--;
+        }
+        split();
+        return true;
+    }
+
+    private void append(int from, int to) {
+        int length = to - from;
+        if (lineLength + length > line.length) {
+            line = Arrays.copyOf(line, Math.max(2 * line.length, lineLength + length));
+        }
+        System.arraycopy(block, from, line, lineLength, length);
+        lineLength += length;
+    }
+
+    private void split() {
+        fields = 0;
+        int start = 0;
+        for (int i = 0; i <= lineLength; i++) {
+            if (i == lineLength || line[i] == ',') {
+                if (fields == starts.length) {
+                    starts = Arrays.copyOf(starts, 2 * fields);
+                    ends = Arrays.copyOf(ends, 2 * fields);
+                }
+                starts[fields] = start;
+                ends[fields] = i;
+                fields++;
+                start = i + 1;
+            }
+        }
+    }
+
+    private String field(int index) {
+        return new String(line, starts[index], ends[index] - starts[index], StandardCharsets.US_ASCII).trim();
+    }
+
+    private double number(int index) {
+        return AsciiNumbers.parseDouble(line, starts[index], ends[index]);
+    }
+
+    private int integer(int index) {
+        return AsciiNumbers.parseInt(line, starts[index], ends[index]);
+    }
+
+    private int parseInt(int from, int to) {
+        return AsciiNumbers.parseInt(line, from, to);
+    }
+
+    private IOException malformed(String message, Exception cause) {
+        return new IOException(path + ":" + lineNumber + ": " + message, cause);
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.wjvanhoek.jsolar;
+
+import io.github.wjvanhoek.jsolar.position.DailyEphemeris;
+import io.github.wjvanhoek.jsolar.position.SolarGeometry;
+import io.github.wjvanhoek.jsolar.time.EpochTime;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IrradiationIntegratorTest {
+
+    private static final GlobalRadiationCalculator CALCULATOR = new GlobalRadiationCalculator();
+
+    @Test
+    void annualMatchesOneMinuteSum() {
+        double start = EpochTime.epochDay(2023, 1, 1) * EpochTime.SECONDS_PER_DAY;
+        int minutes = 365 * 24 * 60;
+        for (double[] location : new double[][] {{-33.9, 18.4}, {52.1, 5.18}, {69.6, 18.9}}) {
+            IrradiationIntegrator integrator = CALCULATOR.integrator(location[0], location[1]);
+            SiteCalculator site = CALCULATOR.forSite(location[0], location[1]);
+            double sum = 0.0;
+            for (int i = 0; i < minutes; i++) {
+                sum += site.globalRadiation(start + 60.0 * i + 30.0);
+            }
+            double expected = sum * 60.0 / 3600.0;
+            // The 1-minute midpoint sum itself is off by a few Wh/m² per year at the sunrise and sunset kinks
+            assertEquals(expected, integrator.annual(2023), 10.0, location[0] + "°");
+        }
+    }
+
+    @Test
+    void monthsAddUpToTheYear() {
+        IrradiationIntegrator integrator = CALCULATOR.integrator(52.1, 5.18);
+        double sum = 0.0;
+        for (int month = 1; month <= 12; month++) {
+            sum += integrator.monthly(2024, month);
+        }
+        assertEquals(integrator.annual(2024), sum, 1e-6);
+        assertEquals(integrator.total(EpochTime.epochDay(2024, 2, 1), EpochTime.epochDay(2024, 3, 1)),
+                integrator.monthly(2024, 2));
+        assertThrows(IllegalArgumentException.class, () -> integrator.monthly(2024, 13));
+    }
+
+    @Test
+    void extraterrestrialDailyMatchesClosedForm() {
+        long equinox = EpochTime.epochDay(2024, 3, 20);
+        DailyEphemeris day = DailyEphemeris.of(equinox);
+        for (double latitude : new double[] {-60.0, -33.9, 0.0, 45.0, 69.6}) {
+            double phi = Math.toRadians(latitude);
+            double delta = day.declination();
+            double sunset = Math.acos(-Math.tan(phi) * Math.tan(delta));
+            double expected = 24.0 / Math.PI * SolarGeometry.SOLAR_CONSTANT * day.eccentricityCorrection()
+                    * (Math.cos(phi) * Math.cos(delta) * Math.sin(sunset) + sunset * Math.sin(phi) * Math.sin(delta));
+            double actual = CALCULATOR.integrator(latitude, 0.0).extraterrestrialDaily(equinox);
+            assertEquals(expected, actual, 1e-9, latitude + "°");
+            // With the declination near zero this is the 24 h / π Gsc E cos φ of the equinox
+            assertEquals(24.0 / Math.PI * SolarGeometry.SOLAR_CONSTANT * day.eccentricityCorrection() * Math.cos(phi),
+                    actual, 0.005 * actual + 1e-9, latitude + "°");
+            assertEquals(oneMinuteSum(day, latitude), actual, 1e-3 * actual, latitude + "°");
+        }
+    }
+
+    @Test
+    void extraterrestrialDailyAtPolarNightAndDay() {
+        long solstice = EpochTime.epochDay(2024, 12, 21);
+        assertEquals(0.0, CALCULATOR.integrator(78.2, 15.6).extraterrestrialDaily(solstice));
+        assertEquals(0.0, CALCULATOR.integrator(69.6, 18.9).extraterrestrialDaily(solstice));
+        assertEquals(0.0, CALCULATOR.integrator(78.2, 15.6).daily(solstice));
+        // Polar day on the other side: the sunset hour angle is π
+        DailyEphemeris day = DailyEphemeris.of(solstice);
+        double phi = Math.toRadians(-78.2);
+        assertEquals(24.0 * SolarGeometry.SOLAR_CONSTANT * day.eccentricityCorrection()
+                        * Math.sin(phi) * day.sinDeclination(),
+                CALCULATOR.integrator(-78.2, 0.0).extraterrestrialDaily(solstice), 1e-9);
+    }
+
+    /** Sums the extraterrestrial horizontal irradiance of a day with its constant declination, in Wh/m². */
+    private static double oneMinuteSum(DailyEphemeris day, double latitude) {
+        double phi = Math.toRadians(latitude);
+        double sum = 0.0;
+        for (int minute = 0; minute < 24 * 60; minute++) {
+            double hourAngle = Math.toRadians(0.25 * (minute + 0.5) - 180.0);
+            double cosZenith = Math.sin(phi) * day.sinDeclination()
+                    + Math.cos(phi) * day.cosDeclination() * Math.cos(hourAngle);
+            sum += SolarGeometry.SOLAR_CONSTANT * day.eccentricityCorrection() * Math.max(cosZenith, 0.0);
+        }
+        return sum / 60.0;
+    }
+}
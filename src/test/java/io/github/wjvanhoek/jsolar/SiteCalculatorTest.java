@@ -0,0 +1,110 @@
+package io.github.wjvanhoek.jsolar;
+
+import io.github.wjvanhoek.jsolar.position.Accuracy;
+import io.github.wjvanhoek.jsolar.position.SolarPositionEngine;
+import io.github.wjvanhoek.jsolar.position.SolarPositionEngines;
+import io.github.wjvanhoek.jsolar.position.SpaSolarPositionEngine;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SiteCalculatorTest {
+
+    private static final double START = 1_704_067_200.0;
+    private static final int SAMPLES = 365 * 24 * 4;
+    private static final double[] LATITUDES = {-33.9, 0.0, 52.1, 69.6, 78.2};
+    private static final double LONGITUDE = 5.2;
+
+    @Test
+    void matchesCalculatorForSpencerEngines() {
+        SolarPositionEngine[] engines = {SolarPositionEngines.scalar(), SolarPositionEngines.scalar(Accuracy.FAST),
+                SolarPositionEngines.vector()};
+        double[] epochSeconds = epochSeconds();
+        double[] out = new double[SAMPLES];
+        for (SolarPositionEngine engine : engines) {
+            GlobalRadiationCalculator calculator = new GlobalRadiationCalculator(engine);
+            for (double latitude : LATITUDES) {
+                SiteCalculator site = calculator.forSite(latitude, LONGITUDE);
+                site.globalRadiation(epochSeconds, out, 0, SAMPLES);
+                for (int i = 0; i < SAMPLES; i++) {
+                    double expected = calculator.globalRadiation(epochSeconds[i], latitude, LONGITUDE);
+                    int sample = i;
+                    assertEquals(expected, out[i], 1e-6,
+                            () -> engine.name() + " at " + latitude + "°, sample " + sample);
+                    assertEquals(out[i], site.globalRadiation(epochSeconds[i]), 1e-12);
+                }
+            }
+        }
+    }
+
+    @Test
+    void matchesCalculatorBatchForSpa() {
+        GlobalRadiationCalculator calculator = new GlobalRadiationCalculator(new SpaSolarPositionEngine());
+        double[] epochSeconds = epochSeconds();
+        double[] longitudes = new double[SAMPLES];
+        Arrays.fill(longitudes, LONGITUDE);
+        double[] latitudes = new double[SAMPLES];
+        double[] expected = new double[SAMPLES];
+        double[] out = new double[SAMPLES];
+        for (double latitude : LATITUDES) {
+            Arrays.fill(latitudes, latitude);
+            calculator.globalRadiation(epochSeconds, latitudes, longitudes, expected);
+            SiteCalculator site = calculator.forSite(latitude, LONGITUDE);
+            site.globalRadiation(epochSeconds, out, 0, SAMPLES);
+            for (int i = 0; i < SAMPLES; i++) {
+                int sample = i;
+                assertEquals(expected[i], out[i], 1e-9, () -> "SPA at " + latitude + "°, sample " + sample);
+                assertEquals(out[i], site.globalRadiation(epochSeconds[i]), 1e-12);
+                // The daily interpolation stays within 2e-5 W/m² of the exact series
+                assertEquals(calculator.globalRadiation(epochSeconds[i], latitude, LONGITUDE), out[i], 5e-5);
+            }
+        }
+    }
+
+    @Test
+    void skippingNightsMatchesEvaluatingEverySampleInPolarRegions() {
+        int minutes = 366 * 24 * 60;
+        double[] epochSeconds = new double[minutes];
+        for (int i = 0; i < minutes; i++) {
+            epochSeconds[i] = START + 60.0 * i;
+        }
+        double[] out = new double[minutes];
+        for (SolarPositionEngine engine : new SolarPositionEngine[] {SolarPositionEngines.scalar(),
+                new SpaSolarPositionEngine()}) {
+            GlobalRadiationCalculator calculator = new GlobalRadiationCalculator(engine);
+            // Tromsø and Longyearbyen, with polar night and midnight sun
+            for (double[] location : new double[][] {{69.6, 18.9}, {78.2, 15.6}}) {
+                calculator.forSite(location[0], location[1]).globalRadiation(epochSeconds, out, 0, minutes);
+                SiteCalculator site = calculator.forSite(location[0], location[1]);
+                int daylight = 0;
+                for (int i = 0; i < minutes; i++) {
+                    double t = epochSeconds[i];
+                    double expected = site.cosZenith(t) > 0.0 ? site.globalRadiation(t) : 0.0;
+                    assertEquals(expected, out[i], () -> engine.name() + " at " + location[0] + "°");
+                    daylight += expected > 0.0 ? 1 : 0;
+                }
+                assertTrue(daylight > minutes / 3 && daylight < 2 * minutes / 3, "daylight minutes " + daylight);
+            }
+        }
+    }
+
+    @Test
+    void onlySpencerEnginesShareTheDailyEphemeris() {
+        assertTrue(SolarPositionEngines.isSpencer(SolarPositionEngines.scalar()));
+        assertTrue(SolarPositionEngines.isSpencer(SolarPositionEngines.scalar(Accuracy.FAST)));
+        assertTrue(SolarPositionEngines.isSpencer(SolarPositionEngines.vector()));
+        assertFalse(SolarPositionEngines.isSpencer(new SpaSolarPositionEngine()));
+    }
+
+    private static double[] epochSeconds() {
+        double[] epochSeconds = new double[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            epochSeconds[i] = START + i * 900.0;
+        }
+        return epochSeconds;
+    }
+}
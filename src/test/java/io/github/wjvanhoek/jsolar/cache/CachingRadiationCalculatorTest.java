@@ -0,0 +1,37 @@
+package io.github.wjvanhoek.jsolar.cache;
+
+import io.github.wjvanhoek.jsolar.GlobalRadiationCalculator;
+import io.github.wjvanhoek.jsolar.position.SolarPositionEngines;
+import io.github.wjvanhoek.jsolar.position.SpaSolarPositionEngine;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class CachingRadiationCalculatorTest {
+
+    private static final double EPOCH_SECOND = 1_718_967_600.0;
+
+    @Test
+    void calculatorsWithOtherEnginesDoNotShareValues() {
+        RadiationCache cache = new RadiationCache(1 << 12);
+        GlobalRadiationCalculator spencer = new GlobalRadiationCalculator(SolarPositionEngines.scalar());
+        GlobalRadiationCalculator spa = new GlobalRadiationCalculator(new SpaSolarPositionEngine());
+        CachingRadiationCalculator first = new CachingRadiationCalculator(spencer, cache);
+        CachingRadiationCalculator second = new CachingRadiationCalculator(spa, cache);
+
+        assertEquals(spencer.globalRadiation(EPOCH_SECOND, 52.0, 5.0), first.globalRadiation(EPOCH_SECOND, 52.0, 5.0));
+        assertEquals(spa.globalRadiation(EPOCH_SECOND, 52.0, 5.0), second.globalRadiation(EPOCH_SECOND, 52.0, 5.0));
+        assertNotEquals(first.siteKey(52.0, 5.0), second.siteKey(52.0, 5.0));
+    }
+
+    @Test
+    void calculatorsWithEqualEnginesShareValues() {
+        RadiationCache cache = new RadiationCache(1 << 12);
+        CachingRadiationCalculator first = new CachingRadiationCalculator(
+                new GlobalRadiationCalculator(new SpaSolarPositionEngine()), cache);
+        CachingRadiationCalculator second = new CachingRadiationCalculator(
+                new GlobalRadiationCalculator(new SpaSolarPositionEngine()), cache);
+        assertEquals(first.siteKey(52.0, 5.0), second.siteKey(52.0, 5.0));
+    }
+}
@@ -0,0 +1,114 @@
+package io.github.wjvanhoek.jsolar.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RadiationCacheTest {
+
+    @Test
+    void burstOfOneOffKeysKeepsProtectedEntries() {
+        RadiationCache cache = new RadiationCache(100, 1);
+        for (long key = 0; key < 50; key++) {
+            cache.put(key, 0, key);
+            assertEquals(key, cache.get(key, 0));
+        }
+        for (long key = 1000; key < 2000; key++) {
+            cache.put(key, 0, key);
+        }
+        for (long key = 0; key < 50; key++) {
+            assertEquals(key, cache.get(key, 0), "hot key " + key);
+        }
+        // the 50 free slots took the first one-off keys; every later one evicted the oldest of them
+        CacheStats stats = cache.stats();
+        assertEquals(950, stats.evictions());
+        assertEquals(100, stats.size());
+        assertEquals(100, stats.hits());
+        assertEquals(0, stats.misses());
+        assertTrue(Double.isNaN(cache.get(1000, 0)));
+        assertEquals(1999.0, cache.get(1999, 0));
+    }
+
+    @Test
+    void protectedSegmentDemotesItsLeastRecentlyUsedEntry() {
+        RadiationCache cache = new RadiationCache(10, 1);
+        for (long key = 0; key < 10; key++) {
+            cache.put(key, 0, key);
+        }
+        // hits promote all ten, but the protected segment holds eight: keys 0 and 1 are demoted
+        for (long key = 0; key < 10; key++) {
+            cache.get(key, 0);
+        }
+        cache.put(10, 0, 10.0);
+        cache.put(11, 0, 11.0);
+        assertTrue(Double.isNaN(cache.get(0, 0)));
+        assertTrue(Double.isNaN(cache.get(1, 0)));
+        for (long key = 2; key < 12; key++) {
+            assertEquals(key, cache.get(key, 0), "key " + key);
+        }
+    }
+
+    @Test
+    void countsHitsMissesAndLoads() {
+        RadiationCache cache = new RadiationCache(4, 1);
+        AtomicInteger loads = new AtomicInteger();
+        RadiationCache.Loader loader = (key1, key2) -> {
+            loads.incrementAndGet();
+            return key1 + 0.5 * key2;
+        };
+        assertTrue(Double.isNaN(cache.stats().hitRate()));
+        for (int round = 0; round < 3; round++) {
+            for (long key = 0; key < 4; key++) {
+                assertEquals(key + 1.0, cache.get(key, 2, loader));
+            }
+        }
+        assertEquals(4, loads.get());
+        CacheStats first = cache.stats();
+        assertEquals(8, first.hits());
+        assertEquals(4, first.misses());
+        assertEquals(0, first.evictions());
+        assertEquals(8.0 / 12.0, first.hitRate());
+
+        cache.put(0, 2, -1.0);
+        assertEquals(-1.0, cache.get(0, 2, loader));
+        assertEquals(4.0, cache.get(4, 0, loader));
+        CacheStats delta = cache.stats().minus(first);
+        assertEquals(1, delta.hits());
+        assertEquals(1, delta.misses());
+        assertEquals(1, delta.evictions());
+        assertEquals(4, delta.size());
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    void clearEmptiesTheCacheAndKeepsTheCounters() {
+        RadiationCache cache = new RadiationCache(16, 1);
+        for (long key = 0; key < 16; key++) {
+            cache.put(key, 0, key);
+        }
+        assertEquals(5.0, cache.get(5, 0));
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertTrue(Double.isNaN(cache.get(5, 0)));
+        // every slot is free again, so refilling up to the capacity evicts nothing
+        for (long key = 100; key < 116; key++) {
+            cache.put(key, 0, key);
+        }
+        CacheStats stats = cache.stats();
+        assertEquals(0, stats.evictions());
+        assertEquals(16, stats.size());
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+
+        RadiationCache sharded = new RadiationCache(64, 4);
+        assertEquals(64, sharded.maximumSize());
+        for (long key = 0; key < 64; key++) {
+            sharded.put(key, 7, key);
+        }
+        sharded.clear();
+        assertEquals(0, sharded.size());
+    }
+}
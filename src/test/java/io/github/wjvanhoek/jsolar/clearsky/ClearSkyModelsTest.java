@@ -0,0 +1,97 @@
+package io.github.wjvanhoek.jsolar.clearsky;
+
+import io.github.wjvanhoek.jsolar.atmosphere.Atmosphere;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Reference values follow the equations of pvlib-python: {@code clearsky.haurwitz} split with
+ * {@code irradiance.erbs}, {@code clearsky.ineichen} without the Perez enhancement and
+ * {@code clearsky.bird}, with the Kasten-Young air mass, the pressure of
+ * {@link Atmosphere#pressure(double)} and an extraterrestrial irradiance of 1361 W/m² times the
+ * eccentricity correction.
+ */
+class ClearSkyModelsTest {
+
+    private static final double[] ZENITHS = {0.0, 30.0, 60.0, 75.0, 85.0};
+
+    @Test
+    void haurwitzMatchesReference() {
+        double[][] expected = {
+                {1037.164288, 856.4288443, 180.7354439},
+                {890.3250806, 844.2093634, 159.2183258},
+                {489.8496178, 768.4556752, 105.6217802},
+                {228.0097531, 582.2826766, 77.30390673},
+                {49.7587015, 108.5910282, 40.29436978},
+        };
+        check(Haurwitz.INSTANCE, 1.0, expected);
+    }
+
+    @Test
+    void ineichenPerezMatchesReference() {
+        check(new IneichenPerez(0.0, 3.0), 1.0, new double[][] {
+                {1051.891106, 940.1846199, 111.7064856},
+                {894.7925501, 914.4344774, 102.8690626},
+                {468.5893777, 786.074605, 75.55207517},
+                {196.390739, 566.6264579, 49.73702028},
+                {31.11999227, 176.0876671, 15.77294085},
+        });
+        check(new IneichenPerez(1500.0, 4.5), 1.0333, new double[][] {
+                {1139.440737, 930.6027536, 208.8379835},
+                {963.7309379, 893.6168498, 189.8360448},
+                {489.1898083, 716.5074567, 130.93608},
+                {191.6389102, 444.2250254, 76.66501329},
+                {23.86245102, 80.60483578, 16.83727669},
+        });
+    }
+
+    @Test
+    void birdMatchesReference() {
+        Bird bird = new Bird(0.9 * Atmosphere.STANDARD_PRESSURE, 0.3, 1.42, 0.1, 0.15, 0.2);
+        check(bird, 1.0, new double[][] {
+                {1077.976001, 957.5067701, 120.4692305},
+                {919.2812687, 928.9917053, 114.750852},
+                {493.3390767, 798.8435366, 93.91730838},
+                {223.918159, 601.7645303, 68.17003786},
+                {49.02200705, 273.0429755, 25.22474372},
+        });
+        check(bird, 0.9669, new double[][] {
+                {1042.294995, 925.813296, 116.4816989},
+                {888.8530587, 898.2420799, 110.9525988},
+                {477.0095532, 772.4018155, 90.80864547},
+                {216.5064679, 581.8461243, 65.9136096},
+                {47.39937862, 264.005253, 24.38980471},
+        });
+    }
+
+    @Test
+    void nightIsDark() {
+        ClearSkyModel[] models = {Haurwitz.INSTANCE, new IneichenPerez(0.0, 3.0),
+                new Bird(Atmosphere.STANDARD_PRESSURE, 0.3, 1.42, 0.1, 0.15, 0.2)};
+        ClearSkyIrradiance out = new ClearSkyIrradiance();
+        for (ClearSkyModel model : models) {
+            for (double cosZenith : new double[] {0.0, -0.3}) {
+                assertEquals(0.0, model.globalHorizontal(cosZenith, 1.0, 0.0, 0.0, 0.0), model.toString());
+                model.evaluate(cosZenith, 1.0, 0.0, 0.0, 0.0, out);
+                assertEquals(0.0, out.globalHorizontal(), model.toString());
+                assertEquals(0.0, out.directNormal(), model.toString());
+                assertEquals(0.0, out.diffuseHorizontal(), model.toString());
+            }
+        }
+    }
+
+    private static void check(ClearSkyModel model, double eccentricityCorrection, double[][] expected) {
+        ClearSkyIrradiance out = new ClearSkyIrradiance();
+        for (int i = 0; i < ZENITHS.length; i++) {
+            double cosZenith = Math.cos(Math.toRadians(ZENITHS[i]));
+            String message = model + " at zenith " + ZENITHS[i];
+            model.evaluate(cosZenith, eccentricityCorrection, 52.0, 5.0, 1.7e9, out);
+            assertEquals(expected[i][0], out.globalHorizontal(), 1e-6, message);
+            assertEquals(expected[i][1], out.directNormal(), 1e-6, message);
+            assertEquals(expected[i][2], out.diffuseHorizontal(), 1e-6, message);
+            assertEquals(out.globalHorizontal(),
+                    model.globalHorizontal(cosZenith, eccentricityCorrection, 52.0, 5.0, 1.7e9), 1e-9, message);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package io.github.wjvanhoek.jsolar.decomposition;
+
+import io.github.wjvanhoek.jsolar.position.SolarPositionBatch;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Reference values follow the equations of pvlib-python's {@code irradiance.erbs},
+ * {@code irradiance.disc} and {@code irradiance.dirint}, with the Kasten-Young air mass and an
+ * extraterrestrial irradiance of 1361 W/m² times the eccentricity correction. The DIRINT table
+ * is synthetic: coefficient {@code i} is {@code 0.2 + 0.6 i / 1259}, so each sample shows which
+ * bins it was assigned to.
+ */
+class DecompositionModelsTest {
+
+    @Test
+    void erbsMatchesReference() {
+        double[] ghi = {50.0, 300.0, 700.0, 1000.0, 100.0, 0.0};
+        double[] zenith = {60.0, 50.0, 30.0, 20.0, 88.0, 40.0};
+        double[][] expected = {
+                {0.6612784717, 49.66936076},
+                {41.18797168, 273.5248821},
+                {442.1501241, 317.0867602},
+                {887.7817861, 165.7580068},
+                {0.0, 100.0},
+                {0.0, 0.0},
+        };
+        check(Erbs.INSTANCE, ghi, zenith, 1.0, expected);
+    }
+
+    @Test
+    void discMatchesReference() {
+        double[] ghi = {100.0, 400.0, 800.0, 950.0, 60.0, 40.0};
+        double[] zenith = {70.0, 45.0, 25.0, 10.0, 86.0, 89.0};
+        check(new Disc(), ghi, zenith, 1.02, new double[][] {
+                {0.0, 100.0},
+                {94.09990767, 333.4613172},
+                {458.0761372, 384.8420298},
+                {530.5459752, 427.5142103},
+                {504.134222, 24.83337438},
+                {0.0, 40.0},
+        });
+        check(new Disc(85_000.0), ghi, zenith, 1.02, new double[][] {
+                {0.0, 100.0},
+                {81.37609779, 342.4584094},
+                {402.488093, 435.2219072},
+                {412.3015499, 543.9622371},
+                {543.6780899, 22.0749336},
+                {0.0, 40.0},
+        });
+    }
+
+    @Test
+    void dirintAssignsZenithAndWaterBins() {
+        double[] ghi = {120.0, 400.0, 850.0, 300.0, 810.0, 610.0, 50.0};
+        double[] zenith = {78.0, 62.0, 35.0, 30.0, 22.0, 48.0, 84.0};
+        double[] dewPoint = {-5.0, 2.0, 12.0, 15.0, 25.0, 8.0, 10.0};
+        checkDirint(ghi, zenith, dewPoint, new double[][] {
+                {132.9568836, 92.35670952},
+                {396.3692358, 213.9159154},
+                {541.761444, 406.2150056},
+                {5.292778981, 295.4163189},
+                {231.6382162, 595.2287859},
+                {409.5671197, 335.9461049},
+                {82.59896355, 41.36605727},
+        }, new double[][] {
+                {135.0538793, 91.9207196},
+                {401.5367729, 211.4899037},
+                {544.6307985, 403.8645681},
+                {5.346344455, 295.3699299},
+                {234.0136236, 593.0263464},
+                {415.0455998, 332.2802861},
+                {83.79733647, 41.24079319},
+        });
+    }
+
+    @Test
+    void dirintAssignsEveryVariabilityBin() {
+        // kt' steps of 0.002 to 0.3 between samples: Δkt' bins 0, 0, 0, 1, 2, 3, 4, 5, 4, 3
+        double[] ghi = {560.0, 562.0, 570.0, 585.0, 620.0, 690.0, 820.0, 500.0, 200.0, 120.0};
+        double[] zenith = new double[ghi.length];
+        Arrays.fill(zenith, 40.0);
+        double[] dewPoint = {-5.0, 2.0, 12.0, 15.0, 25.0, 8.0, 10.0, 18.0, 4.0, 0.0};
+        checkDirint(ghi, zenith, dewPoint, new double[][] {
+                {111.9171858, 474.2664617},
+                {113.563568, 475.0052598},
+                {147.5419538, 456.9763061},
+                {163.3382378, 459.8756506},
+                {203.3462551, 464.2277313},
+                {305.4538538, 456.0087727},
+                {691.5380286, 290.251136},
+                {74.39742279, 443.0082677},
+                {1.459683099, 198.8818179},
+                {0.0, 120.0},
+        }, new double[][] {
+                {116.1002393, 471.0620568},
+                {117.6787924, 471.852815},
+                {151.7511745, 453.751856},
+                {167.2525565, 456.8771085},
+                {207.1163593, 461.3396639},
+                {310.2952122, 452.300077},
+                {697.2983838, 285.8384479},
+                {74.87348166, 442.6435854},
+                {1.496842133, 198.8533524},
+                {0.0, 120.0},
+        });
+    }
+
+    @Test
+    void readsNestedCoefficientLiterals() throws IOException {
+        StringBuilder text = new StringBuilder("[");
+        for (int i = 0; i < Dirint.COEFFICIENTS; i++) {
+            text.append(i % 5 == 0 ? "[" : ", ").append(coefficient(i)).append(i % 5 == 4 ? "]," : "");
+        }
+        assertArrayEquals(coefficients(), Dirint.readCoefficients(new StringReader(text + "]")));
+        assertThrows(IOException.class, () -> Dirint.readCoefficients(new StringReader("1, 2, 3")));
+    }
+
+    private static void checkDirint(double[] ghi, double[] zenith, double[] dewPoint, double[][] withVariability,
+                                    double[][] withoutVariability) {
+        SolarPositionBatch positions = positions(zenith, 1.0);
+        int n = ghi.length;
+        double[] dni = new double[n];
+        double[] dhi = new double[n];
+        new Dirint(coefficients(), 101_325.0, true).decompose(ghi, positions, dewPoint, dni, dhi, 0, n);
+        assertMatches(withVariability, dni, dhi, "DIRINT with Δkt'");
+        new Dirint(coefficients(), 101_325.0, false).decompose(ghi, positions, dni, dhi, 0, n);
+        assertMatches(withoutVariability, dni, dhi, "DIRINT without Δkt'");
+    }
+
+    private static void check(DecompositionModel model, double[] ghi, double[] zenith, double eccentricity,
+                              double[][] expected) {
+        int n = ghi.length;
+        double[] dni = new double[n];
+        double[] dhi = new double[n];
+        model.decompose(ghi, positions(zenith, eccentricity), dni, dhi, 0, n);
+        assertMatches(expected, dni, dhi, model.toString());
+    }
+
+    private static void assertMatches(double[][] expected, double[] dni, double[] dhi, String model) {
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i][0], dni[i], 1e-6, model + ", sample " + i);
+            assertEquals(expected[i][1], dhi[i], 1e-6, model + ", sample " + i);
+        }
+    }
+
+    private static SolarPositionBatch positions(double[] zenithDegrees, double eccentricity) {
+        SolarPositionBatch positions = new SolarPositionBatch(zenithDegrees.length);
+        for (int i = 0; i < zenithDegrees.length; i++) {
+            double zenith = Math.toRadians(zenithDegrees[i]);
+            positions.zenith()[i] = zenith;
+            positions.cosZenith()[i] = Math.cos(zenith);
+            positions.eccentricityCorrection()[i] = eccentricity;
+        }
+        return positions;
+    }
+
+    private static double[] coefficients() {
+        double[] coefficients = new double[Dirint.COEFFICIENTS];
+        for (int i = 0; i < coefficients.length; i++) {
+            coefficients[i] = coefficient(i);
+        }
+        return coefficients;
+    }
+
+    private static double coefficient(int i) {
+        return 0.2 + 0.6 * i / (Dirint.COEFFICIENTS - 1);
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.wjvanhoek.jsolar.grid;
+
+import io.github.wjvanhoek.jsolar.GlobalRadiationCalculator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GridJobTest {
+
+    // 7 rows by 5 timesteps in chunks of 3 rows by 2 timesteps: row bands of 3/3/1 and time blocks of 2/2/1
+    private static final GridFileHeader LAYOUT = new GridFileHeader(new Grid(60.25, -10.25, -0.5, 0.5, 7, 5), 5,
+            1_718_964_000.0, 3600.0, GridFileHeader.SampleType.FLOAT32, GridFileHeader.IRRADIANCE_UNITS);
+    private static final int LOG_HEADER_SIZE = 32 + GridFileHeader.SIZE;
+    private static final int RECORD_SIZE = 8;
+
+    private final GridRadiationEngine engine = new GridRadiationEngine(new GlobalRadiationCalculator());
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void unevenChunksCoverTheLayoutAndRunOnce() throws IOException {
+        GridJob job = new GridJob(engine, LAYOUT, directory.resolve("job"), 3, 2);
+        assertEquals(9, job.chunks());
+        long rows = 0;
+        long samples = 0;
+        for (int chunk = 0; chunk < job.chunks(); chunk++) {
+            GridFileHeader part = job.chunkLayout(chunk);
+            if (chunk / 3 == 0) {
+                rows += part.grid().rows();
+            }
+            samples += part.timesteps() * part.grid().rows() * part.grid().columns();
+        }
+        assertEquals(7, rows);
+        assertEquals(5 * 7 * 5, samples);
+        assertEquals(1, job.chunkLayout(2).grid().rows());
+        assertEquals(57.25, job.chunkLayout(2).grid().firstLatitude());
+        assertEquals(1, job.chunkLayout(8).timesteps());
+        assertEquals(LAYOUT.epochSecond(4), job.chunkLayout(8).startEpochSecond());
+
+        assertFalse(job.isComplete());
+        assertEquals(9, job.run());
+        assertTrue(job.isComplete());
+        assertEquals(0, job.run());
+        assertEquals(LOG_HEADER_SIZE + 9 * RECORD_SIZE, Files.size(directory.resolve("job").resolve(
+                GridJob.CHECKPOINT_FILE)));
+    }
+
+    @Test
+    void resumesOnlyTheMissingChunk() throws IOException {
+        Path jobDirectory = directory.resolve("job");
+        GridJob job = new GridJob(engine, LAYOUT, jobDirectory, 3, 2);
+        job.run();
+        Path log = jobDirectory.resolve(GridJob.CHECKPOINT_FILE);
+        Files.write(log, new byte[] {4, 0, 0, 0, -5}, StandardOpenOption.APPEND);
+        Files.delete(job.chunkPath(4));
+
+        GridJob resumed = new GridJob(engine, LAYOUT, jobDirectory, 3, 2);
+        assertEquals(8, resumed.completed().cardinality());
+        assertFalse(resumed.completed().get(4));
+        assertEquals(1, resumed.run());
+        assertTrue(resumed.isComplete());
+        assertEquals(LOG_HEADER_SIZE + 10 * RECORD_SIZE, Files.size(log));
+    }
+
+    @Test
+    void assembledFileEqualsADirectRun() throws IOException {
+        GridJob job = new GridJob(engine, LAYOUT, directory.resolve("job"), 3, 2);
+        Path assembled = directory.resolve("assembled.grid");
+        assertThrows(IOException.class, () -> job.assemble(assembled));
+        job.run();
+        job.assemble(assembled);
+
+        Path direct = directory.resolve("direct.grid");
+        try (MappedGridWriter writer = MappedGridWriter.create(direct, LAYOUT)) {
+            for (long t = 0; t < LAYOUT.timesteps(); t++) {
+                MappedGridWriter.TimestepSink sink = writer.timestep(t);
+                engine.evaluate(LAYOUT.grid(), LAYOUT.epochSecond(t), sink);
+                sink.force();
+            }
+        }
+        assertArrayEquals(Files.readAllBytes(direct), Files.readAllBytes(assembled));
+    }
+
+    @Test
+    void rejectsALogOfAnotherChunking() throws IOException {
+        Path jobDirectory = directory.resolve("job");
+        new GridJob(engine, LAYOUT, jobDirectory, 3, 2).run();
+        GridJob rows = new GridJob(engine, LAYOUT, jobDirectory, 2, 2);
+        GridJob timesteps = new GridJob(engine, LAYOUT, jobDirectory, 3, 3);
+        assertThrows(IOException.class, rows::completed);
+        assertThrows(IOException.class, rows::run);
+        assertThrows(IOException.class, timesteps::run);
+        assertTrue(new GridJob(engine, LAYOUT, jobDirectory, 3, 2).isComplete());
+    }
+}
@@ -0,0 +1,73 @@
+package io.github.wjvanhoek.jsolar.grid;
+
+import io.github.wjvanhoek.jsolar.GlobalRadiationCalculator;
+import io.github.wjvanhoek.jsolar.position.SpaSolarPositionEngine;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GridRadiationEngineTest {
+
+    // 2024-06-21 10:00 UTC: daylight over Europe and Africa, night over the Pacific
+    private static final double EPOCH_SECOND = 1_718_964_000.0;
+    private static final Grid GRID = new Grid(89.5, -179.5, -1.0, 1.0, 180, 360);
+
+    @Test
+    void scalarEngineMatchesCalculatorCellByCell() {
+        GlobalRadiationCalculator calculator = new GlobalRadiationCalculator();
+        double[] out = evaluate(new GridRadiationEngine(calculator));
+        int daylight = 0;
+        for (int row = 0; row < GRID.rows(); row++) {
+            for (int column = 0; column < GRID.columns(); column++) {
+                double expected = calculator.globalRadiation(EPOCH_SECOND, GRID.latitude(row), GRID.longitude(column));
+                assertEquals(expected, out[row * GRID.columns() + column], "cell " + row + "," + column);
+                daylight += expected > 0.0 ? 1 : 0;
+            }
+        }
+        assertTrue(daylight > 0 && daylight < GRID.cells(), "daylight cells " + daylight);
+    }
+
+    @Test
+    void spaEngineStaysCloseToCalculator() {
+        GlobalRadiationCalculator calculator = new GlobalRadiationCalculator(new SpaSolarPositionEngine());
+        double[] out = evaluate(new GridRadiationEngine(calculator));
+        for (int row = 0; row < GRID.rows(); row++) {
+            for (int column = 0; column < GRID.columns(); column++) {
+                double expected = calculator.globalRadiation(EPOCH_SECOND, GRID.latitude(row), GRID.longitude(column));
+                // The grid interpolates the daily SPA series like the batch methods: up to 4.6e-6 W/m² here
+                assertEquals(expected, out[row * GRID.columns() + column], 5e-6, "cell " + row + "," + column);
+            }
+        }
+    }
+
+    @Test
+    void resultDoesNotDependOnExecutorOrTiling() throws InterruptedException {
+        for (GlobalRadiationCalculator calculator : new GlobalRadiationCalculator[] {
+                new GlobalRadiationCalculator(), new GlobalRadiationCalculator(new SpaSolarPositionEngine())}) {
+            double[] expected = evaluate(new GridRadiationEngine(calculator));
+            ExecutorService executor = Executors.newFixedThreadPool(3);
+            try {
+                assertArrayEquals(expected, evaluate(new GridRadiationEngine(calculator, executor, 7, 13)));
+                assertArrayEquals(expected, evaluate(new GridRadiationEngine(calculator, executor, 1, 1000)));
+                double[] sunk = new double[(int) GRID.cells()];
+                new GridRadiationEngine(calculator, executor, 5, 37).evaluate(GRID, EPOCH_SECOND,
+                        (row, firstColumn, values, offset, length) ->
+                                System.arraycopy(values, offset, sunk, row * GRID.columns() + firstColumn, length));
+                assertArrayEquals(expected, sunk);
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    private static double[] evaluate(GridRadiationEngine engine) {
+        double[] out = new double[(int) GRID.cells()];
+        engine.evaluate(GRID, EPOCH_SECOND, out);
+        return out;
+    }
+}
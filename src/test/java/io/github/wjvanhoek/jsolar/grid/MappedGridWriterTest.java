@@ -0,0 +1,111 @@
+package io.github.wjvanhoek.jsolar.grid;
+
+import io.github.wjvanhoek.jsolar.GlobalRadiationCalculator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MappedGridWriterTest {
+
+    private static final double START = 1_718_964_000.0;
+    private static final double STEP = 3600.0;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void headerRoundTrips() throws IOException {
+        Grid grid = new Grid(60.25, -10.25, -0.5, 0.5, 3, 5);
+        GridFileHeader header = new GridFileHeader(grid, 4, START, STEP, GridFileHeader.SampleType.FLOAT32,
+                GridFileHeader.IRRADIANCE_UNITS);
+        Path file = directory.resolve("header.grid");
+        try (MappedGridWriter writer = MappedGridWriter.create(file, header)) {
+            assertEquals(header.fileSize(), Files.size(file));
+            assertEquals(GridFileHeader.SIZE + 4 * 15 * 4, writer.header().fileSize());
+        }
+        GridFileHeader read = GridFileHeader.read(file);
+        assertEquals(3, read.grid().rows());
+        assertEquals(5, read.grid().columns());
+        assertEquals(60.25, read.grid().firstLatitude());
+        assertEquals(-10.25, read.grid().firstLongitude());
+        assertEquals(-0.5, read.grid().latitudeStep());
+        assertEquals(0.5, read.grid().longitudeStep());
+        assertEquals(4, read.timesteps());
+        assertEquals(START, read.startEpochSecond());
+        assertEquals(STEP, read.stepSeconds());
+        assertEquals(GridFileHeader.SampleType.FLOAT32, read.sampleType());
+        assertEquals(GridFileHeader.IRRADIANCE_UNITS, read.units());
+
+        ByteBuffer corrupt = ByteBuffer.allocate(GridFileHeader.SIZE);
+        header.write(corrupt);
+        corrupt.put(0, (byte) 'X');
+        assertThrows(IllegalArgumentException.class, () -> GridFileHeader.read(corrupt));
+    }
+
+    @Test
+    void samplesLandAtTheirOffsets() throws IOException {
+        for (GridFileHeader.SampleType type : GridFileHeader.SampleType.values()) {
+            Grid grid = new Grid(52.0, 4.0, -1.0, 1.0, 3, 4);
+            GridFileHeader header = new GridFileHeader(grid, 2, START, STEP, type, GridFileHeader.IRRADIANCE_UNITS);
+            Path file = directory.resolve(type + ".grid");
+            try (MappedGridWriter writer = MappedGridWriter.create(file, header)) {
+                for (int t = 0; t < 2; t++) {
+                    MappedGridWriter.TimestepSink sink = writer.timestep(t);
+                    for (int row = 0; row < 3; row++) {
+                        sink.write(row, 1, new double[] {-1.0, value(t, row, 1), value(t, row, 2), value(t, row, 3)},
+                                1, 3);
+                        sink.write(row, 0, new double[] {value(t, row, 0)}, 0, 1);
+                    }
+                    sink.force();
+                }
+            }
+            ByteBuffer samples = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+            for (int t = 0; t < 2; t++) {
+                for (int row = 0; row < 3; row++) {
+                    for (int column = 0; column < 4; column++) {
+                        int offset = (int) header.offset(t) + (row * 4 + column) * type.bytes();
+                        double actual = type == GridFileHeader.SampleType.FLOAT32
+                                ? samples.getFloat(offset) : samples.getDouble(offset);
+                        assertEquals(value(t, row, column), actual, 1e-4, type + " " + t + "," + row + "," + column);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void multiBandTimestepsMatchInMemoryGrid() throws IOException {
+        Grid grid = new Grid(70.0, -20.0, -3.0, 5.0, 10, 7);
+        GridFileHeader header = new GridFileHeader(grid, 3, START, STEP, GridFileHeader.SampleType.FLOAT64,
+                GridFileHeader.IRRADIANCE_UNITS);
+        GridRadiationEngine engine = new GridRadiationEngine(new GlobalRadiationCalculator());
+        Path file = directory.resolve("bands.grid");
+        // Three rows of 56 bytes per band: bands of 3, 3, 3 and 1 rows
+        try (MappedGridWriter writer = MappedGridWriter.create(file, header, 3 * 56 + 20)) {
+            for (int t = 0; t < 3; t++) {
+                engine.evaluate(grid, header.epochSecond(t), writer.timestep(t));
+            }
+        }
+        ByteBuffer samples = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        double[] expected = new double[(int) grid.cells()];
+        for (int t = 0; t < 3; t++) {
+            engine.evaluate(grid, header.epochSecond(t), expected);
+            for (int cell = 0; cell < expected.length; cell++) {
+                assertEquals(expected[cell], samples.getDouble((int) header.offset(t) + cell * 8), "cell " + cell);
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> MappedGridWriter.create(file, header, 55));
+    }
+
+    private static double value(int timestep, int row, int column) {
+        return 100.0 * timestep + 10.0 * row + column + 0.25;
+    }
+}
@@ -0,0 +1,95 @@
+package io.github.wjvanhoek.jsolar.position;
+
+import io.github.wjvanhoek.jsolar.time.EpochTime;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DaylightWindowTest {
+
+    // Tromsø and Longyearbyen
+    private static final double[][] SITES = {{69.6, 18.9}, {78.2, 15.6}};
+    private static final SpaSolarPositionEngine SPA = new SpaSolarPositionEngine();
+
+    @Test
+    void polarDayAndNightOnKnownDates() {
+        for (double[] site : SITES) {
+            assertTrue(window(site, 2024, 12, 21).isPolarNight());
+            assertTrue(window(site, 2024, 1, 5).isPolarNight());
+            assertTrue(window(site, 2024, 6, 21).isPolarDay());
+            assertTrue(window(site, 2024, 7, 10).isPolarDay());
+            DaylightWindow equinox = window(site, 2024, 3, 20);
+            assertFalse(equinox.isPolarDay() || equinox.isPolarNight());
+        }
+        // Longyearbyen is still dark on 1 February, when Tromsø already sees the Sun
+        assertTrue(window(SITES[1], 2024, 2, 1).isPolarNight());
+        assertFalse(window(SITES[0], 2024, 2, 1).isPolarNight());
+    }
+
+    @Test
+    void polarFlagsAgreeWithAccurateEphemeris() {
+        for (double[] site : SITES) {
+            long first = EpochTime.epochDay(2024, 1, 1);
+            for (long epochDay = first; epochDay < first + 366; epochDay++) {
+                DaylightWindow window = DaylightWindow.of(DailyEphemeris.of(epochDay), site[0], site[1]);
+                double min = 1.0;
+                double max = -1.0;
+                for (int minute = -720; minute < 720; minute += 5) {
+                    double cosZenith = SPA.cosZenith(window.solarNoon() + 60.0 * minute, site[0], site[1]);
+                    min = Math.min(min, cosZenith);
+                    max = Math.max(max, cosZenith);
+                }
+                // The window takes one declination per day, which is up to 0.2° off half a day later, so
+                // only days that close to the limit may be classified differently
+                double limit = Math.sin(Math.toRadians(0.3));
+                String message = site[0] + "° on day " + epochDay;
+                if (max < -limit) {
+                    assertTrue(window.isPolarNight(), message);
+                } else if (max > limit) {
+                    assertFalse(window.isPolarNight(), message);
+                }
+                if (min > limit) {
+                    assertTrue(window.isPolarDay(), message);
+                } else if (min < -limit) {
+                    assertFalse(window.isPolarDay(), message);
+                }
+            }
+        }
+    }
+
+    @Test
+    void sunriseAndSunsetMatchAccurateEphemeris() {
+        int[][] dates = {{2024, 3, 20}, {2024, 4, 10}, {2024, 9, 22}, {2024, 10, 15}};
+        for (double[] site : SITES) {
+            for (int[] date : dates) {
+                DaylightWindow window = window(site, date[0], date[1], date[2]);
+                // The declination is fixed for the day: up to 3.5 min off at 69.6° and 9 min at 78.2°
+                double tolerance = site[0] < 75.0 ? 240.0 : 600.0;
+                String message = site[0] + "° on " + date[0] + "-" + date[1] + "-" + date[2];
+                assertEquals(crossing(window.solarNoon() - 43_200.0, window.solarNoon(), site), window.sunrise(),
+                        tolerance, message);
+                assertEquals(crossing(window.solarNoon() + 43_200.0, window.solarNoon(), site), window.sunset(),
+                        tolerance, message);
+            }
+        }
+    }
+
+    private static DaylightWindow window(double[] site, int year, int month, int day) {
+        return DaylightWindow.of(DailyEphemeris.of(EpochTime.epochDay(year, month, day)), site[0], site[1]);
+    }
+
+    /** Finds the moment the SPA puts the centre of the Sun on the horizon between night and day, by bisection. */
+    private static double crossing(double night, double day, double[] site) {
+        for (int i = 0; i < 60; i++) {
+            double middle = 0.5 * (night + day);
+            if (SPA.cosZenith(middle, site[0], site[1]) > 0.0) {
+                day = middle;
+            } else {
+                night = middle;
+            }
+        }
+        return 0.5 * (night + day);
+    }
+}
@@ -0,0 +1,48 @@
+package io.github.wjvanhoek.jsolar.position;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FastTrigTest {
+
+    private static final int SAMPLES = 2_000_000;
+
+    @Test
+    void sineAndCosineWithinDocumentedError() {
+        SplittableRandom random = new SplittableRandom(1);
+        double sin = 0.0;
+        double cos = 0.0;
+        for (int i = 0; i < SAMPLES; i++) {
+            double x = random.nextDouble(-1e4, 1e4);
+            sin = Math.max(sin, Math.abs(FastTrig.sin(x) - Math.sin(x)));
+            cos = Math.max(cos, Math.abs(FastTrig.cos(x) - Math.cos(x)));
+        }
+        assertTrue(sin <= 2.5e-12, "sin error " + sin);
+        assertTrue(cos <= 2.5e-12, "cos error " + cos);
+    }
+
+    @Test
+    void arcCosineWithinDocumentedError() {
+        double error = 0.0;
+        for (int i = 0; i <= SAMPLES; i++) {
+            double x = -1.0 + 2.0 * i / SAMPLES;
+            error = Math.max(error, Math.abs(FastTrig.acos(x) - Math.acos(x)));
+        }
+        assertTrue(error <= 1.1e-11, "acos error " + error);
+    }
+
+    @Test
+    void arcTangentWithinDocumentedError() {
+        SplittableRandom random = new SplittableRandom(2);
+        double error = 0.0;
+        for (int i = 0; i < SAMPLES; i++) {
+            double y = random.nextDouble(-5.0, 5.0);
+            double x = random.nextDouble(-5.0, 5.0);
+            error = Math.max(error, Math.abs(FastTrig.atan2(y, x) - Math.atan2(y, x)));
+        }
+        assertTrue(error <= 5.2e-12, "atan2 error " + error);
+    }
+}
@@ -0,0 +1,79 @@
+package io.github.wjvanhoek.jsolar.position;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SolarPositionEnginesTest {
+
+    @Test
+    void vectorEngineAgreesWithScalarEngine() {
+        double deviation = SolarPositionEngines.crossCheck(SolarPositionEngines.vector(),
+                SolarPositionEngines.scalar(), 1 << 14);
+        assertTrue(deviation <= SolarPositionEngines.TOLERANCE, "deviation " + deviation);
+    }
+
+    @Test
+    void fastTierStaysWithinItsAccuracy() {
+        double deviation = SolarPositionEngines.crossCheck(SolarPositionEngines.scalar(Accuracy.FAST),
+                SolarPositionEngines.scalar(), 1 << 14);
+        assertTrue(deviation <= 1e-9, "deviation " + deviation);
+    }
+
+    @Test
+    void vectorRefractionMatchesScalarRefraction() {
+        int n = 4099;
+        SplittableRandom random = new SplittableRandom(5);
+        double[] epochSeconds = new double[n];
+        double[] latitudes = new double[n];
+        double[] longitudes = new double[n];
+        double[] pressures = new double[n];
+        double[] temperatures = new double[n];
+        for (int i = 0; i < n; i++) {
+            epochSeconds[i] = 1.7e9 + i * 631.0;
+            latitudes[i] = random.nextDouble(-90.0, 90.0);
+            longitudes[i] = random.nextDouble(-180.0, 180.0);
+            pressures[i] = random.nextDouble(60_000.0, 105_000.0);
+            temperatures[i] = random.nextDouble(-30.0, 40.0);
+        }
+        SolarPositionBatch vector = new SolarPositionBatch(n);
+        SolarPositionBatch scalar = new SolarPositionBatch(n);
+        // 4099 samples leave a tail after the last full vector
+        SolarPositionEngines.vector().compute(epochSeconds, latitudes, longitudes, pressures, temperatures,
+                vector, 0, n);
+        SolarPositionEngines.scalar().compute(epochSeconds, latitudes, longitudes, pressures, temperatures,
+                scalar, 0, n);
+        for (int i = 0; i < n; i++) {
+            assertEquals(scalar.apparentZenith()[i], vector.apparentZenith()[i], 1e-14, "sample " + i);
+            assertEquals(Refraction.apparentZenith(scalar.zenith()[i], pressures[i], temperatures[i]),
+                    scalar.apparentZenith()[i], 1e-15, "sample " + i);
+        }
+    }
+
+    @Test
+    void vectorEngineHandlesOffsetsAndTails() {
+        int n = 1027;
+        SplittableRandom random = new SplittableRandom(7);
+        double[] epochSeconds = new double[n];
+        double[] latitudes = new double[n];
+        double[] longitudes = new double[n];
+        for (int i = 0; i < n; i++) {
+            epochSeconds[i] = 1.7e9 + i * 977.0;
+            latitudes[i] = random.nextDouble(-90.0, 90.0);
+            longitudes[i] = random.nextDouble(-180.0, 180.0);
+        }
+        double[] vector = new double[n];
+        double[] scalar = new double[n];
+        // An offset and a length that are not multiples of any vector width leave a head and a tail
+        SolarPositionEngines.vector().cosZenith(epochSeconds, latitudes, longitudes, vector, 3, n - 5);
+        SolarPositionEngines.scalar().cosZenith(epochSeconds, latitudes, longitudes, scalar, 3, n - 5);
+        for (int i = 0; i < n; i++) {
+            assertEquals(scalar[i], vector[i], SolarPositionEngines.TOLERANCE, "sample " + i);
+        }
+        assertEquals(0.0, vector[2]);
+        assertEquals(0.0, vector[n - 2]);
+    }
+}
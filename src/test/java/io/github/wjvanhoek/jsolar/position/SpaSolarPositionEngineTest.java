@@ -0,0 +1,120 @@
+package io.github.wjvanhoek.jsolar.position;
+
+import io.github.wjvanhoek.jsolar.time.EpochTime;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpaSolarPositionEngineTest {
+
+    // The example of Reda and Andreas (2004): Golden, Colorado, 2003-10-17 12:30:30 at UTC−7
+    private static final double EPOCH_SECOND = EpochTime.epochDay(2003, 10, 17) * EpochTime.SECONDS_PER_DAY
+            + 19 * 3600 + 30 * 60 + 30;
+    private static final double LATITUDE = 39.742476;
+    private static final double LONGITUDE = -105.1786;
+    private static final SpaSolarPositionEngine ENGINE = new SpaSolarPositionEngine(1830.14, 82_000.0, 11.0, 67.0);
+
+    @Test
+    void matchesReferenceExample() {
+        SolarPosition position = new SolarPosition();
+        ENGINE.compute(EPOCH_SECOND, LATITUDE, LONGITUDE, position);
+        assertEquals(50.11162, Math.toDegrees(position.apparentZenith()), 1e-5);
+        assertEquals(194.34024, Math.toDegrees(position.azimuth()), 1e-5);
+        assertEquals(-9.316179, Math.toDegrees(position.declination()), 1e-6);
+        assertEquals(11.10629, Math.toDegrees(position.hourAngle()), 1e-4);
+        assertEquals(14.641503, position.equationOfTime(), 1e-4);
+        assertEquals(Math.cos(position.zenith()),
+                ENGINE.cosZenith(EPOCH_SECOND, LATITUDE, LONGITUDE), 1e-15);
+    }
+
+    @Test
+    void batchMatchesReferenceExample() {
+        SolarPositionBatch batch = new SolarPositionBatch(1);
+        ENGINE.compute(new double[] {EPOCH_SECOND}, new double[] {LATITUDE}, new double[] {LONGITUDE}, batch, 0, 1);
+        assertEquals(50.11162, Math.toDegrees(batch.apparentZenith()[0]), 1e-5);
+        assertEquals(194.34024, Math.toDegrees(batch.azimuth()[0]), 1e-5);
+    }
+
+    @Test
+    void weatherRefractionReproducesReferenceExample() {
+        // The example gives its weather as 820 mbar and 11 °C, that is 82 000 Pa
+        SolarPositionBatch batch = new SolarPositionBatch(2);
+        ENGINE.compute(new double[] {0.0, EPOCH_SECOND}, new double[] {0.0, LATITUDE},
+                new double[] {0.0, LONGITUDE}, new double[] {0.0, 82_000.0}, new double[] {0.0, 11.0}, batch, 1, 1);
+        assertEquals(50.111622, Math.toDegrees(batch.apparentZenith()[1]), 1e-6);
+        assertEquals(0.0, batch.apparentZenith()[0]);
+        assertEquals(Refraction.apparentZenith(batch.zenith()[1], 82_000.0, 11.0), batch.apparentZenith()[1]);
+        assertTrue(batch.zenith()[1] > batch.apparentZenith()[1]);
+    }
+
+    @Test
+    void dailyInterpolationStaysCloseToExactSeries() {
+        SpaSolarPositionEngine engine = new SpaSolarPositionEngine();
+        SplittableRandom random = new SplittableRandom(3);
+        int n = 20_000;
+        double[] epochSeconds = new double[n];
+        double[] latitudes = new double[n];
+        double[] longitudes = new double[n];
+        double start = EpochTime.epochDay(1990, 1, 1) * EpochTime.SECONDS_PER_DAY;
+        for (int i = 0; i < n; i++) {
+            epochSeconds[i] = start + i * 9973.0;
+            latitudes[i] = random.nextDouble(-89.0, 89.0);
+            longitudes[i] = random.nextDouble(-180.0, 180.0);
+        }
+        SolarPositionBatch batch = new SolarPositionBatch(n);
+        engine.compute(epochSeconds, latitudes, longitudes, batch, 0, n);
+        SolarPosition position = new SolarPosition();
+        double zenithError = 0.0;
+        for (int i = 0; i < n; i++) {
+            engine.compute(epochSeconds[i], latitudes[i], longitudes[i], position);
+            zenithError = Math.max(zenithError, Math.abs(position.zenith() - batch.zenith()[i]));
+        }
+        assertTrue(Math.toDegrees(zenithError) < 1e-5, "zenith error " + Math.toDegrees(zenithError) + "°");
+    }
+
+    @Test
+    void dayReproducesBatch() {
+        long epochDay = EpochTime.epochDay(2003, 10, 17);
+        SpaDay day = ENGINE.day(epochDay);
+        int n = 24 * 12;
+        double[] epochSeconds = new double[n];
+        double[] latitudes = new double[n];
+        double[] longitudes = new double[n];
+        for (int i = 0; i < n; i++) {
+            epochSeconds[i] = epochDay * EpochTime.SECONDS_PER_DAY + 300.0 * i;
+            latitudes[i] = LATITUDE;
+            longitudes[i] = LONGITUDE;
+        }
+        SolarPositionBatch batch = new SolarPositionBatch(n);
+        ENGINE.compute(epochSeconds, latitudes, longitudes, batch, 0, n);
+        for (int i = 0; i < n; i++) {
+            assertEquals(batch.cosZenith()[i], ENGINE.cosZenith(day, epochSeconds[i], LATITUDE, LONGITUDE));
+            assertEquals(batch.eccentricityCorrection()[i], day.eccentricityCorrection(epochSeconds[i]));
+        }
+    }
+
+    @Test
+    void eccentricityCorrectionFollowsEarthSunDistance() {
+        SolarPosition position = new SolarPosition();
+        ENGINE.compute(EPOCH_SECOND, LATITUDE, LONGITUDE, position);
+        assertEquals(position.eccentricityCorrection(), ENGINE.eccentricityCorrection(EPOCH_SECOND), 1e-15);
+        // Reda and Andreas: R = 0.9965422974 AU
+        assertEquals(1.0 / (0.9965422974 * 0.9965422974), ENGINE.eccentricityCorrection(EPOCH_SECOND), 1e-9);
+        SpaDay day = ENGINE.day(EpochTime.epochDay(EPOCH_SECOND));
+        assertEquals(ENGINE.eccentricityCorrection(EPOCH_SECOND), day.eccentricityCorrection(EPOCH_SECOND), 1e-8);
+        // The Spencer series of the other engines stays close to the exact distance
+        assertEquals(ENGINE.eccentricityCorrection(EPOCH_SECOND),
+                ScalarSolarPositionEngine.INSTANCE.eccentricityCorrection(EPOCH_SECOND), 1e-3);
+    }
+
+    @Test
+    void equalWhenConfiguredAlike() {
+        assertEquals(new SpaSolarPositionEngine(), new SpaSolarPositionEngine());
+        assertEquals(new SpaSolarPositionEngine().hashCode(), new SpaSolarPositionEngine().hashCode());
+        assertNotEquals(new SpaSolarPositionEngine(), new SpaSolarPositionEngine(100.0, 101_325.0, 12.0));
+    }
+}
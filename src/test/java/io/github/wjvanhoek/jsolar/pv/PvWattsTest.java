@@ -0,0 +1,85 @@
+package io.github.wjvanhoek.jsolar.pv;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reference values follow the equations of pvlib-python's {@code iam.ashrae},
+ * {@code temperature.sapm_cell}, {@code temperature.faiman}, {@code pvsystem.pvwatts_dc} and
+ * {@code inverter.pvwatts}, with a nominal inverter efficiency of 0.96 and the DC input limit
+ * {@code pdc0 = pac0 / 0.96}.
+ */
+class PvWattsTest {
+
+    @Test
+    void ashraeReachesZeroWhereTheCurveCrossesIt() {
+        for (double b0 : new double[] {Ashrae.DEFAULT_B0, 0.1}) {
+            Ashrae ashrae = new Ashrae(b0);
+            double zero = b0 / (1.0 + b0);
+            assertEquals(0.0, ashrae.modifier(zero), 1e-15, "b0 " + b0);
+            assertTrue(ashrae.modifier(zero + 1e-6) > 0.0, "b0 " + b0);
+            assertEquals(0.0, ashrae.modifier(zero - 1e-3), "b0 " + b0);
+            assertEquals(1.0, ashrae.modifier(1.0), "b0 " + b0);
+            assertEquals(0.0, ashrae.modifier(0.0), "b0 " + b0);
+            assertEquals(0.0, ashrae.modifier(-0.5), "b0 " + b0);
+        }
+        assertEquals(87.3, Math.toDegrees(Math.acos(Ashrae.DEFAULT_B0 / (1.0 + Ashrae.DEFAULT_B0))), 0.05);
+        assertEquals(1.0 - 0.05 * (2.0 - 1.0), new Ashrae().modifier(0.5), 1e-15);
+    }
+
+    @Test
+    void sandiaMatchesReference() {
+        assertEquals(48.23036395316837, Sandia.OPEN_RACK_GLASS_GLASS.cellTemperature(800.0, 25.0, 3.0), 1e-12);
+        assertEquals(79.4559568404292, Sandia.CLOSE_MOUNT_GLASS_GLASS.cellTemperature(1000.0, 30.0, 1.0), 1e-12);
+        assertEquals(12.443023167993132, Sandia.OPEN_RACK_GLASS_POLYMER.cellTemperature(400.0, 5.0, 8.0), 1e-12);
+        assertEquals(92.19474277275486, Sandia.INSULATED_BACK_GLASS_POLYMER.cellTemperature(950.0, 35.0, 0.0),
+                1e-12);
+        assertEquals(20.0, Sandia.OPEN_RACK_GLASS_GLASS.cellTemperature(0.0, 20.0, 5.0));
+    }
+
+    @Test
+    void faimanMatchesReference() {
+        Faiman faiman = new Faiman();
+        assertEquals(42.57469244288225, faiman.cellTemperature(800.0, 25.0, 3.0), 1e-12);
+        assertEquals(70.0, faiman.cellTemperature(1000.0, 30.0, 0.0), 1e-12);
+        assertEquals(-0.7173447537473239, faiman.cellTemperature(400.0, -5.0, 10.0), 1e-12);
+        assertEquals(40.0, new Faiman(20.0, 5.0).cellTemperature(600.0, 20.0, 2.0), 1e-12);
+    }
+
+    @Test
+    void inverterFollowsTheCurveAndClips() {
+        assertEquals(73.67383542596244, PvWatts.inverter(100.0, 4000.0, 0.96), 1e-9);
+        assertEquals(465.55035799522676, PvWatts.inverter(500.0, 4000.0, 0.96), 1e-9);
+        assertEquals(1924.0490609110718, PvWatts.inverter(2000.0, 4000.0, 0.96), 1e-9);
+        assertEquals(3841.6024904015776, PvWatts.inverter(4000.0, 4000.0, 0.96), 1e-9);
+        assertEquals(4000.0, PvWatts.inverter(4200.0, 4000.0, 0.96));
+        assertEquals(4000.0, PvWatts.inverter(5000.0, 4000.0, 0.96));
+        assertEquals(0.0, PvWatts.inverter(0.0, 4000.0, 0.96));
+        assertEquals(0.0, PvWatts.inverter(-10.0, 4000.0, 0.96));
+    }
+
+    @Test
+    void batchMatchesHandComputedValues() {
+        PvSystems systems = new PvSystems(new double[] {5000.0, 3000.0, 10_000.0},
+                new double[] {-0.0037, -0.0045, -0.0035}, new double[] {4000.0, 3000.0, 8000.0});
+        PvPower out = new PvPower(5);
+        // Sample 2 has the Sun behind the module; its beam is zero and only diffuse light counts
+        new PvWatts().evaluate(systems, new double[] {0.9, 0.3, 0.0}, new double[] {700.0, 200.0, 0.0},
+                new double[] {100.0, 80.0, 120.0}, new double[] {10.0, 20.0, 5.0}, new double[] {25.0, 10.0, -2.0},
+                new double[] {2.0, 5.0, 1.0}, out, 0, 3);
+        double[][] expected = {
+                {806.1111111111111, 45.94105480868666, 3197.7039799494423, 3076.1014343191096},
+                {276.66666666666663, 15.067567567567568, 745.7039662162161, 711.054258557706},
+                {125.0, 1.9258793969849246, 1161.8163787688443, 1089.3294175661927},
+        };
+        for (int i = 0; i < 3; i++) {
+            assertEquals(expected[i][0], out.effectiveIrradiance()[i], 1e-9, "effective irradiance " + i);
+            assertEquals(expected[i][1], out.cellTemperature()[i], 1e-9, "cell temperature " + i);
+            assertEquals(expected[i][2], out.dcPower()[i], 1e-9, "DC power " + i);
+            assertEquals(expected[i][3], out.acPower()[i], 1e-9, "AC power " + i);
+        }
+        assertEquals(0.0, out.acPower()[3]);
+    }
+}
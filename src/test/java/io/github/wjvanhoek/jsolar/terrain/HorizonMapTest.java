@@ -0,0 +1,116 @@
+package io.github.wjvanhoek.jsolar.terrain;
+
+import io.github.wjvanhoek.jsolar.grid.Grid;
+import io.github.wjvanhoek.jsolar.position.SolarPositionBatch;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HorizonMapTest {
+
+    private static final int SIZE = 41;
+    private static final double CELL = 0.001;
+    private static final double RIDGE_HEIGHT = 500.0;
+    private static final int RIDGE_COLUMN = 29;
+    private static final double EARTH_RADIUS = 6_371_000.0;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void tracesTheHorizonOfARidge() throws IOException {
+        HorizonMap map = HorizonMap.build(ridge(), 36, 3000.0);
+        // The nearest ridge cell lies 9 cells east of the centre, on the ray of sector 9
+        double distance = 9 * CELL * Math.toRadians(EARTH_RADIUS);
+        double expected = Math.atan2(RIDGE_HEIGHT - distance * distance / (2.0 * EARTH_RADIUS), distance);
+        double east = map.horizonElevation(0.0, 0.0, Math.toRadians(90.0));
+        assertEquals(Math.toDegrees(expected), Math.toDegrees(east), 90.0 / 255.0);
+        double northEast = map.horizonElevation(0.0, 0.0, Math.toRadians(60.0));
+        assertTrue(northEast > 0.0 && northEast < east, "north-east " + Math.toDegrees(northEast) + "°");
+        assertEquals(0.0, map.horizonElevation(0.0, 0.0, Math.toRadians(270.0)));
+        assertEquals(0.0, map.horizonElevation(1.0, 1.0, Math.toRadians(90.0)));
+
+        Path file = directory.resolve("ridge.horizon");
+        map.write(file);
+        HorizonMap mapped = HorizonMap.open(file);
+        assertEquals(36, mapped.sectors());
+        for (double azimuth = 0.0; azimuth < 360.0; azimuth += 7.5) {
+            assertEquals(map.horizonElevation(0.0, 0.0, Math.toRadians(azimuth)),
+                    mapped.horizonElevation(0.0, 0.0, Math.toRadians(azimuth)));
+        }
+    }
+
+    @Test
+    void masksBeamBehindTheRidge() {
+        HorizonMap map = HorizonMap.build(ridge(), 36, 3000.0);
+        double[] elevation = {20.0, 35.0, 5.0, 20.0, 5.0};
+        double[] azimuth = {90.0, 90.0, 270.0, 90.0, 90.0};
+        double[] latitudes = {0.0, 0.0, 0.0, 0.0, 1.0};
+        double[] longitudes = {0.0, 0.0, 0.0, 0.0, 1.0};
+        double[] directNormal = {600.0, 800.0, 150.0, 0.0, 150.0};
+        SolarPositionBatch positions = new SolarPositionBatch(elevation.length);
+        for (int i = 0; i < elevation.length; i++) {
+            positions.zenith()[i] = Math.toRadians(90.0 - elevation[i]);
+            positions.azimuth()[i] = Math.toRadians(azimuth[i]);
+        }
+        map.maskBeam(latitudes, longitudes, positions, directNormal, 0, elevation.length);
+        assertArrayEquals(new double[] {0.0, 800.0, 150.0, 0.0, 150.0}, directNormal);
+    }
+
+    @Test
+    void readsAsciiGridWithBlankLines() throws IOException {
+        DigitalElevationModel dem = ridge();
+        StringBuilder text = new StringBuilder("ncols " + SIZE + "\nnrows " + SIZE + "\n\n")
+                .append("xllcorner -0.0205\nyllcorner -0.0205\ncellsize ").append(CELL).append("\n")
+                .append("NODATA_value -9999\n  \n");
+        for (int row = 0; row < SIZE; row++) {
+            for (int column = 0; column < SIZE; column++) {
+                text.append(row == 0 && column == 0 ? "-9999" : String.valueOf(dem.elevation(row, column))).append(' ');
+            }
+            text.append('\n');
+        }
+        Path file = directory.resolve("ridge.asc");
+        Files.writeString(file, text);
+        DigitalElevationModel read = DigitalElevationModel.readAsciiGrid(file);
+        assertEquals(SIZE, read.grid().rows());
+        assertEquals(SIZE, read.grid().columns());
+        assertEquals(0.02, read.grid().firstLatitude(), 1e-12);
+        assertEquals(-0.02, read.grid().firstLongitude(), 1e-12);
+        assertTrue(Double.isNaN(read.elevation(0, 0)));
+        assertEquals(RIDGE_HEIGHT, read.elevation(20, RIDGE_COLUMN));
+        assertEquals(RIDGE_HEIGHT, read.elevationAt(0.0, 0.01), 1e-9);
+    }
+
+    @Test
+    void rejectsMalformedAsciiHeaders() throws IOException {
+        Path file = directory.resolve("bad.asc");
+        Files.writeString(file, "ncols\nnrows 1\nxllcorner 0\nyllcorner 0\ncellsize 1\n5\n");
+        assertThrows(IOException.class, () -> DigitalElevationModel.readAsciiGrid(file));
+        Files.writeString(file, "ncols 1 2\nnrows 1\nxllcorner 0\nyllcorner 0\ncellsize 1\n5\n");
+        assertThrows(IOException.class, () -> DigitalElevationModel.readAsciiGrid(file));
+        Files.writeString(file, "ncols x\nnrows 1\nxllcorner 0\nyllcorner 0\ncellsize 1\n5\n");
+        assertThrows(IOException.class, () -> DigitalElevationModel.readAsciiGrid(file));
+        Files.writeString(file, "\n\n");
+        assertThrows(IOException.class, () -> DigitalElevationModel.readAsciiGrid(file));
+    }
+
+    /** A flat plain at sea level, centred on 0°N 0°E, with a 3-cell wide north-south ridge to the east. */
+    private static DigitalElevationModel ridge() {
+        float[] elevations = new float[SIZE * SIZE];
+        for (int row = 0; row < SIZE; row++) {
+            for (int column = RIDGE_COLUMN; column < RIDGE_COLUMN + 3; column++) {
+                elevations[row * SIZE + column] = (float) RIDGE_HEIGHT;
+            }
+        }
+        return new DigitalElevationModel(new Grid(0.02, -0.02, -CELL, CELL, SIZE, SIZE),
+                elevations);
+    }
+}
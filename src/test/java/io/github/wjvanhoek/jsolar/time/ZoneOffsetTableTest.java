@@ -0,0 +1,60 @@
+package io.github.wjvanhoek.jsolar.time;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ZoneOffsetTableTest {
+
+    private static final long HALF_HOUR = 1800;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"Europe/Amsterdam", "America/New_York", "Australia/Lord_Howe", "Asia/Kolkata", "UTC",
+            "America/Sao_Paulo"})
+    void matchesJavaTimeEveryHalfHour(String id) {
+        ZoneId zone = ZoneId.of(id);
+        ZoneOffsetTable table = ZoneOffsetTable.of(zone, 1970, 2040);
+        long from = LocalDateTime.of(1970, 1, 2, 0, 0).toEpochSecond(ZoneOffset.UTC);
+        long to = LocalDateTime.of(2040, 12, 30, 0, 0).toEpochSecond(ZoneOffset.UTC);
+        int n = (int) ((to - from) / HALF_HOUR);
+        double[] local = new double[n];
+        double[] batch = new double[n];
+        for (int i = 0; i < n; i++) {
+            local[i] = from + i * HALF_HOUR;
+        }
+        table.toEpochSeconds(local, batch, 0, n);
+        for (int i = 0; i < n; i++) {
+            long localSecond = (long) local[i];
+            LocalDateTime dateTime = LocalDateTime.ofEpochSecond(localSecond, 0, ZoneOffset.UTC);
+            long expected = ZonedDateTime.ofLocal(dateTime, zone, null).toEpochSecond();
+            assertEquals(expected, table.toEpochSecond(localSecond), () -> id + " at local " + localSecond);
+            assertEquals(expected, batch[i], () -> id + " batch at local " + localSecond);
+            assertEquals(zone.getRules().getOffset(Instant.ofEpochSecond(expected)).getTotalSeconds(),
+                    table.offsetAt(expected), () -> id + " offset at " + expected);
+        }
+    }
+
+    @Test
+    void rejectsMomentsOutsideTheCoveredYears() {
+        ZoneOffsetTable table = ZoneOffsetTable.of(ZoneId.of("Europe/Amsterdam"), 2000, 2001);
+        assertThrows(IllegalArgumentException.class, () -> table.offsetAt(0.0));
+        assertThrows(IllegalArgumentException.class,
+                () -> table.toEpochSecond(EpochTime.epochDay(2002, 6, 1) * EpochTime.SECONDS_PER_DAY));
+    }
+
+    @Test
+    void fixedOffsetIsValidAtAllTimes() {
+        ZoneOffsetTable table = ZoneOffsetTable.fixed(-3600);
+        assertEquals(3600.0, table.toEpochSecond(0.0));
+        assertEquals(-3600, table.offsetAt(-1e12));
+    }
+}
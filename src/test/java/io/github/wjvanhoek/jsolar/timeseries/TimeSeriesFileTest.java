@@ -0,0 +1,165 @@
+package io.github.wjvanhoek.jsolar.timeseries;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimeSeriesFileTest {
+
+    private static final int BLOCK_SIZE = 8;
+    private static final int RECORDS = 23;
+    private static final double START = 1_718_964_000.0;
+
+    @TempDir
+    Path directory;
+
+    /** Timestamps with repeats and one-, two- and three-byte deltas, also across the block boundaries. */
+    private static double[] epochSeconds() {
+        long[] deltas = {0, 60, 1, 127, 128, 16_384, 300_000, 0};
+        double[] epochSeconds = new double[RECORDS];
+        epochSeconds[0] = START;
+        for (int i = 1; i < RECORDS; i++) {
+            epochSeconds[i] = epochSeconds[i - 1] + deltas[i % deltas.length];
+        }
+        return epochSeconds;
+    }
+
+    /** Values per column, with NaN in every column and the whole second block NaN in column 1. */
+    private static double[][] values() {
+        double[][] values = new double[3][RECORDS];
+        for (int i = 0; i < RECORDS; i++) {
+            values[0][i] = i % 5 == 3 ? Double.NaN : Math.sin(i) * 1000.0 + 1e-9 * i;
+            values[1][i] = i / BLOCK_SIZE == 1 || i == 20 ? Double.NaN : 15.0 + Math.cos(i) * 20.0;
+            values[2][i] = i == 6 ? Double.NaN : Math.abs(Math.sin(0.3 * i)) * 1000.0;
+        }
+        return values;
+    }
+
+    private Path write() throws IOException {
+        Path file = directory.resolve("series.jsts");
+        double[] epochSeconds = epochSeconds();
+        double[][] values = values();
+        try (TimeSeriesWriter writer = TimeSeriesWriter.create(file, 1.0, BLOCK_SIZE, TimeSeriesColumn.float64("ghi"),
+                TimeSeriesColumn.float32("temperature"), TimeSeriesColumn.quantized("dni", 0.025, 0.0))) {
+            writer.append(epochSeconds[0], new double[] {values[0][0], values[1][0], values[2][0]});
+            writer.append(epochSeconds, values, 1, RECORDS - 1);
+            assertEquals(RECORDS, writer.records());
+        }
+        return file;
+    }
+
+    @Test
+    void columnsRoundTrip() throws IOException {
+        TimeSeriesFile series = TimeSeriesFile.open(write());
+        assertEquals(RECORDS, series.records());
+        assertEquals(3, series.blocks());
+        assertEquals(BLOCK_SIZE, series.blockSize());
+        assertEquals(2, series.column("dni"));
+        assertEquals(TimeSeriesColumn.Type.QUANTIZED16, series.columns().get(2).type());
+        assertEquals(0.025, series.columns().get(2).scale());
+        assertThrows(IllegalArgumentException.class, () -> series.column("dhi"));
+
+        double[][] values = values();
+        double[] out = new double[RECORDS];
+        series.read(0, 0, out, 0, RECORDS);
+        for (int i = 0; i < RECORDS; i++) {
+            assertEquals(values[0][i], out[i], "float64 " + i);
+        }
+        series.read(1, 0, out, 0, RECORDS);
+        for (int i = 0; i < RECORDS; i++) {
+            assertEquals((float) values[1][i], out[i], "float32 " + i);
+        }
+        series.read(2, 0, out, 0, RECORDS);
+        for (int i = 0; i < RECORDS; i++) {
+            if (Double.isNaN(values[2][i])) {
+                assertTrue(Double.isNaN(out[i]), "quantized16 " + i);
+            } else {
+                assertEquals(values[2][i], out[i], 0.0125 + 1e-9, "quantized16 " + i);
+            }
+        }
+        // a range that starts inside the first block and ends inside the short last block
+        double[] range = new double[20];
+        series.read(0, 5, range, 2, 17);
+        for (int i = 0; i < 17; i++) {
+            assertEquals(values[0][5 + i], range[2 + i], "range " + i);
+        }
+    }
+
+    @Test
+    void timestampsRoundTripAcrossBlocks() throws IOException {
+        TimeSeriesFile series = TimeSeriesFile.open(write());
+        double[] expected = epochSeconds();
+        double[] out = new double[RECORDS + 1];
+        series.readEpochSeconds(0, out, 1, RECORDS);
+        for (int i = 0; i < RECORDS; i++) {
+            assertEquals(expected[i], out[i + 1], "record " + i);
+        }
+        series.readEpochSeconds(7, out, 0, 10);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(expected[7 + i], out[i], "record " + (7 + i));
+        }
+        assertEquals(expected[16], series.blockFirstEpochSecond(2));
+        assertEquals(expected[RECORDS - 1], series.blockLastEpochSecond(2));
+    }
+
+    @Test
+    void indexOfFindsTheFirstRecordAtOrAfter() throws IOException {
+        TimeSeriesFile series = TimeSeriesFile.open(write());
+        double[] epochSeconds = epochSeconds();
+        assertEquals(0, series.indexOf(START - 1.0));
+        for (int i = 0; i < RECORDS; i++) {
+            int first = i;
+            while (first > 0 && epochSeconds[first - 1] == epochSeconds[i]) {
+                first--;
+            }
+            assertEquals(first, series.indexOf(epochSeconds[i]), "at " + i);
+            if (i + 1 < RECORDS && epochSeconds[i + 1] - epochSeconds[i] > 1.0) {
+                assertEquals(i + 1, series.indexOf(epochSeconds[i] + 0.5), "after " + i);
+            }
+        }
+        assertEquals(RECORDS, series.indexOf(epochSeconds[RECORDS - 1] + 1.0));
+    }
+
+    @Test
+    void minAndMaxOverPartialAndWholeBlocks() throws IOException {
+        TimeSeriesFile series = TimeSeriesFile.open(write());
+        double[] out = new double[RECORDS];
+        for (int column = 0; column < 3; column++) {
+            series.read(column, 0, out, 0, RECORDS);
+            for (int[] range : new int[][] {{0, RECORDS}, {0, 8}, {8, 16}, {16, RECORDS}, {3, 5}, {5, 20}, {9, 9}}) {
+                double min = Double.NaN;
+                double max = Double.NaN;
+                for (int i = range[0]; i < range[1]; i++) {
+                    if (!Double.isNaN(out[i])) {
+                        min = Double.isNaN(min) ? out[i] : Math.min(min, out[i]);
+                        max = Double.isNaN(max) ? out[i] : Math.max(max, out[i]);
+                    }
+                }
+                String message = column + " [" + range[0] + ", " + range[1] + ")";
+                assertEquals(min, series.min(column, range[0], range[1]), message);
+                assertEquals(max, series.max(column, range[0], range[1]), message);
+            }
+        }
+        assertTrue(Double.isNaN(series.blockMin(1, 1)));
+        assertTrue(Double.isNaN(series.max(1, 8, 16)));
+    }
+
+    @Test
+    void rejectsAFileThatWasNotClosed() throws IOException {
+        Path file = directory.resolve("open.jsts");
+        try (TimeSeriesWriter writer = TimeSeriesWriter.create(file, 1.0, 4, TimeSeriesColumn.float64("ghi"))) {
+            for (int i = 0; i < 10; i++) {
+                writer.append(START + 60.0 * i, new double[] {i});
+            }
+            IOException e = assertThrows(IOException.class, () -> TimeSeriesFile.open(file));
+            assertTrue(e.getMessage().contains("not closed"), e.getMessage());
+        }
+        assertEquals(10, TimeSeriesFile.open(file).records());
+    }
+}
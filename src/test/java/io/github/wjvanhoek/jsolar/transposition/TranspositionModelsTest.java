@@ -0,0 +1,116 @@
+package io.github.wjvanhoek.jsolar.transposition;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Reference values follow the equations of pvlib-python's {@code irradiance.isotropic},
+ * {@code irradiance.haydavies}, {@code irradiance.perez} (with the coefficients of
+ * {@link Perez}) and {@code irradiance.get_ground_diffuse}, with the Kasten-Young air mass, an
+ * extraterrestrial irradiance of 1361 W/m² times the eccentricity correction and an albedo of
+ * 0.2.
+ */
+class TranspositionModelsTest {
+
+    private static final double[] TILTS = {30.0, 60.0, 90.0, 20.0, 45.0, 90.0};
+    private static final double[] AZIMUTHS = {180.0, 90.0, 270.0, 160.0, 0.0, 180.0};
+    private static final TranspositionModel[] MODELS = {Isotropic.INSTANCE, HayDavies.INSTANCE, Perez.INSTANCE};
+
+    @Test
+    void clearSkyMatchesReference() {
+        // Zenith 40°, Perez clearness bin 6
+        check(sky(40.0, 160.0, 1.0, 700.0, 150.0), new double[][] {
+                {675.7977345, 9.19375359, 139.9519053, 165.1997816, 188.3454457},
+                {401.3902979, 34.31155551, 112.5, 112.3873425, 139.435828},
+                {0.0, 68.62311102, 75.0, 36.42542248, 56.22318254},
+                {657.7848346, 4.138479979, 145.4769466, 165.2915719, 181.880858},
+                {80.19663487, 20.09924387, 128.0330086, 73.72021267, 79.6774727},
+                {422.8159415, 68.62311102, 75.0, 97.25720192, 135.1491006},
+        });
+    }
+
+    @Test
+    void lowSunMatchesReference() {
+        // Zenith 80°, Perez clearness bin 3
+        check(sky(80.0, 250.0, 1.03, 150.0, 90.0), new double[][] {
+                {47.81936664, 1.554738033, 83.97114317, 92.66591833, 99.68922485},
+                {0.0, 5.802361333, 67.5, 60.27729825, 53.99304974},
+                {138.8124868, 11.60472267, 45.0, 91.50708904, 129.6618051},
+                {24.47638667, 0.6998504104, 87.28616794, 86.99577979, 86.63523084},
+                {0.0, 3.398944575, 76.81980515, 68.59985639, 61.54574239},
+                {50.52361333, 11.60472267, 45.0, 58.86462722, 69.9927515},
+        });
+    }
+
+    @Test
+    void overcastSkyMatchesReference() {
+        // No beam, Perez clearness bin 1
+        check(sky(60.0, 200.0, 0.97, 0.0, 200.0), new double[][] {
+                {0.0, 2.679491924, 186.6025404, 186.6025404, 196.088483},
+                {0.0, 10.0, 150.0, 150.0, 123.8171939},
+                {0.0, 20.0, 100.0, 100.0, 89.75245722},
+                {0.0, 1.206147584, 193.9692621, 193.9692621, 198.6396621},
+                {0.0, 5.857864376, 170.7106781, 170.7106781, 144.3032128},
+                {0.0, 20.0, 100.0, 100.0, 111.3392376},
+        });
+    }
+
+    @Test
+    void horizontalPlaneReceivesGlobalHorizontal() {
+        Orientations horizontal = new Orientations(new double[] {0.0}, new double[] {180.0});
+        PlaneOfArray out = new PlaneOfArray(1);
+        for (SkyState sky : new SkyState[] {sky(40.0, 160.0, 1.0, 700.0, 150.0), sky(80.0, 250.0, 1.03, 150.0, 90.0),
+                sky(60.0, 200.0, 0.97, 0.0, 200.0)}) {
+            for (TranspositionModel model : MODELS) {
+                model.transpose(sky, horizontal, out);
+                assertEquals(sky.globalHorizontal, out.global()[0], 1e-9, model.toString());
+                assertEquals(0.0, out.groundReflected()[0], model.toString());
+            }
+        }
+    }
+
+    @Test
+    void onePassEqualsOneOrientationAtATime() {
+        Orientations all = Orientations.grid(new double[] {0.0, 10.0, 35.0, 70.0, 90.0},
+                new double[] {0.0, 45.0, 90.0, 135.0, 180.0, 225.0, 270.0, 315.0});
+        PlaneOfArray batch = new PlaneOfArray(all.size());
+        PlaneOfArray single = new PlaneOfArray(1);
+        SkyState sky = sky(55.0, 130.0, 1.01, 420.0, 180.0);
+        for (TranspositionModel model : MODELS) {
+            model.transpose(sky, all, batch);
+            for (int i = 0; i < all.size(); i++) {
+                model.transpose(sky, new Orientations(new double[] {all.tilt(i)}, new double[] {all.azimuth(i)}),
+                        single);
+                String message = model + " at " + all.tilt(i) + "/" + all.azimuth(i);
+                assertEquals(single.cosAngleOfIncidence()[0], batch.cosAngleOfIncidence()[i], message);
+                assertEquals(single.beam()[0], batch.beam()[i], message);
+                assertEquals(single.skyDiffuse()[0], batch.skyDiffuse()[i], message);
+                assertEquals(single.groundReflected()[0], batch.groundReflected()[i], message);
+                assertEquals(single.global()[0], batch.global()[i], message);
+            }
+        }
+    }
+
+    private static SkyState sky(double zenith, double azimuth, double eccentricity, double dni, double dhi) {
+        double cosZenith = Math.cos(Math.toRadians(zenith));
+        return new SkyState().set(cosZenith, Math.toRadians(azimuth), eccentricity, dni, dhi, dni * cosZenith + dhi,
+                0.2);
+    }
+
+    /** Checks beam, ground, and the sky diffuse of the isotropic, Hay-Davies and Perez models. */
+    private static void check(SkyState sky, double[][] expected) {
+        Orientations orientations = new Orientations(TILTS, AZIMUTHS);
+        PlaneOfArray out = new PlaneOfArray(orientations.size());
+        for (int m = 0; m < MODELS.length; m++) {
+            MODELS[m].transpose(sky, orientations, out);
+            for (int i = 0; i < orientations.size(); i++) {
+                String message = MODELS[m] + " at " + TILTS[i] + "/" + AZIMUTHS[i];
+                assertEquals(expected[i][0], out.beam()[i], 1e-6, message);
+                assertEquals(expected[i][1], out.groundReflected()[i], 1e-6, message);
+                assertEquals(expected[i][2 + m], out.skyDiffuse()[i], 1e-6, message);
+                assertEquals(expected[i][0] + expected[i][1] + expected[i][2 + m], out.global()[i], 1e-6, message);
+            }
+        }
+    }
+}
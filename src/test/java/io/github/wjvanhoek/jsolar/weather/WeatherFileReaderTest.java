@@ -0,0 +1,97 @@
+package io.github.wjvanhoek.jsolar.weather;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WeatherFileReaderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsEpwFields() throws IOException {
+        String header = "LOCATION,De Bilt,-,NLD,IWEC Data,062600,52.10,5.18,1.0,2.0\n"
+                + "DESIGN CONDITIONS,0\nTYPICAL/EXTREME PERIODS,0\nGROUND TEMPERATURES,0\n"
+                + "HOLIDAYS/DAYLIGHT SAVINGS,No,0,0,0\nCOMMENTS 1,\"x, y\"\nCOMMENTS 2,\n"
+                + "DATA PERIODS,1,1,Data,Sunday, 1/ 1,12/31\r\n";
+        String record = "1999,6,21,13,60,A7A7E8A7*0?9?9?9?9?9?9?9A7A7B8B8A7*0*0E8*0*0,"
+                + "%s,-5.6,85,101300,0,1415,275,%s,%s,%s,0,0,0,0,270,%s,10,10,9999,0,9,999999999,99,0.0,0.0,0,88,"
+                + "0.0,0.0,1.0\r\n";
+        Path file = directory.resolve("site.epw");
+        Files.writeString(file, header + String.format(record, "18.5", "650", "520", "210", "3.6")
+                + String.format(record, "99.9", "9999", "600", "200", "999"));
+
+        WeatherData data = new WeatherFileReader().readEpw(file);
+
+        assertEquals("De Bilt", data.name());
+        assertEquals(52.10, data.latitude());
+        assertEquals(5.18, data.longitude());
+        assertEquals(1.0, data.timeZone());
+        assertEquals(2.0, data.elevation());
+        assertEquals(2, data.size());
+        // Hour 13 ends at 13:00 local standard time, UTC+1; the record is centred at 11:30 UTC
+        assertEquals(Instant.parse("1999-06-21T11:30:00Z").getEpochSecond(), data.epochSecond()[0]);
+        assertEquals(18.5, data.temperature()[0]);
+        assertEquals(-5.6, data.dewPoint()[0]);
+        assertEquals(101_300.0, data.pressure()[0]);
+        assertEquals(650.0, data.ghi()[0]);
+        assertEquals(520.0, data.dni()[0]);
+        assertEquals(210.0, data.dhi()[0]);
+        assertEquals(3.6, data.windSpeed()[0]);
+        assertTrue(Double.isNaN(data.temperature()[1]));
+        assertTrue(Double.isNaN(data.ghi()[1]));
+        assertTrue(Double.isNaN(data.windSpeed()[1]));
+    }
+
+    @Test
+    void readsTmy3Fields() throws IOException {
+        StringBuilder text = new StringBuilder("690150,\"TWENTYNINE PALMS\",CA,-8.0,34.300,-116.167,626\n"
+                + "Date (MM/DD/YYYY),Time (HH:MM),...\n");
+        for (int hour = 1; hour <= 2; hour++) {
+            text.append(String.format("01/01/1976,%02d:00,0,0,%d,1,0,%d,1,0,%d,1,0", hour, hour * 10, hour * 5,
+                    hour * 3));
+            for (int column = 13; column < 31; column++) {
+                text.append(",0");
+            }
+            text.append(",12.5,A,7,-1.0,A,7,40,A,7,").append(hour == 2 ? "-9900" : "1013")
+                    .append(",A,7,270,A,7,4.1,A,7,16000,A,7,1000,A,7,0.5,F,8,0.2,F,8,-9900,-9900,F,8\n");
+        }
+        Path file = directory.resolve("site.csv");
+        Files.writeString(file, text);
+
+        WeatherData data = new WeatherFileReader().readTmy3(file);
+
+        assertEquals("TWENTYNINE PALMS", data.name());
+        assertEquals(34.3, data.latitude());
+        assertEquals(-116.167, data.longitude());
+        assertEquals(-8.0, data.timeZone());
+        assertEquals(626.0, data.elevation());
+        assertEquals(2, data.size());
+        // 01:00 local standard time at UTC−8 ends the hour centred at 08:30 UTC
+        assertEquals(Instant.parse("1976-01-01T08:30:00Z").getEpochSecond(), data.epochSecond()[0]);
+        assertEquals(10.0, data.ghi()[0]);
+        assertEquals(5.0, data.dni()[0]);
+        assertEquals(3.0, data.dhi()[0]);
+        assertEquals(12.5, data.temperature()[0]);
+        assertEquals(-1.0, data.dewPoint()[0]);
+        assertEquals(101_300.0, data.pressure()[0]);
+        assertEquals(4.1, data.windSpeed()[0]);
+        assertTrue(Double.isNaN(data.pressure()[1]));
+    }
+
+    @Test
+    void rejectsMalformedFiles() throws IOException {
+        Path file = directory.resolve("broken.epw");
+        Files.writeString(file, "NOT A LOCATION\n");
+        assertThrows(IOException.class, () -> new WeatherFileReader().readEpw(file));
+    }
+}